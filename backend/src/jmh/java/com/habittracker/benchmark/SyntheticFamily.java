@@ -0,0 +1,97 @@
+package com.habittracker.benchmark;
+
+import com.habittracker.entity.Family;
+import com.habittracker.entity.Habit;
+import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * In-memory family for the benchmarks: {@code habitsPerMember} habits per member, cycling through
+ * DAILY, WEEKLY and WEEKLY_COUNT, and a log per habit and day of [from, to].
+ * Data is generated from a fixed seed so runs on different branches see the same input.
+ */
+public record SyntheticFamily(Family family, List<User> members, List<Habit> habits, List<HabitLog> logs) {
+
+    private static final long SEED = 42L;
+    private static final String[] HABIT_TYPES = {"DAILY", "WEEKLY", "WEEKLY_COUNT"};
+
+    public static SyntheticFamily build(int memberCount, int habitsPerMember, LocalDate from, LocalDate to,
+                                        int completionPercent) {
+        Random random = new Random(SEED);
+        Family family = Family.builder()
+                .id(1L)
+                .name("Benchmark Family")
+                .inviteCode("BENCH001")
+                .build();
+
+        List<User> members = new ArrayList<>();
+        List<Habit> habits = new ArrayList<>();
+        long habitId = 1;
+        for (long userId = 1; userId <= memberCount; userId++) {
+            User member = User.builder()
+                    .id(userId)
+                    .username("member" + userId)
+                    .email("member" + userId + "@bench.test")
+                    .displayName("가족 " + userId)
+                    .family(family)
+                    .build();
+            members.add(member);
+
+            for (int i = 0; i < habitsPerMember; i++) {
+                String habitType = HABIT_TYPES[i % HABIT_TYPES.length];
+                habits.add(Habit.builder()
+                        .id(habitId++)
+                        .name(member.getUsername() + " " + habitType + " " + i)
+                        .color("#007bff")
+                        .user(member)
+                        .family(family)
+                        .displayOrder(i)
+                        .habitType(habitType)
+                        .selectedDays("WEEKLY".equals(habitType) ? "1,3,5" : null)
+                        .weeklyTarget("WEEKLY_COUNT".equals(habitType) ? 3 : null)
+                        .createdAt(from.atStartOfDay())
+                        .build());
+            }
+        }
+
+        List<HabitLog> logs = new ArrayList<>();
+        long logId = 1;
+        for (Habit habit : habits) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                boolean completed = random.nextInt(100) < completionPercent;
+                logs.add(HabitLog.builder()
+                        .id(logId++)
+                        .user(habit.getUser())
+                        .habit(habit)
+                        .logDate(date)
+                        .completed(completed)
+                        .completedAt(completed ? date.atTime(8, 0) : null)
+                        .createdAt(date.atTime(8, 0))
+                        .build());
+            }
+        }
+
+        return new SyntheticFamily(family, members, habits, logs);
+    }
+
+    /**
+     * Completed dates in [from, to] for one habit, the input of the streak calculators.
+     */
+    public static Set<LocalDate> completedDates(LocalDate from, LocalDate to, int completionPercent) {
+        Random random = new Random(SEED);
+        Set<LocalDate> dates = new HashSet<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (random.nextInt(100) < completionPercent) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,36 @@
+package com.habittracker.dto;
+
+import com.habittracker.benchmark.SyntheticFamily;
+import com.habittracker.entity.HabitLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link HabitLogResponse#from} over a family's logs, as in the family log and range endpoints.
+ * A 4-member family with 3 habits each logs 12 rows a day; {@code days} sets the range.
+ */
+@State(Scope.Benchmark)
+public class HabitLogResponseBenchmark {
+
+    @Param({"1", "7", "31"})
+    public int days;
+
+    private List<HabitLog> logs;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        logs = SyntheticFamily.build(4, 3, today.minusDays(days - 1L), today, 80).logs();
+    }
+
+    @Benchmark
+    public List<HabitLogResponse> mapFamilyLogs() {
+        return logs.stream().map(HabitLogResponse::from).toList();
+    }
+}
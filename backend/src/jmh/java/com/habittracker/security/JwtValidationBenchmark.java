@@ -0,0 +1,59 @@
+package com.habittracker.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * {@link JwtUtils} as run by AuthTokenFilter on every authenticated request: validate the token,
+ * then read the username from it.
+ */
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    // application.properties의 개발용 값과 같은 길이의 키
+    private static final String SECRET = "your-secret-key-change-this-in-production-make-it-very-long-and-secure";
+    private static final long EXPIRATION_MS = 86400000L;
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtUtils = new JwtUtils();
+        setField("jwtSecret", SECRET);
+        setField("jwtExpirationMs", EXPIRATION_MS);
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .subject("member1")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION_MS))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String validateAndReadUsername() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+
+    // 운영에서는 @Value로 주입되는 필드
+    private void setField(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtUtils.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtils, value);
+    }
+}
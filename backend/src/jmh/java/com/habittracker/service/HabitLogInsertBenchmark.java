@@ -0,0 +1,117 @@
+package com.habittracker.service;
+
+import com.habittracker.HabitTrackerApplication;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.Habit;
+import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.User;
+import com.habittracker.repository.FamilyRepository;
+import com.habittracker.repository.HabitLogRepository;
+import com.habittracker.repository.HabitRepository;
+import com.habittracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code HabitLogRepository.saveAll} of {@code rows} new logs in one transaction, against the dev H2
+ * database. {@code batchSize} is hibernate.jdbc.batch_size: 1 inserts row by row, 50 is the
+ * configured value. Each invocation writes to a new habit so the unique (user, habit, date) key holds.
+ */
+@State(Scope.Benchmark)
+public class HabitLogInsertBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HabitRepository habitRepository;
+    private HabitLogRepository habitLogRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Family family;
+    private int habitCount;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(HabitTrackerApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.jpa.show-sql=false",
+                "--query-budget.enabled=false");
+
+        habitRepository = context.getBean(HabitRepository.class);
+        habitLogRepository = context.getBean(HabitLogRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        family = context.getBean(FamilyRepository.class).save(Family.builder()
+                .name("Benchmark Family")
+                .inviteCode("BENCH001")
+                .build());
+        user = context.getBean(UserRepository.class).save(User.builder()
+                .username("bench")
+                .email("bench@bench.test")
+                .password("unused")
+                .displayName("벤치마크")
+                .family(family)
+                .build());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteLogs() {
+        jdbcTemplate.update("DELETE FROM habit_logs");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<HabitLog> saveAllLogs() {
+        return transactionTemplate.execute(status -> {
+            Habit habit = habitRepository.save(Habit.builder()
+                    .name("bench " + habitCount)
+                    .color("#007bff")
+                    .habitType("DAILY")
+                    .displayOrder(habitCount++)
+                    .user(user)
+                    .family(family)
+                    .build());
+
+            LocalDate from = LocalDate.now().minusDays(rows);
+            List<HabitLog> logs = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                LocalDate date = from.plusDays(i);
+                logs.add(HabitLog.builder()
+                        .user(user)
+                        .habit(habit)
+                        .logDate(date)
+                        .completed(true)
+                        .completedAt(date.atTime(8, 0))
+                        .build());
+            }
+            return habitLogRepository.saveAll(logs);
+        });
+    }
+}
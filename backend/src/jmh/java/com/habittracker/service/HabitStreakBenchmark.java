@@ -0,0 +1,58 @@
+package com.habittracker.service;
+
+import com.habittracker.benchmark.SyntheticFamily;
+import com.habittracker.entity.Habit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * The DAILY, WEEKLY and WEEKLY_COUNT streak calculators of {@link HabitService} over
+ * {@code historyDays} of completions ending today. At 100% every day is completed, so each
+ * calculator walks back as far as it goes (the worst case).
+ */
+@State(Scope.Benchmark)
+public class HabitStreakBenchmark {
+
+    @Param({"30", "365", "1825"})
+    public int historyDays;
+
+    @Param({"80", "100"})
+    public int completionPercent;
+
+    private HabitService habitService;
+    private Habit weeklyHabit;
+    private Habit weeklyCountHabit;
+    private Set<LocalDate> completedDates;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        today = LocalDate.now();
+        completedDates = SyntheticFamily.completedDates(today.minusDays(historyDays - 1L), today, completionPercent);
+
+        habitService = new HabitService(null, null, null, null);
+        weeklyHabit = Habit.builder().id(1L).habitType("WEEKLY").selectedDays("1,3,5").build();
+        weeklyCountHabit = Habit.builder().id(2L).habitType("WEEKLY_COUNT").weeklyTarget(3).build();
+    }
+
+    @Benchmark
+    public int dailyStreak() {
+        return habitService.calculateDailyStreak(completedDates, today);
+    }
+
+    @Benchmark
+    public int weeklyStreak() {
+        return habitService.calculateWeeklyStreak(weeklyHabit, completedDates);
+    }
+
+    @Benchmark
+    public int weeklyCountStreak() {
+        return habitService.calculateWeeklyCountStreak(weeklyCountHabit, completedDates);
+    }
+}
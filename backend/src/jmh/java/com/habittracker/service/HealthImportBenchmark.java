@@ -0,0 +1,143 @@
+package com.habittracker.service;
+
+import com.habittracker.HabitTrackerApplication;
+import com.habittracker.dto.HealthImportResponse;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.User;
+import com.habittracker.repository.FamilyRepository;
+import com.habittracker.repository.UserRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link HealthImportService#importRecords} of a {@code rows}-row export against the dev H2
+ * database, CSV or JSON. Every row is new (distinct type, date and measure time), so each invocation
+ * parses, validates, inserts and rebuilds the rollups for all of them; the {@code rows} counter
+ * reports imported rows per second. The user's records are deleted after each invocation.
+ */
+@State(Scope.Benchmark)
+public class HealthImportBenchmark {
+
+    private static final String USERNAME = "bench";
+    private static final String[] MEASURE_TIMES = {"MORNING", "AFTERNOON", "EVENING", "BEFORE_MEAL", "AFTER_MEAL"};
+
+    @Param({"CSV", "JSON"})
+    public HealthImportService.Format format;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HealthImportService healthImportService;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] file;
+
+    /**
+     * Rows imported, reported by JMH as rows per second next to the invocation throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ImportedRows {
+        public long rows;
+    }
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(HabitTrackerApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--spring.jpa.show-sql=false", "--query-budget.enabled=false");
+
+        healthImportService = context.getBean(HealthImportService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Family family = context.getBean(FamilyRepository.class).save(Family.builder()
+                .name("Benchmark Family")
+                .inviteCode("BENCH001")
+                .build());
+        context.getBean(UserRepository.class).save(User.builder()
+                .username(USERNAME)
+                .email("bench@bench.test")
+                .password("unused")
+                .displayName("벤치마크")
+                .family(family)
+                .build());
+
+        file = (format == HealthImportService.Format.CSV ? csv() : json()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteRecords() {
+        jdbcTemplate.update("DELETE FROM health_records");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HealthImportResponse importRecords(ImportedRows counter) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USERNAME, null, List.of()));
+        HealthImportResponse response = healthImportService.importRecords(new ByteArrayInputStream(file), format);
+        counter.rows += response.getImportedCount();
+        return response;
+    }
+
+    // 하루에 유형 4개 x 측정 시간대 5개 = 20행, 오늘부터 과거로
+    private String csv() {
+        StringBuilder csv = new StringBuilder("recordType,recordDate,measureTime,systolic,diastolic,heartRate,weight,bloodSugar\n");
+        for (int i = 0; i < rows; i++) {
+            String[] values = values(i);
+            csv.append(String.join(",", values)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private String json() {
+        String[] names = {"recordType", "recordDate", "measureTime", "systolic", "diastolic", "heartRate", "weight", "bloodSugar"};
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < rows; i++) {
+            String[] values = values(i);
+            json.append(i > 0 ? ",\n{" : "{");
+            boolean first = true;
+            for (int column = 0; column < names.length; column++) {
+                if (values[column].isEmpty()) {
+                    continue;
+                }
+                json.append(first ? "" : ",").append('"').append(names[column]).append("\":\"").append(values[column]).append('"');
+                first = false;
+            }
+            json.append('}');
+        }
+        return json.append("\n]").toString();
+    }
+
+    private static String[] values(int i) {
+        LocalDate date = LocalDate.now().minusDays(1 + i / 20);
+        String measureTime = MEASURE_TIMES[i % 5];
+        return switch (i / 5 % 4) {
+            case 0 -> new String[]{"BLOOD_PRESSURE", date.toString(), measureTime, "120", "80", "70", "", ""};
+            case 1 -> new String[]{"WEIGHT", date.toString(), measureTime, "", "", "", "65.5", ""};
+            case 2 -> new String[]{"BLOOD_SUGAR", date.toString(), measureTime, "", "", "", "", "105"};
+            default -> new String[]{"HEART_RATE", date.toString(), measureTime, "", "", "72", "", ""};
+        };
+    }
+}
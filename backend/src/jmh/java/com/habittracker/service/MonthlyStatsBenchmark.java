@@ -0,0 +1,53 @@
+package com.habittracker.service;
+
+import com.habittracker.benchmark.SyntheticFamily;
+import com.habittracker.dto.MonthlyStatsResponse;
+import com.habittracker.entity.HabitLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * {@link HabitLogService#calculateMonthlyStats} for last month of a family with a log per habit and day.
+ */
+@State(Scope.Benchmark)
+public class MonthlyStatsBenchmark {
+
+    @Param({"4", "20"})
+    public int members;
+
+    @Param({"3", "10"})
+    public int habitsPerMember;
+
+    @Param({"80"})
+    public int completionPercent;
+
+    private HabitLogService habitLogService;
+    private YearMonth month;
+    private List<HabitLog> logs;
+    private FamilySnapshot family;
+
+    @Setup
+    public void setUp() {
+        month = YearMonth.now().minusMonths(1);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+        SyntheticFamily synthetic = SyntheticFamily.build(members, habitsPerMember, from, to, completionPercent);
+
+        // 계산에 쓰이지 않는 협력 객체는 null
+        habitLogService = new HabitLogService(null, null, null, null, null, null);
+        logs = synthetic.logs();
+        family = FamilySnapshot.of(synthetic.family(), 1, synthetic.members(), synthetic.habits());
+    }
+
+    @Benchmark
+    public MonthlyStatsResponse calculateMonthlyStats() {
+        return habitLogService.calculateMonthlyStats(month.getYear(), month.getMonthValue(), logs, family);
+    }
+}
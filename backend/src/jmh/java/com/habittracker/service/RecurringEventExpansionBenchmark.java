@@ -0,0 +1,62 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.CalendarEventResponse;
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * {@link CalendarService#expandRecurringEvent} for a one-month calendar view. {@code seriesAgeDays}
+ * is how long before the view the series started, to show that old series are not walked from
+ * their first occurrence.
+ */
+@State(Scope.Benchmark)
+public class RecurringEventExpansionBenchmark {
+
+    @Param({"DAILY", "WEEKLY", "MONTHLY", "YEARLY"})
+    public CalendarEvent.RepeatType repeatType;
+
+    @Param({"0", "3650"})
+    public int seriesAgeDays;
+
+    private CalendarService calendarService;
+    private CalendarEvent event;
+    private LocalDate rangeStart;
+    private LocalDate rangeEnd;
+
+    @Setup
+    public void setUp() {
+        YearMonth month = YearMonth.now();
+        rangeStart = month.atDay(1);
+        rangeEnd = month.atEndOfMonth();
+
+        Family family = Family.builder().id(1L).name("Benchmark Family").inviteCode("BENCH001").build();
+        User creator = User.builder().id(1L).username("member1").displayName("가족 1").family(family).build();
+        LocalDate seriesStart = rangeStart.minusDays(seriesAgeDays);
+
+        calendarService = new CalendarService(null, null, null, null, null, null, null, null);
+        event = CalendarEvent.builder()
+                .id(1L)
+                .title("가족 저녁")
+                .startDatetime(seriesStart.atTime(19, 0))
+                .endDatetime(seriesStart.atTime(21, 0))
+                .repeatType(repeatType)
+                .family(family)
+                .createdBy(creator)
+                .build();
+    }
+
+    @Benchmark
+    public List<CalendarEventResponse> expandOneMonth() {
+        return calendarService.expandRecurringEvent(event, rangeStart, rangeEnd);
+    }
+}
@@ -0,0 +1,31 @@
+package com.habittracker.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics live under {@code habittracker.*}. HTTP server requests are renamed through
+ * {@code management.observations.http.server.requests.name}; the connection pool (hikaricp.*) and
+ * Hibernate (hibernate.*) meters are renamed here. JVM, process and system meters keep their
+ * standard names.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String PREFIX = "habittracker.";
+
+    @Bean
+    public MeterFilter habittrackerMeterNames() {
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (id.getName().startsWith("hikaricp.") || id.getName().startsWith("hibernate.")) {
+                    return id.withName(PREFIX + id.getName());
+                }
+                return id;
+            }
+        };
+    }
+}
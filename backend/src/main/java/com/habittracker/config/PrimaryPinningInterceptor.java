@@ -0,0 +1,68 @@
+package com.habittracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for the replica: after a user's successful write request, their requests are
+ * routed to the primary for {@code datasource.replica.pin-after-write-seconds}. Per instance only.
+ */
+public class PrimaryPinningInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Duration pinDuration;
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+
+    public PrimaryPinningInterceptor(Duration pinDuration) {
+        this.pinDuration = pinDuration;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String username = currentUsername();
+        if (username == null) {
+            return true;
+        }
+
+        Instant until = pinnedUntil.get(username);
+        if (until != null && until.isAfter(Instant.now())) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.clearPin();
+
+        String username = currentUsername();
+        if (username == null || READ_METHODS.contains(request.getMethod()) || ex != null || response.getStatus() >= 400) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        pinnedUntil.put(username, now.plus(pinDuration));
+        if (pinnedUntil.size() > PRUNE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until.isBefore(now));
+        }
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getName())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,25 @@
+package com.habittracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Development-only SQL statement budget per API request ({@code query-budget.enabled=true}).
+ * Needs {@link QueryCountInspector} registered as Hibernate's statement inspector.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    @Value("${query-budget.max-statements-per-request:20}")
+    private int maxStatementsPerRequest;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(maxStatementsPerRequest))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,34 @@
+package com.habittracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Warns when a request runs more SQL statements than the configured budget, which is usually
+ * a lazy association loaded once per row. Counts include lazy loads during response rendering
+ * (open-in-view) because they happen before {@link #afterCompletion}.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final int maxStatements;
+
+    public QueryBudgetInterceptor(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = QueryCountInspector.count();
+        if (statements > maxStatements) {
+            System.err.println(String.format("SQL statement budget exceeded: %s %s ran %d statements (budget %d)",
+                    request.getMethod(), request.getRequestURI(), statements, maxStatements));
+        }
+    }
+}
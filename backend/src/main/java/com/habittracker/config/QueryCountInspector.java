@@ -0,0 +1,29 @@
+package com.habittracker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Feeds the per-request
+ * statement budget ({@link QueryBudgetInterceptor}) and the query-count tests.
+ *
+ * Hibernate's own statistics are shared by every thread, so schedulers running in the background
+ * would leak into a request's count; this counter does not. JdbcTemplate bulk paths are not counted.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,89 @@
+package com.habittracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Optional read replica ({@code datasource.replica.enabled=true}). The primary pool is still built
+ * from {@code spring.datasource.*}; Flyway, JdbcTemplate writes and every read-write transaction
+ * keep using it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    @Value("${datasource.replica.pin-after-write-seconds:5}")
+    private long pinAfterWriteSeconds;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.maximum-pool-size:5}") int maximumPoolSize
+    ) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.getDriverClassName())
+                .url(url)
+                .username(username.isBlank() ? properties.getUsername() : username)
+                .password(password.isBlank() ? properties.getPassword() : password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica
+    ) {
+        return new ReplicaRoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaRoutingDataSource routingDataSource,
+            @Value("${datasource.replica.max-lag-seconds:5}") double maxLagSeconds
+    ) {
+        return new ReplicaLagMonitor(replica, routingDataSource, maxLagSeconds);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (pinAfterWriteSeconds > 0) {
+            registry.addInterceptor(new PrimaryPinningInterceptor(Duration.ofSeconds(pinAfterWriteSeconds)))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.habittracker.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns off open-in-view when the read replica is enabled. With open-in-view the request's
+ * EntityManager keeps its JDBC connection across transactions, so a read-write transaction that
+ * follows a read-only one in the same request would run on the replica connection, and
+ * {@link com.habittracker.service.PrimaryReads} would reuse the request's connection as well.
+ */
+public class ReplicaEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String PROPERTY_SOURCE_NAME = "replicaDataSource";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("datasource.replica.enabled", Boolean.class, false)) {
+            return;
+        }
+        // 명시적으로 true로 설정해도 복제본 사용 중에는 끔
+        environment.getPropertySources().addFirst(
+                new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of("spring.jpa.open-in-view", "false")));
+    }
+}
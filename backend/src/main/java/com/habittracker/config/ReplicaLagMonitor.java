@@ -0,0 +1,47 @@
+package com.habittracker.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Periodically measures replication lag on the replica and takes it out of rotation while the
+ * lag exceeds {@code datasource.replica.max-lag-seconds} or the check itself fails.
+ */
+public class ReplicaLagMonitor {
+
+    // 받은 WAL을 모두 재생했다면 지연 0 (쓰기가 없는 동안 replay 시각이 오래되어 보이는 것을 무시)
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaRoutingDataSource routingDataSource, double maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.routingDataSource = routingDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-millis:5000}")
+    public void check() {
+        boolean available;
+        String detail;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            available = lag != null && lag <= maxLagSeconds;
+            detail = String.format("%.1fs", lag);
+        } catch (Exception e) {
+            available = false;
+            detail = e.getMessage();
+        }
+
+        if (available != routingDataSource.isReplicaAvailable()) {
+            System.out.println(String.format("=== 읽기 전용 복제본 %s (지연 %s) ===", available ? "사용" : "제외", detail));
+        }
+        routingDataSource.setReplicaAvailable(available);
+    }
+}
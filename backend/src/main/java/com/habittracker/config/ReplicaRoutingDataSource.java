@@ -0,0 +1,56 @@
+package com.habittracker.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * Falls back to the primary while the replica is lagging (see {@link ReplicaLagMonitor}) and for
+ * requests pinned after a recent write (see {@link PrimaryPinningInterceptor}).
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a connection
+ * before it marks the transaction read-only, so routing has to wait for the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    // 첫 지연 확인이 통과하기 전까지는 primary만 사용
+    private volatile boolean replicaAvailable = false;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean useReplica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaAvailable
+                && !Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+        return useReplica ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void clearPin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
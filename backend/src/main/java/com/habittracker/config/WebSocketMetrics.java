@@ -0,0 +1,67 @@
+package com.habittracker.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gauges for the STOMP broker: {@code habittracker.websocket.sessions} (connected sessions on this
+ * node) and {@code habittracker.websocket.subscriptions} (their topic subscriptions).
+ */
+@Component
+public class WebSocketMetrics {
+
+    // 세션 ID -> 구독 ID 목록 (연결 해제 시 세션의 구독도 함께 제거)
+    private final Map<String, Set<String>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("habittracker.websocket.sessions", subscriptionsBySession, Map::size)
+                .description("Connected WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("habittracker.websocket.subscriptions", subscriptionsBySession,
+                        sessions -> sessions.values().stream().mapToInt(Set::size).sum())
+                .description("Topic subscriptions of connected WebSocket sessions")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            subscriptionsBySession.putIfAbsent(sessionId, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        subscriptionsBySession.remove(event.getSessionId());
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Set<String> subscriptions = subscriptionsBySession.get(headers.getSessionId());
+        if (subscriptions != null && headers.getSubscriptionId() != null) {
+            subscriptions.add(headers.getSubscriptionId());
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Set<String> subscriptions = subscriptionsBySession.get(headers.getSessionId());
+        if (subscriptions != null && headers.getSubscriptionId() != null) {
+            subscriptions.remove(headers.getSubscriptionId());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.habittracker.dto.SignupRequest;
 import com.habittracker.entity.User;
 import com.habittracker.repository.UserRepository;
 import com.habittracker.service.AuthService;
+import com.habittracker.service.FamilySnapshotCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final FamilySnapshotCache familySnapshotCache;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
@@ -61,6 +63,9 @@ public class AuthController {
             }
         }
         userRepository.save(user);
+        if (user.getFamily() != null) {
+            familySnapshotCache.invalidate(user.getFamily().getId()); // 캘린더 알림 대상이 바뀜
+        }
 
         return ResponseEntity.ok(Map.of(
                 "enableReminders", user.getEnableReminders(),
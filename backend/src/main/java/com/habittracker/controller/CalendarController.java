@@ -1,16 +1,34 @@
 package com.habittracker.controller;
 
+import com.habittracker.dto.CalendarConflictResponse;
 import com.habittracker.dto.CalendarEventRequest;
 import com.habittracker.dto.CalendarEventResponse;
+import com.habittracker.dto.CalendarImportResponse;
+import com.habittracker.dto.FreeSlotResponse;
+import com.habittracker.service.CalendarFeedService;
+import com.habittracker.service.CalendarImportService;
 import com.habittracker.service.CalendarService;
+import com.habittracker.service.FamilyCalendarIndexService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/calendar")
@@ -18,6 +36,9 @@ import java.util.List;
 public class CalendarController {
 
     private final CalendarService calendarService;
+    private final CalendarFeedService calendarFeedService;
+    private final CalendarImportService calendarImportService;
+    private final FamilyCalendarIndexService familyCalendarIndexService;
 
     @PostMapping
     public ResponseEntity<CalendarEventResponse> createEvent(@Valid @RequestBody CalendarEventRequest request) {
@@ -33,6 +54,65 @@ public class CalendarController {
         return ResponseEntity.ok(events);
     }
 
+    // 일정 생성/수정 전 겹치는 가족 일정 확인
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<CalendarConflictResponse>> getConflicts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Long excludeEventId) {
+        return ResponseEntity.ok(familyCalendarIndexService.findConflicts(start, end, excludeEventId));
+    }
+
+    // 가족 모두가 비어있는 시간 찾기
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<FreeSlotResponse>> getFreeSlots(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "60") int durationMinutes,
+            @RequestParam(defaultValue = "09:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime dayStart,
+            @RequestParam(defaultValue = "22:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime dayEnd,
+            @RequestParam(defaultValue = "false") boolean includeAllDay) {
+        return ResponseEntity.ok(familyCalendarIndexService.findFreeSlots(start, end, durationMinutes, dayStart, dayEnd, includeAllDay));
+    }
+
+    // 캘린더 앱 구독용 피드 URL 토큰 (없으면 발급)
+    @GetMapping("/feed-token")
+    public ResponseEntity<Map<String, String>> getFeedToken() {
+        return ResponseEntity.ok(feedTokenResponse(calendarFeedService.getFeedToken()));
+    }
+
+    @PostMapping("/feed-token/rotate")
+    public ResponseEntity<Map<String, String>> rotateFeedToken() {
+        return ResponseEntity.ok(feedTokenResponse(calendarFeedService.rotateFeedToken()));
+    }
+
+    // 토큰으로 보호되는 공개 ICS 피드 (캘린더 앱이 주기적으로 폴링)
+    @GetMapping("/{familyToken}.ics")
+    public ResponseEntity<byte[]> getFeed(@PathVariable String familyToken, WebRequest webRequest) {
+        Optional<CalendarFeedService.Feed> feed = calendarFeedService.getFeed(familyToken);
+        if (feed.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // ETag/Last-Modified 헤더를 설정하고, 변경이 없으면 304
+        if (webRequest.checkNotModified(feed.get().etag(), feed.get().lastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "calendar", StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.maxAge(calendarFeedService.getCacheTtl()).cachePrivate())
+                .body(feed.get().body());
+    }
+
+    // ICS 파일에서 일정 일괄 가져오기
+    @PostMapping("/import")
+    public ResponseEntity<CalendarImportResponse> importEvents(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(calendarImportService.importIcs(inputStream));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CalendarEventResponse> updateEvent(
             @PathVariable Long id,
@@ -46,4 +126,11 @@ public class CalendarController {
         calendarService.deleteEvent(id);
         return ResponseEntity.ok("일정이 삭제되었습니다");
     }
+
+    private Map<String, String> feedTokenResponse(String token) {
+        Map<String, String> response = new HashMap<>();
+        response.put("token", token);
+        response.put("path", "/api/calendar/" + token + ".ics");
+        return response;
+    }
 }
@@ -2,6 +2,7 @@ package com.habittracker.controller;
 
 import com.habittracker.dto.CommentRequest;
 import com.habittracker.dto.CommentResponse;
+import com.habittracker.dto.MentionSuggestionResponse;
 import com.habittracker.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +30,14 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/mentions")
+    public ResponseEntity<List<MentionSuggestionResponse>> suggestMentions(
+            @RequestParam(required = false, defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<MentionSuggestionResponse> suggestions = commentService.suggestMentions(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteComment(@PathVariable Long id) {
         commentService.deleteComment(id);
@@ -31,8 +31,7 @@ public class FamilyController {
 
     @GetMapping("/my")
     public ResponseEntity<FamilyResponse> getMyFamily() {
-        Family family = familyService.getMyFamily();
-        return ResponseEntity.ok(FamilyResponse.from(family));
+        return ResponseEntity.ok(FamilyResponse.from(familyService.getMyFamilySnapshot()));
     }
 
     @PostMapping("/leave")
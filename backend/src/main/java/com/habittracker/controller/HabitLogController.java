@@ -3,7 +3,6 @@ package com.habittracker.controller;
 import com.habittracker.dto.CommentResponse;
 import com.habittracker.dto.HabitLogResponse;
 import com.habittracker.dto.LogHabitRequest;
-import com.habittracker.entity.Comment;
 import com.habittracker.entity.HabitLog;
 import com.habittracker.repository.CommentRepository;
 import com.habittracker.service.HabitLogService;
@@ -16,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,51 +34,19 @@ public class HabitLogController {
 
     @GetMapping("/family/{date}")
     public ResponseEntity<List<HabitLogResponse>> getFamilyLogsForDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "FULL") HabitLogResponse.CommentMode comments) {
         List<HabitLog> logs = habitLogService.getFamilyLogsForDate(date);
-        List<HabitLogResponse> responses = logs.stream()
-                .map(HabitLogResponse::from)
-                .collect(Collectors.toList());
-
-        // Fetch comments for all logs
-        List<Long> logIds = logs.stream().map(HabitLog::getId).collect(Collectors.toList());
-        if (!logIds.isEmpty()) {
-            Map<Long, List<CommentResponse>> commentsMap = commentRepository.findByHabitLogIdsWithUser(logIds)
-                    .stream()
-                    .map(CommentResponse::from)
-                    .collect(Collectors.groupingBy(CommentResponse::getHabitLogId));
-
-            responses.forEach(response -> {
-                response.setComments(commentsMap.getOrDefault(response.getId(), new java.util.ArrayList<>()));
-            });
-        }
-
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(toResponsesWithComments(logs, comments));
     }
 
     @GetMapping("/family/range")
     public ResponseEntity<List<HabitLogResponse>> getFamilyLogsForDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "FULL") HabitLogResponse.CommentMode comments) {
         List<HabitLog> logs = habitLogService.getFamilyLogsForDateRange(startDate, endDate);
-        List<HabitLogResponse> responses = logs.stream()
-                .map(HabitLogResponse::from)
-                .collect(Collectors.toList());
-
-        // Fetch comments for all logs
-        List<Long> logIds = logs.stream().map(HabitLog::getId).collect(Collectors.toList());
-        if (!logIds.isEmpty()) {
-            Map<Long, List<CommentResponse>> commentsMap = commentRepository.findByHabitLogIdsWithUser(logIds)
-                    .stream()
-                    .map(CommentResponse::from)
-                    .collect(Collectors.groupingBy(CommentResponse::getHabitLogId));
-
-            responses.forEach(response -> {
-                response.setComments(commentsMap.getOrDefault(response.getId(), new java.util.ArrayList<>()));
-            });
-        }
-
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(toResponsesWithComments(logs, comments));
     }
 
     @GetMapping("/my/{date}")
@@ -99,4 +67,43 @@ public class HabitLogController {
         com.habittracker.dto.MonthlyStatsResponse stats = habitLogService.getMonthlyStats(year, month);
         return ResponseEntity.ok(stats);
     }
+
+    private List<HabitLogResponse> toResponsesWithComments(List<HabitLog> logs, HabitLogResponse.CommentMode mode) {
+        List<HabitLogResponse> responses = logs.stream()
+                .map(HabitLogResponse::from)
+                .collect(Collectors.toList());
+
+        if (mode == HabitLogResponse.CommentMode.SUMMARY) {
+            // Only logs that have comments need the latest one; full threads are fetched on demand
+            List<Long> commentedIds = logs.stream()
+                    .filter(log -> log.getCommentCount() != null && log.getCommentCount() > 0)
+                    .map(HabitLog::getId)
+                    .collect(Collectors.toList());
+            Map<Long, CommentResponse> latest = commentedIds.isEmpty() ? Map.of() :
+                    commentRepository.findLatestByHabitLogIdsWithUser(commentedIds)
+                            .stream()
+                            .map(CommentResponse::from)
+                            .collect(Collectors.toMap(CommentResponse::getHabitLogId, Function.identity()));
+
+            responses.forEach(response -> {
+                response.setComments(null);
+                response.setLatestComment(latest.get(response.getId()));
+            });
+            return responses;
+        }
+
+        // Fetch comments for all logs
+        List<Long> logIds = logs.stream().map(HabitLog::getId).collect(Collectors.toList());
+        if (!logIds.isEmpty()) {
+            Map<Long, List<CommentResponse>> commentsMap = commentRepository.findByHabitLogIdsWithUser(logIds)
+                    .stream()
+                    .map(CommentResponse::from)
+                    .collect(Collectors.groupingBy(CommentResponse::getHabitLogId));
+
+            responses.forEach(response -> {
+                response.setComments(commentsMap.getOrDefault(response.getId(), new java.util.ArrayList<>()));
+            });
+        }
+        return responses;
+    }
 }
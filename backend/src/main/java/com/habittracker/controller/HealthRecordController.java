@@ -1,14 +1,24 @@
 package com.habittracker.controller;
 
+import com.habittracker.dto.HealthImportResponse;
 import com.habittracker.dto.HealthRecordRequest;
 import com.habittracker.dto.HealthRecordResponse;
+import com.habittracker.dto.HealthStatisticsResponse;
+import com.habittracker.dto.HealthSummaryResponse;
+import com.habittracker.entity.HealthMetricSketch.Metric;
 import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.service.HealthChartDownsampler;
+import com.habittracker.service.HealthImportService;
 import com.habittracker.service.HealthRecordService;
+import com.habittracker.service.HealthStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,12 +29,33 @@ public class HealthRecordController {
     @Autowired
     private HealthRecordService healthRecordService;
 
+    @Autowired
+    private HealthImportService healthImportService;
+
+    @Autowired
+    private HealthStatisticsService healthStatisticsService;
+
     @PostMapping
     public ResponseEntity<HealthRecordResponse> create(@RequestBody HealthRecordRequest request) {
         HealthRecordResponse response = healthRecordService.create(request);
         return ResponseEntity.ok(response);
     }
 
+    // CSV(헤더 포함) 또는 JSON 배열 파일; format을 생략하면 파일 확장자로 판단
+    @PostMapping("/import")
+    public ResponseEntity<HealthImportResponse> importRecords(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) HealthImportService.Format format) throws IOException {
+        HealthImportService.Format resolved = format != null ? format
+                : file.getOriginalFilename() != null && file.getOriginalFilename().toLowerCase().endsWith(".json")
+                        ? HealthImportService.Format.JSON
+                        : HealthImportService.Format.CSV;
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(healthImportService.importRecords(inputStream, resolved));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<HealthRecordResponse> update(
             @PathVariable Long id,
@@ -57,18 +88,59 @@ public class HealthRecordController {
         return ResponseEntity.ok(records);
     }
 
+    @GetMapping("/family/latest")
+    public ResponseEntity<List<HealthRecordResponse>> getFamilyLatest() {
+        List<HealthRecordResponse> records = healthRecordService.getFamilyLatest();
+        return ResponseEntity.ok(records);
+    }
+
+    @GetMapping("/family/summary")
+    public ResponseEntity<List<HealthSummaryResponse>> getFamilySummary(
+            @RequestParam RecordType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<HealthSummaryResponse> summaries = healthRecordService.getFamilySummary(type, startDate, endDate);
+        return ResponseEntity.ok(summaries);
+    }
+
+    // 백분위수, 표준편차, 목표 범위 비율 (low/high를 함께 지정한 경우)
+    @GetMapping("/stats")
+    public ResponseEntity<HealthStatisticsResponse> getStatistics(
+            @RequestParam RecordType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Metric metric,
+            @RequestParam(required = false) List<Double> percentiles,
+            @RequestParam(required = false) Double low,
+            @RequestParam(required = false) Double high) {
+        HealthStatisticsResponse statistics = healthStatisticsService.getStatistics(
+                type, metric, startDate, endDate, percentiles, low, high);
+        return ResponseEntity.ok(statistics);
+    }
+
     @GetMapping("/recent")
     public ResponseEntity<List<HealthRecordResponse>> getRecentRecords(@RequestParam RecordType type) {
         List<HealthRecordResponse> records = healthRecordService.getRecentRecords(type);
         return ResponseEntity.ok(records);
     }
 
+    // mode=AGGREGATE: 구간별 최소/평균/최대, mode=LTTB: points개 이하로 샘플링한 원본 기록
     @GetMapping("/chart")
-    public ResponseEntity<List<HealthRecordResponse>> getChartData(
+    public ResponseEntity<?> getChartData(
             @RequestParam RecordType type,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<HealthRecordResponse> records = healthRecordService.getChartData(type, startDate, endDate);
-        return ResponseEntity.ok(records);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "RAW") HealthChartDownsampler.Mode mode,
+            @RequestParam(required = false) Integer points,
+            @RequestParam(required = false) HealthChartDownsampler.Bucket bucket) {
+        int targetPoints = points != null ? points : HealthChartDownsampler.DEFAULT_POINTS;
+
+        return switch (mode) {
+            case AGGREGATE -> ResponseEntity.ok(
+                    healthRecordService.getAggregatedChartData(type, startDate, endDate, bucket, targetPoints));
+            case LTTB -> ResponseEntity.ok(
+                    healthRecordService.getDownsampledChartData(type, startDate, endDate, targetPoints));
+            case RAW -> ResponseEntity.ok(healthRecordService.getChartData(type, startDate, endDate));
+        };
     }
 }
@@ -0,0 +1,18 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarConflictResponse {
+    private Long eventId;
+    private String title;
+    private Boolean allDay;
+    private LocalDateTime startDatetime; // 겹치는 발생 일정의 시작/종료 시각
+    private LocalDateTime endDatetime;
+}
@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CalendarEventUpdateMessage {
-    private String type; // CREATED, UPDATED, DELETED
+    private String type; // CREATED, UPDATED, DELETED, RELOADED (bulk import)
     private CalendarEventResponse event;
     private Long deletedEventId; // Only used when type is DELETED
 }
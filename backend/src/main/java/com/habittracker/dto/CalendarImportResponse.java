@@ -0,0 +1,30 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarImportResponse {
+
+    private int totalEvents;
+    private int importedCount;
+    private int failedCount;
+    private long elapsedMillis;
+    private List<ItemError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemError {
+        private int index;      // 파일 안에서 몇 번째 VEVENT인지 (1부터, VEVENT 밖의 잘못된 줄이면 0)
+        private int line;       // BEGIN:VEVENT 줄 번호, 형식 오류면 잘못된 줄 번호
+        private String uid;
+        private String summary;
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentUpdateMessage {
+    private String type; // CREATED, DELETED
+    private Long habitLogId;
+    private CommentResponse comment; // Only used when type is CREATED
+    private Long deletedCommentId; // Only used when type is DELETED
+    // 변경 후 기록의 댓글 수와 최근 댓글 (클라이언트가 그대로 덮어쓰면 되도록)
+    private Integer commentCount;
+    private CommentResponse latestComment;
+}
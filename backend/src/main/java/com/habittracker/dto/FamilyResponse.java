@@ -2,6 +2,7 @@ package com.habittracker.dto;
 
 import com.habittracker.entity.Family;
 import com.habittracker.entity.User;
+import com.habittracker.service.FamilySnapshot;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -49,4 +50,15 @@ public class FamilyResponse {
 
         return response;
     }
+
+    public static FamilyResponse from(FamilySnapshot family) {
+        return new FamilyResponse(
+            family.id(),
+            family.name(),
+            family.inviteCode(),
+            family.members().stream()
+                .map(member -> new UserSummary(member.id(), member.username(), member.displayName(), member.email()))
+                .collect(Collectors.toList())
+        );
+    }
 }
@@ -0,0 +1,15 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotResponse {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
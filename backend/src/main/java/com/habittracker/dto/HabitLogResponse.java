@@ -22,6 +22,16 @@ public class HabitLogResponse {
     private String note;
     private LocalDateTime completedAt;
     private List<CommentResponse> comments = new ArrayList<>();
+    private Integer commentCount;
+    private CommentResponse latestComment; // SUMMARY 모드에서만 채움
+
+    /**
+     * How comments are embedded in family log responses: every thread in full, or only the
+     * count plus the latest comment (threads are then fetched per log on demand).
+     */
+    public enum CommentMode {
+        FULL, SUMMARY
+    }
 
     @Data
     @NoArgsConstructor
@@ -48,6 +58,7 @@ public class HabitLogResponse {
         response.setCompleted(log.getCompleted());
         response.setNote(log.getNote());
         response.setCompletedAt(log.getCompletedAt());
+        response.setCommentCount(log.getCommentCount());
 
         if (log.getHabit() != null) {
             response.setHabit(new HabitSummary(
@@ -0,0 +1,129 @@
+package com.habittracker.dto;
+
+import java.time.LocalDate;
+
+public class HealthChartBucketResponse {
+    private LocalDate bucketStart;
+    private LocalDate bucketEnd;
+    private long count;
+    private MetricSummary systolic;
+    private MetricSummary diastolic;
+    private MetricSummary heartRate;
+    private MetricSummary weight;
+    private MetricSummary bloodSugar;
+
+    // 구간 내 측정값이 하나도 없는 항목은 null
+    public static class MetricSummary {
+        private long count;
+        private double min;
+        private double avg;
+        private double max;
+
+        public MetricSummary() {
+        }
+
+        public MetricSummary(long count, double min, double avg, double max) {
+            this.count = count;
+            this.min = min;
+            this.avg = avg;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public void setMin(double min) {
+            this.min = min;
+        }
+
+        public double getAvg() {
+            return avg;
+        }
+
+        public void setAvg(double avg) {
+            this.avg = avg;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public void setMax(double max) {
+            this.max = max;
+        }
+    }
+
+    // Getters and Setters
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDate bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public LocalDate getBucketEnd() {
+        return bucketEnd;
+    }
+
+    public void setBucketEnd(LocalDate bucketEnd) {
+        this.bucketEnd = bucketEnd;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public MetricSummary getSystolic() {
+        return systolic;
+    }
+
+    public void setSystolic(MetricSummary systolic) {
+        this.systolic = systolic;
+    }
+
+    public MetricSummary getDiastolic() {
+        return diastolic;
+    }
+
+    public void setDiastolic(MetricSummary diastolic) {
+        this.diastolic = diastolic;
+    }
+
+    public MetricSummary getHeartRate() {
+        return heartRate;
+    }
+
+    public void setHeartRate(MetricSummary heartRate) {
+        this.heartRate = heartRate;
+    }
+
+    public MetricSummary getWeight() {
+        return weight;
+    }
+
+    public void setWeight(MetricSummary weight) {
+        this.weight = weight;
+    }
+
+    public MetricSummary getBloodSugar() {
+        return bloodSugar;
+    }
+
+    public void setBloodSugar(MetricSummary bloodSugar) {
+        this.bloodSugar = bloodSugar;
+    }
+}
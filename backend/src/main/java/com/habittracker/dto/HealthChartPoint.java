@@ -0,0 +1,83 @@
+package com.habittracker.dto;
+
+import com.habittracker.entity.HealthRecord;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only snapshot of a health record for chart queries and caches (not attached to the persistence context).
+ */
+public class HealthChartPoint {
+    private final Long id;
+    private final LocalDate recordDate;
+    private final LocalDateTime createdAt;
+    private final Integer systolic;
+    private final Integer diastolic;
+    private final Integer heartRate;
+    private final Double weight;
+    private final Integer bloodSugar;
+    private final String note;
+    private final String measureTime;
+
+    public HealthChartPoint(Long id, LocalDate recordDate, LocalDateTime createdAt,
+                            Integer systolic, Integer diastolic, Integer heartRate,
+                            Double weight, Integer bloodSugar, String note, String measureTime) {
+        this.id = id;
+        this.recordDate = recordDate;
+        this.createdAt = createdAt;
+        this.systolic = systolic;
+        this.diastolic = diastolic;
+        this.heartRate = heartRate;
+        this.weight = weight;
+        this.bloodSugar = bloodSugar;
+        this.note = note;
+        this.measureTime = measureTime;
+    }
+
+    public static HealthChartPoint from(HealthRecord record) {
+        return new HealthChartPoint(record.getId(), record.getRecordDate(), record.getCreatedAt(),
+                record.getSystolic(), record.getDiastolic(), record.getHeartRate(),
+                record.getWeight(), record.getBloodSugar(), record.getNote(), record.getMeasureTime());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getRecordDate() {
+        return recordDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Integer getSystolic() {
+        return systolic;
+    }
+
+    public Integer getDiastolic() {
+        return diastolic;
+    }
+
+    public Integer getHeartRate() {
+        return heartRate;
+    }
+
+    public Double getWeight() {
+        return weight;
+    }
+
+    public Integer getBloodSugar() {
+        return bloodSugar;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public String getMeasureTime() {
+        return measureTime;
+    }
+}
@@ -0,0 +1,28 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthImportProgressMessage {
+
+    public enum Status {
+        // 가져오기 도중: 트랜잭션이 아직 열려 있어 롤백되면 importedCount는 0이 됨
+        PROVISIONAL,
+        // 커밋됨: importedCount만큼 저장 완료
+        COMMITTED,
+        // 롤백됨: 아무것도 저장되지 않음 (error에 원인)
+        ROLLED_BACK
+    }
+
+    private Status status;
+    private int processedRows;
+    private int importedCount;
+    private int duplicateCount;
+    private int failedCount;
+    private boolean done;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthImportResponse {
+
+    private int totalRows;
+    private int importedCount;
+    private int duplicateCount;   // 이미 있는 기록 또는 파일 안에서 중복된 행
+    private int failedCount;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<RowError> errors; // 최대 MAX_ERRORS건까지만 담음
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;      // 데이터 행 순번 (1부터, 헤더 제외)
+        private int line;     // 파일의 줄 번호
+        private String message;
+    }
+}
@@ -2,6 +2,7 @@ package com.habittracker.dto;
 
 import com.habittracker.entity.HealthRecord;
 import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -38,6 +39,24 @@ public class HealthRecordResponse {
         return response;
     }
 
+    public static HealthRecordResponse from(User user, RecordType recordType, HealthChartPoint point) {
+        HealthRecordResponse response = new HealthRecordResponse();
+        response.setId(point.getId());
+        response.setUserId(user.getId());
+        response.setUserDisplayName(user.getDisplayName());
+        response.setRecordType(recordType);
+        response.setRecordDate(point.getRecordDate());
+        response.setSystolic(point.getSystolic());
+        response.setDiastolic(point.getDiastolic());
+        response.setHeartRate(point.getHeartRate());
+        response.setWeight(point.getWeight());
+        response.setBloodSugar(point.getBloodSugar());
+        response.setNote(point.getNote());
+        response.setMeasureTime(point.getMeasureTime());
+        response.setCreatedAt(point.getCreatedAt());
+        return response;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,207 @@
+package com.habittracker.dto;
+
+import com.habittracker.entity.HealthMetricSketch.Metric;
+import com.habittracker.entity.HealthRecord.RecordType;
+import java.time.LocalDate;
+import java.util.List;
+
+public class HealthStatisticsResponse {
+    private RecordType recordType;
+    private Metric metric;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long count;           // 측정값이 있는 기록 수 (없으면 나머지 값은 null)
+    private Double min;
+    private Double max;
+    private Double mean;
+    private Double standardDeviation;
+    private List<PercentileValue> percentiles;
+    private TimeInRange timeInRange;
+    private int sketchesMerged;   // 합친 월별 스케치 수
+    private long recordsScanned;  // 앞뒤 일부 달에서 직접 읽은 기록 수
+
+    // percentile은 0~100
+    public static class PercentileValue {
+        private double percentile;
+        private Double value;
+
+        public PercentileValue() {
+        }
+
+        public PercentileValue(double percentile, Double value) {
+            this.percentile = percentile;
+            this.value = value;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Double getValue() {
+            return value;
+        }
+
+        public void setValue(Double value) {
+            this.value = value;
+        }
+    }
+
+    // low 이상 high 이하인 측정값의 비율 (스케치로 추정)
+    public static class TimeInRange {
+        private double low;
+        private double high;
+        private long inRangeCount;
+        private double fraction;
+
+        public TimeInRange() {
+        }
+
+        public TimeInRange(double low, double high, long inRangeCount, double fraction) {
+            this.low = low;
+            this.high = high;
+            this.inRangeCount = inRangeCount;
+            this.fraction = fraction;
+        }
+
+        public double getLow() {
+            return low;
+        }
+
+        public void setLow(double low) {
+            this.low = low;
+        }
+
+        public double getHigh() {
+            return high;
+        }
+
+        public void setHigh(double high) {
+            this.high = high;
+        }
+
+        public long getInRangeCount() {
+            return inRangeCount;
+        }
+
+        public void setInRangeCount(long inRangeCount) {
+            this.inRangeCount = inRangeCount;
+        }
+
+        public double getFraction() {
+            return fraction;
+        }
+
+        public void setFraction(double fraction) {
+            this.fraction = fraction;
+        }
+    }
+
+    // Getters and Setters
+    public RecordType getRecordType() {
+        return recordType;
+    }
+
+    public void setRecordType(RecordType recordType) {
+        this.recordType = recordType;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public void setMetric(Metric metric) {
+        this.metric = metric;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    public List<PercentileValue> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<PercentileValue> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public TimeInRange getTimeInRange() {
+        return timeInRange;
+    }
+
+    public void setTimeInRange(TimeInRange timeInRange) {
+        this.timeInRange = timeInRange;
+    }
+
+    public int getSketchesMerged() {
+        return sketchesMerged;
+    }
+
+    public void setSketchesMerged(int sketchesMerged) {
+        this.sketchesMerged = sketchesMerged;
+    }
+
+    public long getRecordsScanned() {
+        return recordsScanned;
+    }
+
+    public void setRecordsScanned(long recordsScanned) {
+        this.recordsScanned = recordsScanned;
+    }
+}
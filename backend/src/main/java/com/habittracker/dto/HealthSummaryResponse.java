@@ -0,0 +1,109 @@
+package com.habittracker.dto;
+
+import com.habittracker.dto.HealthChartBucketResponse.MetricSummary;
+import com.habittracker.entity.HealthRecord.RecordType;
+import java.time.LocalDate;
+
+// 기간 전체에 대한 사용자별 요약 (일별 집계 테이블에서 계산)
+public class HealthSummaryResponse {
+    private Long userId;
+    private String userDisplayName;
+    private RecordType recordType;
+    private long recordCount;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private MetricSummary systolic;
+    private MetricSummary diastolic;
+    private MetricSummary heartRate;
+    private MetricSummary weight;
+    private MetricSummary bloodSugar;
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUserDisplayName() {
+        return userDisplayName;
+    }
+
+    public void setUserDisplayName(String userDisplayName) {
+        this.userDisplayName = userDisplayName;
+    }
+
+    public RecordType getRecordType() {
+        return recordType;
+    }
+
+    public void setRecordType(RecordType recordType) {
+        this.recordType = recordType;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public void setRecordCount(long recordCount) {
+        this.recordCount = recordCount;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public MetricSummary getSystolic() {
+        return systolic;
+    }
+
+    public void setSystolic(MetricSummary systolic) {
+        this.systolic = systolic;
+    }
+
+    public MetricSummary getDiastolic() {
+        return diastolic;
+    }
+
+    public void setDiastolic(MetricSummary diastolic) {
+        this.diastolic = diastolic;
+    }
+
+    public MetricSummary getHeartRate() {
+        return heartRate;
+    }
+
+    public void setHeartRate(MetricSummary heartRate) {
+        this.heartRate = heartRate;
+    }
+
+    public MetricSummary getWeight() {
+        return weight;
+    }
+
+    public void setWeight(MetricSummary weight) {
+        this.weight = weight;
+    }
+
+    public MetricSummary getBloodSugar() {
+        return bloodSugar;
+    }
+
+    public void setBloodSugar(MetricSummary bloodSugar) {
+        this.bloodSugar = bloodSugar;
+    }
+}
@@ -0,0 +1,14 @@
+package com.habittracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MentionSuggestionResponse {
+    private Long userId;
+    private String username;
+    private String displayName;
+}
@@ -0,0 +1,36 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A committed write to a second-level-cached entity, read by the other nodes so they can evict
+ * their local copy. Rows are written by raw JDBC in the writing transaction and pruned after an hour.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+    @Index(name = "idx_cache_invalidations_recorded_at", columnList = "recorded_at_ms")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_name", nullable = false)
+    private String entityName;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "node_id", nullable = false)
+    private String nodeId; // 기록한 노드 (자기 기록은 건너뜀)
+
+    @Column(name = "recorded_at_ms", nullable = false)
+    private Long recordedAtMs; // 기록한 노드의 epoch millis
+}
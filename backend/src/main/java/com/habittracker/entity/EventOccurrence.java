@@ -0,0 +1,67 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One materialized instance of a calendar event. Recurring series are expanded out to a
+ * rolling horizon so that month/week views become an index range scan on (family_id, occurrence_start).
+ */
+@Entity
+@Table(name = "event_occurrences", indexes = {
+    @Index(name = "idx_event_occurrences_family_start", columnList = "family_id, occurrence_start")
+})
+@IdClass(EventOccurrence.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventOccurrence implements Persistable<EventOccurrence.Key> {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Column(name = "occurrence_start")
+    private LocalDateTime occurrenceStart;
+
+    @Column(name = "occurrence_end", nullable = false)
+    private LocalDateTime occurrenceEnd;
+
+    @Column(name = "family_id", nullable = false)
+    private Long familyId;
+
+    // Rows are only ever inserted or deleted, so saveAll can persist without a select per row
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public Key getId() {
+        return new Key(eventId, occurrenceStart);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long eventId;
+        private LocalDateTime occurrenceStart;
+    }
+}
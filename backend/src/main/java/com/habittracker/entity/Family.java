@@ -2,6 +2,8 @@ package com.habittracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +12,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "families")
 @Table(name = "families")
 @Getter
 @Setter
@@ -19,7 +23,8 @@ import java.util.Set;
 public class Family {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "families_seq")
+    @SequenceGenerator(name = "families_seq", sequenceName = "families_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,11 +33,23 @@ public class Family {
     @Column(unique = true, nullable = false)
     private String inviteCode;
 
+    // 캘린더 구독(ICS) URL용 토큰, 처음 요청할 때 발급
+    @Column(name = "calendar_feed_token", unique = true, length = 64)
+    private String calendarFeedToken;
+
+    // 가장 긴 일정의 길이(분), 발생 일정 범위 조회의 하한에 사용. EventOccurrenceService가 SQL로
+    // 원자적으로 올리고 FamilyRepository.findMaxEventSpanMinutes로 읽음 (updatable = false)
+    @Column(name = "max_event_span_minutes", nullable = false, updatable = false)
+    @Builder.Default
+    private Long maxEventSpanMinutes = 0L;
+
     @OneToMany(mappedBy = "family", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "families.members")
     @Builder.Default
     private Set<User> members = new HashSet<>();
 
     @OneToMany(mappedBy = "family", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "families.habits")
     @Builder.Default
     private Set<Habit> habits = new HashSet<>();
 
@@ -2,6 +2,8 @@ package com.habittracker.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,6 +12,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "habits")
 @Table(name = "habits")
 @Getter
 @Setter
@@ -19,7 +23,8 @@ import java.util.Set;
 public class Habit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habits_seq")
+    @SequenceGenerator(name = "habits_seq", sequenceName = "habits_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class HabitLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_logs_seq")
+    @SequenceGenerator(name = "habit_logs_seq", sequenceName = "habit_logs_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -45,4 +46,9 @@ public class HabitLog {
 
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
+
+    // CommentService가 댓글 작성/삭제 시 SQL로 원자적으로 증감 (엔티티 저장으로 덮어쓰지 않도록 updatable = false)
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer commentCount = 0;
 }
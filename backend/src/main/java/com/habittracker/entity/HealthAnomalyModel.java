@@ -0,0 +1,67 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Exponentially weighted mean and variance of one metric for a user and record type,
+ * updated in O(1) as readings arrive and used to flag readings far from the user's usual values.
+ */
+@Entity
+@Table(name = "health_anomaly_models")
+@IdClass(HealthAnomalyModel.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class HealthAnomalyModel {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", length = 50)
+    private HealthRecord.RecordType recordType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", length = 20)
+    private HealthMetricSketch.Metric metric;
+
+    @Column(name = "ewma_mean", nullable = false)
+    private double mean;
+
+    @Column(name = "ewma_variance", nullable = false)
+    private double variance;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public HealthAnomalyModel(Long userId, HealthRecord.RecordType recordType, HealthMetricSketch.Metric metric) {
+        this.userId = userId;
+        this.recordType = recordType;
+        this.metric = metric;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private HealthRecord.RecordType recordType;
+        private HealthMetricSketch.Metric metric;
+    }
+}
@@ -0,0 +1,95 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per user/type/day summary of health_records, kept in step with every record write so that
+ * long-range charts and summaries read one row per day instead of every measurement.
+ */
+@Entity
+@Table(name = "health_daily_rollups", indexes = {
+    @Index(name = "idx_health_daily_rollups_family_type_date", columnList = "family_id, record_type, rollup_date")
+})
+@IdClass(HealthDailyRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class HealthDailyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", length = 50)
+    private HealthRecord.RecordType recordType;
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Column(name = "family_id", nullable = false)
+    private Long familyId;
+
+    @Column(name = "record_count", nullable = false)
+    private int recordCount;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "systolic_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "systolic_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "systolic_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "systolic_max"))
+    })
+    private HealthMetricRollup systolic;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "diastolic_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "diastolic_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "diastolic_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "diastolic_max"))
+    })
+    private HealthMetricRollup diastolic;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "heart_rate_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "heart_rate_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "heart_rate_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "heart_rate_max"))
+    })
+    private HealthMetricRollup heartRate;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "weight_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "weight_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "weight_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "weight_max"))
+    })
+    private HealthMetricRollup weight;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "count", column = @Column(name = "blood_sugar_count", nullable = false)),
+        @AttributeOverride(name = "sum", column = @Column(name = "blood_sugar_sum", nullable = false)),
+        @AttributeOverride(name = "min", column = @Column(name = "blood_sugar_min")),
+        @AttributeOverride(name = "max", column = @Column(name = "blood_sugar_max"))
+    })
+    private HealthMetricRollup bloodSugar;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private HealthRecord.RecordType recordType;
+        private LocalDate rollupDate;
+    }
+}
@@ -0,0 +1,32 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * count/sum/min/max of one health metric over a day. Rollups of several days merge by adding
+ * counts and sums, so averages over any range stay exact.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthMetricRollup {
+
+    private int count;
+    private double sum;
+    private Double min;   // 측정값이 없으면 null
+    private Double max;
+
+    public static HealthMetricRollup of(Number count, Number sum, Number min, Number max) {
+        return new HealthMetricRollup(
+                count != null ? count.intValue() : 0,
+                sum != null ? sum.doubleValue() : 0,
+                min != null ? min.doubleValue() : null,
+                max != null ? max.doubleValue() : null);
+    }
+}
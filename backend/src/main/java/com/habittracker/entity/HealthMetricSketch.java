@@ -0,0 +1,107 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Distribution of one metric for a user, record type and calendar month: exact moments plus a
+ * serialized t-digest. Any range of whole months is answered by merging these rows.
+ */
+@Entity
+@Table(name = "health_metric_sketches")
+@IdClass(HealthMetricSketch.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HealthMetricSketch implements Persistable<HealthMetricSketch.Key> {
+
+    public enum Metric {
+        SYSTOLIC(true),
+        DIASTOLIC(true),
+        HEART_RATE(true),
+        WEIGHT(false),
+        BLOOD_SUGAR(true);
+
+        private final boolean integral; // 정수로만 기록되는 항목
+
+        Metric(boolean integral) {
+            this.integral = integral;
+        }
+
+        public boolean isIntegral() {
+            return integral;
+        }
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "record_type", length = 50)
+    private HealthRecord.RecordType recordType;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", length = 20)
+    private Metric metric;
+
+    @Id
+    @Column(name = "sketch_month")
+    private LocalDate sketchMonth; // 해당 월 1일
+
+    @Column(name = "value_count", nullable = false)
+    private int valueCount;
+
+    @Column(name = "value_sum", nullable = false)
+    private double valueSum;
+
+    @Column(name = "value_sum_squares", nullable = false)
+    private double valueSumSquares;
+
+    @Column(name = "min_value", nullable = false)
+    private double minValue;
+
+    @Column(name = "max_value", nullable = false)
+    private double maxValue;
+
+    @Column(name = "digest", nullable = false, length = 16384)
+    private byte[] digest;
+
+    // A month is always rewritten as delete + insert, so saveAll can persist without a select per row
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public Key getId() {
+        return new Key(userId, recordType, metric, sketchMonth);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private HealthRecord.RecordType recordType;
+        private Metric metric;
+        private LocalDate sketchMonth;
+    }
+}
@@ -0,0 +1,55 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One dispatched reminder. The primary key doubles as the idempotency check:
+ * a second insert for the same (kind, subject, scheduled instant) fails and the push is skipped.
+ */
+@Entity
+@Table(name = "reminder_ledger", indexes = {
+    @Index(name = "idx_reminder_ledger_scheduled_at", columnList = "scheduled_at")
+})
+@IdClass(ReminderLedgerEntry.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderLedgerEntry {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Kind kind;
+
+    @Id
+    @Column(name = "subject_id")
+    private Long subjectId; // HABIT: user ID, CALENDAR: event ID, HABIT_SHARD: shard number
+
+    @Id
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt; // HABIT, HABIT_SHARD: reminder hour slot, CALENDAR: occurrence start
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public enum Kind {
+        HABIT,      // 습관 알림
+        CALENDAR,   // 일정 알림
+        HABIT_SHARD // 습관 알림 shard 처리 완료 (sharding 사용 시)
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Kind kind;
+        private Long subjectId;
+        private LocalDateTime scheduledAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.habittracker.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name; // Scheduled job name, e.g. "habit-reminder"
+
+    @Column(nullable = false)
+    private String owner; // Node ID currently holding the lease
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
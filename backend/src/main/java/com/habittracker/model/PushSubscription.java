@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class PushSubscription {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "push_subscriptions_seq")
+    @SequenceGenerator(name = "push_subscriptions_seq", sequenceName = "push_subscriptions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,14 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.CacheInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+    List<CacheInvalidation> findByRecordedAtMsGreaterThanAndNodeIdNot(Long since, String nodeId);
+
+    void deleteByRecordedAtMsLessThan(Long cutoff);
+}
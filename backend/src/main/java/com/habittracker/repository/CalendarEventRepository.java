@@ -7,7 +7,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,16 +17,24 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
 
     List<CalendarEvent> findByFamilyOrderByStartDatetimeAsc(Family family);
 
+    // Single events overlapping the range, plus every repeating series that has started
+    // by the end of the range and has not ended before its start
     @Query("SELECT e FROM CalendarEvent e WHERE e.family = :family " +
-           "AND ((e.startDatetime BETWEEN :start AND :end) " +
-           "OR (e.endDatetime BETWEEN :start AND :end) " +
-           "OR (e.startDatetime <= :start AND e.endDatetime >= :end))")
-    List<CalendarEvent> findByFamilyAndDateRange(
+           "AND e.startDatetime <= :end " +
+           "AND (e.endDatetime >= :start " +
+           "OR (e.repeatType <> :none AND (e.repeatEndDate IS NULL OR e.repeatEndDate >= :startDate)))")
+    List<CalendarEvent> findSeriesOverlapping(
             @Param("family") Family family,
             @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+            @Param("end") LocalDateTime end,
+            @Param("startDate") LocalDate startDate,
+            @Param("none") CalendarEvent.RepeatType none
     );
 
+    default List<CalendarEvent> findByFamilyAndDateRange(Family family, LocalDateTime start, LocalDateTime end) {
+        return findSeriesOverlapping(family, start, end, start.toLocalDate(), CalendarEvent.RepeatType.NONE);
+    }
+
     @Query("SELECT e FROM CalendarEvent e WHERE e.family = :family " +
            "AND e.reminderMinutes IS NOT NULL " +
            "AND e.startDatetime > :now " +
@@ -41,4 +51,20 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Lo
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
+
+    // For reminder queue - events with a reminder and a materialized occurrence from the given instant
+    @Query("SELECT e FROM CalendarEvent e WHERE e.reminderMinutes IS NOT NULL " +
+           "AND EXISTS (SELECT o FROM EventOccurrence o WHERE o.eventId = e.id AND o.occurrenceStart >= :from)")
+    List<CalendarEvent> findWithReminderOccurringFrom(@Param("from") LocalDateTime from);
+
+    // For the occurrence index - repeating series that have not ended before the given date
+    @Query("SELECT e FROM CalendarEvent e WHERE e.repeatType <> :none " +
+           "AND (e.repeatEndDate IS NULL OR e.repeatEndDate >= :since)")
+    List<CalendarEvent> findActiveRecurring(
+            @Param("none") CalendarEvent.RepeatType none,
+            @Param("since") LocalDate since
+    );
+
+    @Query("SELECT e FROM CalendarEvent e JOIN FETCH e.createdBy WHERE e.id IN :ids")
+    List<CalendarEvent> findAllWithCreatorByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -17,5 +17,13 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.habitLog.id IN :habitLogIds ORDER BY c.createdAt ASC")
     List<Comment> findByHabitLogIdsWithUser(@Param("habitLogIds") List<Long> habitLogIds);
 
+    // 기록마다 가장 최근 댓글 한 건 (요약 응답용)
+    // id는 pooled 시퀀스에서 노드별 블록으로 받아 생성 순서와 다를 수 있으므로 createdAt 기준, 같은 시각이면 id가 큰 쪽
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN (" +
+           "SELECT r.id FROM (SELECT c2.id AS id, ROW_NUMBER() OVER (PARTITION BY c2.habitLog.id " +
+           "ORDER BY c2.createdAt DESC, c2.id DESC) AS rn FROM Comment c2 WHERE c2.habitLog.id IN :habitLogIds) r " +
+           "WHERE r.rn = 1)")
+    List<Comment> findLatestByHabitLogIdsWithUser(@Param("habitLogIds") List<Long> habitLogIds);
+
     void deleteByHabitLogId(Long habitLogId);
 }
@@ -0,0 +1,45 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventOccurrenceRepository extends JpaRepository<EventOccurrence, EventOccurrence.Key> {
+
+    // Month/week views - range scan on (family_id, occurrence_start) between earliestStart
+    // (start minus the family's longest event) and end
+    @Query("SELECT o FROM EventOccurrence o WHERE o.familyId = :familyId " +
+           "AND o.occurrenceStart >= :earliestStart AND o.occurrenceStart <= :end AND o.occurrenceEnd >= :start " +
+           "ORDER BY o.occurrenceStart ASC")
+    List<EventOccurrence> findByFamilyAndRange(
+            @Param("familyId") Long familyId,
+            @Param("earliestStart") LocalDateTime earliestStart,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Modifying
+    @Query("DELETE FROM EventOccurrence o WHERE o.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    // Latest materialized occurrence of every series, used to extend the horizon incrementally
+    @Query("SELECT o.eventId, MAX(o.occurrenceStart) FROM EventOccurrence o GROUP BY o.eventId")
+    List<Object[]> findLastOccurrenceStarts();
+
+    // Recurring occurrences that ended before the retained history window
+    @Modifying
+    @Query("DELETE FROM EventOccurrence o WHERE o.occurrenceEnd < :cutoff " +
+           "AND o.eventId IN (SELECT e.id FROM CalendarEvent e WHERE e.repeatType <> :none)")
+    int deleteRecurringEndedBefore(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("none") CalendarEvent.RepeatType none
+    );
+}
@@ -1,7 +1,13 @@
 package com.habittracker.repository;
 
 import com.habittracker.entity.Family;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +16,17 @@ import java.util.Optional;
 public interface FamilyRepository extends JpaRepository<Family, Long> {
     Optional<Family> findByInviteCode(String inviteCode);
     boolean existsByInviteCode(String inviteCode);
+    Optional<Family> findByCalendarFeedToken(String calendarFeedToken);
+    boolean existsByCalendarFeedToken(String calendarFeedToken);
+
+    @Query(value = "SELECT max_event_span_minutes FROM families WHERE id = :familyId", nativeQuery = true)
+    long findMaxEventSpanMinutes(@Param("familyId") Long familyId);
+
+    // Only ever raised, so concurrent writers cannot lower each other's value
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "families"))
+    @Query(value = "UPDATE families SET max_event_span_minutes = :minutes " +
+                   "WHERE id = :familyId AND max_event_span_minutes < :minutes",
+           nativeQuery = true)
+    int raiseMaxEventSpan(@Param("familyId") Long familyId, @Param("minutes") long minutes);
 }
@@ -3,12 +3,17 @@ package com.habittracker.repository;
 import com.habittracker.entity.Habit;
 import com.habittracker.entity.HabitLog;
 import com.habittracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,20 +21,49 @@ import java.util.Optional;
 public interface HabitLogRepository extends JpaRepository<HabitLog, Long> {
     Optional<HabitLog> findByUserAndHabitAndLogDate(User user, Habit habit, LocalDate logDate);
 
-    List<HabitLog> findByUserAndLogDate(User user, LocalDate logDate);
+    @Query("SELECT hl FROM HabitLog hl JOIN FETCH hl.habit JOIN FETCH hl.user WHERE hl.user = :user AND hl.logDate = :logDate")
+    List<HabitLog> findByUserAndLogDate(@Param("user") User user, @Param("logDate") LocalDate logDate);
 
     List<HabitLog> findByHabitAndLogDate(Habit habit, LocalDate logDate);
 
-    @Query("SELECT hl FROM HabitLog hl WHERE hl.habit.family.id = :familyId AND hl.logDate = :logDate")
+    @Query("SELECT hl FROM HabitLog hl JOIN FETCH hl.habit h JOIN FETCH hl.user " +
+           "WHERE h.family.id = :familyId AND hl.logDate = :logDate")
     List<HabitLog> findByFamilyIdAndLogDate(@Param("familyId") Long familyId, @Param("logDate") LocalDate logDate);
 
-    @Query("SELECT hl FROM HabitLog hl WHERE hl.habit.family.id = :familyId AND hl.logDate BETWEEN :startDate AND :endDate")
+    @Query("SELECT hl FROM HabitLog hl JOIN FETCH hl.habit h JOIN FETCH hl.user " +
+           "WHERE h.family.id = :familyId AND hl.logDate BETWEEN :startDate AND :endDate")
     List<HabitLog> findByFamilyIdAndLogDateBetween(
         @Param("familyId") Long familyId,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
 
-    @Query("SELECT hl FROM HabitLog hl WHERE hl.habit.id = :habitId AND hl.completed = true ORDER BY hl.logDate DESC")
-    List<HabitLog> findCompletedLogsByHabitIdOrderByLogDateDesc(@Param("habitId") Long habitId);
+    // [habitId, logDate] of every completed log in the family, for streaks of all habits in one query
+    @Query("SELECT hl.habit.id, hl.logDate FROM HabitLog hl WHERE hl.habit.family.id = :familyId AND hl.completed = true")
+    List<Object[]> findCompletedDatesByFamilyId(@Param("familyId") Long familyId);
+
+    @Query("SELECT hl.habit.id FROM HabitLog hl WHERE hl.user.id IN :userIds AND hl.logDate = :logDate AND hl.completed = true")
+    List<Long> findCompletedHabitIdsByUserIdsAndLogDate(@Param("userIds") Collection<Long> userIds,
+                                                       @Param("logDate") LocalDate logDate);
+
+    // 동시에 달린 댓글도 잃지 않도록 읽지 않고 바로 증감
+    // (native 쿼리는 영향받는 테이블을 알려주지 않으면 Hibernate가 2차 캐시 전체를 비움)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "habit_logs"))
+    // log_date lets PostgreSQL touch only that month's partition
+    @Query(value = "UPDATE habit_logs SET comment_count = comment_count + :delta WHERE id = :habitLogId AND log_date = :logDate",
+           nativeQuery = true)
+    int adjustCommentCount(@Param("habitLogId") Long habitLogId, @Param("logDate") LocalDate logDate, @Param("delta") int delta);
+
+    @Query(value = "SELECT comment_count FROM habit_logs WHERE id = :habitLogId AND log_date = :logDate", nativeQuery = true)
+    int findCommentCount(@Param("habitLogId") Long habitLogId, @Param("logDate") LocalDate logDate);
+
+    // 탈퇴하는 사용자의 댓글은 FK CASCADE로 지워지므로, 그 댓글이 달린 기록의 개수를 미리 다시 셈
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "habit_logs"))
+    @Query(value = "UPDATE habit_logs SET comment_count = " +
+                   "(SELECT COUNT(*) FROM comments c WHERE c.habit_log_id = habit_logs.id AND c.user_id <> :userId) " +
+                   "WHERE id IN (SELECT habit_log_id FROM comments WHERE user_id = :userId)",
+           nativeQuery = true)
+    int recountCommentsExcludingUser(@Param("userId") Long userId);
 }
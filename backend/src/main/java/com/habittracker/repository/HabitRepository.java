@@ -2,8 +2,12 @@ package com.habittracker.repository;
 
 import com.habittracker.entity.Family;
 import com.habittracker.entity.Habit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,8 +16,20 @@ import java.util.List;
 public interface HabitRepository extends JpaRepository<Habit, Long> {
     List<Habit> findByFamily(Family family);
     List<Habit> findByFamilyId(Long familyId);
+
+    @Query("SELECT h FROM Habit h JOIN FETCH h.user WHERE h.family.id = :familyId ORDER BY h.displayOrder ASC, h.id ASC")
+    List<Habit> findByFamilyIdWithUser(@Param("familyId") Long familyId);
+
+    // 2차 캐시의 쿼리 캐시 사용 (habits 테이블이 바뀌면 무효화)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Habit> findByUserIdOrderByDisplayOrderAsc(Long userId);
 
+    @Query("SELECT h FROM Habit h JOIN FETCH h.user u WHERE MOD(u.id, :shardCount) = :shard")
+    List<Habit> findByUserIdShardWithUser(@Param("shardCount") int shardCount, @Param("shard") int shard);
+
+    @Query("SELECT h FROM Habit h JOIN FETCH h.user")
+    List<Habit> findAllWithUser();
+
     @Query("SELECT MAX(h.displayOrder) FROM Habit h WHERE h.user.id = :userId")
     Integer findMaxDisplayOrderByUserId(Long userId);
 }
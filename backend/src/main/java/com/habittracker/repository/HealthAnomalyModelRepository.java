@@ -0,0 +1,9 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.HealthAnomalyModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HealthAnomalyModelRepository extends JpaRepository<HealthAnomalyModel, HealthAnomalyModel.Key> {
+}
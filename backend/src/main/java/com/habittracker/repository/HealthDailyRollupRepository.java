@@ -0,0 +1,35 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.HealthDailyRollup;
+import com.habittracker.entity.HealthRecord.RecordType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HealthDailyRollupRepository extends JpaRepository<HealthDailyRollup, HealthDailyRollup.Key> {
+
+    // 특정 사용자의 일별 집계 (오래된 순)
+    @Query("SELECT r FROM HealthDailyRollup r WHERE r.userId = :userId AND r.recordType = :recordType " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate ORDER BY r.rollupDate ASC")
+    List<HealthDailyRollup> findForUser(@Param("userId") Long userId,
+                                        @Param("recordType") RecordType recordType,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    // 가족 전체의 일별 집계 (사용자별, 오래된 순)
+    @Query("SELECT r FROM HealthDailyRollup r WHERE r.familyId = :familyId AND r.recordType = :recordType " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate ORDER BY r.userId ASC, r.rollupDate ASC")
+    List<HealthDailyRollup> findForFamily(@Param("familyId") Long familyId,
+                                          @Param("recordType") RecordType recordType,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    // 사용자의 첫 기록일과 마지막 기록일
+    @Query("SELECT MIN(r.rollupDate), MAX(r.rollupDate) FROM HealthDailyRollup r WHERE r.userId = :userId")
+    List<Object[]> findDateRange(@Param("userId") Long userId);
+}
@@ -0,0 +1,38 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.HealthMetricSketch;
+import com.habittracker.entity.HealthRecord.RecordType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HealthMetricSketchRepository extends JpaRepository<HealthMetricSketch, HealthMetricSketch.Key> {
+
+    // 월 범위의 스케치 (fromMonth, toMonth는 각 월의 1일)
+    @Query("SELECT s FROM HealthMetricSketch s WHERE s.userId = :userId AND s.recordType = :recordType " +
+           "AND s.metric = :metric AND s.sketchMonth BETWEEN :fromMonth AND :toMonth ORDER BY s.sketchMonth ASC")
+    List<HealthMetricSketch> findForRange(@Param("userId") Long userId,
+                                          @Param("recordType") RecordType recordType,
+                                          @Param("metric") HealthMetricSketch.Metric metric,
+                                          @Param("fromMonth") LocalDate fromMonth,
+                                          @Param("toMonth") LocalDate toMonth);
+
+    @Modifying
+    @Query("DELETE FROM HealthMetricSketch s WHERE s.userId = :userId AND s.recordType = :recordType " +
+           "AND s.sketchMonth BETWEEN :fromMonth AND :toMonth")
+    int deleteForRange(@Param("userId") Long userId,
+                       @Param("recordType") RecordType recordType,
+                       @Param("fromMonth") LocalDate fromMonth,
+                       @Param("toMonth") LocalDate toMonth);
+
+    // 스케치가 하나도 없는 기록 보유 사용자 (배포 후 채우기용)
+    @Query("SELECT DISTINCT r.userId FROM HealthDailyRollup r " +
+           "WHERE NOT EXISTS (SELECT 1 FROM HealthMetricSketch s WHERE s.userId = r.userId)")
+    List<Long> findUserIdsWithoutSketches();
+}
@@ -1,14 +1,19 @@
 package com.habittracker.repository;
 
+import com.habittracker.dto.HealthChartPoint;
 import com.habittracker.entity.HealthRecord;
 import com.habittracker.entity.HealthRecord.RecordType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long> {
@@ -43,4 +48,52 @@ public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long
                                     @Param("recordType") RecordType recordType,
                                     @Param("startDate") LocalDate startDate,
                                     @Param("endDate") LocalDate endDate);
+
+    // 그래프 다운샘플링용: 엔티티 대신 projection을 fetch size 단위로 흘려 읽음 (트랜잭션 안에서 닫아야 함)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.habittracker.dto.HealthChartPoint(h.id, h.recordDate, h.createdAt, h.systolic, h.diastolic, " +
+           "h.heartRate, h.weight, h.bloodSugar, h.note, h.measureTime) FROM HealthRecord h " +
+           "WHERE h.user.id = :userId AND h.recordType = :recordType " +
+           "AND h.recordDate BETWEEN :startDate AND :endDate ORDER BY h.recordDate ASC, h.createdAt ASC")
+    Stream<HealthChartPoint> streamForChart(@Param("userId") Long userId,
+                                            @Param("recordType") RecordType recordType,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(h) FROM HealthRecord h WHERE h.user.id = :userId AND h.recordType = :recordType " +
+           "AND h.recordDate BETWEEN :startDate AND :endDate")
+    long countForChart(@Param("userId") Long userId,
+                       @Param("recordType") RecordType recordType,
+                       @Param("startDate") LocalDate startDate,
+                       @Param("endDate") LocalDate endDate);
+
+    // 일별 집계 재계산용: 한 사용자/타입/날짜의 count, sum, min, max (결과는 항상 한 행)
+    @Query("SELECT COUNT(h), MAX(h.family.id), " +
+           "COUNT(h.systolic), SUM(h.systolic), MIN(h.systolic), MAX(h.systolic), " +
+           "COUNT(h.diastolic), SUM(h.diastolic), MIN(h.diastolic), MAX(h.diastolic), " +
+           "COUNT(h.heartRate), SUM(h.heartRate), MIN(h.heartRate), MAX(h.heartRate), " +
+           "COUNT(h.weight), SUM(h.weight), MIN(h.weight), MAX(h.weight), " +
+           "COUNT(h.bloodSugar), SUM(h.bloodSugar), MIN(h.bloodSugar), MAX(h.bloodSugar) " +
+           "FROM HealthRecord h WHERE h.user.id = :userId AND h.recordType = :recordType AND h.recordDate = :recordDate")
+    List<Object[]> summarizeDay(@Param("userId") Long userId,
+                                @Param("recordType") RecordType recordType,
+                                @Param("recordDate") LocalDate recordDate);
+
+    // 가져오기 중복 확인용: 사용자의 (타입, 날짜, 측정 시간대) 목록
+    @Query("SELECT h.recordType, h.recordDate, h.measureTime FROM HealthRecord h WHERE h.user.id = :userId")
+    List<Object[]> findDeduplicationKeys(@Param("userId") Long userId);
+
+    // 최근 값 캐시: 사용자/타입별 가장 최근 기록 한 건
+    Optional<HealthRecord> findFirstByUserIdAndRecordTypeOrderByRecordDateDescCreatedAtDescIdDesc(
+            Long userId, RecordType recordType);
+
+    // 최근 값 캐시 적재: 사용자/타입마다 더 최근 기록이 없는 기록 (한 번의 조회)
+    @Query("SELECT h FROM HealthRecord h WHERE NOT EXISTS (" +
+           "SELECT 1 FROM HealthRecord n WHERE n.user = h.user AND n.recordType = h.recordType AND (" +
+           "n.recordDate > h.recordDate OR (n.recordDate = h.recordDate AND (" +
+           "n.createdAt > h.createdAt OR (n.createdAt = h.createdAt AND n.id > h.id)))))")
+    List<HealthRecord> findLatestPerUserAndType();
 }
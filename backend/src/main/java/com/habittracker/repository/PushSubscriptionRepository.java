@@ -5,12 +5,15 @@ import com.habittracker.model.PushSubscription;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PushSubscriptionRepository extends JpaRepository<PushSubscription, Long> {
     List<PushSubscription> findByUser(User user);
+    List<PushSubscription> findByUserId(Long userId);
+    List<PushSubscription> findByUserIdIn(Collection<Long> userIds);
     Optional<PushSubscription> findByUserAndEndpoint(User user, String endpoint);
     Optional<PushSubscription> findByEndpoint(String endpoint);
     void deleteByUserAndEndpoint(User user, String endpoint);
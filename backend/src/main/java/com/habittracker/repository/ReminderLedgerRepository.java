@@ -0,0 +1,36 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.ReminderLedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReminderLedgerRepository extends JpaRepository<ReminderLedgerEntry, ReminderLedgerEntry.Key> {
+
+    // Plain insert so a duplicate key fails instead of being merged
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminder_ledger"))
+    @Query(value = "INSERT INTO reminder_ledger (kind, subject_id, scheduled_at, recorded_at) " +
+                   "VALUES (:kind, :subjectId, :scheduledAt, :recordedAt)", nativeQuery = true)
+    void insert(@Param("kind") String kind,
+                @Param("subjectId") Long subjectId,
+                @Param("scheduledAt") LocalDateTime scheduledAt,
+                @Param("recordedAt") LocalDateTime recordedAt);
+
+    @Query("SELECT r.subjectId FROM ReminderLedgerEntry r WHERE r.kind = :kind AND r.scheduledAt = :scheduledAt")
+    List<Long> findSubjectIds(@Param("kind") ReminderLedgerEntry.Kind kind,
+                              @Param("scheduledAt") LocalDateTime scheduledAt);
+
+    @Modifying
+    @Query("DELETE FROM ReminderLedgerEntry r WHERE r.scheduledAt < :cutoff")
+    int deleteScheduledBefore(@Param("cutoff") LocalDateTime cutoff);
+}
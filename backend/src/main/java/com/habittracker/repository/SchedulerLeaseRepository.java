@@ -0,0 +1,36 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.SchedulerLease;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Take over an expired lease or one whose owner stopped heartbeating, or extend one this node already holds
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil " +
+           "WHERE l.name = :name AND (l.leaseUntil < :now OR l.owner = :owner " +
+           "OR NOT EXISTS (SELECT n FROM SchedulerNode n WHERE n.nodeId = l.owner AND n.heartbeatAt > :liveSince))")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil,
+                @Param("liveSince") LocalDateTime liveSince);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, lease_until) " +
+                   "VALUES (:name, :owner, :leaseUntil)", nativeQuery = true)
+    void insert(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -0,0 +1,12 @@
+package com.habittracker.repository;
+
+import com.habittracker.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+    void deleteByHeartbeatAtBefore(LocalDateTime cutoff);
+}
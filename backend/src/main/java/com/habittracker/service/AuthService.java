@@ -5,6 +5,7 @@ import com.habittracker.dto.LoginRequest;
 import com.habittracker.dto.PasswordResetConfirmRequest;
 import com.habittracker.dto.SignupRequest;
 import com.habittracker.entity.User;
+import com.habittracker.repository.HabitLogRepository;
 import com.habittracker.repository.UserRepository;
 import com.habittracker.security.JwtUtils;
 import com.habittracker.security.UserDetailsImpl;
@@ -26,9 +27,12 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
+    private final HabitLogRepository habitLogRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final EmailService emailService;
+    private final FamilyMentionIndex familyMentionIndex;
+    private final FamilySnapshotCache familySnapshotCache;
 
     @Transactional
     public JwtResponse login(LoginRequest loginRequest) {
@@ -99,7 +103,14 @@ public class AuthService {
     public User updateDisplayName(String newDisplayName) {
         User currentUser = getCurrentUser();
         currentUser.setDisplayName(newDisplayName);
-        return userRepository.save(currentUser);
+        User saved = userRepository.save(currentUser);
+
+        // 멘션 자동완성은 표시 이름으로도 찾으므로 인덱스 갱신
+        if (saved.getFamily() != null) {
+            familyMentionIndex.putMember(saved.getFamily().getId(), saved);
+            familySnapshotCache.invalidate(saved.getFamily().getId());
+        }
+        return saved;
     }
 
     @Transactional
@@ -112,6 +123,12 @@ public class AuthService {
         // - PushSubscriptions (for user)
         // Family membership will be removed (ManyToOne)
 
+        if (currentUser.getFamily() != null) {
+            familyMentionIndex.removeMember(currentUser.getFamily().getId(), currentUser.getId());
+            familySnapshotCache.invalidate(currentUser.getFamily().getId());
+        }
+        // Comments written on other members' logs are removed by FK cascade; keep their counts right
+        habitLogRepository.recountCommentsExcludingUser(currentUser.getId());
         userRepository.delete(currentUser);
     }
 
@@ -0,0 +1,216 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.User;
+import com.habittracker.repository.CalendarEventRepository;
+import com.habittracker.repository.FamilyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token-protected iCalendar subscription feed per family.
+ *
+ * Rendered feeds, token lookups and unknown tokens are cached in memory by token, so a polling
+ * calendar app only costs a map lookup and usually a 304. Calendar writes invalidate the family's
+ * feeds after commit; the TTL bounds staleness on other instances, which do not see those writes.
+ * A change to the family row itself (token rotation, rename) made on another instance reaches this
+ * one through cache_invalidations, which drops every token of that family within one poll.
+ */
+@Service
+public class CalendarFeedService implements RemoteInvalidationListener {
+
+    // 없는 토큰 캐시의 상한 (임의 토큰으로 메모리를 채우지 못하도록 넘으면 비움)
+    private static final int MAX_UNKNOWN_TOKENS = 10_000;
+
+    private final FamilyRepository familyRepository;
+    private final CalendarEventRepository calendarEventRepository;
+    private final AuthService authService;
+    private final PrimaryReads primaryReads;
+
+    private final Map<String, Long> familyIdsByToken = new ConcurrentHashMap<>();
+    private final Map<String, Feed> feedsByToken = new ConcurrentHashMap<>();
+    // 없는 토큰 → 이 시각까지 DB 조회 없이 404
+    private final Map<String, Instant> unknownTokens = new ConcurrentHashMap<>();
+    // 렌더링 도중 무효화된 결과가 캐시에 남지 않도록 가족별 버전 관리
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    @Value("${calendar.feed.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    public CalendarFeedService(
+            FamilyRepository familyRepository,
+            CalendarEventRepository calendarEventRepository,
+            AuthService authService,
+            PrimaryReads primaryReads
+    ) {
+        this.familyRepository = familyRepository;
+        this.calendarEventRepository = calendarEventRepository;
+        this.authService = authService;
+        this.primaryReads = primaryReads;
+    }
+
+    @Transactional
+    public String getFeedToken() {
+        Family family = getCurrentFamily();
+
+        if (family.getCalendarFeedToken() == null) {
+            family.setCalendarFeedToken(generateToken());
+            familyRepository.save(family);
+        }
+
+        return family.getCalendarFeedToken();
+    }
+
+    /**
+     * Issue a new token, e.g. after the old feed URL was shared by mistake. The old URL stops working
+     * on this instance at commit and on other instances once they poll cache_invalidations.
+     */
+    @Transactional
+    public String rotateFeedToken() {
+        Family family = getCurrentFamily();
+        Long familyId = family.getId();
+
+        family.setCalendarFeedToken(generateToken());
+        familyRepository.save(family);
+
+        AfterCommit.run(() -> forgetTokens(familyId));
+
+        return family.getCalendarFeedToken();
+    }
+
+    /**
+     * Feed for the token, or empty if the token is unknown. Deliberately not transactional,
+     * so a cache hit never borrows a connection.
+     */
+    public Optional<Feed> getFeed(String token) {
+        Instant unknownUntil = unknownTokens.get(token);
+        if (unknownUntil != null) {
+            if (unknownUntil.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            unknownTokens.remove(token, unknownUntil);
+        }
+
+        Long familyId = familyIdsByToken.get(token);
+        if (familyId == null) {
+            Optional<Family> family = familyRepository.findByCalendarFeedToken(token);
+            if (family.isEmpty()) {
+                rememberUnknown(token);
+                return Optional.empty();
+            }
+            familyId = family.get().getId();
+            familyIdsByToken.put(token, familyId);
+        }
+
+        Long cachedFamilyId = familyId;
+        long version = versions.getOrDefault(familyId, 0L);
+        Feed cached = feedsByToken.get(token);
+        if (cached != null && cached.version() == version && cached.lastModified().plusSeconds(cacheTtlSeconds).isAfter(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        byte[] body = primaryReads.load(() -> {
+            Optional<Family> family = familyRepository.findById(cachedFamilyId);
+            if (family.isEmpty() || !token.equals(family.get().getCalendarFeedToken())) {
+                return null;
+            }
+            List<CalendarEvent> events = calendarEventRepository.findByFamilyOrderByStartDatetimeAsc(family.get());
+            return IcsCalendarWriter.render(family.get().getName(), events);
+        });
+        if (body == null) {
+            familyIdsByToken.remove(token);
+            feedsByToken.remove(token);
+            rememberUnknown(token);
+            return Optional.empty();
+        }
+
+        Feed feed = new Feed(body, etag(body), Instant.now().truncatedTo(ChronoUnit.SECONDS), version);
+        if (versions.getOrDefault(familyId, 0L) == version) {
+            feedsByToken.put(token, feed);
+        }
+
+        return Optional.of(feed);
+    }
+
+    /**
+     * Drop the cached feed once the current transaction commits.
+     */
+    public void invalidate(Long familyId) {
+        // 버전이 바뀐 캐시 항목은 다음 요청에서 다시 렌더링됨
+        AfterCommit.run(() -> versions.merge(familyId, 1L, Long::sum));
+    }
+
+    // 다른 노드에서 가족 행이 바뀜 (토큰 교체 등): 그 가족의 토큰을 모두 DB에서 다시 확인
+    @Override
+    public void onRemoteInvalidation(String entityName, Long entityId) {
+        if (Family.class.getName().equals(entityName)) {
+            forgetTokens(entityId);
+        }
+    }
+
+    public Duration getCacheTtl() {
+        return Duration.ofSeconds(cacheTtlSeconds);
+    }
+
+    private void forgetTokens(Long familyId) {
+        versions.merge(familyId, 1L, Long::sum);
+        familyIdsByToken.entrySet().removeIf(entry -> {
+            if (!entry.getValue().equals(familyId)) {
+                return false;
+            }
+            feedsByToken.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    private void rememberUnknown(String token) {
+        if (unknownTokens.size() >= MAX_UNKNOWN_TOKENS) {
+            unknownTokens.clear();
+        }
+        unknownTokens.put(token, Instant.now().plusSeconds(cacheTtlSeconds));
+    }
+
+    private Family getCurrentFamily() {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("가족에 속해있어야 캘린더 구독을 사용할 수 있습니다");
+        }
+
+        return currentUser.getFamily();
+    }
+
+    private String generateToken() {
+        String token;
+        do {
+            token = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", "");
+        } while (familyRepository.existsByCalendarFeedToken(token));
+        return token;
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + String.format("%064x", new BigInteger(1, digest)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Feed(byte[] body, String etag, Instant lastModified, long version) {
+    }
+}
@@ -0,0 +1,465 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.CalendarEventUpdateMessage;
+import com.habittracker.dto.CalendarImportResponse;
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of an ICS file into the current user's family calendar.
+ *
+ * The file is parsed one VEVENT at a time and written with JDBC batches. Each batch takes its ids
+ * from the generated keys and is materialized into the occurrence index right away; the reminder
+ * queue and subscription feed are refreshed once for the whole import and clients get a single
+ * RELOADED broadcast instead of one message per event.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalendarImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Map<String, DayOfWeek> WEEKDAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private static final String INSERT_SQL = "INSERT INTO calendar_events " +
+            "(title, description, start_datetime, end_datetime, all_day, color, repeat_type, repeat_end_date, " +
+            "reminder_minutes, family_id, created_by, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventOccurrenceService eventOccurrenceService;
+    private final CalendarReminderQueue calendarReminderQueue;
+    private final CalendarFeedService calendarFeedService;
+    private final FamilyCalendarIndexService familyCalendarIndexService;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final AuthService authService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Transactional
+    public CalendarImportResponse importIcs(InputStream inputStream) {
+        long startedAt = System.currentTimeMillis();
+        User currentUser = authService.getCurrentUser();
+        Family family = currentUser.getFamily();
+
+        if (family == null) {
+            throw new RuntimeException("가족에 속해있어야 일정을 가져올 수 있습니다");
+        }
+
+        // 같은 가져오기로 들어간 일정은 모두 같은 생성 시각
+        LocalDateTime importedAt = LocalDateTime.now(SEOUL).truncatedTo(ChronoUnit.MILLIS);
+
+        List<CalendarEvent> batch = new ArrayList<>(BATCH_SIZE);
+        List<CalendarReminderQueue.Series> reminderSeries = new ArrayList<>();
+        List<CalendarImportResponse.ItemError> errors = new ArrayList<>();
+        int total = 0;
+        int imported = 0;
+
+        try (IcsCalendarReader reader = new IcsCalendarReader(inputStream)) {
+            while (true) {
+                IcsCalendarReader.Component vevent;
+                try {
+                    vevent = reader.nextEvent();
+                } catch (IcsCalendarReader.FormatException e) {
+                    // 잘못된 줄/컴포넌트는 그 일정만 실패로 기록하고 다음 BEGIN:VEVENT부터 계속 읽음
+                    IcsCalendarReader.Component partial = e.getEvent();
+                    if (partial != null) {
+                        total++;
+                    }
+                    errors.add(new CalendarImportResponse.ItemError(partial != null ? total : 0, e.getLine(),
+                            partial != null ? partial.value("UID") : null,
+                            partial != null ? summaryOf(partial) : null, e.getMessage()));
+                    continue;
+                }
+                if (vevent == null) {
+                    break;
+                }
+
+                total++;
+                try {
+                    batch.add(toCalendarEvent(vevent, family, currentUser, importedAt));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    errors.add(new CalendarImportResponse.ItemError(
+                            total, vevent.line(), vevent.value("UID"), summaryOf(vevent), e.getMessage()));
+                    continue;
+                }
+
+                if (batch.size() >= BATCH_SIZE) {
+                    imported += importBatch(batch, family, currentUser, importedAt, reminderSeries);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("ICS 파일을 읽을 수 없습니다", e);
+        }
+
+        if (!batch.isEmpty()) {
+            imported += importBatch(batch, family, currentUser, importedAt, reminderSeries);
+        }
+
+        if (imported > 0) {
+            refreshDerivedState(family.getId(), reminderSeries);
+        }
+
+        System.out.println(String.format("=== 캘린더 가져오기: 가족 %d, %d건 중 %d건 성공, %d건 실패 ===",
+                family.getId(), total, imported, errors.size()));
+
+        return new CalendarImportResponse(total, imported, errors.size(), System.currentTimeMillis() - startedAt, errors);
+    }
+
+    // 배치를 저장하고 생성된 id로 발생 인덱스를 바로 채움, 알림 대상은 reminderSeries에 모음
+    private int importBatch(List<CalendarEvent> events, Family family, User createdBy, LocalDateTime importedAt,
+                            List<CalendarReminderQueue.Series> reminderSeries) {
+        insertBatch(events, family, createdBy, importedAt);
+        eventOccurrenceService.materialize(events);
+
+        events.stream()
+                .filter(event -> event.getReminderMinutes() != null)
+                .map(CalendarReminderQueue.Series::from)
+                .forEach(reminderSeries::add);
+        return events.size();
+    }
+
+    // 시각은 LocalDateTime 그대로 바인딩 (Timestamp는 드라이버의 기본 시간대로 변환될 수 있음)
+    private void insertBatch(List<CalendarEvent> events, Family family, User createdBy, LocalDateTime importedAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CalendarEvent event = events.get(i);
+                        ps.setString(1, event.getTitle());
+                        ps.setString(2, event.getDescription());
+                        ps.setObject(3, event.getStartDatetime());
+                        ps.setObject(4, event.getEndDatetime());
+                        ps.setBoolean(5, event.getAllDay());
+                        ps.setString(6, event.getColor());
+                        ps.setString(7, event.getRepeatType().name());
+                        if (event.getRepeatEndDate() != null) {
+                            ps.setObject(8, event.getRepeatEndDate());
+                        } else {
+                            ps.setNull(8, Types.DATE);
+                        }
+                        if (event.getReminderMinutes() != null) {
+                            ps.setInt(9, event.getReminderMinutes());
+                        } else {
+                            ps.setNull(9, Types.INTEGER);
+                        }
+                        ps.setLong(10, family.getId());
+                        ps.setLong(11, createdBy.getId());
+                        ps.setObject(12, importedAt);
+                        ps.setObject(13, importedAt);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return events.size();
+                    }
+                },
+                keyHolder);
+
+        // 생성 키는 배치의 행 순서대로 반환됨 (키 이름의 대소문자는 DB마다 다름)
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != events.size()) {
+            throw new RuntimeException(String.format("일정 %d건을 저장했지만 생성된 id는 %d건입니다", events.size(), keys.size()));
+        }
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // 알림 큐, 구독 피드를 가져오기 전체에 대해 한 번만 갱신 (발생 인덱스는 배치마다 채움)
+    private void refreshDerivedState(Long familyId, List<CalendarReminderQueue.Series> reminderSeries) {
+        AfterCommit.run(() -> {
+            LocalDateTime now = LocalDateTime.now(SEOUL);
+            reminderSeries.forEach(series -> calendarReminderQueue.schedule(series, now));
+
+            CalendarEventUpdateMessage message = new CalendarEventUpdateMessage("RELOADED", null, null);
+            messagingTemplate.convertAndSend("/topic/family/" + familyId + "/calendar-updates", message);
+        });
+        // 알림이 있는 일정만 다른 노드의 알림 큐에 알림
+        secondLevelCacheService.recordChanges(CalendarEvent.class,
+                reminderSeries.stream().map(CalendarReminderQueue.Series::eventId).toList());
+        calendarFeedService.invalidate(familyId);
+        familyCalendarIndexService.invalidate(familyId);
+    }
+
+    private CalendarEvent toCalendarEvent(IcsCalendarReader.Component vevent, Family family, User createdBy, LocalDateTime importedAt) {
+        if (vevent.property("RECURRENCE-ID") != null) {
+            throw new IllegalArgumentException("반복 일정의 개별 수정(RECURRENCE-ID)은 지원하지 않습니다");
+        }
+
+        IcsCalendarReader.Property dtStart = vevent.property("DTSTART");
+        if (dtStart == null) {
+            throw new IllegalArgumentException("DTSTART가 없습니다");
+        }
+
+        boolean allDay = isDateValue(dtStart);
+        LocalDateTime start;
+        LocalDateTime end;
+
+        if (allDay) {
+            // 앱의 종일 일정은 시작일 00:00:00 ~ 마지막 날 23:59:59 (ICS의 DTEND는 다음 날)
+            LocalDate startDate = LocalDate.parse(dtStart.value().trim(), DATE);
+            IcsCalendarReader.Property dtEnd = vevent.property("DTEND");
+            LocalDate lastDate = dtEnd != null ? parseDate(dtEnd).minusDays(1) : startDate;
+            if (lastDate.isBefore(startDate)) {
+                lastDate = startDate;
+            }
+            start = startDate.atStartOfDay();
+            end = lastDate.atTime(23, 59, 59);
+        } else {
+            start = parseDateTime(dtStart);
+            IcsCalendarReader.Property dtEnd = vevent.property("DTEND");
+            String duration = vevent.value("DURATION");
+            if (dtEnd != null) {
+                end = parseDateTime(dtEnd);
+            } else if (duration != null) {
+                end = start.plus(parseDuration(duration));
+            } else {
+                end = start;
+            }
+        }
+
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("종료 시각이 시작 시각보다 빠릅니다");
+        }
+
+        CalendarEvent event = CalendarEvent.builder()
+                .title(truncate(summaryOf(vevent), 255))
+                .description(truncate(unescaped(vevent.value("DESCRIPTION")), 1000))
+                .startDatetime(start)
+                .endDatetime(end)
+                .allDay(allDay)
+                .color("#3843FF")
+                .repeatType(CalendarEvent.RepeatType.NONE)
+                .reminderMinutes(reminderMinutes(vevent))
+                .family(family)
+                .createdBy(createdBy)
+                .createdAt(importedAt)
+                .updatedAt(importedAt)
+                .build();
+
+        String rrule = vevent.value("RRULE");
+        if (rrule != null) {
+            applyRecurrence(event, rrule);
+        }
+
+        return event;
+    }
+
+    /**
+     * Map an RRULE onto RepeatType/repeatEndDate. Only rules that produce exactly the
+     * start-anchored series the app can represent are accepted.
+     */
+    private void applyRecurrence(CalendarEvent event, String rrule) {
+        Map<String, String> parts = new HashMap<>();
+        for (String part : rrule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq > 0) {
+                parts.put(part.substring(0, eq).trim().toUpperCase(Locale.ROOT), part.substring(eq + 1).trim());
+            }
+        }
+
+        CalendarEvent.RepeatType repeatType;
+        try {
+            repeatType = CalendarEvent.RepeatType.valueOf(String.valueOf(parts.get("FREQ")).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 반복 주기입니다: " + parts.get("FREQ"));
+        }
+        if (repeatType == CalendarEvent.RepeatType.NONE) {
+            throw new IllegalArgumentException("지원하지 않는 반복 주기입니다: " + parts.get("FREQ"));
+        }
+
+        if (parts.containsKey("INTERVAL") && !parts.get("INTERVAL").equals("1")) {
+            throw new IllegalArgumentException("간격이 있는 반복(INTERVAL=" + parts.get("INTERVAL") + ")은 지원하지 않습니다");
+        }
+
+        LocalDate startDate = event.getStartDatetime().toLocalDate();
+        for (String key : parts.keySet()) {
+            boolean supported = switch (key) {
+                case "FREQ", "INTERVAL", "UNTIL", "COUNT", "WKST" -> true;
+                case "BYDAY" -> repeatType == CalendarEvent.RepeatType.WEEKLY
+                        && WEEKDAYS.get(parts.get(key).toUpperCase(Locale.ROOT)) == startDate.getDayOfWeek();
+                case "BYMONTH" -> parts.get(key).equals(String.valueOf(startDate.getMonthValue()));
+                case "BYMONTHDAY" -> matchesMonthDay(parts.get(key), parts.get("BYSETPOS"), startDate);
+                case "BYSETPOS" -> parts.get(key).equals("-1") && parts.containsKey("BYMONTHDAY");
+                default -> false;
+            };
+            if (!supported) {
+                throw new IllegalArgumentException("지원하지 않는 반복 규칙입니다: " + key + "=" + parts.get(key));
+            }
+        }
+
+        event.setRepeatType(repeatType);
+
+        if (parts.containsKey("UNTIL")) {
+            String until = parts.get("UNTIL");
+            event.setRepeatEndDate(until.length() == 8
+                    ? LocalDate.parse(until, DATE)
+                    : parseDateTime(until, until.endsWith("Z") ? ZoneOffset.UTC : SEOUL).toLocalDate());
+        } else if (parts.containsKey("COUNT")) {
+            long count = Long.parseLong(parts.get("COUNT"));
+            if (count < 1) {
+                throw new IllegalArgumentException("COUNT는 1 이상이어야 합니다");
+            }
+            event.setRepeatEndDate(RecurrenceCalculator.nthOccurrence(event.getStartDatetime(), repeatType, count - 1).toLocalDate());
+        }
+    }
+
+    // 단일 날짜이거나, 말일 보정(BYMONTHDAY=28,29,30,31;BYSETPOS=-1)처럼 시작일로 고정되는 경우만 허용
+    private boolean matchesMonthDay(String byMonthDay, String bySetPos, LocalDate startDate) {
+        int[] days = Arrays.stream(byMonthDay.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        if (days.length == 1) {
+            return days[0] == startDate.getDayOfMonth();
+        }
+        return "-1".equals(bySetPos)
+                && Arrays.stream(days).min().getAsInt() >= 28
+                && Arrays.stream(days).max().getAsInt() == startDate.getDayOfMonth();
+    }
+
+    // 시작 기준 VALARM 중 가장 이른 알림을 사용 (앱은 일정당 알림 하나)
+    private Integer reminderMinutes(IcsCalendarReader.Component vevent) {
+        Integer minutes = null;
+
+        for (IcsCalendarReader.Component alarm : vevent.children()) {
+            IcsCalendarReader.Property trigger = alarm.property("TRIGGER");
+            if (!alarm.name().equals("VALARM") || trigger == null
+                    || "DATE-TIME".equalsIgnoreCase(trigger.param("VALUE"))
+                    || "END".equalsIgnoreCase(trigger.param("RELATED"))) {
+                continue;
+            }
+
+            Duration offset;
+            try {
+                offset = parseDuration(trigger.value());
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (offset.isNegative() || offset.isZero()) {
+                int before = (int) offset.negated().toMinutes();
+                minutes = minutes == null ? before : Math.max(minutes, before);
+            }
+        }
+
+        return minutes;
+    }
+
+    private boolean isDateValue(IcsCalendarReader.Property property) {
+        return "DATE".equalsIgnoreCase(property.param("VALUE")) || property.value().trim().length() == 8;
+    }
+
+    private LocalDate parseDate(IcsCalendarReader.Property property) {
+        String value = property.value().trim();
+        return isDateValue(property) ? LocalDate.parse(value, DATE) : parseDateTime(property).toLocalDate();
+    }
+
+    // UTC(Z) 또는 TZID 시각은 서울 시각으로 변환, TZID가 없는 floating time은 그대로 사용
+    private LocalDateTime parseDateTime(IcsCalendarReader.Property property) {
+        String value = property.value().trim();
+        if (value.length() == 8) {
+            return LocalDate.parse(value, DATE).atStartOfDay();
+        }
+        if (value.endsWith("Z")) {
+            return parseDateTime(value, ZoneOffset.UTC);
+        }
+        return parseDateTime(value, zoneOf(property.param("TZID")));
+    }
+
+    private LocalDateTime parseDateTime(String value, ZoneId zone) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return LocalDateTime.parse(local, DATE_TIME)
+                    .atZone(zone)
+                    .withZoneSameInstant(SEOUL)
+                    .toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    // Outlook 등의 Windows 시간대 이름은 해석할 수 없으므로 서울 시간으로 간주
+    private ZoneId zoneOf(String tzid) {
+        if (tzid == null) {
+            return SEOUL;
+        }
+        try {
+            return ZoneId.of(tzid);
+        } catch (DateTimeException e) {
+            return SEOUL;
+        }
+    }
+
+    // RFC 5545 DURATION: [+-]P[nW] or [+-]P[nD][T[nH][nM][nS]]
+    private Duration parseDuration(String value) {
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        boolean negative = text.startsWith("-");
+        if (text.startsWith("-") || text.startsWith("+")) {
+            text = text.substring(1);
+        }
+
+        Duration duration;
+        try {
+            if (text.endsWith("W")) {
+                duration = Duration.ofDays(7L * Long.parseLong(text.substring(1, text.length() - 1)));
+            } else {
+                duration = Duration.parse(text);
+            }
+        } catch (NumberFormatException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("기간 형식이 올바르지 않습니다: " + value);
+        }
+
+        return negative ? duration.negated() : duration;
+    }
+
+    private String summaryOf(IcsCalendarReader.Component vevent) {
+        String summary = unescaped(vevent.value("SUMMARY"));
+        return summary != null && !summary.isBlank() ? summary : "(제목 없음)";
+    }
+
+    private String unescaped(String value) {
+        return value != null ? IcsCalendarReader.unescape(value) : null;
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,132 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.CalendarEvent.RepeatType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory queue of upcoming calendar reminders, ordered by the instant they are due.
+ *
+ * Every event with a reminder has at most one pending entry. For recurring events the
+ * following occurrence is only computed once the current one has fired, so the queue
+ * never holds more than one entry per series. Rescheduling or removing an event takes its
+ * old entry out of the queue right away.
+ */
+@Component
+public class CalendarReminderQueue {
+
+    // 일정마다 항목이 하나뿐이므로 (알림 시각, 일정 id)로 유일하게 정렬됨
+    private final NavigableSet<Reminder> queue = new TreeSet<>(
+            Comparator.comparing(Reminder::remindAt).thenComparing(Reminder::eventId));
+
+    // eventId -> 큐에 들어 있는 항목
+    private final Map<Long, Reminder> pending = new HashMap<>();
+
+    public synchronized void schedule(Series series, LocalDateTime now) {
+        remove(series.eventId());
+
+        if (series.reminderMinutes() == null) {
+            return;
+        }
+
+        // 알림 시각이 현재 분 이후인 첫 번째 발생 일정
+        LocalDateTime from = now.truncatedTo(ChronoUnit.MINUTES).plusMinutes(series.reminderMinutes());
+        enqueue(series, firstOccurrenceFrom(series, from));
+    }
+
+    public synchronized void remove(Long eventId) {
+        Reminder existing = pending.remove(eventId);
+        if (existing != null) {
+            queue.remove(existing);
+        }
+    }
+
+    /**
+     * Remove and return every reminder due at or before {@code now}, queueing the next
+     * occurrence of each recurring series that fired.
+     */
+    public synchronized List<Reminder> pollDue(LocalDateTime now) {
+        List<Reminder> due = new ArrayList<>();
+
+        while (!queue.isEmpty() && !queue.first().remindAt().isAfter(now)) {
+            Reminder reminder = queue.pollFirst();
+            pending.remove(reminder.eventId());
+            due.add(reminder);
+
+            Series series = reminder.series();
+            enqueue(series, firstOccurrenceFrom(series, reminder.occurrenceStart().plusNanos(1)));
+        }
+
+        return due;
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+        queue.clear();
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private void enqueue(Series series, LocalDateTime occurrenceStart) {
+        if (occurrenceStart == null) {
+            return;
+        }
+
+        Reminder reminder = new Reminder(series, occurrenceStart, occurrenceStart.minusMinutes(series.reminderMinutes()));
+        pending.put(series.eventId(), reminder);
+        queue.add(reminder);
+    }
+
+    /**
+     * First occurrence of the series starting at or after {@code from}, or null if the series has ended.
+     */
+    private LocalDateTime firstOccurrenceFrom(Series series, LocalDateTime from) {
+        return RecurrenceCalculator.firstOccurrenceFrom(series.start(), series.repeatType(), series.repeatEndDate(), from);
+    }
+
+    /**
+     * Detached copy of the event fields the queue needs, so entries never touch a JPA session.
+     */
+    public record Series(
+            Long eventId,
+            Long familyId,
+            String title,
+            boolean allDay,
+            Integer reminderMinutes,
+            LocalDateTime start,
+            RepeatType repeatType,
+            LocalDate repeatEndDate
+    ) {
+        public static Series from(CalendarEvent event) {
+            return new Series(
+                    event.getId(),
+                    event.getFamily().getId(),
+                    event.getTitle(),
+                    Boolean.TRUE.equals(event.getAllDay()),
+                    event.getReminderMinutes(),
+                    event.getStartDatetime(),
+                    event.getRepeatType(),
+                    event.getRepeatEndDate()
+            );
+        }
+    }
+
+    public record Reminder(Series series, LocalDateTime occurrenceStart, LocalDateTime remindAt) {
+        public Long eventId() {
+            return series.eventId();
+        }
+    }
+}
@@ -1,91 +1,190 @@
 package com.habittracker.service;
 
 import com.habittracker.entity.CalendarEvent;
-import com.habittracker.entity.User;
+import com.habittracker.entity.ReminderLedgerEntry;
 import com.habittracker.repository.CalendarEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Sends calendar reminders from the in-memory {@link CalendarReminderQueue} once a minute.
+ *
+ * When clustered only the node holding the lease sends. It loads the queue from the database when
+ * it takes the lease; after that, events created, edited or deleted on other nodes reach it through
+ * cache_invalidations (see {@link SecondLevelCacheService#recordChanges}) and only those events are
+ * reloaded on the next run.
+ */
 @Service
-public class CalendarReminderScheduler {
+public class CalendarReminderScheduler implements RemoteInvalidationListener {
 
     private final CalendarEventRepository calendarEventRepository;
     private final PushNotificationService pushNotificationService;
+    private final CalendarReminderQueue calendarReminderQueue;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final ClusterNodeService clusterNodeService;
+    private final ReminderLedgerService reminderLedgerService;
+    private final FamilySnapshotCache familySnapshotCache;
+    private final SchedulerMetrics schedulerMetrics;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String LEASE_NAME = "calendar-reminder";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(2);
+
+    // 재시작/takeover 시 이 시간 안에 알림 시각이 지난 일정도 다시 큐에 넣음 (중복은 ledger에서 걸러짐)
+    @Value("${reminder.catch-up-grace-minutes:30}")
+    private long catchUpGraceMinutes;
+
+    private volatile boolean leaseHeld = false;
+    // lease를 가진 동안 다른 노드에서 바뀐 일정 id (다음 실행에서 이 일정만 다시 읽어 큐에 반영)
+    private final Set<Long> remotelyChangedEventIds = ConcurrentHashMap.newKeySet();
 
     public CalendarReminderScheduler(
             CalendarEventRepository calendarEventRepository,
-            PushNotificationService pushNotificationService
+            PushNotificationService pushNotificationService,
+            CalendarReminderQueue calendarReminderQueue,
+            SchedulerLeaseService schedulerLeaseService,
+            ClusterNodeService clusterNodeService,
+            ReminderLedgerService reminderLedgerService,
+            FamilySnapshotCache familySnapshotCache,
+            SchedulerMetrics schedulerMetrics
     ) {
         this.calendarEventRepository = calendarEventRepository;
         this.pushNotificationService = pushNotificationService;
+        this.calendarReminderQueue = calendarReminderQueue;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.clusterNodeService = clusterNodeService;
+        this.reminderLedgerService = reminderLedgerService;
+        this.familySnapshotCache = familySnapshotCache;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
-    // 매분 실행하여 알림 시간이 된 일정 체크
+    // 서버 시작 시 앞으로 발생할 일정이 있는 알림 일정만 발생 인덱스에서 골라 메모리 큐에 적재
+    // (발생 인덱스 horizon 연장이 먼저 실행되도록 순서 지정)
+    @Transactional(readOnly = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadReminderQueue() {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        LocalDateTime from = now.minusMinutes(catchUpGraceMinutes);
+
+        calendarReminderQueue.clear();
+        for (CalendarEvent event : calendarEventRepository.findWithReminderOccurringFrom(from)) {
+            calendarReminderQueue.schedule(CalendarReminderQueue.Series.from(event), from);
+        }
+
+        System.out.println(String.format("=== 캘린더 알림 큐 적재 완료: %d건 ===", calendarReminderQueue.size()));
+    }
+
+    // 매분 실행하여 메모리 큐에서 알림 시간이 된 일정만 꺼내 전송 (DB 조회 없음)
     @Transactional(readOnly = true)
     @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
     public void sendCalendarReminders() {
         LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        schedulerMetrics.record("calendar-reminder", () -> sendDueReminders(now));
+    }
 
-        System.out.println(String.format("=== %s 캘린더 알림 스케줄러 실행 ===", now.format(TIME_FORMATTER)));
+    // 알림 시각이 된 일정 수를 반환 (lease가 없으면 SKIPPED)
+    private int sendDueReminders(LocalDateTime now) {
+        // 여러 노드가 실행 중이면 lease를 가진 노드만 알림을 보냄
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            leaseHeld = false;
+            remotelyChangedEventIds.clear();
+            return SchedulerMetrics.SKIPPED;
+        }
 
-        // 향후 2시간 이내에 시작하는 일정 중 알림이 설정된 것들을 조회
-        LocalDateTime checkStart = now;
-        LocalDateTime checkEnd = now.plusHours(2);
+        if (clusterNodeService.isClusterEnabled()) {
+            // 다른 노드에서 생성/수정/삭제된 일정은 이 노드의 큐에 없으므로 DB와 맞춰줌
+            if (!leaseHeld) {
+                // 적재 도중 들어온 변경은 다음 실행에서 다시 반영 (중복 반영은 무해함)
+                leaseHeld = true;
+                remotelyChangedEventIds.clear();
+                loadReminderQueue();
+            } else {
+                applyRemoteChanges(now);
+            }
+        }
+        leaseHeld = true;
 
-        List<CalendarEvent> upcomingEvents = calendarEventRepository.findEventsNeedingReminder(checkStart, checkEnd);
+        List<CalendarReminderQueue.Reminder> dueReminders = calendarReminderQueue.pollDue(now);
+        if (dueReminders.isEmpty()) {
+            return 0;
+        }
 
-        for (CalendarEvent event : upcomingEvents) {
-            Integer reminderMinutes = event.getReminderMinutes();
-            if (reminderMinutes == null) {
-                continue;
-            }
+        System.out.println(String.format("=== %s 캘린더 알림 스케줄러 실행: %d건 ===", now.format(TIME_FORMATTER), dueReminders.size()));
 
-            // 알림을 보내야 하는 시간 계산
-            LocalDateTime reminderTime = event.getStartDatetime().minusMinutes(reminderMinutes);
+        for (CalendarReminderQueue.Reminder reminder : dueReminders) {
+            // 큐 갱신 전에 삭제된 일정일 수 있으므로 전송 직전에 다시 확인
+            calendarEventRepository.findById(reminder.eventId())
+                    .filter(event -> event.getReminderMinutes() != null)
+                    .filter(event -> reminderLedgerService.tryRecord(
+                            ReminderLedgerEntry.Kind.CALENDAR, event.getId(), reminder.occurrenceStart()))
+                    .ifPresent(event -> sendEventReminder(event, reminder.occurrenceStart()));
+        }
+        return dueReminders.size();
+    }
 
-            // 현재 시간이 알림 시간인지 체크 (분 단위로)
-            if (isTimeToRemind(now, reminderTime)) {
-                sendEventReminder(event);
-            }
+    @Override
+    public void onRemoteInvalidation(String entityName, Long entityId) {
+        if (leaseHeld && CalendarEvent.class.getName().equals(entityName)) {
+            remotelyChangedEventIds.add(entityId);
         }
     }
 
-    private boolean isTimeToRemind(LocalDateTime now, LocalDateTime reminderTime) {
-        // 현재 시간과 알림 시간이 같은 분인지 체크
-        return now.getYear() == reminderTime.getYear() &&
-               now.getMonthValue() == reminderTime.getMonthValue() &&
-               now.getDayOfMonth() == reminderTime.getDayOfMonth() &&
-               now.getHour() == reminderTime.getHour() &&
-               now.getMinute() == reminderTime.getMinute();
+    // 다른 노드에서 바뀐 일정만 다시 읽어 큐 항목을 교체, 없어진 일정은 큐에서 뺌
+    private void applyRemoteChanges(LocalDateTime now) {
+        if (remotelyChangedEventIds.isEmpty()) {
+            return;
+        }
+        List<Long> eventIds = new ArrayList<>(remotelyChangedEventIds);
+        remotelyChangedEventIds.removeAll(eventIds);
+
+        Map<Long, CalendarEvent> events = calendarEventRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(CalendarEvent::getId, Function.identity()));
+        for (Long eventId : eventIds) {
+            CalendarEvent event = events.get(eventId);
+            if (event != null) {
+                calendarReminderQueue.schedule(CalendarReminderQueue.Series.from(event), now);
+            } else {
+                calendarReminderQueue.remove(eventId);
+            }
+        }
     }
 
-    private void sendEventReminder(CalendarEvent event) {
+    private void sendEventReminder(CalendarEvent event, LocalDateTime occurrenceStart) {
         // 가족 구성원 모두에게 알림 전송
-        Set<User> familyMembers = event.getFamily().getMembers();
+        FamilySnapshot family = familySnapshotCache.get(event.getFamily().getId());
 
         String title = "📅 일정 알림";
-        String body = buildReminderBody(event);
-
-        for (User member : familyMembers) {
-            // 알림 설정이 활성화된 사용자에게만 전송
-            if (member.getEnableReminders() != null && member.getEnableReminders()) {
-                pushNotificationService.sendNotification(member, title, body);
-                System.out.println(String.format("캘린더 알림 전송: %s - %s", member.getDisplayName(), event.getTitle()));
-            }
-        }
+        String body = buildReminderBody(event, occurrenceStart);
+
+        // 알림 설정이 활성화된 사용자에게만 전송
+        List<FamilySnapshot.Member> recipients = family.members().stream()
+                .filter(FamilySnapshot.Member::enableReminders)
+                .toList();
+        pushNotificationService.sendNotification(recipients.stream().map(FamilySnapshot.Member::id).toList(), title, body);
+        recipients.forEach(member ->
+                System.out.println(String.format("캘린더 알림 전송: %s - %s", member.displayName(), event.getTitle())));
     }
 
-    private String buildReminderBody(CalendarEvent event) {
+    private String buildReminderBody(CalendarEvent event, LocalDateTime occurrenceStart) {
         Integer reminderMinutes = event.getReminderMinutes();
         String timeInfo;
 
@@ -103,7 +202,7 @@ public class CalendarReminderScheduler {
             }
         }
 
-        String eventTime = event.getStartDatetime().format(TIME_FORMATTER);
+        String eventTime = occurrenceStart.format(TIME_FORMATTER);
 
         if (event.getAllDay()) {
             return String.format("'%s' 일정이 %s 시작됩니다", event.getTitle(), timeInfo);
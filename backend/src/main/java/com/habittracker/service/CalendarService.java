@@ -4,6 +4,7 @@ import com.habittracker.dto.CalendarEventRequest;
 import com.habittracker.dto.CalendarEventResponse;
 import com.habittracker.dto.CalendarEventUpdateMessage;
 import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
 import com.habittracker.entity.Family;
 import com.habittracker.entity.User;
 import com.habittracker.repository.CalendarEventRepository;
@@ -12,11 +13,16 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +32,11 @@ public class CalendarService {
     private final CalendarEventRepository calendarEventRepository;
     private final AuthService authService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final CalendarReminderQueue calendarReminderQueue;
+    private final EventOccurrenceService eventOccurrenceService;
+    private final CalendarFeedService calendarFeedService;
+    private final FamilyCalendarIndexService familyCalendarIndexService;
+    private final SecondLevelCacheService secondLevelCacheService;
 
     @Transactional
     public CalendarEventResponse createEvent(CalendarEventRequest request) {
@@ -51,10 +62,13 @@ public class CalendarService {
                 .build();
 
         CalendarEvent savedEvent = calendarEventRepository.save(event);
+        familyCalendarIndexService.replaceEvent(savedEvent, eventOccurrenceService.regenerate(savedEvent));
         CalendarEventResponse response = CalendarEventResponse.from(savedEvent);
 
         // WebSocket broadcast
         sendEventUpdate("CREATED", response, null, family.getId());
+        refreshReminder(savedEvent);
+        calendarFeedService.invalidate(family.getId());
 
         return response;
     }
@@ -71,6 +85,11 @@ public class CalendarService {
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.atTime(LocalTime.MAX);
 
+        // 발생 인덱스 범위 안이면 인덱스에서 바로 조회
+        if (eventOccurrenceService.covers(startDate, endDate)) {
+            return getEventsFromOccurrenceIndex(family, start, end);
+        }
+
         List<CalendarEvent> events = calendarEventRepository.findByFamilyAndDateRange(family, start, end);
 
         // Expand recurring events
@@ -82,6 +101,29 @@ public class CalendarService {
         return result;
     }
 
+    private List<CalendarEventResponse> getEventsFromOccurrenceIndex(Family family, LocalDateTime start, LocalDateTime end) {
+        List<EventOccurrence> occurrences = eventOccurrenceService.findOccurrences(family.getId(), start, end);
+        if (occurrences.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> eventIds = occurrences.stream()
+                .map(EventOccurrence::getEventId)
+                .collect(Collectors.toSet());
+        Map<Long, CalendarEvent> eventsById = calendarEventRepository.findAllWithCreatorByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(CalendarEvent::getId, Function.identity()));
+
+        List<CalendarEventResponse> result = new ArrayList<>();
+        for (EventOccurrence occurrence : occurrences) {
+            CalendarEvent event = eventsById.get(occurrence.getEventId());
+            if (event != null) {
+                result.add(toInstanceResponse(event, occurrence.getOccurrenceStart(), occurrence.getOccurrenceEnd()));
+            }
+        }
+
+        return result;
+    }
+
     @Transactional
     public CalendarEventResponse updateEvent(Long eventId, CalendarEventRequest request) {
         User currentUser = authService.getCurrentUser();
@@ -104,10 +146,13 @@ public class CalendarService {
         event.setReminderMinutes(request.getReminderMinutes());
 
         CalendarEvent updatedEvent = calendarEventRepository.save(event);
+        familyCalendarIndexService.replaceEvent(updatedEvent, eventOccurrenceService.regenerate(updatedEvent));
         CalendarEventResponse response = CalendarEventResponse.from(updatedEvent);
 
         // WebSocket broadcast
         sendEventUpdate("UPDATED", response, null, event.getFamily().getId());
+        refreshReminder(updatedEvent);
+        calendarFeedService.invalidate(event.getFamily().getId());
 
         return response;
     }
@@ -124,10 +169,22 @@ public class CalendarService {
         }
 
         Long familyId = event.getFamily().getId();
+        eventOccurrenceService.remove(eventId);
         calendarEventRepository.delete(event);
 
         // WebSocket broadcast
         sendEventUpdate("DELETED", null, eventId, familyId);
+        AfterCommit.run(() -> calendarReminderQueue.remove(eventId));
+        secondLevelCacheService.recordChanges(CalendarEvent.class, List.of(eventId));
+        calendarFeedService.invalidate(familyId);
+        familyCalendarIndexService.removeEvent(familyId, eventId);
+    }
+
+    // 이 노드의 큐는 커밋 후 바로, 알림 lease를 가진 다른 노드의 큐는 cache_invalidations를 거쳐 갱신
+    private void refreshReminder(CalendarEvent event) {
+        CalendarReminderQueue.Series series = CalendarReminderQueue.Series.from(event);
+        AfterCommit.run(() -> calendarReminderQueue.schedule(series, LocalDateTime.now(ZoneId.of("Asia/Seoul"))));
+        secondLevelCacheService.recordChanges(CalendarEvent.class, List.of(event.getId()));
     }
 
     private void sendEventUpdate(String type, CalendarEventResponse event, Long deletedEventId, Long familyId) {
@@ -136,9 +193,11 @@ public class CalendarService {
     }
 
     /**
-     * Expand recurring events into individual instances within the date range
+     * Expand recurring events into the instances that overlap the date range.
+     * Jumps straight to the first relevant occurrence instead of walking from the series start.
+     * Package-private for the JMH benchmarks (src/jmh).
      */
-    private List<CalendarEventResponse> expandRecurringEvent(CalendarEvent event, LocalDate rangeStart, LocalDate rangeEnd) {
+    List<CalendarEventResponse> expandRecurringEvent(CalendarEvent event, LocalDate rangeStart, LocalDate rangeEnd) {
         List<CalendarEventResponse> expandedEvents = new ArrayList<>();
 
         if (event.getRepeatType() == CalendarEvent.RepeatType.NONE) {
@@ -146,55 +205,48 @@ public class CalendarService {
             return expandedEvents;
         }
 
-        LocalDate eventDate = event.getStartDatetime().toLocalDate();
-        LocalDate repeatEnd = event.getRepeatEndDate() != null ? event.getRepeatEndDate() : rangeEnd;
-
-        // Don't expand beyond the range
-        if (repeatEnd.isAfter(rangeEnd)) {
-            repeatEnd = rangeEnd;
-        }
-
-        LocalTime startTime = event.getStartDatetime().toLocalTime();
-        LocalTime endTime = event.getEndDatetime().toLocalTime();
-        long durationMinutes = java.time.Duration.between(event.getStartDatetime(), event.getEndDatetime()).toMinutes();
-
-        LocalDate currentDate = eventDate;
-        while (!currentDate.isAfter(repeatEnd)) {
-            if (!currentDate.isBefore(rangeStart)) {
-                CalendarEventResponse instanceResponse = new CalendarEventResponse(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        currentDate.atTime(startTime),
-                        currentDate.atTime(startTime).plusMinutes(durationMinutes),
-                        event.getAllDay(),
-                        event.getColor(),
-                        event.getRepeatType().name(),
-                        event.getRepeatEndDate(),
-                        event.getReminderMinutes(),
-                        event.getFamily().getId(),
-                        event.getCreatedBy().getId(),
-                        event.getCreatedBy().getUsername(),
-                        event.getCreatedBy().getDisplayName(),
-                        event.getCreatedAt(),
-                        event.getUpdatedAt()
-                );
-                expandedEvents.add(instanceResponse);
-            }
-
-            // Move to next occurrence
-            currentDate = switch (event.getRepeatType()) {
-                case DAILY -> currentDate.plusDays(1);
-                case WEEKLY -> currentDate.plusWeeks(1);
-                case MONTHLY -> currentDate.plusMonths(1);
-                case YEARLY -> currentDate.plusYears(1);
-                default -> repeatEnd.plusDays(1); // Exit loop
-            };
+        Duration duration = Duration.between(event.getStartDatetime(), event.getEndDatetime());
+        LocalDateTime windowStart = rangeStart.atStartOfDay();
+        LocalDateTime windowEnd = rangeEnd.atTime(LocalTime.MAX);
+
+        // 범위 시작 전에 시작했지만 범위 안에서 끝나는 발생 일정도 포함
+        LocalDateTime searchFrom = duration.isZero() ? windowStart : windowStart.minus(duration).plusNanos(1);
+        List<LocalDateTime> occurrenceStarts = RecurrenceCalculator.occurrencesBetween(
+                event.getStartDatetime(),
+                event.getRepeatType(),
+                event.getRepeatEndDate(),
+                searchFrom,
+                windowEnd
+        );
+
+        for (LocalDateTime occurrenceStart : occurrenceStarts) {
+            expandedEvents.add(toInstanceResponse(event, occurrenceStart, occurrenceStart.plus(duration)));
         }
 
         return expandedEvents;
     }
 
+    private CalendarEventResponse toInstanceResponse(CalendarEvent event, LocalDateTime occurrenceStart, LocalDateTime occurrenceEnd) {
+        return new CalendarEventResponse(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                occurrenceStart,
+                occurrenceEnd,
+                event.getAllDay(),
+                event.getColor(),
+                event.getRepeatType().name(),
+                event.getRepeatEndDate(),
+                event.getReminderMinutes(),
+                event.getFamily().getId(),
+                event.getCreatedBy().getId(),
+                event.getCreatedBy().getUsername(),
+                event.getCreatedBy().getDisplayName(),
+                event.getCreatedAt(),
+                event.getUpdatedAt()
+        );
+    }
+
     /**
      * Get events that need reminder notification
      */
@@ -0,0 +1,97 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.SchedulerNode;
+import com.habittracker.repository.SchedulerNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Identifies this application instance for scheduler leases and tracks which instances are alive.
+ *
+ * Every node writes a heartbeat row to {@code scheduler_nodes}. {@link SchedulerLeaseService} lets
+ * another node take over a lease whose holder has not heartbeated for the node timeout, so work held
+ * by a crashed node is picked up without waiting for the lease to expire.
+ */
+@Service
+public class ClusterNodeService {
+
+    private final SchedulerNodeRepository schedulerNodeRepository;
+    private final String nodeId;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @Value("${scheduler.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${scheduler.cluster.node-timeout-seconds:45}")
+    private long nodeTimeoutSeconds;
+
+    public ClusterNodeService(SchedulerNodeRepository schedulerNodeRepository) {
+        this.schedulerNodeRepository = schedulerNodeRepository;
+        this.nodeId = resolveHostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isClusterEnabled() {
+        return clusterEnabled;
+    }
+
+    public long getNodeTimeoutSeconds() {
+        return nodeTimeoutSeconds;
+    }
+
+    // 기동 직후 다른 리스너가 lease를 잡기 전에 먼저 살아 있음을 알림
+    @Transactional
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scheduler.cluster.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (!clusterEnabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SchedulerNode node = schedulerNodeRepository.findById(nodeId)
+                .orElseGet(() -> SchedulerNode.builder().nodeId(nodeId).startedAt(startedAt).build());
+        node.setHeartbeatAt(now);
+        schedulerNodeRepository.save(node);
+
+        // 오랫동안 heartbeat가 없는 노드 행 정리
+        schedulerNodeRepository.deleteByHeartbeatAtBefore(now.minusSeconds(nodeTimeoutSeconds * 10));
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (!clusterEnabled) {
+            return;
+        }
+
+        // 종료 시 바로 빠져서 다른 노드가 timeout을 기다리지 않고 작업을 이어받도록 함
+        try {
+            schedulerNodeRepository.deleteById(nodeId);
+        } catch (Exception e) {
+            System.err.println("Failed to remove scheduler node on shutdown: " + e.getMessage());
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.habittracker.service;
 
 import com.habittracker.dto.CommentRequest;
 import com.habittracker.dto.CommentResponse;
+import com.habittracker.dto.CommentUpdateMessage;
+import com.habittracker.dto.MentionSuggestionResponse;
 import com.habittracker.entity.Comment;
 import com.habittracker.entity.HabitLog;
 import com.habittracker.entity.User;
@@ -9,6 +11,7 @@ import com.habittracker.repository.CommentRepository;
 import com.habittracker.repository.HabitLogRepository;
 import com.habittracker.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,10 @@ public class CommentService {
     private final UserRepository userRepository;
     private final AuthService authService;
     private final PushNotificationService pushNotificationService;
+    private final FamilyMentionIndex familyMentionIndex;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private static final int MAX_MENTION_SUGGESTIONS = 20;
 
     // Pattern to match @username mentions
     private static final Pattern MENTION_PATTERN = Pattern.compile("@(\\w+)");
@@ -53,32 +60,67 @@ public class CommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
+        habitLogRepository.adjustCommentCount(habitLog.getId(), habitLog.getLogDate(), 1);
 
         // Parse mentions and send notifications
         sendMentionNotifications(request.getContent(), currentUser, habitLog);
 
-        return CommentResponse.from(savedComment);
+        CommentResponse response = CommentResponse.from(savedComment);
+        sendCommentUpdate("CREATED", habitLog, response, null, response);
+        return response;
     }
 
     private void sendMentionNotifications(String content, User commenter, HabitLog habitLog) {
         Set<String> mentionedUsernames = extractMentions(content);
+        if (mentionedUsernames.isEmpty()) {
+            return;
+        }
+
+        // Only family members can be mentioned; resolved from the in-memory index without queries
+        for (UsernameTrie.Member mentioned : familyMentionIndex.resolve(commenter.getFamily().getId(), mentionedUsernames)) {
+            if (mentioned.userId().equals(commenter.getId())) {
+                continue;
+            }
 
-        for (String username : mentionedUsernames) {
-            userRepository.findByUsername(username).ifPresent(mentionedUser -> {
-                // Only send notification if the mentioned user is in the same family
-                if (mentionedUser.getFamily() != null &&
-                    commenter.getFamily() != null &&
-                    mentionedUser.getFamily().getId().equals(commenter.getFamily().getId()) &&
-                    !mentionedUser.getId().equals(commenter.getId())) {
-
-                    String title = commenter.getDisplayName() + "님이 회원님을 언급했습니다";
-                    String body = "\"" + habitLog.getHabit().getName() + "\" 습관에서: " + truncateContent(content, 50);
-                    pushNotificationService.sendNotification(mentionedUser, title, body);
-                }
-            });
+            String title = commenter.getDisplayName() + "님이 회원님을 언급했습니다";
+            String body = "\"" + habitLog.getHabit().getName() + "\" 습관에서: " + truncateContent(content, 50);
+            pushNotificationService.sendNotification(userRepository.getReferenceById(mentioned.userId()), title, body);
         }
     }
 
+    /**
+     * Family members (excluding the current user) whose username or display name starts with the prefix.
+     */
+    @Transactional(readOnly = true)
+    public List<MentionSuggestionResponse> suggestMentions(String prefix, int limit) {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("User must belong to a family");
+        }
+
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_MENTION_SUGGESTIONS));
+        return familyMentionIndex.suggest(currentUser.getFamily().getId(), prefix == null ? "" : prefix, boundedLimit + 1)
+                .stream()
+                .filter(member -> !member.userId().equals(currentUser.getId()))
+                .limit(boundedLimit)
+                .map(member -> new MentionSuggestionResponse(member.userId(), member.username(), member.displayName()))
+                .collect(Collectors.toList());
+    }
+
+    // WebSocket broadcast after commit, so clients never see a comment that was rolled back
+    private void sendCommentUpdate(String type, HabitLog habitLog, CommentResponse comment, Long deletedCommentId,
+                                   CommentResponse latestComment) {
+        if (habitLog.getHabit().getFamily() == null) {
+            return;
+        }
+        Long familyId = habitLog.getHabit().getFamily().getId();
+        CommentUpdateMessage message = new CommentUpdateMessage(type, habitLog.getId(), comment, deletedCommentId,
+                habitLogRepository.findCommentCount(habitLog.getId(), habitLog.getLogDate()), latestComment);
+
+        AfterCommit.run(() -> messagingTemplate.convertAndSend("/topic/family/" + familyId + "/comments", message));
+    }
+
     private Set<String> extractMentions(String content) {
         Set<String> mentions = new HashSet<>();
         Matcher matcher = MENTION_PATTERN.matcher(content);
@@ -127,6 +169,15 @@ public class CommentService {
             throw new RuntimeException("You can only delete your own comments");
         }
 
+        HabitLog habitLog = comment.getHabitLog();
         commentRepository.delete(comment);
+        habitLogRepository.adjustCommentCount(habitLog.getId(), habitLog.getLogDate(), -1);
+
+        CommentResponse latest = commentRepository.findLatestByHabitLogIdsWithUser(List.of(habitLog.getId()))
+                .stream()
+                .findFirst()
+                .map(CommentResponse::from)
+                .orElse(null);
+        sendCommentUpdate("DELETED", habitLog, null, commentId, latest);
     }
 }
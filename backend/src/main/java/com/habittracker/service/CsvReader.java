@@ -0,0 +1,104 @@
+package com.habittracker.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quoted fields may contain commas,
+ * doubled quotes and line breaks. A leading UTF-8 BOM (as written by spreadsheet exports) is skipped.
+ */
+final class CsvReader implements Closeable {
+
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private int recordLine;
+    private boolean first = true;
+
+    CsvReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fields of the next non-blank record, or null at the end of the input.
+     */
+    List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (first) {
+                first = false;
+                if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+            }
+        } while (line.isBlank());
+
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString().trim());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            length += line.length();
+            if (!quoted) {
+                break;
+            }
+            // 따옴표 안의 줄바꿈은 다음 줄과 이어 붙임
+            line = reader.readLine();
+            if (line == null || length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException(recordLine + "번째 줄: 닫히지 않은 따옴표가 있습니다");
+            }
+            lineNumber++;
+            field.append('\n');
+        }
+
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Line number where the record last returned by {@link #next()} starts (1-based).
+     */
+    int recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,247 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
+import com.habittracker.repository.CalendarEventRepository;
+import com.habittracker.repository.EventOccurrenceRepository;
+import com.habittracker.repository.FamilyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the event_occurrences index. Single events map to one row; recurring series are
+ * materialized from {@code history-days} in the past to {@code horizon-days} ahead, regenerated
+ * whenever a series is written and extended nightly.
+ *
+ * Every write also raises the family's longest event span (families.max_event_span_minutes), so
+ * range reads can bound occurrence_start from below: an occurrence overlapping [start, end] cannot
+ * start before start minus that span.
+ */
+@Service
+public class EventOccurrenceService {
+
+    private static final String LEASE_NAME = "event-occurrence-horizon";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO event_occurrences " +
+            "(event_id, occurrence_start, occurrence_end, family_id) VALUES (?, ?, ?, ?)";
+
+    private final EventOccurrenceRepository eventOccurrenceRepository;
+    private final CalendarEventRepository calendarEventRepository;
+    private final FamilyRepository familyRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final SchedulerMetrics schedulerMetrics;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${calendar.occurrence.horizon-days:400}")
+    private long horizonDays;
+
+    @Value("${calendar.occurrence.history-days:400}")
+    private long historyDays;
+
+    public EventOccurrenceService(
+            EventOccurrenceRepository eventOccurrenceRepository,
+            CalendarEventRepository calendarEventRepository,
+            FamilyRepository familyRepository,
+            SchedulerLeaseService schedulerLeaseService,
+            SchedulerMetrics schedulerMetrics,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.eventOccurrenceRepository = eventOccurrenceRepository;
+        this.calendarEventRepository = calendarEventRepository;
+        this.familyRepository = familyRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.schedulerMetrics = schedulerMetrics;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replace the materialized occurrences of one series. Runs in the caller's transaction
+     * so the index never disagrees with the committed event.
+     */
+    @Transactional
+    public List<EventOccurrence> regenerate(CalendarEvent event) {
+        LocalDate today = today();
+        List<EventOccurrence> occurrences = buildOccurrences(event, historyStart(today), horizonEnd(today));
+
+        raiseMaxSpan(event.getFamily().getId(), List.of(event));
+        eventOccurrenceRepository.deleteByEventId(event.getId());
+        eventOccurrenceRepository.saveAll(occurrences);
+
+        return occurrences;
+    }
+
+    /**
+     * Materialize series that have no occurrences yet (e.g. a batch of freshly imported events).
+     * Rows are written with JDBC batches as they are built, so neither the pending list nor the
+     * persistence context grows with the number of events.
+     */
+    @Transactional
+    public void materialize(List<CalendarEvent> events) {
+        LocalDate today = today();
+        LocalDateTime historyStart = historyStart(today);
+        LocalDateTime horizonEnd = horizonEnd(today);
+
+        events.stream()
+                .collect(Collectors.groupingBy(event -> event.getFamily().getId()))
+                .forEach(this::raiseMaxSpan);
+
+        List<EventOccurrence> pending = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (CalendarEvent event : events) {
+            pending.addAll(buildOccurrences(event, historyStart, horizonEnd));
+            if (pending.size() >= INSERT_BATCH_SIZE) {
+                insertOccurrences(pending);
+                pending.clear();
+            }
+        }
+        insertOccurrences(pending);
+    }
+
+    @Transactional
+    public void remove(Long eventId) {
+        eventOccurrenceRepository.deleteByEventId(eventId);
+    }
+
+    /**
+     * Whether the index is guaranteed to hold every occurrence in the range. One day of slack on
+     * each side covers a nightly extension that has not run yet.
+     */
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        LocalDate today = today();
+        return !startDate.isBefore(today.minusDays(historyDays - 1))
+                && !endDate.isAfter(today.plusDays(horizonDays - 1));
+    }
+
+    /**
+     * Last instant {@link #covers} guarantees to be materialized.
+     */
+    public LocalDateTime coveredUntil() {
+        return today().plusDays(horizonDays - 1).atTime(LocalTime.MAX);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventOccurrence> findOccurrences(Long familyId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime earliestStart = start.minusMinutes(familyRepository.findMaxEventSpanMinutes(familyId));
+        return eventOccurrenceRepository.findByFamilyAndRange(familyId, earliestStart, start, end);
+    }
+
+    // 서버 시작 시와 매일 새벽 반복 일정의 발생 인덱스를 horizon까지 연장하고 오래된 발생 일정은 정리
+    // (알림 큐 적재보다 먼저 실행되어야 함)
+    @Transactional
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 3 * * *", zone = "Asia/Seoul")
+    public void extendHorizon() {
+        schedulerMetrics.record("occurrence-horizon", this::extendOccurrences);
+    }
+
+    // 추가한 발생 일정 수를 반환 (lease가 없으면 SKIPPED)
+    private int extendOccurrences() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            return SchedulerMetrics.SKIPPED;
+        }
+
+        LocalDate today = today();
+        LocalDateTime historyStart = historyStart(today);
+        LocalDateTime horizonEnd = horizonEnd(today);
+
+        int pruned = eventOccurrenceRepository.deleteRecurringEndedBefore(historyStart, CalendarEvent.RepeatType.NONE);
+
+        Map<Long, LocalDateTime> lastStarts = new HashMap<>();
+        for (Object[] row : eventOccurrenceRepository.findLastOccurrenceStarts()) {
+            lastStarts.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+
+        int added = 0;
+        for (CalendarEvent event : calendarEventRepository.findActiveRecurring(CalendarEvent.RepeatType.NONE, historyStart.toLocalDate())) {
+            // 이미 만들어진 마지막 발생 일정 이후만 추가
+            LocalDateTime last = lastStarts.get(event.getId());
+            LocalDateTime from = last != null && last.isAfter(historyStart) ? last.plusNanos(1) : historyStart;
+
+            List<EventOccurrence> occurrences = buildOccurrences(event, from, horizonEnd);
+            eventOccurrenceRepository.saveAll(occurrences);
+            added += occurrences.size();
+        }
+
+        System.out.println(String.format("=== 일정 발생 인덱스 연장: %d건 추가, %d건 정리 (~%s) ===",
+                added, pruned, horizonEnd.toLocalDate()));
+        return added;
+    }
+
+    // 읽어 본 값보다 길 때만 UPDATE (대부분의 쓰기는 기존 최댓값 이하)
+    private void raiseMaxSpan(Long familyId, List<CalendarEvent> events) {
+        long minutes = events.stream().mapToLong(EventOccurrenceService::spanMinutes).max().orElse(0);
+        if (minutes > familyRepository.findMaxEventSpanMinutes(familyId)) {
+            familyRepository.raiseMaxEventSpan(familyId, minutes);
+        }
+    }
+
+    // 분 단위로 올림하여 하한이 일정 길이보다 짧아지지 않도록 함
+    private static long spanMinutes(CalendarEvent event) {
+        long seconds = Duration.between(event.getStartDatetime(), event.getEndDatetime()).getSeconds();
+        return Math.max(0, (seconds + 59) / 60);
+    }
+
+    private void insertOccurrences(List<EventOccurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, occurrences, occurrences.size(), (ps, occurrence) -> {
+            ps.setLong(1, occurrence.getEventId());
+            // LocalDateTime 그대로 바인딩 (Timestamp는 드라이버의 기본 시간대로 변환될 수 있음)
+            ps.setObject(2, occurrence.getOccurrenceStart());
+            ps.setObject(3, occurrence.getOccurrenceEnd());
+            ps.setLong(4, occurrence.getFamilyId());
+        });
+    }
+
+    private List<EventOccurrence> buildOccurrences(CalendarEvent event, LocalDateTime from, LocalDateTime to) {
+        List<EventOccurrence> occurrences = new ArrayList<>();
+        Long familyId = event.getFamily().getId();
+
+        // 단일 일정은 기간과 관계없이 항상 한 건
+        if (event.getRepeatType() == CalendarEvent.RepeatType.NONE) {
+            occurrences.add(new EventOccurrence(event.getId(), event.getStartDatetime(), event.getEndDatetime(), familyId, false));
+            return occurrences;
+        }
+
+        Duration duration = Duration.between(event.getStartDatetime(), event.getEndDatetime());
+        for (LocalDateTime occurrenceStart : RecurrenceCalculator.occurrencesBetween(
+                event.getStartDatetime(), event.getRepeatType(), event.getRepeatEndDate(), from, to)) {
+            occurrences.add(new EventOccurrence(event.getId(), occurrenceStart, occurrenceStart.plus(duration), familyId, false));
+        }
+
+        return occurrences;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneId.of("Asia/Seoul"));
+    }
+
+    private LocalDateTime historyStart(LocalDate today) {
+        return today.minusDays(historyDays).atStartOfDay();
+    }
+
+    private LocalDateTime horizonEnd(LocalDate today) {
+        return today.plusDays(horizonDays).atTime(LocalTime.MAX);
+    }
+}
@@ -0,0 +1,272 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.CalendarConflictResponse;
+import com.habittracker.dto.FreeSlotResponse;
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.User;
+import com.habittracker.repository.CalendarEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-family interval index over materialized occurrences from yesterday to the occurrence horizon,
+ * used for conflict warnings and free-slot search.
+ *
+ * Indexes are built lazily from event_occurrences, patched after commit by CalendarService writes and
+ * rebuilt when the day rolls over or the TTL expires (writes on other instances are not seen here).
+ */
+@Service
+public class FamilyCalendarIndexService {
+
+    private static final int MAX_FREE_SLOTS = 100;
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final EventOccurrenceService eventOccurrenceService;
+    private final AuthService authService;
+    private final PrimaryReads primaryReads;
+
+    private final Map<Long, FamilyIndex> indexes = new ConcurrentHashMap<>();
+
+    @Value("${calendar.interval-index.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    public FamilyCalendarIndexService(
+            CalendarEventRepository calendarEventRepository,
+            EventOccurrenceService eventOccurrenceService,
+            AuthService authService,
+            PrimaryReads primaryReads
+    ) {
+        this.calendarEventRepository = calendarEventRepository;
+        this.eventOccurrenceService = eventOccurrenceService;
+        this.authService = authService;
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * Occurrences overlapping [start, end), e.g. to warn before an event is created.
+     */
+    public List<CalendarConflictResponse> findConflicts(LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        validateRange(start, end);
+        FamilyIndex index = getIndex(getCurrentFamily().getId(), start, end);
+
+        List<IntervalTree.Interval> overlapping;
+        synchronized (index) {
+            overlapping = index.tree.overlapping(start, end);
+        }
+
+        return overlapping.stream()
+                .filter(interval -> !interval.eventId().equals(excludeEventId))
+                .map(interval -> new CalendarConflictResponse(
+                        interval.eventId(), interval.title(), interval.allDay(), interval.start(), interval.end()))
+                .toList();
+    }
+
+    /**
+     * Gaps of at least {@code durationMinutes} between family events inside the daily window
+     * [dayStart, dayEnd]. All-day events are treated as free time unless {@code includeAllDay} is set.
+     */
+    public List<FreeSlotResponse> findFreeSlots(LocalDateTime start, LocalDateTime end, int durationMinutes,
+                                                LocalTime dayStart, LocalTime dayEnd, boolean includeAllDay) {
+        validateRange(start, end);
+        if (durationMinutes <= 0) {
+            throw new RuntimeException("일정 길이는 1분 이상이어야 합니다");
+        }
+        if (!dayStart.isBefore(dayEnd)) {
+            throw new RuntimeException("하루 시작 시각은 종료 시각보다 빨라야 합니다");
+        }
+
+        FamilyIndex index = getIndex(getCurrentFamily().getId(), start, end);
+        List<IntervalTree.Interval> busy;
+        synchronized (index) {
+            busy = index.tree.overlapping(start, end);
+        }
+
+        Duration minimum = Duration.ofMinutes(durationMinutes);
+        List<FreeSlotResponse> slots = new ArrayList<>();
+
+        // 시작 시각 순으로 바쁜 구간을 병합하면서 사이의 빈 구간을 찾음
+        LocalDateTime cursor = start;
+        for (IntervalTree.Interval interval : busy) {
+            if (interval.allDay() && !includeAllDay) {
+                continue;
+            }
+            if (interval.start().isAfter(cursor)) {
+                addDailySlots(slots, cursor, interval.start(), minimum, dayStart, dayEnd);
+            }
+            if (interval.effectiveEnd().isAfter(cursor)) {
+                cursor = interval.effectiveEnd();
+            }
+            if (slots.size() >= MAX_FREE_SLOTS) {
+                return slots.subList(0, MAX_FREE_SLOTS);
+            }
+        }
+        if (end.isAfter(cursor)) {
+            addDailySlots(slots, cursor, end, minimum, dayStart, dayEnd);
+        }
+
+        return slots.size() > MAX_FREE_SLOTS ? slots.subList(0, MAX_FREE_SLOTS) : slots;
+    }
+
+    /**
+     * Replace the cached intervals of one event after the transaction commits.
+     */
+    public void replaceEvent(CalendarEvent event, List<EventOccurrence> occurrences) {
+        Long familyId = event.getFamily().getId();
+        Long eventId = event.getId();
+        String title = event.getTitle();
+        boolean allDay = Boolean.TRUE.equals(event.getAllDay());
+        List<IntervalTree.Interval> intervals = occurrences.stream()
+                .map(occurrence -> new IntervalTree.Interval(
+                        eventId, title, allDay, occurrence.getOccurrenceStart(), occurrence.getOccurrenceEnd()))
+                .toList();
+
+        AfterCommit.run(() -> {
+            FamilyIndex index = indexes.get(familyId);
+            if (index != null) {
+                synchronized (index) {
+                    index.removeEvent(eventId);
+                    index.addEvent(eventId, intervals);
+                }
+            }
+        });
+    }
+
+    public void removeEvent(Long familyId, Long eventId) {
+        AfterCommit.run(() -> {
+            FamilyIndex index = indexes.get(familyId);
+            if (index != null) {
+                synchronized (index) {
+                    index.removeEvent(eventId);
+                }
+            }
+        });
+    }
+
+    public void invalidate(Long familyId) {
+        AfterCommit.run(() -> indexes.remove(familyId));
+    }
+
+    private FamilyIndex getIndex(Long familyId, LocalDateTime start, LocalDateTime end) {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        LocalDateTime windowStart = today.minusDays(1).atStartOfDay();
+        LocalDateTime windowEnd = eventOccurrenceService.coveredUntil();
+
+        if (start.isBefore(windowStart) || end.isAfter(windowEnd)) {
+            throw new RuntimeException(String.format("%s부터 %s까지의 일정만 조회할 수 있습니다",
+                    windowStart.toLocalDate(), windowEnd.toLocalDate()));
+        }
+
+        FamilyIndex index = indexes.get(familyId);
+        if (index != null && index.builtOn.equals(today)
+                && index.builtAt.plus(Duration.ofMinutes(ttlMinutes)).isAfter(Instant.now())) {
+            return index;
+        }
+
+        return indexes.compute(familyId, (id, existing) -> {
+            if (existing != null && existing != index) {
+                return existing; // 다른 요청이 이미 다시 만듦
+            }
+            return primaryReads.load(() -> build(id, today, windowStart, windowEnd));
+        });
+    }
+
+    private FamilyIndex build(Long familyId, LocalDate today, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        List<EventOccurrence> occurrences = eventOccurrenceService.findOccurrences(familyId, windowStart, windowEnd);
+        Map<Long, CalendarEvent> events = calendarEventRepository.findAllById(occurrences.stream()
+                        .map(EventOccurrence::getEventId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(CalendarEvent::getId, Function.identity()));
+
+        FamilyIndex index = new FamilyIndex(today, Instant.now());
+        Map<Long, List<IntervalTree.Interval>> byEvent = occurrences.stream()
+                .filter(occurrence -> events.containsKey(occurrence.getEventId()))
+                .map(occurrence -> {
+                    CalendarEvent event = events.get(occurrence.getEventId());
+                    return new IntervalTree.Interval(event.getId(), event.getTitle(), Boolean.TRUE.equals(event.getAllDay()),
+                            occurrence.getOccurrenceStart(), occurrence.getOccurrenceEnd());
+                })
+                .collect(Collectors.groupingBy(IntervalTree.Interval::eventId));
+        byEvent.forEach(index::addEvent);
+
+        return index;
+    }
+
+    // 빈 구간을 날짜별 허용 시간대(dayStart~dayEnd)로 잘라 최소 길이 이상만 추가
+    private void addDailySlots(List<FreeSlotResponse> slots, LocalDateTime gapStart, LocalDateTime gapEnd,
+                               Duration minimum, LocalTime dayStart, LocalTime dayEnd) {
+        for (LocalDate date = gapStart.toLocalDate(); !date.isAfter(gapEnd.toLocalDate()); date = date.plusDays(1)) {
+            LocalDateTime slotStart = max(gapStart, date.atTime(dayStart));
+            LocalDateTime slotEnd = min(gapEnd, date.atTime(dayEnd));
+
+            if (!Duration.between(slotStart, slotEnd).minus(minimum).isNegative()) {
+                slots.add(new FreeSlotResponse(slotStart, slotEnd));
+            }
+        }
+    }
+
+    private void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new RuntimeException("종료 시각은 시작 시각보다 늦어야 합니다");
+        }
+    }
+
+    private Family getCurrentFamily() {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("가족에 속해있어야 일정을 조회할 수 있습니다");
+        }
+
+        return currentUser.getFamily();
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static final class FamilyIndex {
+        private final LocalDate builtOn;
+        private final Instant builtAt;
+        private final IntervalTree tree = new IntervalTree();
+        private final Map<Long, List<IntervalTree.Interval>> byEvent = new HashMap<>();
+
+        private FamilyIndex(LocalDate builtOn, Instant builtAt) {
+            this.builtOn = builtOn;
+            this.builtAt = builtAt;
+        }
+
+        private void addEvent(Long eventId, List<IntervalTree.Interval> intervals) {
+            intervals.forEach(tree::insert);
+            byEvent.put(eventId, new ArrayList<>(intervals));
+        }
+
+        private void removeEvent(Long eventId) {
+            List<IntervalTree.Interval> intervals = byEvent.remove(eventId);
+            if (intervals != null) {
+                intervals.forEach(tree::remove);
+            }
+        }
+    }
+}
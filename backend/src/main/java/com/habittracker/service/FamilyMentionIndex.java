@@ -0,0 +1,132 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-family member index for resolving @mentions and autocompleting them.
+ *
+ * Built lazily from the family snapshot, patched after commit on join, leave,
+ * account deletion and display-name changes, and rebuilt after the TTL (membership changes on
+ * other instances are not seen here).
+ */
+@Service
+public class FamilyMentionIndex {
+
+    private final FamilySnapshotCache familySnapshotCache;
+    private final Map<Long, FamilyMembers> indexes = new ConcurrentHashMap<>();
+
+    @Value("${comment.mention-index.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    public FamilyMentionIndex(FamilySnapshotCache familySnapshotCache) {
+        this.familySnapshotCache = familySnapshotCache;
+    }
+
+    /**
+     * Family members whose username exactly matches one of the mentions.
+     */
+    public List<UsernameTrie.Member> resolve(Long familyId, Collection<String> usernames) {
+        FamilyMembers index = getIndex(familyId);
+        List<UsernameTrie.Member> resolved = new ArrayList<>();
+        synchronized (index) {
+            for (String username : usernames) {
+                UsernameTrie.Member member = index.byUsername.get(username);
+                if (member != null) {
+                    resolved.add(member);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public List<UsernameTrie.Member> suggest(Long familyId, String prefix, int limit) {
+        FamilyMembers index = getIndex(familyId);
+        synchronized (index) {
+            return index.trie.startingWith(prefix, limit);
+        }
+    }
+
+    /**
+     * Add or refresh a member (join, display-name change) after the transaction commits.
+     */
+    public void putMember(Long familyId, User user) {
+        UsernameTrie.Member member = toMember(user);
+        AfterCommit.run(() -> {
+            FamilyMembers index = indexes.get(familyId);
+            if (index != null) {
+                synchronized (index) {
+                    index.remove(member.userId());
+                    index.add(member);
+                }
+            }
+        });
+    }
+
+    public void removeMember(Long familyId, Long userId) {
+        AfterCommit.run(() -> {
+            FamilyMembers index = indexes.get(familyId);
+            if (index != null) {
+                synchronized (index) {
+                    index.remove(userId);
+                }
+            }
+        });
+    }
+
+    private FamilyMembers getIndex(Long familyId) {
+        FamilyMembers index = indexes.get(familyId);
+        if (index != null && index.builtAt.plus(Duration.ofMinutes(ttlMinutes)).isAfter(Instant.now())) {
+            return index;
+        }
+
+        return indexes.compute(familyId, (id, existing) -> {
+            if (existing != null && existing != index) {
+                return existing; // 다른 요청이 이미 다시 만듦
+            }
+            FamilyMembers built = new FamilyMembers(Instant.now());
+            familySnapshotCache.get(id).members().forEach(member ->
+                    built.add(new UsernameTrie.Member(member.id(), member.username(), member.displayName())));
+            return built;
+        });
+    }
+
+    private static UsernameTrie.Member toMember(User user) {
+        return new UsernameTrie.Member(user.getId(), user.getUsername(), user.getDisplayName());
+    }
+
+    private static final class FamilyMembers {
+        private final Instant builtAt;
+        private final UsernameTrie trie = new UsernameTrie();
+        private final Map<String, UsernameTrie.Member> byUsername = new HashMap<>();
+        private final Map<Long, UsernameTrie.Member> byId = new HashMap<>();
+
+        private FamilyMembers(Instant builtAt) {
+            this.builtAt = builtAt;
+        }
+
+        private void add(UsernameTrie.Member member) {
+            trie.insert(member);
+            byUsername.put(member.username(), member);
+            byId.put(member.userId(), member);
+        }
+
+        private void remove(Long userId) {
+            UsernameTrie.Member member = byId.remove(userId);
+            if (member != null) {
+                trie.remove(member);
+                byUsername.remove(member.username());
+            }
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class FamilyService {
     private final FamilyRepository familyRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final CalendarFeedService calendarFeedService;
+    private final FamilyMentionIndex familyMentionIndex;
+    private final FamilySnapshotCache familySnapshotCache;
 
     @Transactional
     public Family createFamily(CreateFamilyRequest request) {
@@ -40,6 +43,7 @@ public class FamilyService {
         // Add current user to the family
         currentUser.setFamily(family);
         userRepository.save(currentUser);
+        familySnapshotCache.invalidate(family.getId());
 
         return family;
     }
@@ -57,6 +61,8 @@ public class FamilyService {
 
         currentUser.setFamily(family);
         userRepository.save(currentUser);
+        familyMentionIndex.putMember(family.getId(), currentUser);
+        familySnapshotCache.invalidate(family.getId());
 
         return family;
     }
@@ -72,6 +78,17 @@ public class FamilyService {
         return currentUser.getFamily();
     }
 
+    @Transactional(readOnly = true)
+    public FamilySnapshot getMyFamilySnapshot() {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("User does not belong to any family");
+        }
+
+        return familySnapshotCache.get(currentUser.getFamily().getId());
+    }
+
     @Transactional
     public void leaveFamily() {
         User currentUser = authService.getCurrentUser();
@@ -80,8 +97,11 @@ public class FamilyService {
             throw new RuntimeException("User does not belong to any family");
         }
 
+        Long familyId = currentUser.getFamily().getId();
         currentUser.setFamily(null);
         userRepository.save(currentUser);
+        familyMentionIndex.removeMember(familyId, currentUser.getId());
+        familySnapshotCache.invalidate(familyId);
     }
 
     @Transactional
@@ -94,7 +114,13 @@ public class FamilyService {
 
         Family family = currentUser.getFamily();
         family.setName(newName);
-        return familyRepository.save(family);
+        Family savedFamily = familyRepository.save(family);
+
+        // 구독 피드의 캘린더 이름(X-WR-CALNAME)도 바뀜
+        calendarFeedService.invalidate(savedFamily.getId());
+        familySnapshotCache.invalidate(savedFamily.getId());
+
+        return savedFamily;
     }
 
     private String generateUniqueInviteCode() {
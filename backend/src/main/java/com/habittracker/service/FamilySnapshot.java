@@ -0,0 +1,49 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.Family;
+import com.habittracker.entity.Habit;
+import com.habittracker.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a family's members and habits, taken at {@code version}. Safe to share
+ * between threads and to use outside a persistence context; see {@link FamilySnapshotCache}.
+ */
+public record FamilySnapshot(Long id, String name, String inviteCode, long version,
+                             List<Member> members, List<HabitInfo> habits) {
+
+    public FamilySnapshot {
+        members = List.copyOf(members);
+        habits = List.copyOf(habits);
+    }
+
+    static FamilySnapshot of(Family family, long version, List<User> members, List<Habit> habits) {
+        return new FamilySnapshot(family.getId(), family.getName(), family.getInviteCode(), version,
+                members.stream().map(Member::from).toList(),
+                habits.stream().map(HabitInfo::from).toList());
+    }
+
+    public record Member(Long id, String username, String displayName, String email,
+                         boolean enableReminders, String reminderTime) {
+
+        static Member from(User user) {
+            return new Member(user.getId(), user.getUsername(), user.getDisplayName(), user.getEmail(),
+                    Boolean.TRUE.equals(user.getEnableReminders()), user.getReminderTime());
+        }
+    }
+
+    // 소유자가 가족을 떠나도 습관은 가족에 남으므로 소유자 이름을 함께 보관
+    public record HabitInfo(Long id, String name, String color, String icon, Long userId, String userDisplayName,
+                            String habitType, String selectedDays, Integer weeklyTarget, Integer displayOrder,
+                            LocalDateTime createdAt) {
+
+        static HabitInfo from(Habit habit) {
+            return new HabitInfo(habit.getId(), habit.getName(), habit.getColor(), habit.getIcon(),
+                    habit.getUser().getId(), habit.getUser().getDisplayName(),
+                    habit.getHabitType(), habit.getSelectedDays(), habit.getWeeklyTarget(), habit.getDisplayOrder(),
+                    habit.getCreatedAt());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.Family;
+import com.habittracker.repository.FamilyRepository;
+import com.habittracker.repository.HabitRepository;
+import com.habittracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of {@link FamilySnapshot}s keyed by family ID, so hot paths (monthly stats,
+ * push fan-out, reminders, family responses) stop walking lazy member/habit collections.
+ *
+ * Every family, membership, user-profile and habit mutation calls {@link #invalidate} after commit,
+ * which bumps the family's version; a load that raced with an invalidation is returned but not
+ * cached. Entries also expire after the TTL because writes on other instances are not seen here.
+ */
+@Service
+public class FamilySnapshotCache {
+
+    private final FamilyRepository familyRepository;
+    private final UserRepository userRepository;
+    private final HabitRepository habitRepository;
+    private final PrimaryReads primaryReads;
+
+    private final Map<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Value("${family.snapshot-cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    public FamilySnapshotCache(
+            FamilyRepository familyRepository,
+            UserRepository userRepository,
+            HabitRepository habitRepository,
+            PrimaryReads primaryReads
+    ) {
+        this.familyRepository = familyRepository;
+        this.userRepository = userRepository;
+        this.habitRepository = habitRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    public FamilySnapshot get(Long familyId) {
+        Entry entry = snapshots.get(familyId);
+        if (entry != null && entry.loadedAt.plus(Duration.ofMinutes(ttlMinutes)).isAfter(Instant.now())) {
+            return entry.snapshot;
+        }
+
+        long version = version(familyId).get();
+        FamilySnapshot snapshot = primaryReads.load(() -> {
+            Family family = familyRepository.findById(familyId)
+                    .orElseThrow(() -> new RuntimeException("Family not found"));
+            return FamilySnapshot.of(family, version,
+                    userRepository.findByFamilyId(familyId), habitRepository.findByFamilyIdWithUser(familyId));
+        });
+
+        // 읽는 도중 무효화되었다면 오래된 내용일 수 있으므로 캐시에 넣지 않음
+        Entry loaded = new Entry(snapshot, Instant.now());
+        snapshots.compute(familyId, (id, existing) -> version(id).get() == version ? loaded : existing);
+        return snapshot;
+    }
+
+    public void invalidate(Long familyId) {
+        if (familyId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            version(familyId).incrementAndGet();
+            snapshots.remove(familyId);
+        });
+    }
+
+    private AtomicLong version(Long familyId) {
+        return versions.computeIfAbsent(familyId, id -> new AtomicLong());
+    }
+
+    private record Entry(FamilySnapshot snapshot, Instant loadedAt) {
+    }
+}
@@ -0,0 +1,247 @@
+package com.habittracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of habit_logs on PostgreSQL (see db/partitioning/V22__partition_habit_logs_by_month).
+ *
+ * At startup and every night the lease holder
+ * <ol>
+ *   <li>creates a partition for every month that has logs in habit_logs_default (dates older than the
+ *       partitions V22 created, or past the months created ahead) and for the current month and the next
+ *       {@code months-ahead} months, moving those logs out of the default partition;</li>
+ *   <li>detaches partitions that ended more than {@code retention-months} ago and moves them, with
+ *       the comments on their logs, into the archive schema (0 keeps every month). Archived tables keep
+ *       no foreign keys, so deleting a user or habit only deletes its live logs;</li>
+ *   <li>checks with EXPLAIN that a one-month family query only scans that month's partition, and counts
+ *       {@code habittracker.habit_logs.pruning.failures} when it does not.</li>
+ * </ol>
+ * Archived months no longer count for streaks or monthly statistics.
+ *
+ * Disabled on H2, where habit_logs stays a plain table. Covered by HabitLogPartitionPostgresTest
+ * (src/postgresTest, {@code ./gradlew postgresTest}).
+ */
+@Service
+public class HabitLogPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HabitLogPartitionService.class);
+
+    private static final String LEASE_NAME = "habit-log-partitions";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+    private static final Pattern PARTITION_NAME = Pattern.compile("habit_logs_(\\d{4}_\\d{2})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'habit_logs'::regclass";
+
+    private static final String DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT to_char(log_date, 'YYYY_MM') FROM habit_logs_default";
+
+    private static final String FOREIGN_KEYS_SQL =
+            "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final SchedulerMetrics schedulerMetrics;
+    private final Counter pruningFailures;
+
+    @Value("${habit-log.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${habit-log.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${habit-log.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    public HabitLogPartitionService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            SchedulerLeaseService schedulerLeaseService,
+            SchedulerMetrics schedulerMetrics,
+            MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.schedulerMetrics = schedulerMetrics;
+        this.pruningFailures = Counter.builder("habittracker.habit_logs.pruning.failures")
+                .description("One-month habit_logs queries that scanned more than one partition")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 45 3 * * *", zone = "Asia/Seoul")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        schedulerMetrics.record("habit-log-partitions", this::maintain);
+    }
+
+    // 생성/보관 처리한 파티션 수를 반환 (lease가 없으면 SKIPPED)
+    private int maintain() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+            return SchedulerMetrics.SKIPPED;
+        }
+
+        YearMonth currentMonth = YearMonth.now(ZoneId.of("Asia/Seoul"));
+        List<YearMonth> existing = findMonthlyPartitions();
+
+        // default 파티션에 남은 달은 월 파티션으로 분리해야 보관 처리 대상이 됨
+        Set<YearMonth> wanted = new TreeSet<>(findMonthsInDefault());
+        for (int i = 0; i <= monthsAhead; i++) {
+            wanted.add(currentMonth.plusMonths(i));
+        }
+
+        int created = 0;
+        for (YearMonth month : wanted) {
+            if (!existing.contains(month) && createPartition(month)) {
+                created++;
+            }
+        }
+        if (created > 0) {
+            existing = findMonthlyPartitions();
+        }
+
+        int archived = 0;
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+            for (YearMonth month : existing) {
+                if (month.isBefore(oldestKept) && archivePartition(month)) {
+                    archived++;
+                }
+            }
+        }
+
+        logger.info("habit_logs 파티션 관리: {}개 생성, {}개 보관 처리", created, archived);
+        verifyPruning(currentMonth);
+        return created + archived;
+    }
+
+    List<YearMonth> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> parseMonth(matcher.group(1)))
+                .filter(month -> month != null)
+                .sorted()
+                .toList();
+    }
+
+    private List<YearMonth> findMonthsInDefault() {
+        return jdbcTemplate.queryForList(DEFAULT_MONTHS_SQL, String.class).stream()
+                .map(HabitLogPartitionService::parseMonth)
+                .filter(month -> month != null)
+                .toList();
+    }
+
+    // 패키지 내부 공개: PostgreSQL 통합 테스트(src/postgresTest)에서 직접 호출
+    boolean createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // default 파티션에 이미 그 달의 기록이 있으면 새 파티션을 붙일 수 없으므로 잠시 떼어내고 옮김
+                // (옮기는 동안 부모 테이블이 잠겨 쓰기는 대기함, 같은 id가 남아 있으므로 댓글은 삭제되지 않음)
+                jdbcTemplate.execute("ALTER TABLE habit_logs DETACH PARTITION habit_logs_default");
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE %s PARTITION OF habit_logs FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+                int moved = jdbcTemplate.update(
+                        "INSERT INTO habit_logs SELECT * FROM habit_logs_default WHERE log_date >= ?::date AND log_date < ?::date",
+                        from, to);
+                if (moved > 0) {
+                    jdbcTemplate.update("DELETE FROM habit_logs_default WHERE log_date >= ?::date AND log_date < ?::date",
+                            from, to);
+                    logger.info("habit_logs_default에서 {}로 {}건 이동", partition, moved);
+                }
+                jdbcTemplate.execute("ALTER TABLE habit_logs ATTACH PARTITION habit_logs_default DEFAULT");
+            });
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("habit_logs 파티션 생성 실패 ({}): {}", partition, e.getMessage());
+            return false;
+        }
+    }
+
+    boolean archivePartition(YearMonth month) {
+        String partition = partitionName(month);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE habit_logs DETACH PARTITION " + partition);
+                // 떼어낸 테이블에는 부모의 users/habits 외래 키가 독립 제약으로 남음.
+                // 남겨 두면 보관된 기록이 있는 사용자나 습관을 삭제할 수 없으므로 지움
+                for (String constraint : jdbcTemplate.queryForList(FOREIGN_KEYS_SQL, String.class, partition)) {
+                    jdbcTemplate.execute(String.format("ALTER TABLE %s DROP CONSTRAINT \"%s\"", partition, constraint));
+                }
+                jdbcTemplate.update(String.format(
+                        "WITH moved AS (DELETE FROM comments WHERE habit_log_id IN (SELECT id FROM %s) RETURNING *) " +
+                        "INSERT INTO archive.habit_log_comments SELECT * FROM moved", partition));
+                jdbcTemplate.execute(String.format("ALTER TABLE %s SET SCHEMA archive", partition));
+            });
+            logger.info("habit_logs 파티션 보관 처리: archive.{}", partition);
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("habit_logs 파티션 보관 처리 실패 ({}): {}", partition, e.getMessage());
+            return false;
+        }
+    }
+
+    // 한 달 범위 가족 조회가 그 달 파티션만 읽는지 실행 계획으로 확인 (아니면 실패 횟수 메트릭 증가)
+    boolean verifyPruning(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        String plan = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(String.format(
+                "EXPLAIN (FORMAT JSON) SELECT hl.id FROM habit_logs hl JOIN habits h ON h.id = hl.habit_id " +
+                "WHERE h.family_id = 0 AND hl.log_date BETWEEN DATE '%s' AND DATE '%s'", start, end), String.class));
+
+        long scanned = Pattern.compile("\"Relation Name\": \"habit_logs_[^\"]*\"").matcher(plan).results().count();
+        if (scanned != 1) {
+            pruningFailures.increment();
+            logger.warn("{} 범위 조회가 habit_logs 파티션 {}개를 읽습니다 (1개 예상)", month, scanned);
+            return false;
+        }
+        return true;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "habit_logs_" + month.format(MONTH_SUFFIX);
+    }
+
+    private static YearMonth parseMonth(String suffix) {
+        try {
+            return YearMonth.parse(suffix, MONTH_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
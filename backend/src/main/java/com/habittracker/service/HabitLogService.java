@@ -24,6 +24,7 @@ public class HabitLogService {
     private final AuthService authService;
     private final SimpMessagingTemplate messagingTemplate;
     private final PushNotificationService pushNotificationService;
+    private final FamilySnapshotCache familySnapshotCache;
 
     @Transactional
     public HabitLog logHabit(LogHabitRequest request) {
@@ -102,13 +103,13 @@ public class HabitLogService {
     private void sendPushNotificationsToFamily(User user, Habit habit) {
         // Send push notification to all family members except the current user
         if (user.getFamily() != null) {
-            user.getFamily().getMembers().stream()
-                .filter(member -> !member.getId().equals(user.getId()))
-                .forEach(member -> {
-                    String title = user.getDisplayName() + "님이 습관을 완료했습니다!";
-                    String body = "\"" + habit.getName() + "\" 습관을 체크했습니다.";
-                    pushNotificationService.sendNotification(member, title, body);
-                });
+            String title = user.getDisplayName() + "님이 습관을 완료했습니다!";
+            String body = "\"" + habit.getName() + "\" 습관을 체크했습니다.";
+            List<Long> recipientIds = familySnapshotCache.get(user.getFamily().getId()).members().stream()
+                .map(FamilySnapshot.Member::id)
+                .filter(memberId -> !memberId.equals(user.getId()))
+                .toList();
+            pushNotificationService.sendNotification(recipientIds, title, body);
         }
     }
 
@@ -164,17 +165,17 @@ public class HabitLogService {
                 endDate
         );
 
-        return calculateMonthlyStats(year, month, logs, currentUser.getFamily());
+        return calculateMonthlyStats(year, month, logs, familySnapshotCache.get(currentUser.getFamily().getId()));
     }
 
     // Calculate how many target days a habit has in a given month (up to today)
-    private int calculateTargetDaysForHabit(Habit habit, int year, int month) {
+    private int calculateTargetDaysForHabit(FamilySnapshot.HabitInfo habit, int year, int month) {
         LocalDate monthStart = LocalDate.of(year, month, 1);
         LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
         LocalDate today = LocalDate.now();
 
         // Get the habit creation date (only the date part, not time)
-        LocalDate habitCreationDate = habit.getCreatedAt().toLocalDate();
+        LocalDate habitCreationDate = habit.createdAt().toLocalDate();
 
         // Determine the effective start date (later of month start or habit creation date)
         LocalDate effectiveStartDate = habitCreationDate.isAfter(monthStart) ? habitCreationDate : monthStart;
@@ -188,13 +189,13 @@ public class HabitLogService {
         }
 
         // If it's a DAILY habit, count days from effective start date to effective end date
-        if ("DAILY".equals(habit.getHabitType()) || habit.getHabitType() == null) {
+        if ("DAILY".equals(habit.habitType()) || habit.habitType() == null) {
             return (int) java.time.temporal.ChronoUnit.DAYS.between(effectiveStartDate, effectiveEndDate) + 1;
         }
 
         // If it's a WEEKLY habit, count matching days from effective start date to effective end date
-        if ("WEEKLY".equals(habit.getHabitType()) && habit.getSelectedDays() != null) {
-            String[] selectedDaysStr = habit.getSelectedDays().split(",");
+        if ("WEEKLY".equals(habit.habitType()) && habit.selectedDays() != null) {
+            String[] selectedDaysStr = habit.selectedDays().split(",");
             java.util.Set<Integer> selectedDays = new java.util.HashSet<>();
             for (String day : selectedDaysStr) {
                 selectedDays.add(Integer.parseInt(day.trim()));
@@ -213,10 +214,10 @@ public class HabitLogService {
         }
 
         // If it's a WEEKLY_COUNT habit, calculate based on number of weeks × weeklyTarget
-        if ("WEEKLY_COUNT".equals(habit.getHabitType()) && habit.getWeeklyTarget() != null) {
+        if ("WEEKLY_COUNT".equals(habit.habitType()) && habit.weeklyTarget() != null) {
             int days = (int) java.time.temporal.ChronoUnit.DAYS.between(effectiveStartDate, effectiveEndDate) + 1;
             int weeks = (days + 6) / 7; // Round up to include partial weeks
-            return weeks * habit.getWeeklyTarget();
+            return weeks * habit.weeklyTarget();
         }
 
         // Default to counting days from effective start date to effective end date
@@ -224,9 +225,13 @@ public class HabitLogService {
     }
 
     // Check if a habit should be done on a specific date (up to today)
-    private boolean isHabitForDate(Habit habit, LocalDate date) {
+    private boolean isHabitForDate(FamilySnapshot.HabitInfo habit, LocalDate date) {
+        if (habit == null) {
+            return false; // 스냅샷 이후에 생긴 습관 (다음 조회에서 반영)
+        }
+
         // First check if the date is before the habit was created
-        LocalDate habitCreationDate = habit.getCreatedAt().toLocalDate();
+        LocalDate habitCreationDate = habit.createdAt().toLocalDate();
         if (date.isBefore(habitCreationDate)) {
             return false; // Habit didn't exist on this date
         }
@@ -237,12 +242,12 @@ public class HabitLogService {
             return false; // Don't count future dates in statistics
         }
 
-        if ("DAILY".equals(habit.getHabitType()) || habit.getHabitType() == null) {
+        if ("DAILY".equals(habit.habitType()) || habit.habitType() == null) {
             return true;
         }
 
-        if ("WEEKLY".equals(habit.getHabitType()) && habit.getSelectedDays() != null) {
-            String[] selectedDaysStr = habit.getSelectedDays().split(",");
+        if ("WEEKLY".equals(habit.habitType()) && habit.selectedDays() != null) {
+            String[] selectedDaysStr = habit.selectedDays().split(",");
             int dayOfWeek = date.getDayOfWeek().getValue(); // 1=Mon, 7=Sun
 
             for (String day : selectedDaysStr) {
@@ -254,24 +259,27 @@ public class HabitLogService {
         }
 
         // WEEKLY_COUNT habits can be done on any day
-        if ("WEEKLY_COUNT".equals(habit.getHabitType())) {
+        if ("WEEKLY_COUNT".equals(habit.habitType())) {
             return true;
         }
 
         return true; // Default to true if type is unknown
     }
 
-    private com.habittracker.dto.MonthlyStatsResponse calculateMonthlyStats(
-            int year, int month, List<HabitLog> logs, com.habittracker.entity.Family family) {
+    // package-private for the JMH benchmarks (src/jmh)
+    com.habittracker.dto.MonthlyStatsResponse calculateMonthlyStats(
+            int year, int month, List<HabitLog> logs, FamilySnapshot family) {
 
         int daysInMonth = LocalDate.of(year, month, 1).lengthOfMonth();
+        java.util.Map<Long, FamilySnapshot.HabitInfo> habitsById = family.habits().stream()
+                .collect(java.util.stream.Collectors.toMap(FamilySnapshot.HabitInfo::id, habit -> habit));
 
         // Calculate user stats
         java.util.Map<Long, com.habittracker.dto.MonthlyStatsResponse.UserStats> userStatsMap = new java.util.HashMap<>();
-        family.getMembers().forEach(user -> {
+        family.members().forEach(user -> {
             // Get all habits for this user
-            java.util.List<Habit> userHabits = family.getHabits().stream()
-                    .filter(habit -> habit.getUser().getId().equals(user.getId()))
+            java.util.List<FamilySnapshot.HabitInfo> userHabits = family.habits().stream()
+                    .filter(habit -> habit.userId().equals(user.id()))
                     .toList();
 
             // Calculate total possible days for all user's habits
@@ -281,15 +289,15 @@ public class HabitLogService {
 
             // Count completed logs for this user's habits (only on scheduled days)
             long completedCount = logs.stream()
-                    .filter(log -> log.getUser().getId().equals(user.getId())
+                    .filter(log -> log.getUser().getId().equals(user.id())
                             && log.getCompleted()
-                            && isHabitForDate(log.getHabit(), log.getLogDate()))
+                            && isHabitForDate(habitsById.get(log.getHabit().getId()), log.getLogDate()))
                     .count();
 
-            userStatsMap.put(user.getId(), new com.habittracker.dto.MonthlyStatsResponse.UserStats(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getDisplayName(),
+            userStatsMap.put(user.id(), new com.habittracker.dto.MonthlyStatsResponse.UserStats(
+                    user.id(),
+                    user.username(),
+                    user.displayName(),
                     userHabits.size(),
                     (int) completedCount,
                     totalPossible,
@@ -299,10 +307,10 @@ public class HabitLogService {
 
         // Calculate habit stats
         java.util.Map<Long, com.habittracker.dto.MonthlyStatsResponse.HabitStats> habitStatsMap = new java.util.HashMap<>();
-        family.getHabits().forEach(habit -> {
+        family.habits().forEach(habit -> {
             // Only count completions on days when the habit was actually scheduled
             long completedCount = logs.stream()
-                    .filter(log -> log.getHabit().getId().equals(habit.getId())
+                    .filter(log -> log.getHabit().getId().equals(habit.id())
                             && log.getCompleted()
                             && isHabitForDate(habit, log.getLogDate()))
                     .count();
@@ -310,12 +318,12 @@ public class HabitLogService {
             // Calculate target days based on habit type
             int totalPossible = calculateTargetDaysForHabit(habit, year, month);
 
-            habitStatsMap.put(habit.getId(), new com.habittracker.dto.MonthlyStatsResponse.HabitStats(
-                    habit.getId(),
-                    habit.getName(),
-                    habit.getColor(),
-                    habit.getUser().getId(),
-                    habit.getUser().getDisplayName(),
+            habitStatsMap.put(habit.id(), new com.habittracker.dto.MonthlyStatsResponse.HabitStats(
+                    habit.id(),
+                    habit.name(),
+                    habit.color(),
+                    habit.userId(),
+                    habit.userDisplayName(),
                     (int) completedCount,
                     totalPossible,
                     totalPossible > 0 ? (completedCount * 100.0 / totalPossible) : 0
@@ -330,7 +338,7 @@ public class HabitLogService {
             String dateKey = date.toString();
 
             // Count habits that should be done on this specific day
-            long totalPossiblePerDay = family.getHabits().stream()
+            long totalPossiblePerDay = family.habits().stream()
                     .filter(habit -> isHabitForDate(habit, date))
                     .count();
 
@@ -339,7 +347,7 @@ public class HabitLogService {
                     .toList();
 
             // Get all habits that should be done on this date
-            List<Habit> habitsForDate = family.getHabits().stream()
+            List<FamilySnapshot.HabitInfo> habitsForDate = family.habits().stream()
                     .filter(habit -> isHabitForDate(habit, date))
                     .toList();
 
@@ -348,7 +356,7 @@ public class HabitLogService {
                     .map(habit -> {
                         // Find log for this habit on this date
                         HabitLog log = dayLogs.stream()
-                                .filter(l -> l.getHabit().getId().equals(habit.getId()))
+                                .filter(l -> l.getHabit().getId().equals(habit.id()))
                                 .findFirst()
                                 .orElse(null);
 
@@ -357,10 +365,10 @@ public class HabitLogService {
                         String note = log != null ? log.getNote() : null;
 
                         return new com.habittracker.dto.MonthlyStatsResponse.HabitLogSummary(
-                                habit.getId(),
-                                habit.getName(),
-                                habit.getUser().getId(),
-                                habit.getUser().getDisplayName(),
+                                habit.id(),
+                                habit.name(),
+                                habit.userId(),
+                                habit.userDisplayName(),
                                 completed,
                                 completedAt,
                                 note
@@ -1,19 +1,28 @@
 package com.habittracker.service;
 
 import com.habittracker.entity.Habit;
-import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.ReminderLedgerEntry;
 import com.habittracker.entity.User;
 import com.habittracker.repository.HabitRepository;
 import com.habittracker.repository.HabitLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,15 +31,42 @@ public class HabitReminderScheduler {
     private final HabitRepository habitRepository;
     private final HabitLogRepository habitLogRepository;
     private final PushNotificationService pushNotificationService;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final ClusterNodeService clusterNodeService;
+    private final ReminderLedgerService reminderLedgerService;
+    private final SchedulerMetrics schedulerMetrics;
+
+    private static final String LEASE_NAME = "habit-reminder";
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+
+    // true면 사용자를 user_id % shards 로 나누고 shard마다 lease를 잡아서, 여러 노드가 shard를 나눠 처리.
+    // 끝낸 shard는 원장에 HABIT_SHARD로 기록하고, 끝나지 않은 shard는 그 시각이 지나기 전까지 5분마다 다시 시도
+    @Value("${scheduler.cluster.sharding-enabled:false}")
+    private boolean shardingEnabled;
+
+    // 모든 노드가 같은 값을 써야 함 (shard 번호가 lease 이름이 됨)
+    @Value("${scheduler.cluster.reminder-shards:16}")
+    private int shardCount;
+
+    @Value("${reminder.catch-up-grace-minutes:30}")
+    private long catchUpGraceMinutes;
 
     public HabitReminderScheduler(
             HabitRepository habitRepository,
             HabitLogRepository habitLogRepository,
-            PushNotificationService pushNotificationService
+            PushNotificationService pushNotificationService,
+            SchedulerLeaseService schedulerLeaseService,
+            ClusterNodeService clusterNodeService,
+            ReminderLedgerService reminderLedgerService,
+            SchedulerMetrics schedulerMetrics
     ) {
         this.habitRepository = habitRepository;
         this.habitLogRepository = habitLogRepository;
         this.pushNotificationService = pushNotificationService;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.clusterNodeService = clusterNodeService;
+        this.reminderLedgerService = reminderLedgerService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     // 매 시간 정각에 실행 (cron: 초 분 시 일 월 요일)
@@ -38,55 +74,130 @@ public class HabitReminderScheduler {
     @Transactional(readOnly = true)
     @Scheduled(cron = "0 0 * * * *", zone = "Asia/Seoul")
     public void sendDailyReminders() {
-        LocalTime now = LocalTime.now(ZoneId.of("Asia/Seoul"));
-        String currentHour = String.format("%02d:00", now.getHour());
+        LocalDateTime slot = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.HOURS);
+        schedulerMetrics.record("habit-reminder", () -> sendRemindersForSlot(slot));
+    }
+
+    // 처리 도중 노드가 죽어 끝나지 않은 shard를 이번 정각 구간 안에서 다시 처리
+    // (그 노드의 lease는 heartbeat가 끊기면 만료 전에 넘겨받음)
+    @Transactional(readOnly = true)
+    @Scheduled(cron = "0 5/5 * * * *", zone = "Asia/Seoul")
+    public void retryUnfinishedShards() {
+        if (!shardingEnabled || !clusterNodeService.isClusterEnabled()) {
+            return;
+        }
+        LocalDateTime slot = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.HOURS);
+        schedulerMetrics.record("habit-reminder-retry", () -> sendRemindersByShard(slot, String.format("%02d:00", slot.getHour())));
+    }
+
+    // 서버 재시작 시 grace 구간 안에 놓친 정각 알림을 다시 실행 (이미 보낸 알림은 ledger에서 걸러짐)
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpMissedReminders() {
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+        LocalDateTime earliest = now.minusMinutes(catchUpGraceMinutes);
+
+        List<LocalDateTime> missedSlots = new ArrayList<>();
+        for (LocalDateTime slot = now.truncatedTo(ChronoUnit.HOURS); !slot.isBefore(earliest); slot = slot.minusHours(1)) {
+            missedSlots.add(0, slot);
+        }
+
+        missedSlots.forEach(slot -> schedulerMetrics.record("habit-reminder", () -> sendRemindersForSlot(slot)));
+    }
+
+    // 알림 시각이 된 사용자 수를 반환 (다른 노드가 처리하면 SKIPPED)
+    private int sendRemindersForSlot(LocalDateTime slot) {
+        String currentHour = String.format("%02d:00", slot.getHour());
 
         System.out.println(String.format("=== %s 습관 알림 스케줄러 실행 ===", currentHour));
 
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-
-        // 모든 습관 가져오기
-        List<Habit> allHabits = habitRepository.findAll();
-
-        // 사용자별로 그룹화하여 처리
-        allHabits.stream()
-                .collect(Collectors.groupingBy(Habit::getUser))
-                .forEach((user, userHabits) -> {
-                    // 알림 설정이 꺼져 있으면 스킵
-                    if (user.getEnableReminders() == null || !user.getEnableReminders()) {
-                        return;
-                    }
-
-                    // 사용자의 알림 시간 확인 (기본값 21:00)
-                    String userReminderTime = user.getReminderTime() != null ? user.getReminderTime() : "21:00";
-                    String userReminderHour = userReminderTime.split(":")[0] + ":00";
-
-                    // 현재 시간이 사용자의 알림 시간이 아니면 스킵
-                    if (!currentHour.equals(userReminderHour)) {
-                        return;
-                    }
-
-                    // 오늘 해야 하는 습관 필터링
-                    List<Habit> todayHabits = userHabits.stream()
-                            .filter(habit -> isHabitForToday(habit, today))
-                            .collect(Collectors.toList());
-
-                    if (todayHabits.isEmpty()) {
-                        return;
-                    }
-
-                    // 미완료 습관 찾기
-                    List<Habit> incompleteHabits = todayHabits.stream()
-                            .filter(habit -> !isHabitCompleted(habit, user, today))
-                            .collect(Collectors.toList());
-
-                    // 미완료 습관이 있으면 알림 전송
-                    if (!incompleteHabits.isEmpty()) {
-                        sendReminderNotification(user, incompleteHabits);
-                    }
-                });
+        int dueUsers;
+        if (shardingEnabled && clusterNodeService.isClusterEnabled()) {
+            dueUsers = sendRemindersByShard(slot, currentHour);
+        } else {
+            // 다른 노드가 이미 이번 실행을 맡았으면 스킵
+            if (!schedulerLeaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+                System.out.println("=== 다른 노드가 습관 알림을 처리 중이므로 건너뜀 ===");
+                return SchedulerMetrics.SKIPPED;
+            }
+            // 모든 습관 가져오기
+            dueUsers = remind(slot, currentHour, habitRepository.findAllWithUser());
+        }
 
         System.out.println("=== 습관 알림 전송 완료 ===");
+        return dueUsers;
+    }
+
+    // 이번 시각에 아직 끝나지 않았고 lease를 잡은 shard만 처리
+    // (노드마다 다른 shard부터 시작해서 먼저 뜬 노드가 전부 가져가지 않도록 함)
+    private int sendRemindersByShard(LocalDateTime slot, String currentHour) {
+        Set<Long> completed = reminderLedgerService.findRecorded(ReminderLedgerEntry.Kind.HABIT_SHARD, slot);
+        if (completed.size() >= shardCount) {
+            return SchedulerMetrics.SKIPPED;
+        }
+
+        int start = Math.floorMod(clusterNodeService.getNodeId().hashCode(), shardCount);
+        int dueUsers = 0;
+        int acquired = 0;
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (start + i) % shardCount;
+            if (completed.contains((long) shard)
+                    || !schedulerLeaseService.tryAcquire(LEASE_NAME + "-shard-" + shard, LEASE_DURATION)) {
+                continue;
+            }
+            acquired++;
+            dueUsers += remind(slot, currentHour, habitRepository.findByUserIdShardWithUser(shardCount, shard));
+            // 다 보낸 뒤에 완료로 기록 (도중에 죽으면 다른 노드가 다시 처리하고, 이미 보낸 사용자는 원장에서 걸러짐)
+            reminderLedgerService.tryRecord(ReminderLedgerEntry.Kind.HABIT_SHARD, (long) shard, slot);
+        }
+
+        if (acquired == 0) {
+            System.out.println("=== 다른 노드가 남은 습관 알림 shard를 처리 중이므로 건너뜀 ===");
+            return SchedulerMetrics.SKIPPED;
+        }
+        System.out.println(String.format("=== 습관 알림 shard %d/%d개 처리 ===", acquired, shardCount));
+        return dueUsers;
+    }
+
+    // 주어진 습관 중 알림 시각이 된 사용자에게 알림을 보내고, 그 사용자 수를 반환
+    private int remind(LocalDateTime slot, String currentHour, List<Habit> allHabits) {
+        LocalDate today = slot.toLocalDate();
+
+        // 알림 설정이 켜져 있고 지금이 알림 시각인 사용자의 습관만 사용자별로 모음
+        Map<User, List<Habit>> dueHabits = allHabits.stream()
+                .filter(habit -> isReminderDue(habit.getUser(), currentHour))
+                .collect(Collectors.groupingBy(Habit::getUser));
+        if (dueHabits.isEmpty()) {
+            return 0;
+        }
+
+        // 오늘 완료한 습관을 대상 사용자 전체에 대해 한 번에 조회
+        Set<Long> completedHabitIds = new HashSet<>(habitLogRepository.findCompletedHabitIdsByUserIdsAndLogDate(
+                dueHabits.keySet().stream().map(User::getId).toList(), today));
+
+        dueHabits.forEach((user, userHabits) -> {
+            // 오늘 해야 하는 습관 필터링
+            List<Habit> todayHabits = userHabits.stream()
+                    .filter(habit -> isHabitForToday(habit, today))
+                    .collect(Collectors.toList());
+
+            if (todayHabits.isEmpty()) {
+                return;
+            }
+
+            // 미완료 습관 찾기
+            List<Habit> incompleteHabits = todayHabits.stream()
+                    .filter(habit -> !completedHabitIds.contains(habit.getId()))
+                    .collect(Collectors.toList());
+
+            // 미완료 습관이 있으면 알림 전송 (같은 시각 알림을 이미 보냈으면 스킵)
+            if (!incompleteHabits.isEmpty()
+                    && reminderLedgerService.tryRecord(ReminderLedgerEntry.Kind.HABIT, user.getId(), slot)) {
+                sendReminderNotification(user, incompleteHabits);
+            }
+        });
+
+        return dueHabits.size();
     }
 
     private boolean isHabitForToday(Habit habit, LocalDate date) {
@@ -109,10 +220,16 @@ public class HabitReminderScheduler {
         return true;
     }
 
-    private boolean isHabitCompleted(Habit habit, User user, LocalDate date) {
-        return habitLogRepository.findByUserAndHabitAndLogDate(user, habit, date)
-                .map(HabitLog::getCompleted)
-                .orElse(false);
+    private boolean isReminderDue(User user, String currentHour) {
+        // 알림 설정이 꺼져 있으면 스킵
+        if (user.getEnableReminders() == null || !user.getEnableReminders()) {
+            return false;
+        }
+
+        // 사용자의 알림 시간 확인 (기본값 21:00)
+        String userReminderTime = user.getReminderTime() != null ? user.getReminderTime() : "21:00";
+        String userReminderHour = userReminderTime.split(":")[0] + ":00";
+        return currentHour.equals(userReminderHour);
     }
 
     private void sendReminderNotification(User user, List<Habit> incompleteHabits) {
@@ -5,7 +5,6 @@ import com.habittracker.dto.HabitReorderRequest;
 import com.habittracker.dto.HabitResponse;
 import com.habittracker.entity.Family;
 import com.habittracker.entity.Habit;
-import com.habittracker.entity.HabitLog;
 import com.habittracker.entity.User;
 import com.habittracker.repository.HabitLogRepository;
 import com.habittracker.repository.HabitRepository;
@@ -14,8 +13,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,6 +27,7 @@ public class HabitService {
     private final HabitRepository habitRepository;
     private final HabitLogRepository habitLogRepository;
     private final AuthService authService;
+    private final FamilySnapshotCache familySnapshotCache;
 
     @Transactional
     public Habit createHabit(CreateHabitRequest request) {
@@ -55,6 +57,7 @@ public class HabitService {
                 .weeklyTarget(request.getWeeklyTarget())
                 .build();
 
+        familySnapshotCache.invalidate(currentUser.getFamily().getId());
         return habitRepository.save(habit);
     }
 
@@ -66,10 +69,18 @@ public class HabitService {
             throw new RuntimeException("User must belong to a family to view habits");
         }
 
-        List<Habit> habits = habitRepository.findByFamilyId(currentUser.getFamily().getId());
+        Long familyId = currentUser.getFamily().getId();
+        List<Habit> habits = habitRepository.findByFamilyIdWithUser(familyId);
+
+        // 가족 전체의 완료 날짜를 한 번에 읽어 습관별로 나눔 (습관마다 조회하지 않음)
+        Map<Long, Set<LocalDate>> completedDatesByHabit = new HashMap<>();
+        for (Object[] row : habitLogRepository.findCompletedDatesByFamilyId(familyId)) {
+            completedDatesByHabit.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+        }
 
         return habits.stream()
-                .map(habit -> HabitResponse.from(habit, calculateStreak(habit)))
+                .map(habit -> HabitResponse.from(habit,
+                        calculateStreak(habit, completedDatesByHabit.getOrDefault(habit.getId(), Set.of()))))
                 .collect(Collectors.toList());
     }
 
@@ -87,10 +98,8 @@ public class HabitService {
     /**
      * Calculate streak for a habit based on habit type
      */
-    private int calculateStreak(Habit habit) {
-        List<HabitLog> completedLogs = habitLogRepository.findCompletedLogsByHabitIdOrderByLogDateDesc(habit.getId());
-
-        if (completedLogs.isEmpty()) {
+    private int calculateStreak(Habit habit, Set<LocalDate> completedDates) {
+        if (completedDates.isEmpty()) {
             return 0;
         }
 
@@ -99,21 +108,18 @@ public class HabitService {
 
         if ("WEEKLY_COUNT".equals(habitType)) {
             // For WEEKLY_COUNT, calculate week-based streak
-            return calculateWeeklyCountStreak(habit, completedLogs);
+            return calculateWeeklyCountStreak(habit, completedDates);
         } else if ("WEEKLY".equals(habitType)) {
             // For WEEKLY (specific days), calculate based on selected days
-            return calculateWeeklyStreak(habit, completedLogs);
+            return calculateWeeklyStreak(habit, completedDates);
         } else {
             // For DAILY habits
-            return calculateDailyStreak(completedLogs, today);
+            return calculateDailyStreak(completedDates, today);
         }
     }
 
-    private int calculateDailyStreak(List<HabitLog> completedLogs, LocalDate today) {
-        Set<LocalDate> completedDates = completedLogs.stream()
-                .map(HabitLog::getLogDate)
-                .collect(Collectors.toSet());
-
+    // Streak calculators are package-private for the JMH benchmarks (src/jmh)
+    int calculateDailyStreak(Set<LocalDate> completedDates, LocalDate today) {
         int streak = 0;
         LocalDate checkDate = today;
 
@@ -131,7 +137,7 @@ public class HabitService {
         return streak;
     }
 
-    private int calculateWeeklyStreak(Habit habit, List<HabitLog> completedLogs) {
+    int calculateWeeklyStreak(Habit habit, Set<LocalDate> completedDates) {
         if (habit.getSelectedDays() == null || habit.getSelectedDays().isEmpty()) {
             return 0;
         }
@@ -141,10 +147,6 @@ public class HabitService {
             selectedDays.add(Integer.parseInt(day.trim()));
         }
 
-        Set<LocalDate> completedDates = completedLogs.stream()
-                .map(HabitLog::getLogDate)
-                .collect(Collectors.toSet());
-
         LocalDate today = LocalDate.now();
         int streak = 0;
         LocalDate checkDate = today;
@@ -185,7 +187,7 @@ public class HabitService {
         return null;
     }
 
-    private int calculateWeeklyCountStreak(Habit habit, List<HabitLog> completedLogs) {
+    int calculateWeeklyCountStreak(Habit habit, Set<LocalDate> completedDates) {
         if (habit.getWeeklyTarget() == null || habit.getWeeklyTarget() <= 0) {
             return 0;
         }
@@ -199,8 +201,8 @@ public class HabitService {
         int streak = 0;
 
         // Count completions for current week
-        long currentWeekCount = completedLogs.stream()
-                .filter(log -> !log.getLogDate().isBefore(currentWeekStart) && !log.getLogDate().isAfter(today))
+        long currentWeekCount = completedDates.stream()
+                .filter(date -> !date.isBefore(currentWeekStart) && !date.isAfter(today))
                 .count();
 
         // If current week target is met, count it
@@ -215,8 +217,8 @@ public class HabitService {
         for (int i = 0; i < 52; i++) { // Max 1 year
             final LocalDate ws = weekStart;
             final LocalDate we = weekEnd;
-            long weekCount = completedLogs.stream()
-                    .filter(log -> !log.getLogDate().isBefore(ws) && !log.getLogDate().isAfter(we))
+            long weekCount = completedDates.stream()
+                    .filter(date -> !date.isBefore(ws) && !date.isAfter(we))
                     .count();
 
             if (weekCount >= weeklyTarget) {
@@ -254,6 +256,7 @@ public class HabitService {
         habit.setSelectedDays(request.getSelectedDays());
         habit.setWeeklyTarget(request.getWeeklyTarget());
 
+        familySnapshotCache.invalidate(habit.getFamily().getId());
         return habitRepository.save(habit);
     }
 
@@ -268,6 +271,7 @@ public class HabitService {
             throw new RuntimeException("Unauthorized to delete this habit - only the owner can delete it");
         }
 
+        familySnapshotCache.invalidate(habit.getFamily().getId());
         habitRepository.delete(habit);
     }
 
@@ -281,6 +285,7 @@ public class HabitService {
         if (!currentUser.getId().equals(habit.getUser().getId())) {
             throw new RuntimeException("Unauthorized to reorder this habit");
         }
+        familySnapshotCache.invalidate(habit.getFamily().getId());
 
         // Get all user's habits ordered by displayOrder
         List<Habit> userHabits = habitRepository.findByUserIdOrderByDisplayOrderAsc(currentUser.getId());
@@ -348,5 +353,9 @@ public class HabitService {
 
         // Save all habits
         habitRepository.saveAll(habitsToUpdate);
+        habitsToUpdate.stream()
+                .map(habit -> habit.getFamily().getId())
+                .distinct()
+                .forEach(familySnapshotCache::invalidate);
     }
 }
@@ -0,0 +1,194 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.HealthAnomalyModel;
+import com.habittracker.entity.HealthMetricSketch.Metric;
+import com.habittracker.entity.HealthRecord;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
+import com.habittracker.repository.HealthAnomalyModelRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags dangerous or unusual readings as they are logged and alerts the rest of the family.
+ *
+ * Each user/type/metric keeps an EWMA mean and variance (health_anomaly_models), so a new reading
+ * is scored and folded in with one primary-key lookup and one write. A reading is alerted when it
+ * crosses a fixed danger threshold, or when it lies more than {@code z-threshold} EWMA standard
+ * deviations from the user's usual value once the model has seen {@code min-samples} readings.
+ */
+@Service
+public class HealthAnomalyService {
+
+    // 위험 기준 [미만, 이상] (체중은 기준 없음)
+    private static final Map<Metric, double[]> DANGER_LIMITS = Map.of(
+            Metric.SYSTOLIC, new double[]{90, 180},
+            Metric.DIASTOLIC, new double[]{60, 120},
+            Metric.HEART_RATE, new double[]{45, 130},
+            Metric.BLOOD_SUGAR, new double[]{70, 300});
+
+    // 측정 오차 수준의 변화로 알림이 가지 않도록 표준편차 하한
+    private static final Map<Metric, Double> MIN_STANDARD_DEVIATION = Map.of(
+            Metric.SYSTOLIC, 5.0,
+            Metric.DIASTOLIC, 4.0,
+            Metric.HEART_RATE, 5.0,
+            Metric.WEIGHT, 0.5,
+            Metric.BLOOD_SUGAR, 10.0);
+
+    private static final Map<Metric, String> LABELS = Map.of(
+            Metric.SYSTOLIC, "수축기 혈압",
+            Metric.DIASTOLIC, "이완기 혈압",
+            Metric.HEART_RATE, "심박수",
+            Metric.WEIGHT, "체중",
+            Metric.BLOOD_SUGAR, "혈당");
+
+    private static final Map<Metric, String> UNITS = Map.of(
+            Metric.SYSTOLIC, "mmHg",
+            Metric.DIASTOLIC, "mmHg",
+            Metric.HEART_RATE, "bpm",
+            Metric.WEIGHT, "kg",
+            Metric.BLOOD_SUGAR, "mg/dL");
+
+    private final HealthAnomalyModelRepository healthAnomalyModelRepository;
+    private final PushNotificationService pushNotificationService;
+    private final FamilySnapshotCache familySnapshotCache;
+    private final TransactionTemplate requiresNew;
+
+    @Value("${health.anomaly.alpha:0.1}")
+    private double alpha;
+
+    @Value("${health.anomaly.z-threshold:3.0}")
+    private double zThreshold;
+
+    @Value("${health.anomaly.min-samples:10}")
+    private int minSamples;
+
+    public HealthAnomalyService(
+            HealthAnomalyModelRepository healthAnomalyModelRepository,
+            PushNotificationService pushNotificationService,
+            FamilySnapshotCache familySnapshotCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.healthAnomalyModelRepository = healthAnomalyModelRepository;
+        this.pushNotificationService = pushNotificationService;
+        this.familySnapshotCache = familySnapshotCache;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Score a newly created record against the user's models, fold it in, and push any alerts to the
+     * other family members after the surrounding transaction commits. Callers hold the user lock.
+     */
+    @Transactional
+    public void observe(User user, HealthRecord record) {
+        List<String> findings = new ArrayList<>();
+
+        for (Metric metric : metricsOf(record.getRecordType())) {
+            Double value = valueOf(metric, record);
+            if (value == null) {
+                continue;
+            }
+
+            HealthAnomalyModel model = healthAnomalyModelRepository
+                    .findById(new HealthAnomalyModel.Key(user.getId(), record.getRecordType(), metric))
+                    .orElseGet(() -> new HealthAnomalyModel(user.getId(), record.getRecordType(), metric));
+
+            String finding = evaluate(metric, model, value);
+            if (finding != null) {
+                findings.add(finding);
+            }
+
+            update(model, value);
+            healthAnomalyModelRepository.save(model);
+        }
+
+        // 예전 날짜를 뒤늦게 입력한 경우는 모델만 갱신하고 알리지 않음
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        if (findings.isEmpty() || record.getRecordDate().isBefore(today.minusDays(1)) || user.getFamily() == null) {
+            return;
+        }
+
+        String title = user.getDisplayName() + "님의 건강 기록 확인이 필요합니다";
+        String body = String.join(", ", findings);
+        List<Long> recipientIds = familySnapshotCache.get(user.getFamily().getId()).members().stream()
+                .map(FamilySnapshot.Member::id)
+                .filter(memberId -> !memberId.equals(user.getId()))
+                .toList();
+
+        // 발송 실패한 구독 정리가 커밋되도록 새 트랜잭션에서 보냄 (구독 조회는 한 번)
+        AfterCommit.run(() -> requiresNew.executeWithoutResult(status ->
+                pushNotificationService.sendNotification(recipientIds, title, body)));
+    }
+
+    // 위험 기준을 먼저 보고, 모델이 충분히 학습된 경우 평소 값과의 차이(z-score)를 봄
+    private String evaluate(Metric metric, HealthAnomalyModel model, double value) {
+        String reading = String.format("%s %s %s", LABELS.get(metric), format(value), UNITS.get(metric));
+
+        double[] limits = DANGER_LIMITS.get(metric);
+        if (limits != null && value >= limits[1]) {
+            return String.format("%s (위험 기준 %s 이상)", reading, format(limits[1]));
+        }
+        if (limits != null && value < limits[0]) {
+            return String.format("%s (위험 기준 %s 미만)", reading, format(limits[0]));
+        }
+
+        if (model.getSampleCount() < minSamples) {
+            return null;
+        }
+        double standardDeviation = Math.max(Math.sqrt(model.getVariance()), MIN_STANDARD_DEVIATION.get(metric));
+        double z = (value - model.getMean()) / standardDeviation;
+        if (Math.abs(z) < zThreshold) {
+            return null;
+        }
+        return String.format("%s (평소 %s보다 %s)", reading, format(model.getMean()), z > 0 ? "매우 높음" : "매우 낮음");
+    }
+
+    // EWMA 평균/분산 증분 갱신 (첫 값은 그대로 평균으로 사용)
+    private void update(HealthAnomalyModel model, double value) {
+        if (model.getSampleCount() == 0) {
+            model.setMean(value);
+            model.setVariance(0);
+        } else {
+            double diff = value - model.getMean();
+            double increment = alpha * diff;
+            model.setMean(model.getMean() + increment);
+            model.setVariance((1 - alpha) * (model.getVariance() + diff * increment));
+        }
+        model.setSampleCount(model.getSampleCount() + 1);
+    }
+
+    private static List<Metric> metricsOf(RecordType recordType) {
+        return switch (recordType) {
+            case BLOOD_PRESSURE -> List.of(Metric.SYSTOLIC, Metric.DIASTOLIC, Metric.HEART_RATE);
+            case WEIGHT -> List.of(Metric.WEIGHT);
+            case BLOOD_SUGAR -> List.of(Metric.BLOOD_SUGAR);
+            case HEART_RATE -> List.of(Metric.HEART_RATE);
+        };
+    }
+
+    private static Double valueOf(Metric metric, HealthRecord record) {
+        Number value = switch (metric) {
+            case SYSTOLIC -> record.getSystolic();
+            case DIASTOLIC -> record.getDiastolic();
+            case HEART_RATE -> record.getHeartRate();
+            case WEIGHT -> record.getWeight();
+            case BLOOD_SUGAR -> record.getBloodSugar();
+        };
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.1f", value);
+    }
+}
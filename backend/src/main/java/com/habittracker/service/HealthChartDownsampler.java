@@ -0,0 +1,347 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthChartBucketResponse;
+import com.habittracker.dto.HealthChartPoint;
+import com.habittracker.entity.HealthDailyRollup;
+import com.habittracker.entity.HealthMetricRollup;
+import com.habittracker.entity.HealthRecord.RecordType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chart thinning for health series. Both reducers consume points once, in (recordDate, createdAt)
+ * order, so they can sit on top of a forward-only query:
+ * <ul>
+ *   <li>{@link Aggregator}: min/avg/max per day, ISO week or month bucket, from raw points or
+ *       from daily rollups.</li>
+ *   <li>{@link Lttb}: Largest-Triangle-Three-Buckets on the type's primary value, holding at most
+ *       two buckets of points at a time.</li>
+ * </ul>
+ */
+public final class HealthChartDownsampler {
+
+    public enum Mode {
+        RAW,        // 모든 기록 (기존 동작)
+        AGGREGATE,  // 구간별 최소/평균/최대
+        LTTB        // 모양을 유지하는 원본 점 샘플링
+    }
+
+    public enum Bucket {
+        DAY,
+        WEEK,
+        MONTH
+    }
+
+    public static final int DEFAULT_POINTS = 200;
+    public static final int MIN_POINTS = 3;
+    public static final int MAX_POINTS = 5000;
+
+    private HealthChartDownsampler() {
+    }
+
+    /**
+     * Finest granularity, no finer than {@code requested}, that keeps the range within {@code points} buckets.
+     */
+    public static Bucket chooseBucket(LocalDate startDate, LocalDate endDate, Bucket requested, int points) {
+        Bucket bucket = requested != null ? requested : Bucket.DAY;
+        while (bucket != Bucket.MONTH && bucketCount(startDate, endDate, bucket) > points) {
+            bucket = Bucket.values()[bucket.ordinal() + 1];
+        }
+        return bucket;
+    }
+
+    public static LocalDate bucketStart(LocalDate date, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    static LocalDate bucketEnd(LocalDate bucketStart, Bucket bucket) {
+        return switch (bucket) {
+            case DAY -> bucketStart;
+            case WEEK -> bucketStart.plusDays(6);
+            case MONTH -> bucketStart.plusMonths(1).minusDays(1);
+        };
+    }
+
+    static long bucketCount(LocalDate startDate, LocalDate endDate, Bucket bucket) {
+        LocalDate first = bucketStart(startDate, bucket);
+        LocalDate last = bucketStart(endDate, bucket);
+        return switch (bucket) {
+            case DAY -> ChronoUnit.DAYS.between(first, last) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(first, last) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(first, last) + 1;
+        };
+    }
+
+    // LTTB에 사용할 대표 값 (혈압은 수축기)
+    static Double primaryValue(RecordType recordType, HealthChartPoint point) {
+        Number value = switch (recordType) {
+            case BLOOD_PRESSURE -> point.getSystolic();
+            case WEIGHT -> point.getWeight();
+            case BLOOD_SUGAR -> point.getBloodSugar();
+            case HEART_RATE -> point.getHeartRate();
+        };
+        return value != null ? value.doubleValue() : null;
+    }
+
+    /**
+     * Running count/sum/min/max of one metric.
+     */
+    static final class MetricStats {
+        private long count;
+        private double sum;
+        private double min;
+        private double max;
+
+        void add(Number value) {
+            if (value == null) {
+                return;
+            }
+            double v = value.doubleValue();
+            if (count == 0) {
+                min = v;
+                max = v;
+            } else {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            count++;
+            sum += v;
+        }
+
+        void merge(HealthMetricRollup rollup) {
+            if (rollup == null || rollup.getCount() == 0) {
+                return;
+            }
+            if (count == 0) {
+                min = rollup.getMin();
+                max = rollup.getMax();
+            } else {
+                min = Math.min(min, rollup.getMin());
+                max = Math.max(max, rollup.getMax());
+            }
+            count += rollup.getCount();
+            sum += rollup.getSum();
+        }
+
+        HealthChartBucketResponse.MetricSummary toSummary() {
+            return count == 0 ? null : new HealthChartBucketResponse.MetricSummary(count, min, sum / count, max);
+        }
+
+        void reset() {
+            count = 0;
+            sum = 0;
+            min = 0;
+            max = 0;
+        }
+    }
+
+    /**
+     * Min/avg/max per bucket. Buckets are clamped to [startDate, endDate] and empty buckets are omitted.
+     */
+    static final class Aggregator {
+        private final Bucket bucket;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final List<HealthChartBucketResponse> buckets = new ArrayList<>();
+
+        private LocalDate currentStart;
+        private long count;
+        private final MetricStats systolic = new MetricStats();
+        private final MetricStats diastolic = new MetricStats();
+        private final MetricStats heartRate = new MetricStats();
+        private final MetricStats weight = new MetricStats();
+        private final MetricStats bloodSugar = new MetricStats();
+
+        Aggregator(Bucket bucket, LocalDate startDate, LocalDate endDate) {
+            this.bucket = bucket;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        void accept(HealthChartPoint point) {
+            moveTo(point.getRecordDate());
+
+            count++;
+            systolic.add(point.getSystolic());
+            diastolic.add(point.getDiastolic());
+            heartRate.add(point.getHeartRate());
+            weight.add(point.getWeight());
+            bloodSugar.add(point.getBloodSugar());
+        }
+
+        void accept(HealthDailyRollup rollup) {
+            moveTo(rollup.getRollupDate());
+
+            count += rollup.getRecordCount();
+            systolic.merge(rollup.getSystolic());
+            diastolic.merge(rollup.getDiastolic());
+            heartRate.merge(rollup.getHeartRate());
+            weight.merge(rollup.getWeight());
+            bloodSugar.merge(rollup.getBloodSugar());
+        }
+
+        List<HealthChartBucketResponse> finish() {
+            flush();
+            return buckets;
+        }
+
+        private void moveTo(LocalDate date) {
+            LocalDate start = bucketStart(date, bucket);
+            if (!start.equals(currentStart)) {
+                flush();
+                currentStart = start;
+            }
+        }
+
+        private void flush() {
+            if (currentStart == null || count == 0) {
+                return;
+            }
+
+            HealthChartBucketResponse response = new HealthChartBucketResponse();
+            LocalDate end = bucketEnd(currentStart, bucket);
+            response.setBucketStart(currentStart.isBefore(startDate) ? startDate : currentStart);
+            response.setBucketEnd(end.isAfter(endDate) ? endDate : end);
+            response.setCount(count);
+            response.setSystolic(systolic.toSummary());
+            response.setDiastolic(diastolic.toSummary());
+            response.setHeartRate(heartRate.toSummary());
+            response.setWeight(weight.toSummary());
+            response.setBloodSugar(bloodSugar.toSummary());
+            buckets.add(response);
+
+            count = 0;
+            systolic.reset();
+            diastolic.reset();
+            heartRate.reset();
+            weight.reset();
+            bloodSugar.reset();
+        }
+    }
+
+    /**
+     * Streaming LTTB. The first and last points are always kept; the {@code total - 2} points between
+     * them are split into {@code threshold - 2} equal buckets and the point forming the largest triangle
+     * with the previously kept point and the next bucket's centroid is kept from each.
+     * Points without a primary value are skipped.
+     */
+    static final class Lttb {
+        private final RecordType recordType;
+        private final double every;
+        private final int lastBucket;
+        private final List<HealthChartPoint> sampled = new ArrayList<>();
+
+        private List<HealthChartPoint> current = new ArrayList<>();
+        private List<HealthChartPoint> next = new ArrayList<>();
+        private int currentBucket;
+        private HealthChartPoint pending; // 마지막 점을 알 수 있도록 한 점씩 늦게 배치
+        private long index;
+
+        Lttb(RecordType recordType, long total, int threshold) {
+            this.recordType = recordType;
+            this.every = Math.max(1.0, (double) (total - 2) / (threshold - 2));
+            this.lastBucket = threshold - 3;
+        }
+
+        void accept(HealthChartPoint point) {
+            if (primaryValue(recordType, point) == null) {
+                return;
+            }
+            if (pending != null) {
+                place(pending);
+            }
+            pending = point;
+        }
+
+        List<HealthChartPoint> finish() {
+            if (pending == null) {
+                return sampled;
+            }
+            if (sampled.isEmpty()) {
+                sampled.add(pending);
+                return sampled;
+            }
+
+            if (!next.isEmpty()) {
+                select(current, centroid(next));
+                select(next, new double[]{x(pending), y(pending)});
+            } else if (!current.isEmpty()) {
+                select(current, new double[]{x(pending), y(pending)});
+            }
+            sampled.add(pending);
+            return sampled;
+        }
+
+        private void place(HealthChartPoint point) {
+            long i = index++;
+            if (i == 0) {
+                sampled.add(point);
+                return;
+            }
+
+            // 개수가 조회 사이에 늘어났더라도 마지막 구간에 모음
+            int bucket = (int) Math.min(lastBucket, (long) ((i - 1) / every));
+            if (bucket > currentBucket + 1) {
+                // 다음 구간이 다 찼으므로 현재 구간에서 한 점을 고름
+                select(current, centroid(next));
+                current = next;
+                next = new ArrayList<>();
+                currentBucket++;
+            }
+            (bucket == currentBucket ? current : next).add(point);
+        }
+
+        private void select(List<HealthChartPoint> bucket, double[] target) {
+            if (bucket.isEmpty()) {
+                return;
+            }
+
+            HealthChartPoint previous = sampled.get(sampled.size() - 1);
+            double ax = x(previous);
+            double ay = y(previous);
+
+            HealthChartPoint best = bucket.get(0);
+            double bestArea = -1;
+            for (HealthChartPoint candidate : bucket) {
+                double area = Math.abs((ax - target[0]) * (y(candidate) - ay) - (ax - x(candidate)) * (target[1] - ay));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = candidate;
+                }
+            }
+            sampled.add(best);
+        }
+
+        private double[] centroid(List<HealthChartPoint> bucket) {
+            double sumX = 0;
+            double sumY = 0;
+            for (HealthChartPoint point : bucket) {
+                sumX += x(point);
+                sumY += y(point);
+            }
+            return new double[]{sumX / bucket.size(), sumY / bucket.size()};
+        }
+
+        // 같은 날짜 안에서는 등록 시각 순서를 유지하도록 초 단위로 환산
+        private double x(HealthChartPoint point) {
+            long seconds = point.getRecordDate().toEpochDay() * 86400L;
+            if (point.getCreatedAt() != null) {
+                seconds += point.getCreatedAt().toLocalTime().toSecondOfDay();
+            }
+            return seconds;
+        }
+
+        private double y(HealthChartPoint point) {
+            return primaryValue(recordType, point);
+        }
+    }
+}
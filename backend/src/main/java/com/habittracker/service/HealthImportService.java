@@ -0,0 +1,451 @@
+package com.habittracker.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habittracker.dto.HealthImportProgressMessage;
+import com.habittracker.dto.HealthImportResponse;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
+import com.habittracker.repository.HealthRecordRepository;
+import com.habittracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of exported health readings (CSV with a header row, or a JSON array of objects
+ * using the HealthRecordRequest field names) into the current user's records.
+ *
+ * Rows are validated one at a time as the file is read, de-duplicated on (type, date, measureTime)
+ * against existing records and earlier rows, and inserted with JDBC batches. HealthRecord ids are
+ * IDENTITY, which rules out Hibernate insert batching, so the batches go through JdbcTemplate.
+ * Progress is published to /topic/user/{userId}/health-import. Messages sent while rows are still
+ * being read are PROVISIONAL (the whole import is one transaction); the last message is sent once
+ * the transaction has ended and is either COMMITTED or ROLLED_BACK.
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthImportService {
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PROGRESS_EVERY = 5000;
+    private static final int MAX_ERRORS = 1000;
+    private static final int MAX_NOTE_LENGTH = 500;
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final Set<String> MEASURE_TIMES = Set.of("MORNING", "AFTERNOON", "EVENING", "BEFORE_MEAL", "AFTER_MEAL");
+
+    // 헤더/필드 이름은 소문자로 바꾸고 '_', '-', 공백을 뺀 뒤 비교
+    private static final Map<String, String> COLUMNS = Map.ofEntries(
+            Map.entry("recordtype", "recordType"), Map.entry("type", "recordType"),
+            Map.entry("recorddate", "recordDate"), Map.entry("date", "recordDate"), Map.entry("datetime", "recordDate"),
+            Map.entry("measuretime", "measureTime"), Map.entry("time", "measureTime"),
+            Map.entry("systolic", "systolic"), Map.entry("diastolic", "diastolic"),
+            Map.entry("heartrate", "heartRate"), Map.entry("pulse", "heartRate"),
+            Map.entry("weight", "weight"),
+            Map.entry("bloodsugar", "bloodSugar"), Map.entry("glucose", "bloodSugar"),
+            Map.entry("note", "note"), Map.entry("memo", "note"));
+
+    private static final String INSERT_SQL = "INSERT INTO health_records " +
+            "(user_id, family_id, record_type, record_date, systolic, diastolic, heart_rate, weight, blood_sugar, " +
+            "note, measure_time, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HealthRecordRepository healthRecordRepository;
+    private final HealthRollupService healthRollupService;
+    private final HealthStatisticsService healthStatisticsService;
+    private final HealthLatestValueCache healthLatestValueCache;
+    private final UserRepository userRepository;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Transactional
+    public HealthImportResponse importRecords(InputStream inputStream, Format format) {
+        long startedAt = System.currentTimeMillis();
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("User must belong to a family");
+        }
+        // 단건 등록과 같은 순서로 사용자 잠금 (일별 집계 보호)
+        userRepository.findByIdForUpdate(currentUser.getId());
+
+        Batch batch = new Batch(currentUser, loadExistingKeys(currentUser.getId()));
+        publishOutcome(batch);
+        try {
+            read(inputStream, format, batch);
+            batch.flush();
+
+            if (batch.imported > 0) {
+                healthRollupService.rebuild(currentUser.getId(), batch.minDate, batch.maxDate);
+                healthStatisticsService.rebuild(currentUser.getId(), batch.minDate, batch.maxDate);
+                healthLatestValueCache.evictUser(currentUser.getId());
+            }
+        } catch (RuntimeException e) {
+            batch.error = e.getMessage();
+            throw e;
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        long rowsPerSecond = elapsed > 0 ? batch.total * 1000L / elapsed : batch.total;
+
+        System.out.println(String.format("=== 건강 기록 가져오기: 사용자 %d, %d행 중 %d건 추가, %d건 중복, %d건 실패 (%dms, %d행/초) ===",
+                currentUser.getId(), batch.total, batch.imported, batch.duplicates, batch.failed, elapsed, rowsPerSecond));
+
+        return new HealthImportResponse(batch.total, batch.imported, batch.duplicates, batch.failed,
+                elapsed, rowsPerSecond, batch.errors);
+    }
+
+    private void read(InputStream inputStream, Format format, Batch batch) {
+        try {
+            if (format == Format.JSON) {
+                readJson(inputStream, batch);
+            } else {
+                readCsv(inputStream, batch);
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read import file", e);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid import file: " + e.getMessage(), e);
+        }
+    }
+
+    // 도중의 진행 메시지는 PROVISIONAL이고, 마지막 메시지는 트랜잭션이 끝난 뒤 커밋/롤백 결과대로 보냄
+    private void publishOutcome(Batch batch) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                HealthImportProgressMessage message = status == STATUS_COMMITTED
+                        ? batch.progress(HealthImportProgressMessage.Status.COMMITTED, true)
+                        : batch.rolledBack();
+                messagingTemplate.convertAndSend(batch.destination, message);
+            }
+        });
+    }
+
+    private void readCsv(InputStream inputStream, Batch batch) throws IOException {
+        try (CsvReader reader = new CsvReader(inputStream)) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("file is empty");
+            }
+
+            List<String> columns = header.stream().map(HealthImportService::column).toList();
+            if (!columns.contains("recordType") || !columns.contains("recordDate")) {
+                throw new IllegalArgumentException("header must contain recordType and recordDate columns");
+            }
+
+            List<String> values;
+            while ((values = reader.next()) != null) {
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                    if (columns.get(i) != null && !values.get(i).isEmpty()) {
+                        fields.put(columns.get(i), values.get(i));
+                    }
+                }
+                batch.accept(reader.recordLine(), fields);
+            }
+        }
+    }
+
+    private void readJson(InputStream inputStream, Batch batch) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON must be an array of records");
+            }
+
+            // 배열 원소를 하나씩 트리로 읽어 전체 파일을 메모리에 올리지 않음
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                int line = parser.currentLocation().getLineNr();
+                JsonNode node = parser.readValueAsTree();
+
+                Map<String, String> fields = new HashMap<>();
+                node.fields().forEachRemaining(entry -> {
+                    String column = column(entry.getKey());
+                    JsonNode value = entry.getValue();
+                    if (column != null && !value.isNull() && !value.isContainerNode()) {
+                        fields.put(column, value.asText().trim());
+                    }
+                });
+                batch.accept(line, fields);
+            }
+
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalArgumentException("JSON array may only contain objects");
+            }
+        }
+    }
+
+    private Set<String> loadExistingKeys(Long userId) {
+        Set<String> keys = new HashSet<>();
+        for (Object[] row : healthRecordRepository.findDeduplicationKeys(userId)) {
+            keys.add(key((RecordType) row[0], (LocalDate) row[1], (String) row[2]));
+        }
+        return keys;
+    }
+
+    private static String key(RecordType recordType, LocalDate recordDate, String measureTime) {
+        return recordType.name() + '|' + recordDate + '|' + (measureTime != null ? measureTime : "");
+    }
+
+    private static String column(String name) {
+        return COLUMNS.get(name.toLowerCase(Locale.ROOT).replaceAll("[_\\-\\s]", ""));
+    }
+
+    private static Row toRow(Map<String, String> fields) {
+        RecordType recordType = parseRecordType(required(fields, "recordType"));
+
+        String dateValue = required(fields, "recordDate");
+        String measureTime = fields.get("measureTime");
+        LocalDate recordDate;
+        if (dateValue.length() > 10) {
+            // 기기 내보내기의 측정 시각이 있으면 측정 시간대를 추정
+            LocalDateTime measuredAt = LocalDateTime.parse(dateValue.replace(' ', 'T'));
+            recordDate = measuredAt.toLocalDate();
+            if (measureTime == null) {
+                measureTime = measureTimeOf(measuredAt.toLocalTime());
+            }
+        } else {
+            recordDate = LocalDate.parse(dateValue);
+        }
+        if (recordDate.isAfter(LocalDate.now(SEOUL))) {
+            throw new IllegalArgumentException("recordDate is in the future");
+        }
+
+        if (measureTime != null) {
+            measureTime = measureTime.toUpperCase(Locale.ROOT);
+            if (!MEASURE_TIMES.contains(measureTime)) {
+                throw new IllegalArgumentException("measureTime must be one of " + MEASURE_TIMES);
+            }
+        }
+
+        Row row = new Row(recordType, recordDate, measureTime,
+                integer(fields, "systolic", 40, 300),
+                integer(fields, "diastolic", 20, 200),
+                integer(fields, "heartRate", 20, 300),
+                decimal(fields, "weight", 1, 500),
+                integer(fields, "bloodSugar", 10, 1000),
+                fields.get("note"));
+
+        switch (recordType) {
+            case BLOOD_PRESSURE -> {
+                if (row.systolic() == null || row.diastolic() == null) {
+                    throw new IllegalArgumentException("BLOOD_PRESSURE requires systolic and diastolic");
+                }
+            }
+            case WEIGHT -> {
+                if (row.weight() == null) {
+                    throw new IllegalArgumentException("WEIGHT requires weight");
+                }
+            }
+            case BLOOD_SUGAR -> {
+                if (row.bloodSugar() == null) {
+                    throw new IllegalArgumentException("BLOOD_SUGAR requires bloodSugar");
+                }
+            }
+            case HEART_RATE -> {
+                if (row.heartRate() == null) {
+                    throw new IllegalArgumentException("HEART_RATE requires heartRate");
+                }
+            }
+        }
+        if (row.note() != null && row.note().length() > MAX_NOTE_LENGTH) {
+            throw new IllegalArgumentException("note is longer than " + MAX_NOTE_LENGTH + " characters");
+        }
+
+        return row;
+    }
+
+    private static RecordType parseRecordType(String value) {
+        try {
+            return RecordType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown recordType: " + value);
+        }
+    }
+
+    private static String measureTimeOf(LocalTime time) {
+        if (time.isBefore(LocalTime.of(11, 0))) {
+            return "MORNING";
+        }
+        return time.isBefore(LocalTime.of(17, 0)) ? "AFTERNOON" : "EVENING";
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static Integer integer(Map<String, String> fields, String name, int min, int max) {
+        Double value = decimal(fields, name, min, max);
+        return value != null ? (int) Math.round(value) : null;
+    }
+
+    private static Double decimal(Map<String, String> fields, String name, double min, double max) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+        if (parsed < min || parsed > max) {
+            throw new IllegalArgumentException(String.format("%s must be between %s and %s", name, min, max));
+        }
+        return parsed;
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private record Row(RecordType recordType, LocalDate recordDate, String measureTime,
+                       Integer systolic, Integer diastolic, Integer heartRate,
+                       Double weight, Integer bloodSugar, String note) {
+    }
+
+    // 한 번의 가져오기 동안의 상태: 현재 JDBC 배치, 중복 키, 집계
+    private final class Batch {
+        private final Long userId;
+        private final Long familyId;
+        private final String destination;
+        private final Set<String> keys;
+        private final Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now(SEOUL).truncatedTo(ChronoUnit.MILLIS));
+        private final List<Row> rows = new ArrayList<>(BATCH_SIZE);
+        private final List<HealthImportResponse.RowError> errors = new ArrayList<>();
+
+        private int total;
+        private int imported;
+        private int duplicates;
+        private int failed;
+        private LocalDate minDate;
+        private LocalDate maxDate;
+        private String error;
+
+        private Batch(User user, Set<String> keys) {
+            this.userId = user.getId();
+            this.familyId = user.getFamily().getId();
+            this.destination = "/topic/user/" + user.getId() + "/health-import";
+            this.keys = keys;
+        }
+
+        private void accept(int line, Map<String, String> fields) {
+            total++;
+
+            Row row;
+            try {
+                row = toRow(fields);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                failed++;
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(new HealthImportResponse.RowError(total, line, e.getMessage()));
+                }
+                return;
+            }
+
+            if (!keys.add(key(row.recordType(), row.recordDate(), row.measureTime()))) {
+                duplicates++;
+            } else {
+                rows.add(row);
+                if (minDate == null || row.recordDate().isBefore(minDate)) {
+                    minDate = row.recordDate();
+                }
+                if (maxDate == null || row.recordDate().isAfter(maxDate)) {
+                    maxDate = row.recordDate();
+                }
+                if (rows.size() >= BATCH_SIZE) {
+                    flush();
+                }
+            }
+
+            if (total % PROGRESS_EVERY == 0) {
+                messagingTemplate.convertAndSend(destination, progress(HealthImportProgressMessage.Status.PROVISIONAL, false));
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, userId);
+                ps.setLong(2, familyId);
+                ps.setString(3, row.recordType().name());
+                ps.setObject(4, row.recordDate());
+                setNullableInt(ps, 5, row.systolic());
+                setNullableInt(ps, 6, row.diastolic());
+                setNullableInt(ps, 7, row.heartRate());
+                if (row.weight() != null) {
+                    ps.setDouble(8, row.weight());
+                } else {
+                    ps.setNull(8, Types.DOUBLE);
+                }
+                setNullableInt(ps, 9, row.bloodSugar());
+                ps.setString(10, row.note());
+                ps.setString(11, row.measureTime());
+                ps.setTimestamp(12, importedAt);
+                ps.setTimestamp(13, importedAt);
+            });
+
+            imported += rows.size();
+            rows.clear();
+        }
+
+        private HealthImportProgressMessage progress(HealthImportProgressMessage.Status status, boolean done) {
+            return new HealthImportProgressMessage(status, total, imported, duplicates, failed, done, null);
+        }
+
+        // 롤백되면 배치로 넣은 행도 모두 사라지므로 추가 건수는 0
+        private HealthImportProgressMessage rolledBack() {
+            return new HealthImportProgressMessage(HealthImportProgressMessage.Status.ROLLED_BACK, total, 0,
+                    duplicates, failed, true, error != null ? error : "Import was rolled back");
+        }
+    }
+}
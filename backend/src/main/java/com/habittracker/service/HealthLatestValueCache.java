@@ -0,0 +1,105 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthChartPoint;
+import com.habittracker.entity.HealthRecord;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.repository.HealthRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest record per (user, record type), ordered like the list views (recordDate, createdAt, id).
+ *
+ * Loaded with one query at startup, advanced in place when a newer record is created and evicted
+ * after updates and deletes; misses (including "no record yet") fall back to a single indexed
+ * lookup. Entries expire after the TTL because writes on other instances are not seen here.
+ */
+@Service
+public class HealthLatestValueCache {
+
+    private static final Comparator<HealthChartPoint> RECENCY = Comparator
+            .comparing(HealthChartPoint::getRecordDate)
+            .thenComparing(HealthChartPoint::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(HealthChartPoint::getId);
+
+    private final HealthRecordRepository healthRecordRepository;
+    private final PrimaryReads primaryReads;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${health.latest-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public HealthLatestValueCache(HealthRecordRepository healthRecordRepository, PrimaryReads primaryReads) {
+        this.healthRecordRepository = healthRecordRepository;
+        this.primaryReads = primaryReads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Instant now = Instant.now();
+        Map<Key, HealthChartPoint> latest = primaryReads.load(() -> {
+            Map<Key, HealthChartPoint> loaded = new HashMap<>();
+            for (HealthRecord record : healthRecordRepository.findLatestPerUserAndType()) {
+                loaded.put(new Key(record.getUser().getId(), record.getRecordType()), HealthChartPoint.from(record));
+            }
+            return loaded;
+        });
+        latest.forEach((key, point) -> entries.put(key, new Entry(point, now)));
+        System.out.println(String.format("=== 최근 건강 기록 캐시 적재: %d건 ===", latest.size()));
+    }
+
+    public Optional<HealthChartPoint> get(Long userId, RecordType recordType) {
+        Key key = new Key(userId, recordType);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.loadedAt.plus(Duration.ofSeconds(ttlSeconds)).isAfter(Instant.now())) {
+            return Optional.ofNullable(entry.latest);
+        }
+
+        HealthChartPoint latest = primaryReads.load(() -> healthRecordRepository
+                .findFirstByUserIdAndRecordTypeOrderByRecordDateDescCreatedAtDescIdDesc(userId, recordType)
+                .map(HealthChartPoint::from)
+                .orElse(null));
+        entries.put(key, new Entry(latest, Instant.now()));
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Advance the cached value after commit if the new record is more recent than it.
+     */
+    public void recordCreated(HealthRecord record) {
+        Key key = new Key(record.getUser().getId(), record.getRecordType());
+        HealthChartPoint created = HealthChartPoint.from(record);
+
+        AfterCommit.run(() -> entries.computeIfPresent(key, (k, entry) ->
+                entry.latest == null || RECENCY.compare(created, entry.latest) > 0
+                        ? new Entry(created, entry.loadedAt)
+                        : entry));
+    }
+
+    // 수정/삭제는 최신 값이 어느 기록이 될지 알 수 없으므로 비우고 다음 조회에서 다시 읽음
+    public void evict(Long userId, RecordType recordType) {
+        Key key = new Key(userId, recordType);
+        AfterCommit.run(() -> entries.remove(key));
+    }
+
+    public void evictUser(Long userId) {
+        AfterCommit.run(() -> entries.keySet().removeIf(key -> key.userId().equals(userId)));
+    }
+
+    private record Key(Long userId, RecordType recordType) {
+    }
+
+    // latest가 null이면 해당 타입 기록이 없음
+    private record Entry(HealthChartPoint latest, Instant loadedAt) {
+    }
+}
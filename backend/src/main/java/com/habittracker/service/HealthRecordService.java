@@ -1,7 +1,10 @@
 package com.habittracker.service;
 
+import com.habittracker.dto.HealthChartBucketResponse;
+import com.habittracker.dto.HealthChartPoint;
 import com.habittracker.dto.HealthRecordRequest;
 import com.habittracker.dto.HealthRecordResponse;
+import com.habittracker.dto.HealthSummaryResponse;
 import com.habittracker.entity.Family;
 import com.habittracker.entity.HealthRecord;
 import com.habittracker.entity.HealthRecord.RecordType;
@@ -14,8 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -27,12 +33,28 @@ public class HealthRecordService {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private HealthRollupService healthRollupService;
+
+    @Autowired
+    private HealthStatisticsService healthStatisticsService;
+
+    @Autowired
+    private HealthAnomalyService healthAnomalyService;
+
+    @Autowired
+    private HealthLatestValueCache healthLatestValueCache;
+
     public HealthRecordResponse create(HealthRecordRequest request) {
         User currentUser = authService.getCurrentUser();
 
         if (currentUser.getFamily() == null) {
             throw new RuntimeException("User must belong to a family");
         }
+        lockUser(currentUser);
 
         HealthRecord record = new HealthRecord();
         record.setUser(currentUser);
@@ -48,6 +70,9 @@ public class HealthRecordService {
         record.setMeasureTime(request.getMeasureTime());
 
         HealthRecord saved = healthRecordRepository.save(record);
+        refreshDerived(currentUser.getId(), saved.getRecordType(), saved.getRecordDate());
+        healthAnomalyService.observe(currentUser, saved);
+        healthLatestValueCache.recordCreated(saved);
         return HealthRecordResponse.from(saved);
     }
 
@@ -61,7 +86,9 @@ public class HealthRecordService {
         if (!record.getUser().getId().equals(currentUser.getId())) {
             throw new RuntimeException("Cannot update other user's record");
         }
+        lockUser(currentUser);
 
+        LocalDate previousDate = record.getRecordDate();
         record.setRecordDate(request.getRecordDate() != null ? request.getRecordDate() : record.getRecordDate());
         record.setSystolic(request.getSystolic());
         record.setDiastolic(request.getDiastolic());
@@ -72,6 +99,14 @@ public class HealthRecordService {
         record.setMeasureTime(request.getMeasureTime());
 
         HealthRecord saved = healthRecordRepository.save(record);
+        refreshDerived(currentUser.getId(), saved.getRecordType(), saved.getRecordDate());
+        healthLatestValueCache.evict(currentUser.getId(), saved.getRecordType());
+        if (!previousDate.equals(saved.getRecordDate())) {
+            healthRollupService.refresh(currentUser.getId(), saved.getRecordType(), previousDate);
+            if (!YearMonth.from(previousDate).equals(YearMonth.from(saved.getRecordDate()))) {
+                healthStatisticsService.refreshMonth(currentUser.getId(), saved.getRecordType(), YearMonth.from(previousDate));
+            }
+        }
         return HealthRecordResponse.from(saved);
     }
 
@@ -85,8 +120,11 @@ public class HealthRecordService {
         if (!record.getUser().getId().equals(currentUser.getId())) {
             throw new RuntimeException("Cannot delete other user's record");
         }
+        lockUser(currentUser);
 
         healthRecordRepository.delete(record);
+        refreshDerived(currentUser.getId(), record.getRecordType(), record.getRecordDate());
+        healthLatestValueCache.evict(currentUser.getId(), record.getRecordType());
     }
 
     @Transactional(readOnly = true)
@@ -147,4 +185,111 @@ public class HealthRecordService {
                 .findForChart(currentUser.getId(), recordType, startDate, endDate);
         return records.stream().map(HealthRecordResponse::from).collect(Collectors.toList());
     }
+
+    /**
+     * Raw series thinned to at most {@code points} records with LTTB, streamed from the database
+     * in one forward pass. Ranges that already fit are returned unchanged.
+     */
+    @Transactional(readOnly = true)
+    public List<HealthRecordResponse> getDownsampledChartData(RecordType recordType, LocalDate startDate,
+                                                              LocalDate endDate, int points) {
+        validateChartRange(startDate, endDate, points);
+        User currentUser = authService.getCurrentUser();
+
+        long total = healthRecordRepository.countForChart(currentUser.getId(), recordType, startDate, endDate);
+        if (total <= points) {
+            return getChartData(recordType, startDate, endDate);
+        }
+
+        HealthChartDownsampler.Lttb lttb = new HealthChartDownsampler.Lttb(recordType, total, points);
+        try (Stream<HealthChartPoint> stream = healthRecordRepository
+                .streamForChart(currentUser.getId(), recordType, startDate, endDate)) {
+            stream.forEach(lttb::accept);
+        }
+
+        return lttb.finish().stream()
+                .map(point -> HealthRecordResponse.from(currentUser, recordType, point))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Min/avg/max per bucket, merged from the daily rollups. Without an explicit bucket the finest
+     * granularity that stays within {@code points} buckets is used; an explicit bucket is coarsened
+     * the same way if needed.
+     */
+    @Transactional(readOnly = true)
+    public List<HealthChartBucketResponse> getAggregatedChartData(RecordType recordType, LocalDate startDate,
+                                                                  LocalDate endDate, HealthChartDownsampler.Bucket bucket,
+                                                                  int points) {
+        validateChartRange(startDate, endDate, points);
+        User currentUser = authService.getCurrentUser();
+
+        HealthChartDownsampler.Bucket granularity = HealthChartDownsampler.chooseBucket(startDate, endDate, bucket, points);
+        HealthChartDownsampler.Aggregator aggregator = new HealthChartDownsampler.Aggregator(granularity, startDate, endDate);
+        healthRollupService.findForUser(currentUser.getId(), recordType, startDate, endDate)
+                .forEach(aggregator::accept);
+        return aggregator.finish();
+    }
+
+    /**
+     * Per-member count and min/avg/max over the range, served from the daily rollups.
+     */
+    @Transactional(readOnly = true)
+    public List<HealthSummaryResponse> getFamilySummary(RecordType recordType, LocalDate startDate, LocalDate endDate) {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("User must belong to a family");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+
+        Family family = currentUser.getFamily();
+        return healthRollupService.summarizeFamily(family.getId(), List.copyOf(family.getMembers()),
+                recordType, startDate, endDate);
+    }
+
+    /**
+     * Latest record of every type for each family member, served from the last-value cache.
+     */
+    @Transactional(readOnly = true)
+    public List<HealthRecordResponse> getFamilyLatest() {
+        User currentUser = authService.getCurrentUser();
+
+        if (currentUser.getFamily() == null) {
+            throw new RuntimeException("User must belong to a family");
+        }
+
+        List<HealthRecordResponse> responses = new ArrayList<>();
+        for (User member : currentUser.getFamily().getMembers()) {
+            for (RecordType recordType : RecordType.values()) {
+                healthLatestValueCache.get(member.getId(), recordType)
+                        .ifPresent(point -> responses.add(HealthRecordResponse.from(member, recordType, point)));
+            }
+        }
+        return responses;
+    }
+
+    // 기록이 바뀐 날의 일별 집계와 그 달의 통계 스케치를 다시 계산
+    private void refreshDerived(Long userId, RecordType recordType, LocalDate recordDate) {
+        healthRollupService.refresh(userId, recordType, recordDate);
+        healthStatisticsService.refreshMonth(userId, recordType, YearMonth.from(recordDate));
+    }
+
+    // 같은 사용자의 기록 쓰기를 직렬화해 동시 요청이 일별 집계를 덮어쓰지 않게 함
+    // (health_records를 쓰기 전에 잡아야 FK 검사 잠금과 교착하지 않음)
+    private void lockUser(User user) {
+        userRepository.findByIdForUpdate(user.getId());
+    }
+
+    private void validateChartRange(LocalDate startDate, LocalDate endDate, int points) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (points < HealthChartDownsampler.MIN_POINTS || points > HealthChartDownsampler.MAX_POINTS) {
+            throw new RuntimeException(String.format("points must be between %d and %d",
+                    HealthChartDownsampler.MIN_POINTS, HealthChartDownsampler.MAX_POINTS));
+        }
+    }
 }
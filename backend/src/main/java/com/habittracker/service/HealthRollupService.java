@@ -0,0 +1,168 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthSummaryResponse;
+import com.habittracker.entity.HealthDailyRollup;
+import com.habittracker.entity.HealthMetricRollup;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
+import com.habittracker.repository.HealthDailyRollupRepository;
+import com.habittracker.repository.HealthRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains health_daily_rollups. Every record write recomputes the touched user/type/day from
+ * health_records in the writer's transaction, so a day's rollup is always exactly its records;
+ * callers serialize writes per user (see {@code UserRepository.findByIdForUpdate}).
+ */
+@Service
+@RequiredArgsConstructor
+public class HealthRollupService {
+
+    private static final String METRIC_COLUMNS =
+            "systolic_count, systolic_sum, systolic_min, systolic_max, " +
+            "diastolic_count, diastolic_sum, diastolic_min, diastolic_max, " +
+            "heart_rate_count, heart_rate_sum, heart_rate_min, heart_rate_max, " +
+            "weight_count, weight_sum, weight_min, weight_max, " +
+            "blood_sugar_count, blood_sugar_sum, blood_sugar_min, blood_sugar_max";
+
+    private static final String METRIC_AGGREGATES =
+            "COUNT(systolic), COALESCE(SUM(systolic), 0), MIN(systolic), MAX(systolic), " +
+            "COUNT(diastolic), COALESCE(SUM(diastolic), 0), MIN(diastolic), MAX(diastolic), " +
+            "COUNT(heart_rate), COALESCE(SUM(heart_rate), 0), MIN(heart_rate), MAX(heart_rate), " +
+            "COUNT(weight), COALESCE(SUM(weight), 0), MIN(weight), MAX(weight), " +
+            "COUNT(blood_sugar), COALESCE(SUM(blood_sugar), 0), MIN(blood_sugar), MAX(blood_sugar)";
+
+    private static final String REBUILD_DELETE_SQL =
+            "DELETE FROM health_daily_rollups WHERE user_id = ? AND rollup_date BETWEEN ? AND ?";
+
+    private static final String REBUILD_INSERT_SQL =
+            "INSERT INTO health_daily_rollups (user_id, record_type, rollup_date, family_id, record_count, " + METRIC_COLUMNS + ") " +
+            "SELECT user_id, record_type, record_date, MAX(family_id), COUNT(*), " + METRIC_AGGREGATES + " " +
+            "FROM health_records WHERE user_id = ? AND record_date BETWEEN ? AND ? " +
+            "GROUP BY user_id, record_type, record_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HealthRecordRepository healthRecordRepository;
+    private final HealthDailyRollupRepository healthDailyRollupRepository;
+
+    @Transactional
+    public void refresh(Long userId, RecordType recordType, LocalDate date) {
+        Object[] row = healthRecordRepository.summarizeDay(userId, recordType, date).get(0);
+        HealthDailyRollup.Key key = new HealthDailyRollup.Key(userId, recordType, date);
+
+        int count = ((Number) row[0]).intValue();
+        if (count == 0) {
+            healthDailyRollupRepository.findById(key).ifPresent(healthDailyRollupRepository::delete);
+            return;
+        }
+
+        HealthDailyRollup rollup = healthDailyRollupRepository.findById(key).orElseGet(() -> {
+            HealthDailyRollup created = new HealthDailyRollup();
+            created.setUserId(userId);
+            created.setRecordType(recordType);
+            created.setRollupDate(date);
+            return created;
+        });
+        rollup.setFamilyId(((Number) row[1]).longValue());
+        rollup.setRecordCount(count);
+        rollup.setSystolic(metric(row, 2));
+        rollup.setDiastolic(metric(row, 6));
+        rollup.setHeartRate(metric(row, 10));
+        rollup.setWeight(metric(row, 14));
+        rollup.setBloodSugar(metric(row, 18));
+
+        healthDailyRollupRepository.save(rollup);
+    }
+
+    /**
+     * Recompute every day of one user in [startDate, endDate] with two set-based statements,
+     * for bulk writes that bypass {@link #refresh}.
+     */
+    @Transactional
+    public void rebuild(Long userId, LocalDate startDate, LocalDate endDate) {
+        jdbcTemplate.update(REBUILD_DELETE_SQL, userId, startDate, endDate);
+        jdbcTemplate.update(REBUILD_INSERT_SQL, userId, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HealthDailyRollup> findForUser(Long userId, RecordType recordType, LocalDate startDate, LocalDate endDate) {
+        return healthDailyRollupRepository.findForUser(userId, recordType, startDate, endDate);
+    }
+
+    /**
+     * One summary per family member over the range, read from the rollups in O(members × days).
+     */
+    @Transactional(readOnly = true)
+    public List<HealthSummaryResponse> summarizeFamily(Long familyId, List<User> members, RecordType recordType,
+                                                       LocalDate startDate, LocalDate endDate) {
+        Map<Long, User> membersById = members.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Summary> summaries = new LinkedHashMap<>();
+
+        // 결과가 사용자별로 정렬되어 있으므로 한 번 훑으며 누적
+        for (HealthDailyRollup rollup : healthDailyRollupRepository.findForFamily(familyId, recordType, startDate, endDate)) {
+            if (membersById.containsKey(rollup.getUserId())) {
+                summaries.computeIfAbsent(rollup.getUserId(), id -> new Summary()).add(rollup);
+            }
+        }
+
+        List<HealthSummaryResponse> responses = new ArrayList<>();
+        summaries.forEach((userId, summary) -> responses.add(summary.toResponse(membersById.get(userId), recordType)));
+        return responses;
+    }
+
+    private HealthMetricRollup metric(Object[] row, int offset) {
+        return HealthMetricRollup.of((Number) row[offset], (Number) row[offset + 1],
+                (Number) row[offset + 2], (Number) row[offset + 3]);
+    }
+
+    private static final class Summary {
+        private long count;
+        private LocalDate firstDate;
+        private LocalDate lastDate;
+        private final HealthChartDownsampler.MetricStats systolic = new HealthChartDownsampler.MetricStats();
+        private final HealthChartDownsampler.MetricStats diastolic = new HealthChartDownsampler.MetricStats();
+        private final HealthChartDownsampler.MetricStats heartRate = new HealthChartDownsampler.MetricStats();
+        private final HealthChartDownsampler.MetricStats weight = new HealthChartDownsampler.MetricStats();
+        private final HealthChartDownsampler.MetricStats bloodSugar = new HealthChartDownsampler.MetricStats();
+
+        private void add(HealthDailyRollup rollup) {
+            if (firstDate == null) {
+                firstDate = rollup.getRollupDate();
+            }
+            lastDate = rollup.getRollupDate();
+            count += rollup.getRecordCount();
+            systolic.merge(rollup.getSystolic());
+            diastolic.merge(rollup.getDiastolic());
+            heartRate.merge(rollup.getHeartRate());
+            weight.merge(rollup.getWeight());
+            bloodSugar.merge(rollup.getBloodSugar());
+        }
+
+        private HealthSummaryResponse toResponse(User user, RecordType recordType) {
+            HealthSummaryResponse response = new HealthSummaryResponse();
+            response.setUserId(user.getId());
+            response.setUserDisplayName(user.getDisplayName());
+            response.setRecordType(recordType);
+            response.setRecordCount(count);
+            response.setFirstDate(firstDate);
+            response.setLastDate(lastDate);
+            response.setSystolic(systolic.toSummary());
+            response.setDiastolic(diastolic.toSummary());
+            response.setHeartRate(heartRate.toSummary());
+            response.setWeight(weight.toSummary());
+            response.setBloodSugar(bloodSugar.toSummary());
+            return response;
+        }
+    }
+}
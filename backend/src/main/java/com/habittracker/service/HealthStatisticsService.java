@@ -0,0 +1,303 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthChartPoint;
+import com.habittracker.dto.HealthStatisticsResponse;
+import com.habittracker.entity.HealthMetricSketch;
+import com.habittracker.entity.HealthMetricSketch.Metric;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
+import com.habittracker.repository.HealthDailyRollupRepository;
+import com.habittracker.repository.HealthMetricSketchRepository;
+import com.habittracker.repository.HealthRecordRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Percentiles, time-in-range and standard deviation over arbitrary windows.
+ *
+ * Each user/type/metric/month keeps a {@link TDigest} plus exact moments in health_metric_sketches,
+ * rewritten from that month's records whenever one of them changes. A query merges the sketches of
+ * the whole months inside the window and scans only the partial months at either edge.
+ */
+@Service
+public class HealthStatisticsService {
+
+    private static final String BACKFILL_LEASE_NAME = "health-sketch-backfill";
+    private static final Duration BACKFILL_LEASE_DURATION = Duration.ofMinutes(30);
+    private static final List<Double> DEFAULT_PERCENTILES = List.of(10.0, 25.0, 50.0, 75.0, 90.0);
+
+    private final HealthRecordRepository healthRecordRepository;
+    private final HealthMetricSketchRepository healthMetricSketchRepository;
+    private final HealthDailyRollupRepository healthDailyRollupRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final AuthService authService;
+    private final TransactionTemplate transactionTemplate;
+
+    public HealthStatisticsService(
+            HealthRecordRepository healthRecordRepository,
+            HealthMetricSketchRepository healthMetricSketchRepository,
+            HealthDailyRollupRepository healthDailyRollupRepository,
+            SchedulerLeaseService schedulerLeaseService,
+            AuthService authService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.healthRecordRepository = healthRecordRepository;
+        this.healthMetricSketchRepository = healthMetricSketchRepository;
+        this.healthDailyRollupRepository = healthDailyRollupRepository;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.authService = authService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rewrite the sketches of one user/type/month in the caller's transaction.
+     */
+    @Transactional
+    public void refreshMonth(Long userId, RecordType recordType, YearMonth month) {
+        rebuild(userId, recordType, month, month);
+    }
+
+    /**
+     * Rewrite every month touching [startDate, endDate] for all record types, e.g. after a bulk import.
+     */
+    @Transactional
+    public void rebuild(Long userId, LocalDate startDate, LocalDate endDate) {
+        for (RecordType recordType : RecordType.values()) {
+            rebuild(userId, recordType, YearMonth.from(startDate), YearMonth.from(endDate));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public HealthStatisticsResponse getStatistics(RecordType recordType, Metric metric, LocalDate startDate,
+                                                  LocalDate endDate, List<Double> percentiles, Double low, Double high) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if ((low == null) != (high == null) || (low != null && low > high)) {
+            throw new RuntimeException("low and high must be given together with low <= high");
+        }
+        List<Double> requested = percentiles != null && !percentiles.isEmpty() ? percentiles : DEFAULT_PERCENTILES;
+        for (Double percentile : requested) {
+            if (percentile == null || percentile < 0 || percentile > 100) {
+                throw new RuntimeException("percentiles must be between 0 and 100");
+            }
+        }
+
+        User currentUser = authService.getCurrentUser();
+        Metric resolved = metric != null ? metric : primaryMetric(recordType);
+
+        // 범위 안에 완전히 들어가는 달은 스케치, 앞뒤로 걸친 달은 원본 기록
+        YearMonth firstFull = startDate.getDayOfMonth() == 1 ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFull = endDate.equals(YearMonth.from(endDate).atEndOfMonth()) ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+
+        Distribution distribution = new Distribution();
+        int sketchesMerged = 0;
+        long recordsScanned = 0;
+
+        if (firstFull.isAfter(lastFull)) {
+            recordsScanned += scan(currentUser.getId(), recordType, resolved, startDate, endDate, distribution);
+        } else {
+            for (HealthMetricSketch sketch : healthMetricSketchRepository.findForRange(
+                    currentUser.getId(), recordType, resolved, firstFull.atDay(1), lastFull.atDay(1))) {
+                distribution.merge(sketch);
+                sketchesMerged++;
+            }
+            if (startDate.isBefore(firstFull.atDay(1))) {
+                recordsScanned += scan(currentUser.getId(), recordType, resolved, startDate, firstFull.atDay(1).minusDays(1), distribution);
+            }
+            if (endDate.isAfter(lastFull.atEndOfMonth())) {
+                recordsScanned += scan(currentUser.getId(), recordType, resolved, lastFull.plusMonths(1).atDay(1), endDate, distribution);
+            }
+        }
+
+        HealthStatisticsResponse response = new HealthStatisticsResponse();
+        response.setRecordType(recordType);
+        response.setMetric(resolved);
+        response.setStartDate(startDate);
+        response.setEndDate(endDate);
+        response.setCount(distribution.count);
+        response.setSketchesMerged(sketchesMerged);
+        response.setRecordsScanned(recordsScanned);
+
+        if (distribution.count > 0) {
+            response.setMin(distribution.min);
+            response.setMax(distribution.max);
+            response.setMean(distribution.sum / distribution.count);
+            response.setStandardDeviation(distribution.standardDeviation());
+
+            List<HealthStatisticsResponse.PercentileValue> values = new ArrayList<>();
+            for (Double percentile : requested) {
+                values.add(new HealthStatisticsResponse.PercentileValue(percentile, distribution.digest.quantile(percentile / 100)));
+            }
+            response.setPercentiles(values);
+
+            if (low != null) {
+                // 정수 항목은 경계값이 포함되도록 반 단위 바깥에서 잼
+                double from = resolved.isIntegral() ? Math.ceil(low) - 0.5 : low;
+                double to = resolved.isIntegral() ? Math.floor(high) + 0.5 : high;
+                double inRange = distribution.digest.rank(to, true) - distribution.digest.rank(from, false);
+                response.setTimeInRange(new HealthStatisticsResponse.TimeInRange(
+                        low, high, Math.round(inRange), inRange / distribution.count));
+            }
+        } else {
+            response.setPercentiles(List.of());
+        }
+
+        return response;
+    }
+
+    // 배포 직후 스케치가 없는 사용자의 전체 기간을 채움 (t-digest는 SQL로 만들 수 없어 앱에서 수행)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingSketches() {
+        if (!schedulerLeaseService.tryAcquire(BACKFILL_LEASE_NAME, BACKFILL_LEASE_DURATION)) {
+            return;
+        }
+
+        List<Long> userIds = healthMetricSketchRepository.findUserIdsWithoutSketches();
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Object[] range = healthDailyRollupRepository.findDateRange(userId).get(0);
+                if (range[0] != null) {
+                    rebuild(userId, (LocalDate) range[0], (LocalDate) range[1]);
+                }
+            });
+        }
+
+        if (!userIds.isEmpty()) {
+            System.out.println(String.format("=== 건강 통계 스케치 생성: 사용자 %d명 ===", userIds.size()));
+        }
+    }
+
+    private void rebuild(Long userId, RecordType recordType, YearMonth from, YearMonth to) {
+        healthMetricSketchRepository.deleteForRange(userId, recordType, from.atDay(1), to.atDay(1));
+
+        List<HealthMetricSketch> sketches = new ArrayList<>();
+        Map<Metric, Distribution> month = new EnumMap<>(Metric.class);
+        YearMonth current = null;
+
+        try (Stream<HealthChartPoint> stream = healthRecordRepository
+                .streamForChart(userId, recordType, from.atDay(1), to.atEndOfMonth())) {
+            for (HealthChartPoint point : (Iterable<HealthChartPoint>) stream::iterator) {
+                YearMonth pointMonth = YearMonth.from(point.getRecordDate());
+                if (!pointMonth.equals(current)) {
+                    collect(sketches, month, userId, recordType, current);
+                    current = pointMonth;
+                }
+                for (Metric metric : Metric.values()) {
+                    Double value = valueOf(metric, point);
+                    if (value != null) {
+                        month.computeIfAbsent(metric, m -> new Distribution()).add(value);
+                    }
+                }
+            }
+        }
+        collect(sketches, month, userId, recordType, current);
+
+        healthMetricSketchRepository.saveAll(sketches);
+    }
+
+    private void collect(List<HealthMetricSketch> sketches, Map<Metric, Distribution> month,
+                         Long userId, RecordType recordType, YearMonth yearMonth) {
+        month.forEach((metric, distribution) -> sketches.add(HealthMetricSketch.builder()
+                .userId(userId)
+                .recordType(recordType)
+                .metric(metric)
+                .sketchMonth(yearMonth.atDay(1))
+                .valueCount((int) distribution.count)
+                .valueSum(distribution.sum)
+                .valueSumSquares(distribution.sumSquares)
+                .minValue(distribution.min)
+                .maxValue(distribution.max)
+                .digest(distribution.digest.toBytes())
+                .build()));
+        month.clear();
+    }
+
+    private long scan(Long userId, RecordType recordType, Metric metric, LocalDate startDate, LocalDate endDate,
+                      Distribution distribution) {
+        long scanned = 0;
+        try (Stream<HealthChartPoint> stream = healthRecordRepository.streamForChart(userId, recordType, startDate, endDate)) {
+            for (HealthChartPoint point : (Iterable<HealthChartPoint>) stream::iterator) {
+                scanned++;
+                Double value = valueOf(metric, point);
+                if (value != null) {
+                    distribution.add(value);
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private static Metric primaryMetric(RecordType recordType) {
+        return switch (recordType) {
+            case BLOOD_PRESSURE -> Metric.SYSTOLIC;
+            case WEIGHT -> Metric.WEIGHT;
+            case BLOOD_SUGAR -> Metric.BLOOD_SUGAR;
+            case HEART_RATE -> Metric.HEART_RATE;
+        };
+    }
+
+    private static Double valueOf(Metric metric, HealthChartPoint point) {
+        Number value = switch (metric) {
+            case SYSTOLIC -> point.getSystolic();
+            case DIASTOLIC -> point.getDiastolic();
+            case HEART_RATE -> point.getHeartRate();
+            case WEIGHT -> point.getWeight();
+            case BLOOD_SUGAR -> point.getBloodSugar();
+        };
+        return value != null ? value.doubleValue() : null;
+    }
+
+    // 정확한 count/sum/제곱합/min/max와 분위수용 t-digest
+    private static final class Distribution {
+        private final TDigest digest = new TDigest();
+        private long count;
+        private double sum;
+        private double sumSquares;
+        private double min;
+        private double max;
+
+        private void add(double value) {
+            digest.add(value);
+            min = count == 0 ? value : Math.min(min, value);
+            max = count == 0 ? value : Math.max(max, value);
+            count++;
+            sum += value;
+            sumSquares += value * value;
+        }
+
+        private void merge(HealthMetricSketch sketch) {
+            if (sketch.getValueCount() == 0) {
+                return;
+            }
+            digest.merge(TDigest.fromBytes(sketch.getDigest()));
+            min = count == 0 ? sketch.getMinValue() : Math.min(min, sketch.getMinValue());
+            max = count == 0 ? sketch.getMaxValue() : Math.max(max, sketch.getMaxValue());
+            count += sketch.getValueCount();
+            sum += sketch.getValueSum();
+            sumSquares += sketch.getValueSumSquares();
+        }
+
+        // 표본 표준편차
+        private Double standardDeviation() {
+            if (count < 2) {
+                return null;
+            }
+            double variance = (sumSquares - sum * sum / count) / (count - 1);
+            return Math.sqrt(Math.max(0, variance));
+        }
+    }
+}
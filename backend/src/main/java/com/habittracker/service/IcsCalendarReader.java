@@ -0,0 +1,278 @@
+package com.habittracker.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming RFC 5545 reader. Unfolds content lines as they are read and hands out one VEVENT
+ * at a time, so memory use is bounded by the largest single event rather than the file size.
+ *
+ * A malformed line or component fails with a {@link FormatException} that carries the line number
+ * and the partly read VEVENT; the next {@link #nextEvent()} call resumes at the following
+ * BEGIN:VEVENT, so one broken event does not hide the rest of the file.
+ */
+public final class IcsCalendarReader implements Closeable {
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    // VEVENT 안에 중첩될 수 있는 컴포넌트 깊이 (VEVENT > VALARM 이면 2)
+    private static final int MAX_DEPTH = 8;
+
+    private final BufferedReader reader;
+    private String lookahead;
+    private int lookaheadLine;
+    private int rawLineNumber;
+    private int currentLine;
+    private Property pendingBegin;      // 닫히지 않은 VEVENT 안에서 만난 다음 BEGIN:VEVENT
+    private Component currentEvent;     // 읽고 있는 VEVENT (오류에 담아 보냄)
+
+    public IcsCalendarReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Next VEVENT in the stream (including nested components such as VALARM), or null at the end.
+     *
+     * @throws FormatException if a line or component is malformed; reading can continue with the
+     *                         next call
+     */
+    public Component nextEvent() throws IOException {
+        currentEvent = null;
+        Property property;
+        while ((property = nextBegin()) != null) {
+            if (property.value().equalsIgnoreCase("VEVENT")) {
+                currentEvent = new Component("VEVENT", property.line(), new ArrayList<>(), new ArrayList<>());
+                readComponent(currentEvent, 1);
+                Component event = currentEvent;
+                currentEvent = null;
+                return event;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // VEVENT 밖(VCALENDAR, VTIMEZONE 등)에서는 BEGIN 줄만 찾음
+    private Property nextBegin() throws IOException {
+        if (pendingBegin != null) {
+            Property property = pendingBegin;
+            pendingBegin = null;
+            return property;
+        }
+        Property property;
+        while ((property = nextProperty()) != null) {
+            if (property.name().equals("BEGIN")) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    private void readComponent(Component component, int depth) throws IOException {
+        Property property;
+        while ((property = nextProperty()) != null) {
+            if (property.name().equals("BEGIN")) {
+                String childName = property.value().toUpperCase(Locale.ROOT);
+                if (childName.equals("VEVENT")) {
+                    // END:VEVENT가 빠진 일정: 이 일정은 실패로 두고 다음 호출이 새 VEVENT부터 읽음
+                    pendingBegin = property;
+                    throw error(component.line(), String.format("%d번째 줄의 %s가 닫히지 않았습니다",
+                            component.line(), component.name()));
+                }
+                if (depth >= MAX_DEPTH) {
+                    throw error(property.line(), String.format("%d번째 줄의 %s가 너무 깊이 중첩되어 있습니다",
+                            property.line(), childName));
+                }
+                Component child = new Component(childName, property.line(), new ArrayList<>(), new ArrayList<>());
+                component.children().add(child);
+                readComponent(child, depth + 1);
+            } else if (property.name().equals("END")) {
+                if (!property.value().equalsIgnoreCase(component.name())) {
+                    throw error(property.line(), String.format("%d번째 줄의 END:%s가 %d번째 줄의 %s와 맞지 않습니다",
+                            property.line(), property.value(), component.line(), component.name()));
+                }
+                return;
+            } else {
+                component.properties().add(property);
+            }
+        }
+
+        throw error(component.line(), String.format("%d번째 줄의 %s가 닫히지 않았습니다", component.line(), component.name()));
+    }
+
+    private FormatException error(int line, String message) {
+        return new FormatException(message, line, currentEvent);
+    }
+
+    private Property nextProperty() throws IOException {
+        String line;
+        do {
+            line = nextUnfoldedLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        Property property = parseProperty(line, currentLine);
+        if (property == null) {
+            throw error(currentLine, String.format("%d번째 줄을 해석할 수 없습니다", currentLine));
+        }
+        return property;
+    }
+
+    // 다음 줄이 공백/탭으로 시작하면 앞 줄에 이어 붙임 (RFC 5545 line folding)
+    private String nextUnfoldedLine() throws IOException {
+        String line;
+        int start;
+        if (lookahead != null) {
+            line = lookahead;
+            start = lookaheadLine;
+            lookahead = null;
+        } else {
+            line = readRawLine();
+            start = rawLineNumber;
+        }
+        if (line == null) {
+            return null;
+        }
+
+        StringBuilder unfolded = new StringBuilder(line);
+        String next;
+        while ((next = readRawLine()) != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            unfolded.append(next, 1, next.length());
+            if (unfolded.length() > MAX_LINE_LENGTH) {
+                throw error(start, String.format("%d번째 줄이 너무 깁니다", start));
+            }
+        }
+        lookahead = next;
+        lookaheadLine = rawLineNumber;
+        currentLine = start;
+
+        return unfolded.toString();
+    }
+
+    private String readRawLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            rawLineNumber++;
+            if (line.length() > MAX_LINE_LENGTH) {
+                throw error(rawLineNumber, String.format("%d번째 줄이 너무 깁니다", rawLineNumber));
+            }
+        }
+        return line;
+    }
+
+    // NAME;PARAM=VALUE;PARAM="QUOTED:VALUE":PROPERTY-VALUE, ':'가 없으면 null
+    private static Property parseProperty(String line, int lineNumber) {
+        int valueStart = -1;
+        boolean quoted = false;
+        List<Integer> paramSeparators = new ArrayList<>();
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ';') {
+                paramSeparators.add(i);
+            } else if (!quoted && c == ':') {
+                valueStart = i;
+                break;
+            }
+        }
+
+        if (valueStart < 0) {
+            return null;
+        }
+
+        int nameEnd = paramSeparators.isEmpty() ? valueStart : paramSeparators.get(0);
+        String name = line.substring(0, nameEnd).trim().toUpperCase(Locale.ROOT);
+
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < paramSeparators.size(); i++) {
+            int from = paramSeparators.get(i) + 1;
+            int to = i + 1 < paramSeparators.size() ? paramSeparators.get(i + 1) : valueStart;
+            String param = line.substring(from, to);
+            int eq = param.indexOf('=');
+            if (eq > 0) {
+                String paramValue = param.substring(eq + 1);
+                if (paramValue.length() >= 2 && paramValue.startsWith("\"") && paramValue.endsWith("\"")) {
+                    paramValue = paramValue.substring(1, paramValue.length() - 1);
+                }
+                params.put(param.substring(0, eq).toUpperCase(Locale.ROOT), paramValue);
+            }
+        }
+
+        return new Property(name, params, line.substring(valueStart + 1), lineNumber);
+    }
+
+    public static String unescape(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                result.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * A malformed line or component. {@link #getEvent()} is the VEVENT that was being read (with the
+     * properties read before the error), or null if the error was outside any VEVENT.
+     */
+    public static final class FormatException extends IllegalArgumentException {
+        private final int line;
+        private final transient Component event;
+
+        FormatException(String message, int line, Component event) {
+            super(message);
+            this.line = line;
+            this.event = event;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public Component getEvent() {
+            return event;
+        }
+    }
+
+    public record Property(String name, Map<String, String> params, String value, int line) {
+        public String param(String key) {
+            return params.get(key);
+        }
+    }
+
+    public record Component(String name, int line, List<Property> properties, List<Component> children) {
+        public Property property(String propertyName) {
+            for (Property property : properties) {
+                if (property.name().equals(propertyName)) {
+                    return property;
+                }
+            }
+            return null;
+        }
+
+        public String value(String propertyName) {
+            Property property = property(propertyName);
+            return property != null ? property.value() : null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders calendar events as an RFC 5545 iCalendar document. Recurring events are written
+ * once with an RRULE instead of being expanded, so the feed size does not grow with time.
+ */
+public final class IcsCalendarWriter {
+
+    public static final String TIME_ZONE = "Asia/Seoul";
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private IcsCalendarWriter() {
+    }
+
+    public static byte[] render(String calendarName, List<CalendarEvent> events) {
+        StringBuilder ics = new StringBuilder();
+
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Family Habit Tracker//Calendar//KO");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "X-WR-CALNAME:" + escape(calendarName));
+        line(ics, "X-WR-TIMEZONE:" + TIME_ZONE);
+
+        // 한국은 서머타임이 없으므로 고정 오프셋 하나면 충분
+        line(ics, "BEGIN:VTIMEZONE");
+        line(ics, "TZID:" + TIME_ZONE);
+        line(ics, "BEGIN:STANDARD");
+        line(ics, "DTSTART:19700101T000000");
+        line(ics, "TZOFFSETFROM:+0900");
+        line(ics, "TZOFFSETTO:+0900");
+        line(ics, "TZNAME:KST");
+        line(ics, "END:STANDARD");
+        line(ics, "END:VTIMEZONE");
+
+        for (CalendarEvent event : events) {
+            writeEvent(ics, event);
+        }
+
+        line(ics, "END:VCALENDAR");
+        return ics.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String uid(Long eventId) {
+        return "event-" + eventId + "@family-habit-tracker";
+    }
+
+    private static void writeEvent(StringBuilder ics, CalendarEvent event) {
+        boolean allDay = Boolean.TRUE.equals(event.getAllDay());
+        LocalDateTime stamp = event.getUpdatedAt() != null ? event.getUpdatedAt() : event.getStartDatetime();
+
+        line(ics, "BEGIN:VEVENT");
+        line(ics, "UID:" + uid(event.getId()));
+        line(ics, "DTSTAMP:" + toUtc(stamp));
+
+        if (allDay) {
+            // 종일 일정의 DTEND는 마지막 날의 다음 날 (exclusive)
+            LocalDate startDate = event.getStartDatetime().toLocalDate();
+            LocalDate endDate = event.getEndDatetime().toLocalDate().plusDays(1);
+            line(ics, "DTSTART;VALUE=DATE:" + startDate.format(DATE));
+            line(ics, "DTEND;VALUE=DATE:" + (endDate.isAfter(startDate) ? endDate : startDate.plusDays(1)).format(DATE));
+        } else {
+            line(ics, "DTSTART;TZID=" + TIME_ZONE + ":" + event.getStartDatetime().format(DATE_TIME));
+            line(ics, "DTEND;TZID=" + TIME_ZONE + ":" + event.getEndDatetime().format(DATE_TIME));
+        }
+
+        line(ics, "SUMMARY:" + escape(event.getTitle()));
+        if (event.getDescription() != null && !event.getDescription().isBlank()) {
+            line(ics, "DESCRIPTION:" + escape(event.getDescription()));
+        }
+
+        String rrule = rrule(event, allDay);
+        if (rrule != null) {
+            line(ics, rrule);
+        }
+
+        if (event.getReminderMinutes() != null) {
+            line(ics, "BEGIN:VALARM");
+            line(ics, "ACTION:DISPLAY");
+            line(ics, "DESCRIPTION:" + escape(event.getTitle()));
+            line(ics, "TRIGGER:-PT" + event.getReminderMinutes() + "M");
+            line(ics, "END:VALARM");
+        }
+
+        line(ics, "END:VEVENT");
+    }
+
+    private static String rrule(CalendarEvent event, boolean allDay) {
+        CalendarEvent.RepeatType repeatType = event.getRepeatType();
+        if (repeatType == null || repeatType == CalendarEvent.RepeatType.NONE) {
+            return null;
+        }
+
+        StringBuilder rule = new StringBuilder("RRULE:FREQ=").append(repeatType.name());
+        LocalDate start = event.getStartDatetime().toLocalDate();
+
+        // 앱은 31일 시작 월간 일정을 짧은 달에는 말일로 당기므로 RRULE도 같은 동작을 하도록 BYSETPOS=-1 사용
+        if (repeatType == CalendarEvent.RepeatType.MONTHLY && start.getDayOfMonth() > 28) {
+            rule.append(";BYMONTHDAY=").append(dayRange(start.getDayOfMonth())).append(";BYSETPOS=-1");
+        } else if (repeatType == CalendarEvent.RepeatType.YEARLY && start.getMonthValue() == 2 && start.getDayOfMonth() == 29) {
+            rule.append(";BYMONTH=2;BYMONTHDAY=28,29;BYSETPOS=-1");
+        }
+
+        if (event.getRepeatEndDate() != null) {
+            // DTSTART가 TZID를 가지면 UNTIL은 UTC여야 함
+            LocalDate repeatEndDate = event.getRepeatEndDate();
+            String until = allDay ? repeatEndDate.format(DATE) : toUtc(repeatEndDate.atTime(23, 59, 59));
+            rule.append(";UNTIL=").append(until);
+        }
+
+        return rule.toString();
+    }
+
+    private static String dayRange(int lastDay) {
+        StringBuilder days = new StringBuilder();
+        for (int day = 28; day <= lastDay; day++) {
+            if (days.length() > 0) {
+                days.append(',');
+            }
+            days.append(day);
+        }
+        return days.toString();
+    }
+
+    private static String toUtc(LocalDateTime seoulTime) {
+        return seoulTime.atZone(ZoneId.of(TIME_ZONE))
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime()
+                .format(DATE_TIME) + "Z";
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    /**
+     * Append a content line folded at 75 octets, never splitting a multi-byte UTF-8 character.
+     */
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = utf8Length(codePoint);
+
+            if (octets + size > limit) {
+                ics.append(CRLF).append(' ');
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1; // 이어지는 줄은 앞의 공백 한 칸 포함
+            }
+
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+
+        ics.append(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+}
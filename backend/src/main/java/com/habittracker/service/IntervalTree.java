@@ -0,0 +1,174 @@
+package com.habittracker.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Interval tree over calendar occurrences: a treap ordered by start, where every node also
+ * keeps the latest end in its subtree. Overlap queries skip any subtree that ends before the
+ * window and stop at the first start past it, so they cost O(log n + k) on the balanced tree.
+ *
+ * Intervals are half-open [start, end); a zero-length occurrence counts as an instant. Not thread-safe.
+ */
+final class IntervalTree {
+
+    private static final Comparator<Interval> ORDER = Comparator
+            .comparing(Interval::start)
+            .thenComparing(Interval::eventId);
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+    private int size;
+
+    void insert(Interval interval) {
+        root = insert(root, new Node(interval, random.nextInt()));
+        size++;
+    }
+
+    boolean remove(Interval interval) {
+        int before = size;
+        root = remove(root, interval);
+        return size < before;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Every interval overlapping [from, to), in start order.
+     */
+    List<Interval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, List<Interval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return; // 이 서브트리의 모든 구간이 from 이전에 끝남
+        }
+
+        collect(node.left, from, to, result);
+
+        if (!node.interval.start().isBefore(to)) {
+            return; // 오른쪽 서브트리는 시작 시각이 더 늦음
+        }
+        if (node.interval.effectiveEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+
+        collect(node.right, from, to, result);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        if (ORDER.compare(inserted.interval, node.interval) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = ORDER.compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+
+        update(node);
+        return node;
+    }
+
+    // 두 서브트리를 우선순위를 유지하며 합침 (left의 모든 키 < right의 모든 키)
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        LocalDateTime maxEnd = node.interval.effectiveEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static final class Node {
+        private final Interval interval;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private LocalDateTime maxEnd;
+
+        private Node(Interval interval, int priority) {
+            this.interval = interval;
+            this.priority = priority;
+            this.maxEnd = interval.effectiveEnd();
+        }
+    }
+
+    record Interval(Long eventId, String title, boolean allDay, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime effectiveEnd() {
+            return end.isAfter(start) ? end : start.plusNanos(1);
+        }
+    }
+}
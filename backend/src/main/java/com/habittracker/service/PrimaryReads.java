@@ -0,0 +1,28 @@
+package com.habittracker.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a load in its own read-write transaction so it is served by the primary even when a read
+ * replica is configured. Used by caches that are invalidated after commit: a load from a lagging
+ * replica could otherwise re-cache the state the invalidation just dropped.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T load(Supplier<T> loader) {
+        return transactionTemplate.execute(status -> loader.get());
+    }
+}
@@ -3,8 +3,11 @@ package com.habittracker.service;
 import com.habittracker.entity.User;
 import com.habittracker.model.PushSubscription;
 import com.habittracker.repository.PushSubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import nl.martijndwars.webpush.Notification;
 import nl.martijndwars.webpush.PushService;
+import org.apache.http.HttpResponse;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -12,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.security.GeneralSecurityException;
 import java.security.Security;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -19,6 +23,7 @@ public class PushNotificationService {
 
     private final PushSubscriptionRepository pushSubscriptionRepository;
     private final PushService pushService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${vapid.public.key}")
     private String publicKey;
@@ -29,9 +34,10 @@ public class PushNotificationService {
     @Value("${vapid.subject}")
     private String subject;
 
-    public PushNotificationService(PushSubscriptionRepository pushSubscriptionRepository) {
+    public PushNotificationService(PushSubscriptionRepository pushSubscriptionRepository, MeterRegistry meterRegistry) {
         this.pushSubscriptionRepository = pushSubscriptionRepository;
         this.pushService = new PushService();
+        this.meterRegistry = meterRegistry;
 
         // Register BouncyCastle provider if not already registered
         if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
@@ -72,9 +78,23 @@ public class PushNotificationService {
     }
 
     public void sendNotification(User user, String title, String body) {
+        sendNotification(user.getId(), title, body);
+    }
+
+    // For callers holding only a user ID (e.g. a family snapshot), so no User entity has to be loaded
+    public void sendNotification(Long userId, String title, String body) {
+        sendNotification(List.of(userId), title, body);
+    }
+
+    // Same notification to several users, with one subscription query for all of them
+    public void sendNotification(Collection<Long> userIds, String title, String body) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
         try {
             initKeys();
-            List<PushSubscription> subscriptions = pushSubscriptionRepository.findByUser(user);
+            List<PushSubscription> subscriptions = pushSubscriptionRepository.findByUserIdIn(userIds);
 
             String payload = String.format(
                 "{\"title\":\"%s\",\"body\":\"%s\",\"icon\":\"/logo192.png\"}",
@@ -83,6 +103,8 @@ public class PushNotificationService {
             );
 
             for (PushSubscription subscription : subscriptions) {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String status = "EXCEPTION";
                 try {
                     Notification notification = new Notification(
                         subscription.getEndpoint(),
@@ -91,11 +113,14 @@ public class PushNotificationService {
                         payload
                     );
 
-                    pushService.send(notification);
+                    HttpResponse response = pushService.send(notification);
+                    status = String.valueOf(response.getStatusLine().getStatusCode());
                 } catch (Exception e) {
                     // If push fails, remove invalid subscription
                     System.err.println("Failed to send push notification: " + e.getMessage());
                     pushSubscriptionRepository.delete(subscription);
+                } finally {
+                    sample.stop(sendTimer(status));
                 }
             }
         } catch (Exception e) {
@@ -103,6 +128,28 @@ public class PushNotificationService {
         }
     }
 
+    // Latency of one push service request, by HTTP status of the push service (EXCEPTION if none)
+    private Timer sendTimer(String status) {
+        return Timer.builder("habittracker.push.send")
+                .description("Web push send latency")
+                .tag("status", status)
+                .tag("outcome", outcome(status))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String outcome(String status) {
+        if ("EXCEPTION".equals(status)) {
+            return "ERROR";
+        }
+        return switch (status.charAt(0)) {
+            case '2' -> "SUCCESS";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+
     private String escapeJson(String str) {
         return str.replace("\\", "\\\\")
                   .replace("\"", "\\\"")
@@ -0,0 +1,108 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent.RepeatType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occurrence arithmetic for repeating calendar events.
+ *
+ * The n-th occurrence is always computed from the series start (start + n periods) rather
+ * than by stepping from the previous one, so jumping to the first occurrence of a window
+ * costs the same for a series created yesterday or years ago, and a monthly series that
+ * starts on the 31st returns to the 31st after a short month.
+ */
+public final class RecurrenceCalculator {
+
+    private RecurrenceCalculator() {
+    }
+
+    /**
+     * First occurrence starting at or after {@code from}, or null if the series ends before that.
+     */
+    public static LocalDateTime firstOccurrenceFrom(LocalDateTime seriesStart, RepeatType repeatType,
+                                                    LocalDate repeatEndDate, LocalDateTime from) {
+        if (!seriesStart.isBefore(from)) {
+            return withinSeries(seriesStart, repeatEndDate);
+        }
+        if (repeatType == null || repeatType == RepeatType.NONE) {
+            return null;
+        }
+
+        long n = estimateIndex(seriesStart, repeatType, from);
+        LocalDateTime occurrence = nthOccurrence(seriesStart, repeatType, n);
+        // 월말/윤일 보정으로 추정값이 한두 칸 모자랄 수 있음
+        while (occurrence.isBefore(from)) {
+            n++;
+            occurrence = nthOccurrence(seriesStart, repeatType, n);
+        }
+
+        return withinSeries(occurrence, repeatEndDate);
+    }
+
+    /**
+     * Start instants of every occurrence starting within [from, to], in order.
+     */
+    public static List<LocalDateTime> occurrencesBetween(LocalDateTime seriesStart, RepeatType repeatType,
+                                                         LocalDate repeatEndDate, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+
+        LocalDateTime first = firstOccurrenceFrom(seriesStart, repeatType, repeatEndDate, from);
+        if (first == null || first.isAfter(to)) {
+            return occurrences;
+        }
+        if (repeatType == null || repeatType == RepeatType.NONE) {
+            occurrences.add(first);
+            return occurrences;
+        }
+
+        long n = indexOf(seriesStart, repeatType, first);
+        for (LocalDateTime occurrence = first;
+             occurrence != null && !occurrence.isAfter(to);
+             occurrence = withinSeries(nthOccurrence(seriesStart, repeatType, ++n), repeatEndDate)) {
+            occurrences.add(occurrence);
+        }
+
+        return occurrences;
+    }
+
+    public static LocalDateTime nthOccurrence(LocalDateTime seriesStart, RepeatType repeatType, long n) {
+        return switch (repeatType) {
+            case DAILY -> seriesStart.plusDays(n);
+            case WEEKLY -> seriesStart.plusWeeks(n);
+            case MONTHLY -> seriesStart.plusMonths(n);
+            case YEARLY -> seriesStart.plusYears(n);
+            default -> seriesStart;
+        };
+    }
+
+    // Lower bound for the index of the first occurrence at or after `from`
+    private static long estimateIndex(LocalDateTime seriesStart, RepeatType repeatType, LocalDateTime from) {
+        return switch (repeatType) {
+            case DAILY -> ChronoUnit.DAYS.between(seriesStart, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(seriesStart, from);
+            case MONTHLY -> ChronoUnit.MONTHS.between(seriesStart, from);
+            case YEARLY -> ChronoUnit.YEARS.between(seriesStart, from);
+            default -> 0;
+        };
+    }
+
+    private static long indexOf(LocalDateTime seriesStart, RepeatType repeatType, LocalDateTime occurrence) {
+        long n = estimateIndex(seriesStart, repeatType, occurrence);
+        while (nthOccurrence(seriesStart, repeatType, n).isBefore(occurrence)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static LocalDateTime withinSeries(LocalDateTime occurrence, LocalDate repeatEndDate) {
+        if (repeatEndDate != null && occurrence.toLocalDate().isAfter(repeatEndDate)) {
+            return null;
+        }
+        return occurrence;
+    }
+}
@@ -0,0 +1,76 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.ReminderLedgerEntry;
+import com.habittracker.repository.ReminderLedgerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ledger of reminders that have already been dispatched, so a double fire, a catch-up
+ * run or a second node never sends the same reminder twice.
+ */
+@Service
+public class ReminderLedgerService {
+
+    private final ReminderLedgerRepository reminderLedgerRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final SchedulerMetrics schedulerMetrics;
+
+    @Value("${reminder.ledger.retention-days:35}")
+    private long retentionDays;
+
+    public ReminderLedgerService(
+            ReminderLedgerRepository reminderLedgerRepository,
+            PlatformTransactionManager transactionManager,
+            SchedulerMetrics schedulerMetrics
+    ) {
+        this.reminderLedgerRepository = reminderLedgerRepository;
+        this.schedulerMetrics = schedulerMetrics;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Record the reminder before it is dispatched. Returns false if it was already recorded,
+     * in which case the caller must not send it.
+     */
+    public boolean tryRecord(ReminderLedgerEntry.Kind kind, Long subjectId, LocalDateTime scheduledAt) {
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> reminderLedgerRepository.insert(
+                    kind.name(), subjectId, scheduledAt, LocalDateTime.now(ZoneId.of("Asia/Seoul"))));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Subjects already recorded for {@code scheduledAt}.
+     */
+    public Set<Long> findRecorded(ReminderLedgerEntry.Kind kind, LocalDateTime scheduledAt) {
+        return new HashSet<>(reminderLedgerRepository.findSubjectIds(kind, scheduledAt));
+    }
+
+    // 매일 새벽 보관 기간이 지난 기록 삭제
+    @Transactional
+    @Scheduled(cron = "0 30 4 * * *", zone = "Asia/Seoul")
+    public void pruneOldEntries() {
+        schedulerMetrics.record("reminder-ledger-prune", () -> {
+            LocalDateTime cutoff = LocalDateTime.now(ZoneId.of("Asia/Seoul")).minusDays(retentionDays);
+            int deleted = reminderLedgerRepository.deleteScheduledBefore(cutoff);
+            System.out.println(String.format("=== 알림 기록 정리: %d건 삭제 ===", deleted));
+            return deleted;
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.habittracker.service;
+
+/**
+ * A node-local cache that drops its state when another node records a change in
+ * cache_invalidations. {@link SecondLevelCacheService} calls every listener once per new row it
+ * polls, so remote changes reach these caches within one poll interval instead of their TTL.
+ */
+public interface RemoteInvalidationListener {
+
+    /**
+     * @param entityName entity class name of the changed row (as written to cache_invalidations)
+     * @param entityId   its id
+     */
+    void onRemoteInvalidation(String entityName, Long entityId);
+}
@@ -0,0 +1,68 @@
+package com.habittracker.service;
+
+import com.habittracker.repository.SchedulerLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * DB-backed leases that make sure a scheduled job runs on only one node at a time.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final ClusterNodeService clusterNodeService;
+    private final TransactionTemplate requiresNewTransaction;
+
+    public SchedulerLeaseService(
+            SchedulerLeaseRepository schedulerLeaseRepository,
+            ClusterNodeService clusterNodeService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.clusterNodeService = clusterNodeService;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Try to become the node that runs {@code jobName} until {@code leaseDuration} from now.
+     *
+     * The holder extends its own lease on every call, so a job sticks to one node until that
+     * node stops calling; any other node takes over once the lease has expired, or as soon as the
+     * holder has missed heartbeats for the node timeout (see {@link ClusterNodeService}).
+     * Always succeeds when clustering is disabled.
+     */
+    public boolean tryAcquire(String jobName, Duration leaseDuration) {
+        if (!clusterNodeService.isClusterEnabled()) {
+            return true;
+        }
+
+        String owner = clusterNodeService.getNodeId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(leaseDuration);
+
+        try {
+            return Boolean.TRUE.equals(requiresNewTransaction.execute(status -> {
+                if (schedulerLeaseRepository.acquire(jobName, owner, now, leaseUntil,
+                        now.minusSeconds(clusterNodeService.getNodeTimeoutSeconds())) > 0) {
+                    return true;
+                }
+                if (schedulerLeaseRepository.existsById(jobName)) {
+                    return false;
+                }
+                schedulerLeaseRepository.insert(jobName, owner, leaseUntil);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 동시에 lease 행을 생성함
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.habittracker.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Run metrics for the scheduled jobs:
+ * <ul>
+ *   <li>{@code habittracker.scheduler.run} — duration per job and outcome (success, skipped, error)</li>
+ *   <li>{@code habittracker.scheduler.processed} — what one run handled, per job (users due for
+ *       habit reminders, calendar reminders sent, occurrences added, rows pruned, ...)</li>
+ * </ul>
+ */
+@Component
+public class SchedulerMetrics {
+
+    /** Returned by a run that did nothing because another node holds the lease or has no work assigned. */
+    public static final int SKIPPED = -1;
+
+    private final MeterRegistry meterRegistry;
+
+    public SchedulerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs one pass of {@code job}; {@code run} returns the number of items it processed or {@link #SKIPPED}.
+     */
+    public void record(String job, IntSupplier run) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            int processed = run.getAsInt();
+            if (processed == SKIPPED) {
+                outcome = "skipped";
+                return;
+            }
+            outcome = "success";
+            DistributionSummary.builder("habittracker.scheduler.processed")
+                    .description("Items processed by one scheduler run")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .record(processed);
+        } finally {
+            sample.stop(Timer.builder("habittracker.scheduler.run")
+                    .description("Scheduler run duration")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
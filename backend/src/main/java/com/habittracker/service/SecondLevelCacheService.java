@@ -0,0 +1,253 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CacheInvalidation;
+import com.habittracker.repository.CacheInvalidationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the Hibernate second-level cache (users, families, habits, their collections and the query
+ * cache, see ehcache.xml) coherent across nodes.
+ *
+ * The cache is local to each node. Writes on this node evict or update it directly; writes on other
+ * nodes reach it like this:
+ * <ol>
+ *   <li>A Hibernate post-insert/update/delete listener writes one cache_invalidations row per cached
+ *       entity in the writing transaction, so the row exists exactly when the change is committed.
+ *       The row is written and timestamped just before commit, not at flush, so a transaction that
+ *       runs long after its flush is still inside the pollers' lookback window when it commits.</li>
+ *   <li>Every node polls for rows recorded by other nodes within the last {@code lookback-seconds}
+ *       and evicts those entities, all cached collections and the query cache. The lookback covers
+ *       transactions that commit after a poll has passed their timestamp and clock skew between nodes;
+ *       rows already handled in the previous poll are skipped.</li>
+ * </ol>
+ * A remote write is therefore visible here after at most one poll interval. A load that started
+ * before the eviction, or one served by a lagging read replica, can still put the old state back;
+ * the region TTLs in ehcache.xml bound how long that can last.
+ *
+ * Other node-local state hears about the same rows by implementing {@link RemoteInvalidationListener};
+ * changes to entities outside the second-level cache (calendar events for the reminder queue) are
+ * written with {@link #recordChanges}.
+ *
+ * Only active when clustering is enabled; a single node needs none of this.
+ */
+@Service
+public class SecondLevelCacheService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidations (entity_name, entity_id, node_id, recorded_at_ms) VALUES (?, ?, ?, ?)";
+    private static final long RETENTION_MILLIS = 60 * 60 * 1000L;
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final ClusterNodeService clusterNodeService;
+    private final JdbcTemplate jdbcTemplate;
+    // 리스너(피드 캐시 등)가 이 서비스를 거쳐 다시 주입받는 순환을 피하려고 poll 때 찾음
+    private final ObjectProvider<RemoteInvalidationListener> remoteListeners;
+
+    // 직전 poll에서 이미 처리한 기록 (lookback 구간이 겹치므로 중복 처리 방지)
+    private Set<Long> handledIds = new HashSet<>();
+
+    @Value("${cache.l2.invalidation-lookback-seconds:30}")
+    private long lookbackSeconds;
+
+    public SecondLevelCacheService(
+            EntityManagerFactory entityManagerFactory,
+            CacheInvalidationRepository cacheInvalidationRepository,
+            ClusterNodeService clusterNodeService,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<RemoteInvalidationListener> remoteListeners
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.clusterNodeService = clusterNodeService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.remoteListeners = remoteListeners;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        WriteListener listener = new WriteListener();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    // read-write 트랜잭션으로 실행해 replica가 아닌 primary에서 읽음
+    @Transactional
+    @Scheduled(fixedDelayString = "${cache.l2.invalidation-poll-ms:2000}")
+    public synchronized void pollInvalidations() {
+        if (!clusterNodeService.isClusterEnabled()) {
+            return;
+        }
+
+        long since = System.currentTimeMillis() - lookbackSeconds * 1000;
+        List<CacheInvalidation> recent = cacheInvalidationRepository
+                .findByRecordedAtMsGreaterThanAndNodeIdNot(since, clusterNodeService.getNodeId());
+
+        Set<Long> seen = new HashSet<>();
+        int evicted = 0;
+        for (CacheInvalidation invalidation : recent) {
+            seen.add(invalidation.getId());
+            if (handledIds.contains(invalidation.getId())) {
+                continue;
+            }
+            // 2차 캐시 밖의 엔티티(캘린더 일정 등)는 리스너에만 알림
+            EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(invalidation.getEntityName());
+            if (persister != null && persister.canWriteToCache()) {
+                sessionFactory.getCache().evictEntityData(invalidation.getEntityName(), invalidation.getEntityId());
+                evicted++;
+            }
+            notifyListeners(invalidation);
+        }
+        handledIds = seen;
+
+        if (evicted > 0) {
+            // 컬렉션(가족 구성원/습관 목록)과 쿼리 결과는 어떤 행이 바뀌었는지로 찾을 수 없어 통째로 비움
+            sessionFactory.getCache().evictCollectionData();
+            sessionFactory.getCache().evictQueryRegions();
+        }
+    }
+
+    /**
+     * Record changes to entities that are not in the second-level cache, so other nodes'
+     * {@link RemoteInvalidationListener}s hear about them. Like the rows for cached entities they are
+     * written and timestamped just before the current transaction commits. No-op unless clustered.
+     */
+    public void recordChanges(Class<?> entityClass, Collection<Long> ids) {
+        if (ids.isEmpty() || !clusterNodeService.isClusterEnabled()) {
+            return;
+        }
+
+        String entityName = entityClass.getName();
+        String nodeId = clusterNodeService.getNodeId();
+        List<Long> changed = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                long recordedAt = System.currentTimeMillis();
+                jdbcTemplate.batchUpdate(INSERT_SQL, changed, INSERT_BATCH_SIZE, (statement, id) -> {
+                    statement.setString(1, entityName);
+                    statement.setLong(2, id);
+                    statement.setString(3, nodeId);
+                    statement.setLong(4, recordedAt);
+                });
+            }
+        });
+    }
+
+    private void notifyListeners(CacheInvalidation invalidation) {
+        remoteListeners.forEach(listener -> {
+            try {
+                listener.onRemoteInvalidation(invalidation.getEntityName(), invalidation.getEntityId());
+            } catch (RuntimeException e) {
+                System.err.println("원격 무효화 처리 실패 (" + listener.getClass().getSimpleName() + "): " + e.getMessage());
+            }
+        });
+    }
+
+    @Transactional
+    @Scheduled(cron = "0 20 * * * *", zone = "Asia/Seoul")
+    public void pruneInvalidations() {
+        if (!clusterNodeService.isClusterEnabled()) {
+            return;
+        }
+        cacheInvalidationRepository.deleteByRecordedAtMsLessThan(System.currentTimeMillis() - RETENTION_MILLIS);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.l2.stats-log-interval-ms:600000}",
+            initialDelayString = "${cache.l2.stats-log-interval-ms:600000}")
+    public void logStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder("=== 2차 캐시 통계 ===");
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            summary.append(String.format("%n  %s: hit %d, miss %d, put %d, 적재 %d건", region,
+                    regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory()));
+        }
+        summary.append(String.format("%n  query cache: hit %d, miss %d, put %d",
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        System.out.println(summary);
+    }
+
+    private void record(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache() || !clusterNodeService.isClusterEnabled()) {
+            return;
+        }
+
+        String entityName = persister.getEntityName();
+        String nodeId = clusterNodeService.getNodeId();
+
+        // flush 이후 커밋 직전에 같은 트랜잭션으로 기록. 시각은 flush가 아니라 커밋 직전에 찍어야
+        // flush 후 오래 걸린 트랜잭션(대량 import 등)의 기록도 다른 노드의 lookback 구간 안에 들어감
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing ->
+                completing.doWork(connection -> {
+                    try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                        statement.setString(1, entityName);
+                        statement.setLong(2, (Long) id);
+                        statement.setString(3, nodeId);
+                        statement.setLong(4, System.currentTimeMillis());
+                        statement.executeUpdate();
+                    }
+                }));
+    }
+
+    private final class WriteListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            record(event.getSession(), event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            record(event.getSession(), event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            record(event.getSession(), event.getPersister(), event.getId());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
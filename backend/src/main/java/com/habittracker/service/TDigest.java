@@ -0,0 +1,272 @@
+package com.habittracker.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch in the style of Dunning's merging t-digest. Values are kept as
+ * weighted centroids; neighbouring centroids are merged only while the k1 scale function allows,
+ * so centroids stay small near the tails (accurate extreme percentiles) and the whole digest stays
+ * around {@code compression} centroids however many values or digests are merged in. Below about
+ * 60 values at the default compression every value stays its own centroid and results are exact;
+ * beyond that, values around the median start sharing centroids and mid quantiles are interpolated.
+ * Not thread-safe.
+ */
+final class TDigest {
+
+    static final double DEFAULT_COMPRESSION = 100;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int size;
+    private double totalWeight;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    // 아직 합치지 않은 값들 (가득 차면 압축)
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression * 2) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+    }
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            return;
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+    }
+
+    void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.size; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.size > 0) {
+            min = Double.isNaN(min) ? other.min : Math.min(min, other.min);
+            max = Double.isNaN(max) ? other.max : Math.max(max, other.max);
+        }
+    }
+
+    double count() {
+        compress();
+        return totalWeight;
+    }
+
+    double min() {
+        return min;
+    }
+
+    double max() {
+        return max;
+    }
+
+    /**
+     * Estimated value at quantile {@code q} in [0, 1], interpolating between centroid centres.
+     */
+    double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be between 0 and 1");
+        }
+        compress();
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+
+        double index = q * totalWeight;
+        if (index <= weights[0] / 2) {
+            // 최소값과 첫 중심 사이
+            return weights[0] == 1 ? min : interpolate(min, means[0], index / (weights[0] / 2));
+        }
+
+        double weightSoFar = weights[0] / 2;
+        for (int i = 0; i < size - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (weightSoFar + step > index) {
+                // 단일 값 중심은 보간하지 않고 그 값 자체를 돌려줌
+                if (weights[i] == 1 && index - weightSoFar < 0.5) {
+                    return means[i];
+                }
+                if (weights[i + 1] == 1 && weightSoFar + step - index <= 0.5) {
+                    return means[i + 1];
+                }
+                return interpolate(means[i], means[i + 1], (index - weightSoFar) / step);
+            }
+            weightSoFar += step;
+        }
+
+        double tail = weights[size - 1] / 2;
+        if (weights[size - 1] == 1 || tail == 0) {
+            return max;
+        }
+        return interpolate(means[size - 1], max, Math.min(1, (index - weightSoFar) / tail));
+    }
+
+    /**
+     * Estimated number of values {@code <= value} (or {@code < value} when not inclusive). Each centroid
+     * is spread evenly between the midpoints to its neighbours; single values are point masses.
+     */
+    double rank(double value, boolean inclusive) {
+        compress();
+        if (size == 0 || value < min || (!inclusive && value == min)) {
+            return 0;
+        }
+        if (value > max || (inclusive && value == max)) {
+            return totalWeight;
+        }
+
+        double rank = 0;
+        for (int i = 0; i < size; i++) {
+            double mean = means[i];
+            double weight = weights[i];
+
+            if (weight == 1) {
+                if (mean < value || (inclusive && mean == value)) {
+                    rank += 1;
+                }
+                continue;
+            }
+
+            double left = i == 0 ? min : (means[i - 1] + mean) / 2;
+            double right = i == size - 1 ? max : (mean + means[i + 1]) / 2;
+            if (right <= value) {
+                rank += weight;
+            } else if (left < value) {
+                rank += weight * (value - left) / (right - left);
+            }
+        }
+        return rank;
+    }
+
+    byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + 4 + 8 + 8 + size * 16);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putDouble(compression);
+        buffer.putInt(size);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        for (int i = 0; i < size; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported digest format: " + version);
+        }
+
+        TDigest digest = new TDigest(buffer.getDouble());
+        int size = buffer.getInt();
+        double min = buffer.getDouble();
+        double max = buffer.getDouble();
+        for (int i = 0; i < size; i++) {
+            digest.add(buffer.getDouble(), buffer.getDouble());
+        }
+        digest.min = min;
+        digest.max = max;
+        return digest;
+    }
+
+    // 기존 중심과 버퍼를 평균 순으로 합친 뒤, k1 스케일 함수가 허용하는 만큼만 이웃을 병합
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+
+        int n = size + buffered;
+        double[] allMeans = new double[n];
+        double[] allWeights = new double[n];
+        System.arraycopy(means, 0, allMeans, 0, size);
+        System.arraycopy(weights, 0, allWeights, 0, size);
+        System.arraycopy(bufferMeans, 0, allMeans, size, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, size, buffered);
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += allWeights[i];
+        }
+
+        size = 0;
+        double weightSoFar = 0;
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        double kLeft = k(0);
+
+        for (int i = 1; i < n; i++) {
+            int next = order[i];
+            double proposed = currentWeight + allWeights[next];
+            if (k((weightSoFar + proposed) / total) - kLeft <= 1) {
+                currentMean += (allMeans[next] - currentMean) * allWeights[next] / proposed;
+                currentWeight = proposed;
+            } else {
+                append(currentMean, currentWeight);
+                weightSoFar += currentWeight;
+                kLeft = k(weightSoFar / total);
+                currentMean = allMeans[next];
+                currentWeight = allWeights[next];
+            }
+        }
+        append(currentMean, currentWeight);
+
+        totalWeight = total;
+        buffered = 0;
+    }
+
+    private void append(double mean, double weight) {
+        if (size == means.length) {
+            means = Arrays.copyOf(means, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        means[size] = mean;
+        weights[size] = weight;
+        size++;
+    }
+
+    // k1 스케일 함수: 양 끝(q가 0 또는 1 근처)에서 중심이 작게 유지됨
+    private double k(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+}
@@ -0,0 +1,109 @@
+package com.habittracker.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prefix trie over family members, keyed case-insensitively by username and display name.
+ * A prefix lookup walks one node per typed character and then collects members in key order,
+ * stopping at the limit, so it costs O(prefix + limit) regardless of family size.
+ *
+ * Not thread-safe.
+ */
+final class UsernameTrie {
+
+    private final Node root = new Node();
+
+    void insert(Member member) {
+        insert(member.username(), member);
+        if (!member.displayName().equalsIgnoreCase(member.username())) {
+            insert(member.displayName(), member);
+        }
+    }
+
+    void remove(Member member) {
+        remove(member.username(), member.userId());
+        remove(member.displayName(), member.userId());
+    }
+
+    /**
+     * Up to {@code limit} distinct members whose username or display name starts with the prefix.
+     */
+    List<Member> startingWith(String prefix, int limit) {
+        Node node = root;
+        for (char c : normalize(prefix).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) {
+                return List.of();
+            }
+        }
+
+        Map<Long, Member> found = new LinkedHashMap<>();
+        collect(node, limit, found);
+        return new ArrayList<>(found.values());
+    }
+
+    private void collect(Node node, int limit, Map<Long, Member> found) {
+        for (Member member : node.members) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.putIfAbsent(member.userId(), member);
+        }
+        for (Node child : node.children.values()) {
+            if (found.size() >= limit) {
+                return;
+            }
+            collect(child, limit, found);
+        }
+    }
+
+    private void insert(String key, Member member) {
+        Node node = root;
+        for (char c : normalize(key).toCharArray()) {
+            node = node.children.computeIfAbsent(c, ignored -> new Node());
+        }
+        node.members.removeIf(existing -> existing.userId().equals(member.userId()));
+        node.members.add(member);
+    }
+
+    // 키 경로를 따라 내려가며 해당 사용자를 지우고, 비게 된 노드는 부모에서 떼어냄
+    private void remove(String key, Long userId) {
+        String normalized = normalize(key);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (char c : normalized.toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+
+        node.members.removeIf(member -> member.userId().equals(userId));
+        for (int i = normalized.length(); i > 0; i--) {
+            Node current = path.get(i);
+            if (!current.members.isEmpty() || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(normalized.charAt(i - 1));
+        }
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private final List<Member> members = new ArrayList<>(1);
+    }
+
+    record Member(Long userId, String username, String displayName) {
+    }
+}
@@ -0,0 +1,18 @@
+-- Leases that keep each scheduled job running on a single node
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMP NOT NULL
+);
+
+-- Live application nodes (heartbeat); a lease whose holder stopped heartbeating can be taken over
+CREATE TABLE IF NOT EXISTS scheduler_nodes (
+    node_id VARCHAR(255) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduler_nodes_heartbeat ON scheduler_nodes(heartbeat_at);
+
+-- Calendar reminder queue resync on the lease holder reads recently updated events
+CREATE INDEX IF NOT EXISTS idx_calendar_events_updated_at ON calendar_events(updated_at);
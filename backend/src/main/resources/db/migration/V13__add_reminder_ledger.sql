@@ -0,0 +1,11 @@
+-- Dispatched reminders, keyed so that the same reminder can only be recorded once
+CREATE TABLE IF NOT EXISTS reminder_ledger (
+    kind VARCHAR(16) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    scheduled_at TIMESTAMP NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (kind, subject_id, scheduled_at)
+);
+
+-- Daily pruning by age
+CREATE INDEX IF NOT EXISTS idx_reminder_ledger_scheduled_at ON reminder_ledger(scheduled_at);
@@ -0,0 +1,18 @@
+-- Materialized calendar occurrences; recurring series are expanded to a rolling horizon by the application
+CREATE TABLE IF NOT EXISTS event_occurrences (
+    event_id BIGINT NOT NULL,
+    occurrence_start TIMESTAMP NOT NULL,
+    occurrence_end TIMESTAMP NOT NULL,
+    family_id BIGINT NOT NULL,
+    PRIMARY KEY (event_id, occurrence_start),
+    FOREIGN KEY (event_id) REFERENCES calendar_events(id) ON DELETE CASCADE
+);
+
+-- Month/week views scan by family and occurrence start
+CREATE INDEX IF NOT EXISTS idx_event_occurrences_family_start ON event_occurrences(family_id, occurrence_start);
+
+-- Single events have exactly one occurrence; recurring series are filled in by the horizon job on startup
+INSERT INTO event_occurrences (event_id, occurrence_start, occurrence_end, family_id)
+SELECT id, start_datetime, end_datetime, family_id
+FROM calendar_events
+WHERE repeat_type = 'NONE';
@@ -0,0 +1,4 @@
+-- Token for the family calendar subscription (ICS) feed, issued on first request
+ALTER TABLE families ADD COLUMN IF NOT EXISTS calendar_feed_token VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_families_calendar_feed_token ON families(calendar_feed_token);
@@ -0,0 +1,52 @@
+-- Daily count/sum/min/max per user, record type and day, maintained by HealthRecordService on every write
+CREATE TABLE IF NOT EXISTS health_daily_rollups (
+    user_id BIGINT NOT NULL,
+    record_type VARCHAR(50) NOT NULL,
+    rollup_date DATE NOT NULL,
+    family_id BIGINT NOT NULL,
+    record_count INT NOT NULL,
+    systolic_count INT NOT NULL DEFAULT 0,
+    systolic_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    systolic_min DOUBLE PRECISION,
+    systolic_max DOUBLE PRECISION,
+    diastolic_count INT NOT NULL DEFAULT 0,
+    diastolic_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    diastolic_min DOUBLE PRECISION,
+    diastolic_max DOUBLE PRECISION,
+    heart_rate_count INT NOT NULL DEFAULT 0,
+    heart_rate_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    heart_rate_min DOUBLE PRECISION,
+    heart_rate_max DOUBLE PRECISION,
+    weight_count INT NOT NULL DEFAULT 0,
+    weight_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    weight_min DOUBLE PRECISION,
+    weight_max DOUBLE PRECISION,
+    blood_sugar_count INT NOT NULL DEFAULT 0,
+    blood_sugar_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    blood_sugar_min DOUBLE PRECISION,
+    blood_sugar_max DOUBLE PRECISION,
+    PRIMARY KEY (user_id, record_type, rollup_date),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (family_id) REFERENCES families(id) ON DELETE CASCADE
+);
+
+-- Family summaries scan by family, type and date
+CREATE INDEX IF NOT EXISTS idx_health_daily_rollups_family_type_date ON health_daily_rollups(family_id, record_type, rollup_date);
+
+-- Backfill from existing records
+INSERT INTO health_daily_rollups (
+    user_id, record_type, rollup_date, family_id, record_count,
+    systolic_count, systolic_sum, systolic_min, systolic_max,
+    diastolic_count, diastolic_sum, diastolic_min, diastolic_max,
+    heart_rate_count, heart_rate_sum, heart_rate_min, heart_rate_max,
+    weight_count, weight_sum, weight_min, weight_max,
+    blood_sugar_count, blood_sugar_sum, blood_sugar_min, blood_sugar_max
+)
+SELECT user_id, record_type, record_date, MAX(family_id), COUNT(*),
+       COUNT(systolic), COALESCE(SUM(systolic), 0), MIN(systolic), MAX(systolic),
+       COUNT(diastolic), COALESCE(SUM(diastolic), 0), MIN(diastolic), MAX(diastolic),
+       COUNT(heart_rate), COALESCE(SUM(heart_rate), 0), MIN(heart_rate), MAX(heart_rate),
+       COUNT(weight), COALESCE(SUM(weight), 0), MIN(weight), MAX(weight),
+       COUNT(blood_sugar), COALESCE(SUM(blood_sugar), 0), MIN(blood_sugar), MAX(blood_sugar)
+FROM health_records
+GROUP BY user_id, record_type, record_date;
@@ -0,0 +1,16 @@
+-- Monthly distribution sketches (exact moments + serialized t-digest) per user, record type and metric.
+-- Digests cannot be built in SQL; HealthStatisticsService fills the table for existing users on startup.
+CREATE TABLE IF NOT EXISTS health_metric_sketches (
+    user_id BIGINT NOT NULL,
+    record_type VARCHAR(50) NOT NULL,
+    metric VARCHAR(20) NOT NULL,
+    sketch_month DATE NOT NULL,
+    value_count INT NOT NULL,
+    value_sum DOUBLE PRECISION NOT NULL,
+    value_sum_squares DOUBLE PRECISION NOT NULL,
+    min_value DOUBLE PRECISION NOT NULL,
+    max_value DOUBLE PRECISION NOT NULL,
+    digest BYTEA NOT NULL,
+    PRIMARY KEY (user_id, record_type, metric, sketch_month),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- EWMA mean/variance per user, record type and metric for anomaly alerts (warms up from new readings)
+CREATE TABLE IF NOT EXISTS health_anomaly_models (
+    user_id BIGINT NOT NULL,
+    record_type VARCHAR(50) NOT NULL,
+    metric VARCHAR(20) NOT NULL,
+    ewma_mean DOUBLE PRECISION NOT NULL,
+    ewma_variance DOUBLE PRECISION NOT NULL,
+    sample_count INT NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, record_type, metric),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
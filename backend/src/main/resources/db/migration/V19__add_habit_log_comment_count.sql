@@ -0,0 +1,7 @@
+-- Comment count kept on each habit log so daily/range views need not load every thread
+ALTER TABLE habit_logs ADD COLUMN IF NOT EXISTS comment_count INT NOT NULL DEFAULT 0;
+
+UPDATE habit_logs h
+SET comment_count = c.cnt
+FROM (SELECT habit_log_id, COUNT(*) AS cnt FROM comments GROUP BY habit_log_id) c
+WHERE c.habit_log_id = h.id;
@@ -0,0 +1,44 @@
+-- Pooled sequences (allocation 50, pooled-lo) so Hibernate can batch inserts; replaces SERIAL/IDENTITY ids.
+-- health_records and calendar_events keep their identity ids because the bulk imports insert them with JDBC.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+ALTER TABLE families ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS families_seq INCREMENT BY 50;
+SELECT setval('families_seq', COALESCE((SELECT MAX(id) FROM families), 0) + 1, false);
+ALTER TABLE families ALTER COLUMN id SET DEFAULT nextval('families_seq');
+ALTER SEQUENCE families_seq OWNED BY families.id;
+DROP SEQUENCE IF EXISTS families_id_seq;
+
+ALTER TABLE habits ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS habits_seq INCREMENT BY 50;
+SELECT setval('habits_seq', COALESCE((SELECT MAX(id) FROM habits), 0) + 1, false);
+ALTER TABLE habits ALTER COLUMN id SET DEFAULT nextval('habits_seq');
+ALTER SEQUENCE habits_seq OWNED BY habits.id;
+DROP SEQUENCE IF EXISTS habits_id_seq;
+
+ALTER TABLE habit_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS habit_logs_seq INCREMENT BY 50;
+SELECT setval('habit_logs_seq', COALESCE((SELECT MAX(id) FROM habit_logs), 0) + 1, false);
+ALTER TABLE habit_logs ALTER COLUMN id SET DEFAULT nextval('habit_logs_seq');
+ALTER SEQUENCE habit_logs_seq OWNED BY habit_logs.id;
+DROP SEQUENCE IF EXISTS habit_logs_id_seq;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false);
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+ALTER SEQUENCE comments_seq OWNED BY comments.id;
+DROP SEQUENCE IF EXISTS comments_id_seq;
+
+ALTER TABLE push_subscriptions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS push_subscriptions_seq INCREMENT BY 50;
+SELECT setval('push_subscriptions_seq', COALESCE((SELECT MAX(id) FROM push_subscriptions), 0) + 1, false);
+ALTER TABLE push_subscriptions ALTER COLUMN id SET DEFAULT nextval('push_subscriptions_seq');
+ALTER SEQUENCE push_subscriptions_seq OWNED BY push_subscriptions.id;
+DROP SEQUENCE IF EXISTS push_subscriptions_id_seq;
@@ -0,0 +1,10 @@
+-- Writes to second-level-cached entities (users, families, habits), polled by the other nodes to evict their copies
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGSERIAL PRIMARY KEY,
+    entity_name VARCHAR(255) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    node_id VARCHAR(255) NOT NULL,
+    recorded_at_ms BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_cache_invalidations_recorded_at ON cache_invalidations(recorded_at_ms);
@@ -0,0 +1,8 @@
+-- Longest event of each family, the lower bound of occurrence range queries
+ALTER TABLE families ADD COLUMN IF NOT EXISTS max_event_span_minutes BIGINT NOT NULL DEFAULT 0;
+
+UPDATE families f
+SET max_event_span_minutes = s.span
+FROM (SELECT family_id, CEIL(MAX(EXTRACT(EPOCH FROM end_datetime - start_datetime)) / 60) AS span
+      FROM calendar_events GROUP BY family_id) s
+WHERE s.family_id = f.id AND s.span > 0;
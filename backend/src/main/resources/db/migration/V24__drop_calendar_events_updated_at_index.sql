@@ -0,0 +1,2 @@
+-- The calendar reminder lease holder no longer polls recently updated events; changes from other nodes arrive via cache_invalidations
+DROP INDEX IF EXISTS idx_calendar_events_updated_at;
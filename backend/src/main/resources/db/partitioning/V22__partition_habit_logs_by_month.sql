@@ -0,0 +1,79 @@
+-- Range-partition habit_logs by log_date, one partition per month (habit_logs_YYYY_MM).
+-- Lives outside db/migration: it only runs when classpath:db/partitioning is added to
+-- spring.flyway.locations together with habit-log.partitioning.enabled (see application-prod.properties).
+-- Partitions are created here from the oldest log (at most five years back) to three months ahead;
+-- HabitLogPartitionService keeps creating future months and detaches old ones into the archive schema.
+-- Dates outside every monthly partition land in habit_logs_default.
+
+-- Unique keys of a partitioned table must contain the partition key, so comments can no longer
+-- reference habit_logs(id). Drop every such foreign key (V7 or Hibernate-generated) and replace the
+-- ON DELETE CASCADE with the trigger below.
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conrelid::regclass AS table_name, conname FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'habit_logs'::regclass LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+-- Keep the id sequence (V20) when the old table is dropped
+ALTER SEQUENCE habit_logs_seq OWNED BY NONE;
+
+ALTER TABLE habit_logs RENAME TO habit_logs_unpartitioned;
+
+CREATE TABLE habit_logs (LIKE habit_logs_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (log_date);
+
+DO $$
+DECLARE
+    month_start DATE := GREATEST(
+            date_trunc('month', COALESCE((SELECT MIN(log_date) FROM habit_logs_unpartitioned), CURRENT_DATE)),
+            date_trunc('month', CURRENT_DATE - INTERVAL '5 years'))::date;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF habit_logs FOR VALUES FROM (%L) TO (%L)',
+                       'habit_logs_' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE habit_logs_default PARTITION OF habit_logs DEFAULT;
+
+INSERT INTO habit_logs SELECT * FROM habit_logs_unpartitioned;
+
+DROP TABLE habit_logs_unpartitioned;
+
+ALTER SEQUENCE habit_logs_seq OWNED BY habit_logs.id;
+
+-- Keys and indexes are created on the parent and cascade to every partition (built after the copy)
+ALTER TABLE habit_logs ADD CONSTRAINT pk_habit_logs PRIMARY KEY (id, log_date);
+ALTER TABLE habit_logs ADD CONSTRAINT uk_habit_logs_user_habit_date UNIQUE (user_id, habit_id, log_date);
+ALTER TABLE habit_logs ADD CONSTRAINT fk_habit_logs_user FOREIGN KEY (user_id) REFERENCES users(id);
+ALTER TABLE habit_logs ADD CONSTRAINT fk_habit_logs_habit FOREIGN KEY (habit_id) REFERENCES habits(id);
+
+-- Family queries reach habit_logs through habits, per habit and date range
+CREATE INDEX IF NOT EXISTS idx_habit_logs_habit_date ON habit_logs(habit_id, log_date);
+-- Comment counters are updated by id (plus log_date when known)
+CREATE INDEX IF NOT EXISTS idx_habit_logs_id ON habit_logs(id);
+
+-- Replaces fk_comments_habit_log ON DELETE CASCADE. Rows only moved between partitions by
+-- HabitLogPartitionService still exist under the same id and keep their comments.
+CREATE OR REPLACE FUNCTION delete_habit_log_comments() RETURNS trigger AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM habit_logs WHERE id = OLD.id) THEN
+        DELETE FROM comments WHERE habit_log_id = OLD.id;
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_habit_logs_delete_comments
+    AFTER DELETE ON habit_logs
+    FOR EACH ROW EXECUTE FUNCTION delete_habit_log_comments();
+
+-- Partitions past the retention period are detached here with the comments on their logs
+CREATE SCHEMA IF NOT EXISTS archive;
+CREATE TABLE IF NOT EXISTS archive.habit_log_comments (LIKE comments);
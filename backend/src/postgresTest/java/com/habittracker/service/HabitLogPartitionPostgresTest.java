@@ -0,0 +1,190 @@
+package com.habittracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Monthly habit_logs partitions on a real PostgreSQL: every migration, including
+ * db/partitioning/V22, is applied on top of the pre-Flyway tables as in production, then
+ * {@link HabitLogPartitionService} creates and archives months. Deleting a user or habit that has
+ * archived logs must still work, and logs older than the partitions V22 created must not stay in
+ * habit_logs_default.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HabitLogPartitionPostgresTest {
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private HabitLogPartitionService partitionService;
+    private YearMonth currentMonth;
+
+    @BeforeEach
+    void migrate() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/partitioning")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS archive CASCADE");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-flyway-schema.sql"));
+        }
+        flyway.migrate();
+
+        SchedulerLeaseService leaseService = mock(SchedulerLeaseService.class);
+        when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        partitionService = new HabitLogPartitionService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                leaseService, new SchedulerMetrics(meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(partitionService, "enabled", true);
+        ReflectionTestUtils.setField(partitionService, "monthsAhead", 3);
+        currentMonth = YearMonth.now(ZoneId.of("Asia/Seoul"));
+    }
+
+    @Test
+    void migrationPartitionsFromCurrentMonth() {
+        assertThat(partitionService.findMonthlyPartitions())
+                .containsExactly(currentMonth, currentMonth.plusMonths(1), currentMonth.plusMonths(2), currentMonth.plusMonths(3));
+        assertThat(partitionService.verifyPruning(currentMonth)).isTrue();
+    }
+
+    @Test
+    void createPartitionMovesLogsOutOfDefault() {
+        YearMonth month = currentMonth.minusMonths(30);
+        long userId = insertUser("old");
+        long habitId = insertHabit(userId);
+        insertLog(userId, habitId, month.atDay(3));
+        insertLog(userId, habitId, month.atDay(20));
+        assertThat(count("habit_logs_default")).isEqualTo(2);
+
+        assertThat(partitionService.createPartition(month)).isTrue();
+
+        assertThat(count("habit_logs_default")).isZero();
+        assertThat(count(partitionName(month))).isEqualTo(2);
+        assertThat(count("habit_logs")).isEqualTo(2);
+        assertThat(partitionService.findMonthlyPartitions()).contains(month);
+        assertThat(partitionService.verifyPruning(month)).isTrue();
+    }
+
+    @Test
+    void archivedLogsDoNotBlockDeletingUserOrHabit() {
+        YearMonth month = currentMonth.minusMonths(24);
+        long userId = insertUser("archived");
+        long habitId = insertHabit(userId);
+        long otherUserId = insertUser("other");
+        long otherHabitId = insertHabit(otherUserId);
+        long logId = insertLog(userId, habitId, month.atDay(10));
+        insertLog(otherUserId, otherHabitId, month.atDay(11));
+        insertLog(userId, habitId, currentMonth.atDay(1));
+        jdbcTemplate.update("INSERT INTO comments (habit_log_id, user_id, content, created_at) VALUES (?, ?, '화이팅', now())",
+                logId, otherUserId);
+
+        assertThat(partitionService.createPartition(month)).isTrue();
+        assertThat(partitionService.archivePartition(month)).isTrue();
+
+        assertThat(count("archive." + partitionName(month))).isEqualTo(2);
+        assertThat(count("archive.habit_log_comments")).isEqualTo(1);
+        assertThat(count("comments")).isZero();
+        assertThat(partitionService.findMonthlyPartitions()).doesNotContain(month);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'f'",
+                Integer.class, "archive." + partitionName(month))).isZero();
+
+        // User.habitLogs / Habit.logs cascade만큼 살아 있는 기록을 지운 뒤 습관과 사용자를 삭제
+        jdbcTemplate.update("DELETE FROM habit_logs WHERE habit_id = ?", otherHabitId);
+        assertThat(jdbcTemplate.update("DELETE FROM habits WHERE id = ?", otherHabitId)).isEqualTo(1);
+        jdbcTemplate.update("DELETE FROM habit_logs WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM habits WHERE user_id = ?", userId);
+        assertThat(jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId)).isEqualTo(1);
+
+        // 보관된 기록은 그대로 남음
+        assertThat(count("archive." + partitionName(month))).isEqualTo(2);
+    }
+
+    @Test
+    void maintenanceSplitsDefaultAndArchivesOldMonths() {
+        ReflectionTestUtils.setField(partitionService, "retentionMonths", 12);
+        YearMonth old = currentMonth.minusMonths(36);
+        YearMonth recent = currentMonth.minusMonths(2);
+        long userId = insertUser("retention");
+        long habitId = insertHabit(userId);
+        insertLog(userId, habitId, old.atDay(5));
+        insertLog(userId, habitId, recent.atDay(5));
+        insertLog(userId, habitId, currentMonth.atDay(1));
+
+        partitionService.maintainPartitions();
+
+        assertThat(count("habit_logs_default")).isZero();
+        assertThat(count("archive." + partitionName(old))).isEqualTo(1);
+        assertThat(partitionService.findMonthlyPartitions()).contains(recent).doesNotContain(old);
+        assertThat(count("habit_logs")).isEqualTo(2);
+        assertThat(meterRegistry.counter("habittracker.habit_logs.pruning.failures").count()).isZero();
+    }
+
+    private long insertUser(String name) {
+        Long familyId = jdbcTemplate.queryForObject(
+                "INSERT INTO families (name, invite_code, created_at) VALUES (?, ?, now()) RETURNING id",
+                Long.class, name, name.toUpperCase());
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, display_name, family_id, created_at) " +
+                "VALUES (?, ?, 'unused', ?, ?, now()) RETURNING id",
+                Long.class, name, name + "@test.com", name, familyId);
+    }
+
+    private long insertHabit(long userId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO habits (name, user_id, family_id, color, created_at) " +
+                "SELECT '운동', id, family_id, '#007bff', now() FROM users WHERE id = ? RETURNING id",
+                Long.class, userId);
+    }
+
+    private long insertLog(long userId, long habitId, LocalDate logDate) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO habit_logs (user_id, habit_id, log_date, completed, created_at) " +
+                "VALUES (?, ?, ?, true, now()) RETURNING id",
+                Long.class, userId, habitId, logDate);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "habit_logs_" + month.format(MONTH_SUFFIX);
+    }
+}
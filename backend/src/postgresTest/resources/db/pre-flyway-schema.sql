@@ -0,0 +1,52 @@
+-- Tables that existed before Flyway was introduced (V1 is an empty baseline): the schema Hibernate
+-- generated for the original entities, without the columns V2-V11 add.
+CREATE TABLE families (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    invite_code VARCHAR(255) NOT NULL UNIQUE,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    display_name VARCHAR(255) NOT NULL,
+    family_id BIGINT REFERENCES families(id),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE habits (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(500),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    family_id BIGINT NOT NULL REFERENCES families(id),
+    color VARCHAR(255) NOT NULL,
+    display_order INT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE habit_logs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    habit_id BIGINT NOT NULL REFERENCES habits(id),
+    log_date DATE NOT NULL,
+    completed BOOLEAN NOT NULL,
+    note VARCHAR(255),
+    created_at TIMESTAMP,
+    UNIQUE (user_id, habit_id, log_date)
+);
+
+CREATE TABLE push_subscriptions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    endpoint TEXT NOT NULL,
+    p256dh_key TEXT NOT NULL,
+    auth_key TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,249 @@
+package com.habittracker.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-replica routing against two database instances. Each database holds a marker row naming
+ * itself, so a query shows where a transaction was routed. The replica database answers the
+ * PostgreSQL lag functions through aliases backed by {@link ReplicaStatus}, so
+ * {@link ReplicaLagMonitor} runs its real query.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-lag-seconds=5",
+        // 테스트에서 직접 check()하므로 백그라운드 확인은 사실상 끔
+        "datasource.replica.lag-check-millis=3600000",
+        "query-budget.enabled=false"
+})
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = new JdbcTemplate(primaryDataSource);
+        replicaJdbc = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS routing_marker (name VARCHAR(20))");
+            jdbc.update("DELETE FROM routing_marker");
+        }
+        primaryJdbc.update("INSERT INTO routing_marker VALUES (?)", PRIMARY);
+        replicaJdbc.update("INSERT INTO routing_marker VALUES (?)", REPLICA);
+
+        String status = ReplicaStatus.class.getName();
+        replicaJdbc.execute("CREATE ALIAS IF NOT EXISTS pg_last_wal_receive_lsn FOR \"" + status + ".receiveLsn\"");
+        replicaJdbc.execute("CREATE ALIAS IF NOT EXISTS pg_last_wal_replay_lsn FOR \"" + status + ".replayLsn\"");
+        replicaJdbc.execute("CREATE ALIAS IF NOT EXISTS pg_last_xact_replay_timestamp FOR \"" + status + ".replayTimestamp\"");
+
+        ReplicaStatus.caughtUp();
+        replicaLagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearPin();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromReplica() {
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+        assertThat(readMarker(false)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void readWriteTransactionAfterReadOnlyOneWritesToPrimary() {
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+
+        transactionTemplate(false).executeWithoutResult(status ->
+                entityManager.createNativeQuery("INSERT INTO routing_marker VALUES ('written')").executeUpdate());
+
+        assertThat(primaryJdbc.queryForList("SELECT name FROM routing_marker", String.class)).contains("written");
+        assertThat(replicaJdbc.queryForList("SELECT name FROM routing_marker", String.class)).doesNotContain("written");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        ReplicaStatus.lagging(60);
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(readMarker(true)).isEqualTo(PRIMARY);
+
+        ReplicaStatus.caughtUp();
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void lagWithinLimitKeepsReplica() {
+        ReplicaStatus.lagging(2);
+        replicaLagMonitor.check();
+
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void failedLagCheckFallsBackToPrimary() {
+        ReplicaStatus.unreachable();
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(readMarker(true)).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void userIsPinnedToPrimaryAfterWriteRequest() throws Exception {
+        PrimaryPinningInterceptor interceptor = new PrimaryPinningInterceptor(Duration.ofSeconds(5));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer", null, List.of()));
+
+        handle(interceptor, "GET");
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+        interceptor.afterCompletion(request("GET"), new MockHttpServletResponse(), null, null);
+
+        handle(interceptor, "POST");
+        interceptor.afterCompletion(request("POST"), new MockHttpServletResponse(), null, null);
+
+        // 쓰기 직후의 읽기 요청은 primary에서 읽음
+        handle(interceptor, "GET");
+        assertThat(readMarker(true)).isEqualTo(PRIMARY);
+        interceptor.afterCompletion(request("GET"), new MockHttpServletResponse(), null, null);
+
+        // 다른 사용자는 영향 없음
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader", null, List.of()));
+        handle(interceptor, "GET");
+        assertThat(readMarker(true)).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void openInViewIsOffWhileReplicaIsEnabled() {
+        assertThat(applicationContext.getEnvironment().getProperty("spring.jpa.open-in-view")).isEqualTo("false");
+        assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    private String readMarker(boolean readOnly) {
+        return transactionTemplate(readOnly).execute(status ->
+                (String) entityManager.createNativeQuery("SELECT name FROM routing_marker").getSingleResult());
+    }
+
+    private TransactionTemplate transactionTemplate(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static void handle(PrimaryPinningInterceptor interceptor, String method) {
+        interceptor.preHandle(request(method), new MockHttpServletResponse(), null);
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/api/habits");
+    }
+
+    /**
+     * Replication state reported by the replica's pg_last_* aliases.
+     */
+    public static class ReplicaStatus {
+
+        private static volatile String receiveLsn;
+        private static volatile String replayLsn;
+        private static volatile OffsetDateTime replayTimestamp;
+        private static volatile boolean reachable;
+
+        static void caughtUp() {
+            receiveLsn = "0/3000000";
+            replayLsn = "0/3000000";
+            replayTimestamp = OffsetDateTime.now().minusHours(1);
+            reachable = true;
+        }
+
+        static void lagging(long seconds) {
+            receiveLsn = "0/3000100";
+            replayLsn = "0/3000000";
+            replayTimestamp = OffsetDateTime.now().minusSeconds(seconds);
+            reachable = true;
+        }
+
+        static void unreachable() {
+            reachable = false;
+        }
+
+        public static String receiveLsn() {
+            checkReachable();
+            return receiveLsn;
+        }
+
+        public static String replayLsn() {
+            checkReachable();
+            return replayLsn;
+        }
+
+        public static OffsetDateTime replayTimestamp() {
+            checkReachable();
+            return replayTimestamp;
+        }
+
+        private static void checkReachable() {
+            if (!reachable) {
+                throw new IllegalStateException("replica unreachable");
+            }
+        }
+    }
+}
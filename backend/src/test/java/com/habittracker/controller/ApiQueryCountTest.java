@@ -0,0 +1,107 @@
+package com.habittracker.controller;
+
+import com.habittracker.entity.Habit;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement bounds for the API endpoints the dashboard and calendar call on every visit.
+ * Bounds are fixed numbers: they must not grow with the members, habits or logs of the family.
+ */
+class ApiQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    void familyLogsForDateWithFullThreads() throws Exception {
+        expectOk(7, "GET /api/logs/family/{date}", get("/api/logs/family/{date}", seeded.today()));
+    }
+
+    @Test
+    void familyLogsForDateWithCommentSummary() throws Exception {
+        expectOk(7, "GET /api/logs/family/{date}", get("/api/logs/family/{date}", seeded.today())
+                .param("comments", "SUMMARY"));
+    }
+
+    @Test
+    void familyLogsForWeek() throws Exception {
+        expectOk(7, "GET /api/logs/family/range", get("/api/logs/family/range")
+                .param("startDate", seeded.today().minusDays(6).toString())
+                .param("endDate", seeded.today().toString())
+                .param("comments", "SUMMARY"));
+    }
+
+    @Test
+    void myLogsForDate() throws Exception {
+        expectOk(5, "GET /api/logs/my/{date}", get("/api/logs/my/{date}", seeded.today()));
+    }
+
+    @Test
+    void monthlyStats() throws Exception {
+        expectOk(9, "GET /api/logs/monthly", get("/api/logs/monthly")
+                .param("year", String.valueOf(seeded.today().getYear()))
+                .param("month", String.valueOf(seeded.today().getMonthValue())));
+    }
+
+    @Test
+    void familyHabitsWithStreaks() throws Exception {
+        expectOk(6, "GET /api/habits", get("/api/habits"));
+    }
+
+    @Test
+    void myFamily() throws Exception {
+        expectOk(8, "GET /api/family/my", get("/api/family/my"));
+    }
+
+    @Test
+    void commentThread() throws Exception {
+        Long habitLogId = seeded.todayLogOf(seeded.habits().get(0)).getId();
+        expectOk(6, "GET /api/comments/habit-log/{habitLogId}", get("/api/comments/habit-log/{habitLogId}", habitLogId));
+    }
+
+    @Test
+    void mentionSuggestions() throws Exception {
+        expectOk(8, "GET /api/comments/mentions", get("/api/comments/mentions").param("prefix", "qc"));
+    }
+
+    @Test
+    void calendarEventsForMonth() throws Exception {
+        expectOk(6, "GET /api/calendar", get("/api/calendar")
+                .param("start", seeded.today().withDayOfMonth(1).toString())
+                .param("end", seeded.today().withDayOfMonth(1).plusMonths(1).minusDays(1).toString()));
+    }
+
+    @Test
+    void logHabitAndNotifyFamily() throws Exception {
+        Habit habit = seeded.habits().get(0);
+        String body = String.format("{\"habitId\":%d,\"logDate\":\"%s\",\"completed\":true,\"note\":\"완료\"}",
+                habit.getId(), seeded.today().minusDays(LOG_DAYS));
+
+        // 로그 저장 + 가족 스냅샷 + 구성원 전체의 푸시 구독 조회 한 번
+        expectOk(12, "POST /api/logs", post("/api/logs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    @Test
+    void dangerousHealthRecordAlertsFamily() throws Exception {
+        String body = String.format("{\"recordType\":\"BLOOD_SUGAR\",\"recordDate\":\"%s\",\"bloodSugar\":350}",
+                seeded.today());
+
+        // 기록 저장 + 집계/모델 갱신 + 가족 스냅샷 + 나머지 구성원의 푸시 구독 조회 한 번
+        expectOk(17, "POST /api/health", post("/api/health")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private void expectOk(int maxStatements, String description, MockHttpServletRequestBuilder request) throws Exception {
+        assertStatementsAtMost(maxStatements, description, () -> mockMvc
+                .perform(request.with(user(seeded.owner().getUsername())))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.habittracker.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habittracker.entity.Comment;
+import com.habittracker.entity.HabitLog;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response size of GET /api/logs/family/range with comments=FULL and comments=SUMMARY over the
+ * whole seeded range: once as seeded (comments on the latest day only) and once with two comments
+ * on every log. The SUMMARY's latest comment is the most recently created one, which with pooled
+ * sequence ids is not always the one with the largest id.
+ */
+class CommentModePayloadTest extends QueryCountTestSupport {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void summaryIsSmallerThanFullForSeededRange() throws Exception {
+        assertThat(measure("seeded")).isPositive();
+    }
+
+    @Test
+    void summaryIsMuchSmallerWhenEveryLogHasComments() throws Exception {
+        List<Comment> comments = new ArrayList<>();
+        for (HabitLog log : seeded.logs()) {
+            if (log.getLogDate().equals(seeded.today())) {
+                continue;
+            }
+            seeded.members().stream()
+                    .filter(member -> !member.getId().equals(log.getUser().getId()))
+                    .limit(2)
+                    .forEach(member -> comments.add(Comment.builder()
+                            .habitLog(log)
+                            .user(member)
+                            .content("오늘도 수고했어요, 내일도 화이팅!")
+                            .build()));
+        }
+        commentRepository.saveAll(comments);
+        // comment_count는 JPA로 갱신되지 않는 컬럼
+        jdbcTemplate.update("UPDATE habit_logs SET comment_count = 2 WHERE habit_id IN (SELECT id FROM habits WHERE family_id = ?)",
+                seeded.family().getId());
+
+        assertThat(measure("every log commented")).isGreaterThan(25.0);
+    }
+
+    @Test
+    void latestCommentIsTheMostRecentlyCreatedEvenWithASmallerId() {
+        // 시드 댓글은 오늘 기록에만 있으므로 지난 기록 두 개를 씀
+        List<HabitLog> pastLogs = seeded.logs().stream()
+                .filter(l -> !l.getLogDate().equals(seeded.today()))
+                .limit(2)
+                .toList();
+        HabitLog log = pastLogs.get(0);
+        HabitLog tiedLog = pastLogs.get(1);
+        Long authorId = seeded.members().get(1).getId();
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        String insert = "INSERT INTO comments (id, habit_log_id, user_id, content, created_at) VALUES (?, ?, ?, ?, ?)";
+
+        // 다른 노드가 먼저 받아 둔 작은 id 블록으로 나중에 쓴 댓글
+        jdbcTemplate.update("DELETE FROM comments WHERE habit_log_id = ?", log.getId());
+        jdbcTemplate.update(insert, 900_100L, log.getId(), authorId, "먼저 쓴 댓글", createdAt);
+        jdbcTemplate.update(insert, 900_000L, log.getId(), authorId, "나중에 쓴 댓글", createdAt.plusMinutes(5));
+        // 같은 시각이면 id가 큰 쪽
+        jdbcTemplate.update("DELETE FROM comments WHERE habit_log_id = ?", tiedLog.getId());
+        jdbcTemplate.update(insert, 900_200L, tiedLog.getId(), authorId, "같은 시각 1", createdAt);
+        jdbcTemplate.update(insert, 900_201L, tiedLog.getId(), authorId, "같은 시각 2", createdAt);
+
+        List<Comment> latest = commentRepository.findLatestByHabitLogIdsWithUser(List.of(log.getId(), tiedLog.getId()));
+
+        assertThat(latest).extracting(Comment::getContent).containsExactlyInAnyOrder("나중에 쓴 댓글", "같은 시각 2");
+    }
+
+    // 두 모드의 응답을 비교하고 SUMMARY의 감소율(%)을 반환
+    private double measure(String scenario) throws Exception {
+        MvcResult full = fetchRange("FULL");
+        MvcResult summary = fetchRange("SUMMARY");
+
+        int fullBytes = full.getResponse().getContentAsByteArray().length;
+        int summaryBytes = summary.getResponse().getContentAsByteArray().length;
+        double saved = 100.0 * (fullBytes - summaryBytes) / fullBytes;
+        System.out.println(String.format("=== /api/logs/family/range %d일 (%s): FULL %d bytes, SUMMARY %d bytes (%.1f%% 감소) ===",
+                LOG_DAYS, scenario, fullBytes, summaryBytes, saved));
+
+        JsonNode fullLogs = objectMapper.readTree(full.getResponse().getContentAsByteArray());
+        JsonNode summaryLogs = objectMapper.readTree(summary.getResponse().getContentAsByteArray());
+        int logCount = MEMBERS * HABITS_PER_MEMBER * LOG_DAYS;
+        assertThat(fullLogs).hasSize(logCount);
+        assertThat(summaryLogs).hasSize(logCount);
+
+        // 같은 기록과 댓글 수, SUMMARY에는 댓글 목록 대신 최신 댓글만
+        for (int i = 0; i < logCount; i++) {
+            JsonNode fullLog = fullLogs.get(i);
+            JsonNode summaryLog = summaryLogs.get(i);
+            assertThat(summaryLog.get("id")).isEqualTo(fullLog.get("id"));
+            assertThat(summaryLog.get("commentCount").asInt()).isEqualTo(fullLog.get("comments").size());
+            assertThat(summaryLog.path("comments").isNull() || summaryLog.path("comments").isMissingNode()).isTrue();
+            assertThat(summaryLog.path("latestComment").isObject()).isEqualTo(fullLog.get("comments").size() > 0);
+        }
+
+        return saved;
+    }
+
+    private MvcResult fetchRange(String comments) throws Exception {
+        return mockMvc.perform(get("/api/logs/family/range")
+                        .with(user(seeded.owner().getUsername()))
+                        .param("startDate", seeded.today().minusDays(LOG_DAYS - 1).toString())
+                        .param("endDate", seeded.today().toString())
+                        .param("comments", comments))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
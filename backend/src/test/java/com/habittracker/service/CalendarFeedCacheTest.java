@@ -0,0 +1,108 @@
+package com.habittracker.service;
+
+import com.habittracker.config.QueryCountInspector;
+import com.habittracker.entity.CacheInvalidation;
+import com.habittracker.entity.Family;
+import com.habittracker.repository.CacheInvalidationRepository;
+import com.habittracker.repository.FamilyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscription feed cache (see {@link CalendarFeedService}) across nodes: a token rotated on another
+ * node stops working here on the next cache_invalidations poll rather than after the cache TTL, and
+ * unknown tokens are answered from the cache without touching the database.
+ */
+@SpringBootTest(properties = {
+        // 다른 테스트 컨텍스트와 DB, 2차 캐시(JVM 안에서 공유됨)를 나누지 않도록 따로 씀
+        "spring.datasource.url=jdbc:h2:mem:calendar-feed-cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "scheduler.cluster.enabled=true",
+        // 테스트에서 직접 poll하므로 백그라운드 poll은 사실상 끔
+        "cache.l2.invalidation-poll-ms=3600000",
+        "query-budget.enabled=false"
+})
+class CalendarFeedCacheTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private FamilyRepository familyRepository;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Family family;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = newToken();
+        String suffix = token.substring(0, 8);
+        family = familyRepository.save(Family.builder()
+                .name("피드 " + suffix)
+                .inviteCode("F" + suffix)
+                .calendarFeedToken(token)
+                .build());
+    }
+
+    @Test
+    void tokenRotatedOnAnotherNodeStopsWorkingOnNextPoll() {
+        assertThat(calendarFeedService.getFeed(token)).isPresent();
+
+        // 다른 노드가 토큰을 교체하고 커밋한 상태 (가족 행 변경이 cache_invalidations에 남음)
+        String rotated = newToken();
+        jdbcTemplate.update("UPDATE families SET calendar_feed_token = ? WHERE id = ?", rotated, family.getId());
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityName(Family.class.getName())
+                .entityId(family.getId())
+                .nodeId(OTHER_NODE)
+                .recordedAtMs(System.currentTimeMillis())
+                .build());
+
+        secondLevelCacheService.pollInvalidations();
+
+        assertThat(calendarFeedService.getFeed(token)).isEmpty();
+        assertThat(calendarFeedService.getFeed(rotated)).isPresent();
+    }
+
+    @Test
+    void cachedFeedIsServedWithoutQueries() {
+        calendarFeedService.getFeed(token);
+
+        QueryCountInspector.reset();
+        assertThat(calendarFeedService.getFeed(token)).isPresent();
+        assertThat(QueryCountInspector.count()).isZero();
+    }
+
+    @Test
+    void unknownTokenIsCachedAsMiss() {
+        String unknown = newToken();
+        assertThat(calendarFeedService.getFeed(unknown)).isEmpty();
+
+        QueryCountInspector.reset();
+        assertThat(calendarFeedService.getFeed(unknown)).isEmpty();
+        assertThat(QueryCountInspector.count()).isZero();
+    }
+
+    private static String newToken() {
+        return UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID().toString().replace("-", "");
+    }
+}
@@ -0,0 +1,181 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk ICS import (see {@link CalendarImportService}): more events than one JDBC batch, recurring
+ * series with COUNT, and a broken VEVENT. Every imported event must be in the occurrence index
+ * under the id its insert generated. A malformed line or component, or a truncated file, only
+ * fails the event it is in; the rest of the file is still imported.
+ */
+class CalendarImportTest extends QueryCountTestSupport {
+
+    private static final int SINGLE_EVENTS = 600;
+    private static final DateTimeFormatter ICS_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    @Autowired
+    private EventOccurrenceService eventOccurrenceService;
+
+    @Test
+    void importedEventsAreIndexedUnderTheirGeneratedIds() throws Exception {
+        LocalDate from = seeded.today().plusDays(1);
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+        for (int i = 0; i < SINGLE_EVENTS; i++) {
+            vevent(ics, "가져온 일정 " + i, from.plusDays(i % 30), "");
+        }
+        vevent(ics, "매주 회의", from, "RRULE:FREQ=WEEKLY;COUNT=5\r\n"
+                + "BEGIN:VALARM\r\nTRIGGER:-PT30M\r\nACTION:DISPLAY\r\nEND:VALARM\r\n");
+        vevent(ics, "매일 산책", from, "RRULE:FREQ=DAILY;COUNT=3\r\n");
+        ics.append("BEGIN:VEVENT\r\nSUMMARY:시작 없음\r\nEND:VEVENT\r\n");
+        ics.append("END:VCALENDAR\r\n");
+
+        MockMultipartFile file = new MockMultipartFile("file", "import.ics", "text/calendar",
+                ics.toString().getBytes(StandardCharsets.UTF_8));
+
+        // 일정 배치 2개 (BATCH_SIZE 500)
+        mockMvc.perform(multipart("/api/calendar/import")
+                        .file(file)
+                        .with(user(seeded.owner().getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedCount").value(SINGLE_EVENTS + 2))
+                .andExpect(jsonPath("$.failedCount").value(1));
+
+        Map<Long, CalendarEvent> imported = calendarEventRepository.findByFamilyOrderByStartDatetimeAsc(seeded.family())
+                .stream()
+                .filter(event -> event.getTitle().startsWith("가져온") || event.getTitle().startsWith("매"))
+                .collect(Collectors.toMap(CalendarEvent::getId, Function.identity()));
+        assertThat(imported).hasSize(SINGLE_EVENTS + 2);
+        // ICS의 floating time(TZID 없음)은 서울 시각 그대로 저장
+        assertThat(imported.values()).allSatisfy(event -> {
+            assertThat(event.getStartDatetime().toLocalTime()).isEqualTo(LocalTime.of(10, 0));
+            assertThat(event.getEndDatetime().toLocalTime()).isEqualTo(LocalTime.of(11, 0));
+        });
+
+        List<EventOccurrence> occurrences = eventOccurrenceService.findOccurrences(seeded.family().getId(),
+                from.atStartOfDay(), from.plusDays(60).atStartOfDay());
+        Map<Long, Long> countsByEvent = occurrences.stream()
+                .filter(occurrence -> imported.containsKey(occurrence.getEventId()))
+                .collect(Collectors.groupingBy(EventOccurrence::getEventId, Collectors.counting()));
+
+        assertThat(countsByEvent).hasSize(SINGLE_EVENTS + 2);
+        imported.values().forEach(event -> {
+            long expected = switch (event.getTitle()) {
+                case "매주 회의" -> 5;
+                case "매일 산책" -> 3;
+                default -> 1;
+            };
+            assertThat(countsByEvent.get(event.getId())).as(event.getTitle()).isEqualTo(expected);
+        });
+    }
+
+    @Test
+    void malformedLinesAndComponentsOnlyFailTheirOwnEvent() throws Exception {
+        LocalDate day = seeded.today().plusDays(3);
+        List<String> lines = new ArrayList<>(List.of("BEGIN:VCALENDAR", "VERSION:2.0", "X-WR-CALNAME 콜론 없음"));
+        veventLines(lines, "형식 앞 일정", day, List.of());
+        int badLine = lines.size() + 5;
+        veventLines(lines, "형식 깨진 줄", day, List.of("콜론이 없는 줄"));
+        int mismatchedEnd = lines.size() + 7;
+        veventLines(lines, "형식 짝 안 맞음", day, List.of("BEGIN:VALARM", "TRIGGER:-PT5M"));
+        List<String> nested = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            nested.add("BEGIN:X-NEST");
+        }
+        // VEVENT 안에서 8번째로 중첩된 BEGIN이 MAX_DEPTH를 넘음
+        int tooDeep = lines.size() + 4 + 8;
+        veventLines(lines, "형식 너무 깊음", day, nested);
+        int unclosed = lines.size() + 1;
+        lines.addAll(List.of("BEGIN:VEVENT", "SUMMARY:형식 안 닫힘", "DTSTART:" + day.atTime(10, 0).format(ICS_DATE_TIME)));
+        veventLines(lines, "형식 뒤 일정", day, List.of());
+        lines.add("END:VCALENDAR");
+
+        mockMvc.perform(multipart("/api/calendar/import")
+                        .file(icsFile(lines))
+                        .with(user(seeded.owner().getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEvents").value(6))
+                .andExpect(jsonPath("$.importedCount").value(2))
+                .andExpect(jsonPath("$.failedCount").value(5))
+                .andExpect(jsonPath("$.errors[*].line").value(contains(3, badLine, mismatchedEnd, tooDeep, unclosed)))
+                .andExpect(jsonPath("$.errors[*].index").value(contains(0, 2, 3, 4, 5)))
+                .andExpect(jsonPath("$.errors[*].summary").value(contains(
+                        null, "형식 깨진 줄", "형식 짝 안 맞음", "형식 너무 깊음", "형식 안 닫힘")));
+
+        assertThat(importedTitlesStartingWith("형식")).containsExactlyInAnyOrder("형식 앞 일정", "형식 뒤 일정");
+    }
+
+    @Test
+    void truncatedFileKeepsTheEventsBeforeTheCut() throws Exception {
+        LocalDate day = seeded.today().plusDays(4);
+        List<String> lines = new ArrayList<>(List.of("BEGIN:VCALENDAR", "VERSION:2.0"));
+        veventLines(lines, "잘림 앞 일정", day, List.of());
+        int truncated = lines.size() + 1;
+        lines.addAll(List.of("BEGIN:VEVENT", "SUMMARY:잘림 마지막 일정", "DTSTART:" + day.atTime(10, 0).format(ICS_DATE_TIME)));
+
+        mockMvc.perform(multipart("/api/calendar/import")
+                        .file(icsFile(lines))
+                        .with(user(seeded.owner().getUsername())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEvents").value(2))
+                .andExpect(jsonPath("$.importedCount").value(1))
+                .andExpect(jsonPath("$.failedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(truncated))
+                .andExpect(jsonPath("$.errors[0].summary").value("잘림 마지막 일정"));
+
+        assertThat(importedTitlesStartingWith("잘림")).containsExactly("잘림 앞 일정");
+    }
+
+    private List<String> importedTitlesStartingWith(String prefix) {
+        return calendarEventRepository.findByFamilyOrderByStartDatetimeAsc(seeded.family()).stream()
+                .map(CalendarEvent::getTitle)
+                .filter(title -> title.startsWith(prefix))
+                .toList();
+    }
+
+    private static MockMultipartFile icsFile(List<String> lines) {
+        return new MockMultipartFile("file", "import.ics", "text/calendar",
+                (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // BEGIN:VEVENT, SUMMARY, DTSTART, DTEND, extra..., END:VEVENT
+    private static void veventLines(List<String> lines, String summary, LocalDate date, List<String> extra) {
+        lines.add("BEGIN:VEVENT");
+        lines.add("SUMMARY:" + summary);
+        lines.add("DTSTART:" + date.atTime(10, 0).format(ICS_DATE_TIME));
+        lines.add("DTEND:" + date.atTime(11, 0).format(ICS_DATE_TIME));
+        lines.addAll(extra);
+        lines.add("END:VEVENT");
+    }
+
+    private static void vevent(StringBuilder ics, String summary, LocalDate date, String extra) {
+        ics.append("BEGIN:VEVENT\r\n")
+                .append("SUMMARY:").append(summary).append("\r\n")
+                .append("DTSTART:").append(date.atTime(10, 0).format(ICS_DATE_TIME)).append("\r\n")
+                .append("DTEND:").append(date.atTime(11, 0).format(ICS_DATE_TIME)).append("\r\n")
+                .append(extra)
+                .append("END:VEVENT\r\n");
+    }
+}
@@ -0,0 +1,175 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CacheInvalidation;
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.ReminderLedgerEntry;
+import com.habittracker.repository.CacheInvalidationRepository;
+import com.habittracker.repository.ReminderLedgerRepository;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calendar reminders across nodes (see {@link CalendarReminderScheduler}): event writes leave a
+ * cache_invalidations row, and the node holding the reminder lease applies rows from other nodes
+ * to its queue on the next run, without polling calendar_events for recent updates.
+ */
+@TestPropertySource(properties = {
+        // 다른 테스트 컨텍스트와 DB, 2차 캐시(JVM 안에서 공유됨)를 나누지 않도록 따로 씀
+        "spring.datasource.url=jdbc:h2:mem:calendar-reminder-cluster;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "scheduler.cluster.enabled=true",
+        // 테스트에서 직접 poll하므로 백그라운드 poll은 사실상 끔
+        "cache.l2.invalidation-poll-ms=3600000"
+})
+class CalendarReminderClusterTest extends QueryCountTestSupport {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired
+    private CalendarReminderScheduler calendarReminderScheduler;
+
+    @Autowired
+    private CalendarReminderQueue calendarReminderQueue;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private ClusterNodeService clusterNodeService;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private ReminderLedgerRepository reminderLedgerRepository;
+
+    // 이 노드가 알림 lease를 잡고 큐를 적재한 상태에서 시작
+    @BeforeEach
+    void holdReminderLease() {
+        calendarReminderScheduler.sendCalendarReminders();
+    }
+
+    @Test
+    void localEventWriteIsRecordedForOtherNodes() throws Exception {
+        long before = System.currentTimeMillis();
+        LocalDateTime start = LocalDateTime.now(ZoneId.of("Asia/Seoul")).plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        mockMvc.perform(post("/api/calendar")
+                        .with(user(seeded.owner().getUsername()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"title\":\"알림 기록\",\"startDatetime\":\"%s\",\"endDatetime\":\"%s\",\"reminderMinutes\":10}",
+                                start, start.plusHours(1))))
+                .andExpect(status().isOk());
+
+        CalendarEvent created = calendarEventRepository.findByFamilyOrderByStartDatetimeAsc(seeded.family()).stream()
+                .filter(event -> event.getTitle().equals("알림 기록"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(cacheInvalidationRepository.findByRecordedAtMsGreaterThanAndNodeIdNot(before - 1, OTHER_NODE))
+                .anySatisfy(row -> {
+                    assertThat(row.getEntityName()).isEqualTo(CalendarEvent.class.getName());
+                    assertThat(row.getEntityId()).isEqualTo(created.getId());
+                    assertThat(row.getNodeId()).isEqualTo(clusterNodeService.getNodeId());
+                });
+    }
+
+    @Test
+    void eventCreatedOnAnotherNodeIsRemindedAfterThePoll() {
+        // 지금 분에 알림 시각이 되는 일정을 다른 노드가 만든 상태 (이 노드의 큐는 모름)
+        awayFromMinuteBoundary();
+        LocalDateTime start = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.MINUTES).plusMinutes(10);
+        CalendarEvent event = calendarEventRepository.save(event("다른 노드 일정", start, 10));
+
+        calendarReminderScheduler.sendCalendarReminders();
+        assertThat(reminded(event, start)).isFalse();
+
+        changedOnOtherNode(event.getId());
+        secondLevelCacheService.pollInvalidations();
+        calendarReminderScheduler.sendCalendarReminders();
+
+        assertThat(reminded(event, start)).isTrue();
+    }
+
+    @Test
+    void eventEditedOrDeletedOnAnotherNodeLeavesNoStaleQueueEntry() {
+        LocalDateTime start = LocalDateTime.now(ZoneId.of("Asia/Seoul")).truncatedTo(ChronoUnit.MINUTES).plusDays(1);
+        CalendarEvent event = calendarEventRepository.save(event("옮겨질 일정", start, 30));
+        changedOnOtherNode(event.getId());
+        secondLevelCacheService.pollInvalidations();
+        calendarReminderScheduler.sendCalendarReminders();
+        int queued = calendarReminderQueue.size();
+
+        // 다른 노드가 시각을 옮김: 항목은 교체되어 큐 크기가 그대로
+        event.setStartDatetime(start.plusHours(3));
+        event.setEndDatetime(start.plusHours(4));
+        calendarEventRepository.save(event);
+        changedOnOtherNode(event.getId());
+        secondLevelCacheService.pollInvalidations();
+        calendarReminderScheduler.sendCalendarReminders();
+        assertThat(calendarReminderQueue.size()).isEqualTo(queued);
+
+        // 다른 노드가 삭제함: 항목이 바로 빠짐
+        calendarEventRepository.delete(event);
+        changedOnOtherNode(event.getId());
+        secondLevelCacheService.pollInvalidations();
+        calendarReminderScheduler.sendCalendarReminders();
+        assertThat(calendarReminderQueue.size()).isEqualTo(queued - 1);
+    }
+
+    // 테스트 도중 분이 바뀌면 알림 시각이 지나 버리므로 분의 끝 무렵이면 다음 분까지 기다림
+    private static void awayFromMinuteBoundary() {
+        int second = LocalDateTime.now().getSecond();
+        if (second >= 55) {
+            try {
+                Thread.sleep((61 - second) * 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private CalendarEvent event(String title, LocalDateTime start, int reminderMinutes) {
+        return CalendarEvent.builder()
+                .title(title)
+                .startDatetime(start)
+                .endDatetime(start.plusHours(1))
+                .allDay(false)
+                .color("#3843FF")
+                .repeatType(CalendarEvent.RepeatType.NONE)
+                .reminderMinutes(reminderMinutes)
+                .family(seeded.family())
+                .createdBy(seeded.owner())
+                .build();
+    }
+
+    private void changedOnOtherNode(Long eventId) {
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityName(CalendarEvent.class.getName())
+                .entityId(eventId)
+                .nodeId(OTHER_NODE)
+                .recordedAtMs(System.currentTimeMillis())
+                .build());
+    }
+
+    private boolean reminded(CalendarEvent event, LocalDateTime occurrenceStart) {
+        return reminderLedgerRepository.findAll().stream()
+                .anyMatch(entry -> entry.getKind() == ReminderLedgerEntry.Kind.CALENDAR
+                        && entry.getSubjectId().equals(event.getId())
+                        && entry.getScheduledAt().equals(occurrenceStart));
+    }
+}
@@ -0,0 +1,80 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent.RepeatType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link CalendarReminderQueue} keeps exactly one entry per event: rescheduling replaces the queued
+ * entry instead of leaving the old one behind until its time, and removing an event takes its entry
+ * out at once.
+ */
+class CalendarReminderQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final CalendarReminderQueue queue = new CalendarReminderQueue();
+
+    @Test
+    void reschedulingReplacesTheQueuedEntry() {
+        for (int i = 0; i < 100; i++) {
+            queue.schedule(series(1L, NOW.plusHours(1).plusMinutes(i), RepeatType.NONE), NOW);
+        }
+        queue.schedule(series(2L, NOW.plusHours(5), RepeatType.NONE), NOW);
+
+        assertThat(queue.size()).isEqualTo(2);
+
+        // 예전 시각에는 아무것도 울리지 않고, 마지막으로 잡은 시각에 한 번만 울림
+        assertThat(queue.pollDue(NOW.plusMinutes(50).plusMinutes(98))).isEmpty();
+        List<CalendarReminderQueue.Reminder> due = queue.pollDue(NOW.plusMinutes(50).plusMinutes(99));
+        assertThat(due).extracting(CalendarReminderQueue.Reminder::occurrenceStart)
+                .containsExactly(NOW.plusHours(1).plusMinutes(99));
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedEventNeverFires() {
+        queue.schedule(series(1L, NOW.plusHours(1), RepeatType.DAILY), NOW);
+        queue.schedule(series(2L, NOW.plusHours(1), RepeatType.NONE), NOW);
+
+        queue.remove(1L);
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.pollDue(NOW.plusDays(3))).extracting(CalendarReminderQueue.Reminder::eventId)
+                .containsExactly(2L);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void reminderRemovedByEditIsDropped() {
+        queue.schedule(series(1L, NOW.plusHours(1), RepeatType.NONE), NOW);
+
+        // 알림을 끈 수정
+        queue.schedule(new CalendarReminderQueue.Series(1L, 1L, "회의", false, null, NOW.plusHours(1),
+                RepeatType.NONE, null), NOW);
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.pollDue(NOW.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void recurringSeriesKeepsOneEntryAsItFires() {
+        queue.schedule(series(1L, NOW.plusHours(1), RepeatType.DAILY), NOW);
+
+        for (int day = 0; day < 5; day++) {
+            List<CalendarReminderQueue.Reminder> due = queue.pollDue(NOW.plusDays(day).plusHours(1));
+            assertThat(due).extracting(CalendarReminderQueue.Reminder::occurrenceStart)
+                    .containsExactly(NOW.plusDays(day).plusHours(1));
+            assertThat(queue.size()).isEqualTo(1);
+        }
+    }
+
+    // 시작 10분 전 알림
+    private static CalendarReminderQueue.Series series(Long eventId, LocalDateTime start, RepeatType repeatType) {
+        return new CalendarReminderQueue.Series(eventId, 1L, "회의", false, 10, start, repeatType, null);
+    }
+}
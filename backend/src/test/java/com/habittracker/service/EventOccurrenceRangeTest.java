@@ -0,0 +1,71 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.EventOccurrence;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range reads of the occurrence index are bounded below by the family's longest event
+ * (families.max_event_span_minutes). Events longer than anything written before must raise the
+ * bound, so an occurrence that started long before the range is still found.
+ */
+class EventOccurrenceRangeTest extends QueryCountTestSupport {
+
+    @Test
+    void longEventStartedBeforeRangeIsFound() {
+        LocalDateTime rangeStart = seeded.today().plusDays(1).atStartOfDay();
+        CalendarEvent trip = save(event("가족 여행", rangeStart.minusDays(10), rangeStart.plusDays(2)));
+
+        assertThat(familyRepository.findMaxEventSpanMinutes(seeded.family().getId())).isEqualTo(12 * 24 * 60);
+        assertThat(eventOccurrenceService.findOccurrences(seeded.family().getId(), rangeStart, rangeStart.plusDays(1)))
+                .extracting(EventOccurrence::getEventId)
+                .contains(trip.getId());
+    }
+
+    @Test
+    void spanOnlyGrows() {
+        LocalDateTime start = seeded.today().plusDays(1).atTime(9, 0);
+        save(event("긴 일정", start, start.plusDays(3)));
+        CalendarEvent shortEvent = save(event("짧은 일정", start, start.plusMinutes(30)));
+
+        // 긴 일정을 짧게 수정해도 이미 기록된 최댓값은 유지 (하한이 느슨해질 뿐 결과는 정확)
+        shortEvent.setEndDatetime(start.plusMinutes(90).plusSeconds(1));
+        eventOccurrenceService.regenerate(calendarEventRepository.save(shortEvent));
+
+        assertThat(familyRepository.findMaxEventSpanMinutes(seeded.family().getId())).isEqualTo(3 * 24 * 60);
+    }
+
+    @Test
+    void materializeRaisesSpanForImportedEvents() {
+        LocalDateTime rangeStart = seeded.today().plusDays(5).atStartOfDay();
+        CalendarEvent imported = calendarEventRepository.save(event("가져온 장기 일정", rangeStart.minusDays(30), rangeStart.plusHours(1)));
+
+        eventOccurrenceService.materialize(List.of(imported));
+
+        assertThat(eventOccurrenceService.findOccurrences(seeded.family().getId(), rangeStart, rangeStart.plusDays(1)))
+                .extracting(EventOccurrence::getEventId)
+                .contains(imported.getId());
+    }
+
+    private CalendarEvent save(CalendarEvent event) {
+        CalendarEvent saved = calendarEventRepository.save(event);
+        eventOccurrenceService.regenerate(saved);
+        return saved;
+    }
+
+    private CalendarEvent event(String title, LocalDateTime start, LocalDateTime end) {
+        return CalendarEvent.builder()
+                .title(title)
+                .startDatetime(start)
+                .endDatetime(end)
+                .family(seeded.family())
+                .createdBy(seeded.owner())
+                .build();
+    }
+}
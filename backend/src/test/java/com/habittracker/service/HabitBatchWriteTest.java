@@ -0,0 +1,71 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.Habit;
+import com.habittracker.entity.User;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JDBC batching of saveAll paths (pooled sequence ids, hibernate.jdbc.batch_size). A batched write
+ * prepares one statement per batch, so the bounds stay fixed while the number of rows grows;
+ * without batching every row would be its own statement.
+ */
+class HabitBatchWriteTest extends QueryCountTestSupport {
+
+    private static final int EXTRA_HABITS = 30;
+
+    @Test
+    void reorderHabitsBatchUpdatesAllHabitsInOneBatch() throws Exception {
+        User owner = seeded.owner();
+        habitRepository.saveAll(newHabits(owner, EXTRA_HABITS));
+
+        // 소유자의 습관 전체를 역순으로 재정렬
+        List<Habit> ownHabits = habitRepository.findByUserIdOrderByDisplayOrderAsc(owner.getId());
+        int size = ownHabits.size();
+        String body = ownHabits.stream()
+                .map(habit -> String.format("{\"id\":%d,\"displayOrder\":%d}",
+                        habit.getId(), size - 1 - habit.getDisplayOrder()))
+                .collect(Collectors.joining(",", "[", "]"));
+
+        // 사용자 조회 + 습관 조회 + 배치 UPDATE 한 번
+        assertStatementsAtMost(6, "PUT /api/habits/reorder-batch (" + size + " habits)", () -> mockMvc
+                .perform(put("/api/habits/reorder-batch")
+                        .with(user(owner.getUsername()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void saveAllInsertsNewHabitsInOneBatch() throws Exception {
+        List<Habit> habits = newHabits(seeded.owner(), EXTRA_HABITS);
+
+        // 시퀀스 값 할당(allocation 50) 한 번 + 배치 INSERT 한 번
+        assertStatementsAtMost(3, "HabitRepository.saveAll(" + EXTRA_HABITS + " habits)",
+                () -> habitRepository.saveAll(habits));
+    }
+
+    private List<Habit> newHabits(User owner, int count) {
+        List<Habit> habits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            habits.add(Habit.builder()
+                    .name(owner.getUsername() + " batch " + i)
+                    .color("#007bff")
+                    .habitType("DAILY")
+                    .displayOrder(HABITS_PER_MEMBER + i)
+                    .user(owner)
+                    .family(seeded.family())
+                    .build());
+        }
+        return habits;
+    }
+}
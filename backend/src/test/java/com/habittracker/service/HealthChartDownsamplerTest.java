@@ -0,0 +1,170 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthChartPoint;
+import com.habittracker.entity.HealthRecord.RecordType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streaming {@link HealthChartDownsampler.Lttb} against a textbook LTTB over the whole series held in
+ * memory, plus the cases the stream has to survive: a count taken before rows were added or removed,
+ * points without a value, and spikes that must not be thinned away.
+ */
+class HealthChartDownsamplerTest {
+
+    private static final int SERIES = 300;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private final Random random = new Random(20261019L);
+
+    @Test
+    void lttbMatchesInMemoryReference() {
+        for (int s = 0; s < SERIES; s++) {
+            RecordType recordType = random.nextBoolean() ? RecordType.WEIGHT : RecordType.BLOOD_PRESSURE;
+            int threshold = HealthChartDownsampler.MIN_POINTS + random.nextInt(300);
+            List<HealthChartPoint> points = randomSeries(recordType, threshold + 1 + random.nextInt(5000));
+
+            assertThat(stream(recordType, points.size(), threshold, points))
+                    .as("%d %s points down to %d", points.size(), recordType, threshold)
+                    .isEqualTo(reference(recordType, points, threshold));
+        }
+    }
+
+    @Test
+    void spikeAndEndpointsAreKept() {
+        List<HealthChartPoint> points = randomSeries(RecordType.HEART_RATE, 1000);
+        HealthChartPoint spike = point(5000, points.get(500).getRecordDate(), points.get(500).getCreatedAt(),
+                RecordType.HEART_RATE, 190);
+        points.set(500, spike);
+
+        List<HealthChartPoint> sampled = stream(RecordType.HEART_RATE, points.size(), 50, points);
+
+        assertThat(sampled).hasSize(50).contains(spike);
+        assertThat(sampled.get(0)).isSameAs(points.get(0));
+        assertThat(sampled.get(sampled.size() - 1)).isSameAs(points.get(points.size() - 1));
+    }
+
+    @Test
+    void staleCountStillKeepsEndpointsWithinThreshold() {
+        List<HealthChartPoint> points = randomSeries(RecordType.WEIGHT, 1000);
+
+        // 조회 사이에 기록이 늘거나 줄어든 경우
+        for (long total : List.of(800L, 1200L)) {
+            List<HealthChartPoint> sampled = stream(RecordType.WEIGHT, total, 100, points);
+            assertThat(sampled.size()).as("count %d", total).isLessThanOrEqualTo(100);
+            assertThat(sampled.get(0)).isSameAs(points.get(0));
+            assertThat(sampled.get(sampled.size() - 1)).isSameAs(points.get(points.size() - 1));
+            assertThat(sampled).isSortedAccordingTo((a, b) -> Integer.compare(points.indexOf(a), points.indexOf(b)));
+        }
+    }
+
+    @Test
+    void pointsWithoutPrimaryValueAreSkipped() {
+        List<HealthChartPoint> points = new ArrayList<>(randomSeries(RecordType.BLOOD_PRESSURE, 400));
+        List<HealthChartPoint> withGaps = new ArrayList<>(points);
+        for (int i = 0; i < 50; i++) {
+            LocalDate date = FIRST_DAY.plusDays(i * 7L);
+            withGaps.add(i * 8 + 1, new HealthChartPoint(10_000L + i, date, date.atTime(6, 0), null, 80, 70, null, null, null, null));
+        }
+
+        assertThat(stream(RecordType.BLOOD_PRESSURE, points.size(), 40, withGaps))
+                .isEqualTo(reference(RecordType.BLOOD_PRESSURE, points, 40));
+        assertThat(stream(RecordType.BLOOD_PRESSURE, 0, 40, List.of())).isEmpty();
+    }
+
+    private static List<HealthChartPoint> stream(RecordType recordType, long total, int threshold, List<HealthChartPoint> points) {
+        HealthChartDownsampler.Lttb lttb = new HealthChartDownsampler.Lttb(recordType, total, threshold);
+        points.forEach(lttb::accept);
+        return lttb.finish();
+    }
+
+    // 전체 시계열을 메모리에 두고 구간을 나누는 일반적인 LTTB (구간 경계는 Lttb와 같게 (i - 1) / every)
+    private static List<HealthChartPoint> reference(RecordType recordType, List<HealthChartPoint> points, int threshold) {
+        int n = points.size();
+        double every = (double) (n - 2) / (threshold - 2);
+        List<List<HealthChartPoint>> buckets = new ArrayList<>();
+        for (int b = 0; b < threshold - 2; b++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 1; i < n - 1; i++) {
+            buckets.get((int) Math.min(threshold - 3, (long) ((i - 1) / every))).add(points.get(i));
+        }
+
+        List<HealthChartPoint> sampled = new ArrayList<>();
+        sampled.add(points.get(0));
+        for (int b = 0; b < buckets.size(); b++) {
+            double cx;
+            double cy;
+            if (b + 1 < buckets.size()) {
+                List<HealthChartPoint> next = buckets.get(b + 1);
+                cx = next.stream().mapToDouble(HealthChartDownsamplerTest::x).average().orElseThrow();
+                cy = next.stream().mapToDouble(point -> y(recordType, point)).average().orElseThrow();
+            } else {
+                cx = x(points.get(n - 1));
+                cy = y(recordType, points.get(n - 1));
+            }
+
+            HealthChartPoint a = sampled.get(sampled.size() - 1);
+            HealthChartPoint best = null;
+            double bestArea = -1;
+            for (HealthChartPoint candidate : buckets.get(b)) {
+                double area = Math.abs((x(a) - cx) * (y(recordType, candidate) - y(recordType, a))
+                        - (x(a) - x(candidate)) * (cy - y(recordType, a)));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = candidate;
+                }
+            }
+            sampled.add(best);
+        }
+        sampled.add(points.get(n - 1));
+        return sampled;
+    }
+
+    private static double x(HealthChartPoint point) {
+        return point.getRecordDate().toEpochDay() * 86400.0 + point.getCreatedAt().toLocalTime().toSecondOfDay();
+    }
+
+    private static double y(RecordType recordType, HealthChartPoint point) {
+        return HealthChartDownsampler.primaryValue(recordType, point);
+    }
+
+    // 하루 0~5건, 등록 시각 순서대로, 완만한 추세에 잡음을 더함
+    private List<HealthChartPoint> randomSeries(RecordType recordType, int size) {
+        List<HealthChartPoint> points = new ArrayList<>();
+        LocalDate date = FIRST_DAY;
+        LocalDateTime createdAt = date.atTime(7, 0);
+        double level = 100;
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(3) == 0) {
+                date = date.plusDays(1 + random.nextInt(2));
+                createdAt = date.atTime(6 + random.nextInt(3), random.nextInt(60));
+            } else {
+                createdAt = createdAt.plusMinutes(1 + random.nextInt(120));
+                if (!createdAt.toLocalDate().equals(date)) {
+                    date = createdAt.toLocalDate();
+                }
+            }
+            level += random.nextGaussian();
+            points.add(point(i, date, createdAt, recordType, level + 5 * random.nextGaussian()));
+        }
+        return points;
+    }
+
+    private static HealthChartPoint point(long id, LocalDate date, LocalDateTime createdAt, RecordType recordType, double value) {
+        int rounded = (int) Math.round(value);
+        return switch (recordType) {
+            case BLOOD_PRESSURE -> new HealthChartPoint(id, date, createdAt, rounded, rounded - 40, 70, null, null, null, null);
+            case WEIGHT -> new HealthChartPoint(id, date, createdAt, null, null, null, value, null, null, null);
+            case BLOOD_SUGAR -> new HealthChartPoint(id, date, createdAt, null, null, null, null, rounded, null, null);
+            case HEART_RATE -> new HealthChartPoint(id, date, createdAt, null, null, rounded, null, null, null, null);
+        };
+    }
+}
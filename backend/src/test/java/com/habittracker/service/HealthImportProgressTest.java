@@ -0,0 +1,114 @@
+package com.habittracker.service;
+
+import com.habittracker.dto.HealthImportProgressMessage;
+import com.habittracker.dto.HealthImportProgressMessage.Status;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Progress messages of the health import (see {@link HealthImportService}): the ones sent while the
+ * file is read are PROVISIONAL, and the last one reports how the transaction ended, so a client never
+ * keeps a count of rows that were rolled back.
+ */
+@TestPropertySource(properties = {
+        // SpyBean 때문에 컨텍스트가 따로 뜨므로 DB, 2차 캐시도 따로 씀
+        "spring.datasource.url=jdbc:h2:mem:health-import-progress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+class HealthImportProgressTest extends QueryCountTestSupport {
+
+    // PROGRESS_EVERY(5000)를 넘겨 도중 메시지가 한 번 나가게 함
+    private static final int ROWS = 5001;
+
+    @SpyBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void committedImportEndsWithCommittedMessage() throws Exception {
+        upload(records(ROWS) + "]").andExpect(status().isOk());
+
+        List<HealthImportProgressMessage> messages = messages();
+        assertThat(messages).extracting(HealthImportProgressMessage::getStatus)
+                .containsExactly(Status.PROVISIONAL, Status.COMMITTED);
+        assertThat(messages.get(0).isDone()).isFalse();
+        assertThat(messages.get(1).isDone()).isTrue();
+        assertThat(messages.get(1).getImportedCount()).isEqualTo(ROWS);
+        assertThat(storedRecords()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void rolledBackImportEndsWithRolledBackMessage() throws Exception {
+        // 배치가 이미 들어간 뒤 파일 끝에서 실패
+        assertThatThrownBy(() -> upload(records(ROWS) + ", 42]"))
+                .hasStackTraceContaining("JSON array may only contain objects");
+
+        List<HealthImportProgressMessage> messages = messages();
+        assertThat(messages).extracting(HealthImportProgressMessage::getStatus)
+                .containsExactly(Status.PROVISIONAL, Status.ROLLED_BACK);
+        assertThat(messages.get(0).getImportedCount()).isPositive();
+
+        HealthImportProgressMessage last = messages.get(1);
+        assertThat(last.isDone()).isTrue();
+        assertThat(last.getImportedCount()).isZero();
+        assertThat(last.getProcessedRows()).isEqualTo(ROWS);
+        assertThat(last.getError()).contains("JSON array may only contain objects");
+        assertThat(storedRecords()).isZero();
+    }
+
+    // 날짜마다 하나씩인 체중 기록 (중복 없음), 닫는 괄호는 호출하는 쪽에서 붙임
+    private String records(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append(String.format("{\"recordType\":\"WEIGHT\",\"recordDate\":\"%s\",\"weight\":%d}",
+                    seeded.today().minusDays(i + 1), 60 + i % 20));
+        }
+        return json.toString();
+    }
+
+    private ResultActions upload(String json) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "health.json", "application/json",
+                json.getBytes(StandardCharsets.UTF_8));
+        return mockMvc.perform(multipart("/api/health/import")
+                .file(file)
+                .with(user(seeded.owner().getUsername())));
+    }
+
+    private List<HealthImportProgressMessage> messages() {
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSend(eq("/topic/user/" + seeded.owner().getId() + "/health-import"), payloads.capture());
+        return payloads.getAllValues().stream().map(HealthImportProgressMessage.class::cast).toList();
+    }
+
+    private int storedRecords() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM health_records WHERE user_id = ?",
+                Integer.class, seeded.owner().getId());
+    }
+}
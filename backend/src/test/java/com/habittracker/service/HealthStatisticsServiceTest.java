@@ -0,0 +1,193 @@
+package com.habittracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.habittracker.dto.HealthStatisticsResponse;
+import com.habittracker.entity.HealthRecord.RecordType;
+import com.habittracker.entity.User;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/health/stats (see {@link HealthStatisticsService}) against statistics computed exactly
+ * from the same random readings: windows made of whole months (sketches only), windows with partial
+ * months at either edge (sketches plus scanned records) and a window inside one month (scan only).
+ * Count, min, max, mean and standard deviation must be exact; percentiles and time-in-range come
+ * from merged t-digests and are checked by rank error.
+ */
+class HealthStatisticsServiceTest extends QueryCountTestSupport {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 10);
+    private static final LocalDate LAST_DAY = LocalDate.of(2026, 5, 20);
+    private static final double[] PERCENTILES = {1, 10, 50, 90, 99};
+    private static final String INSERT_SQL = "INSERT INTO health_records " +
+            "(user_id, family_id, record_type, record_date, blood_sugar, weight, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private HealthStatisticsService healthStatisticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Reading> bloodSugar = new ArrayList<>();
+    private final List<Reading> weight = new ArrayList<>();
+
+    @BeforeEach
+    void insertReadings() {
+        User owner = seeded.owner();
+        Random random = new Random(owner.getId());
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        List<Object[]> rows = new ArrayList<>();
+
+        // 하루 0~30회 측정, 달마다 수백 건이라 다이제스트 중심이 여러 값을 묶음
+        for (LocalDate day = FIRST_DAY; !day.isAfter(LAST_DAY); day = day.plusDays(1)) {
+            int readings = random.nextInt(31);
+            for (int i = 0; i < readings; i++) {
+                int sugar = (int) Math.max(40, Math.round(110 + 25 * random.nextGaussian()));
+                bloodSugar.add(new Reading(day, sugar));
+                rows.add(new Object[]{owner.getId(), seeded.family().getId(), RecordType.BLOOD_SUGAR.name(), day,
+                        sugar, null, createdAt, createdAt});
+
+                double kg = Math.round(Math.exp(4.2 + 0.05 * random.nextGaussian()) * 10) / 10.0;
+                weight.add(new Reading(day, kg));
+                rows.add(new Object[]{owner.getId(), seeded.family().getId(), RecordType.WEIGHT.name(), day,
+                        null, kg, createdAt, createdAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        healthStatisticsService.rebuild(owner.getId(), FIRST_DAY, LAST_DAY);
+    }
+
+    @Test
+    void wholeMonthsComeFromSketchesOnly() throws Exception {
+        HealthStatisticsResponse response = fetch(RecordType.BLOOD_SUGAR, "2026-02-01", "2026-03-31", 80.0, 140.0);
+
+        assertThat(response.getSketchesMerged()).isEqualTo(2);
+        assertThat(response.getRecordsScanned()).isZero();
+        assertMatches(response, bloodSugar, true);
+    }
+
+    @Test
+    void partialEdgeMonthsAreScannedAndMergedWithSketches() throws Exception {
+        LocalDate start = LocalDate.of(2026, 1, 15);
+        LocalDate end = LocalDate.of(2026, 4, 20);
+        HealthStatisticsResponse response = fetch(RecordType.BLOOD_SUGAR, start.toString(), end.toString(), 80.0, 140.0);
+
+        long edgeRecords = bloodSugar.stream()
+                .filter(reading -> reading.date().getMonthValue() == 1 && !reading.date().isBefore(start)
+                        || reading.date().getMonthValue() == 4 && !reading.date().isAfter(end))
+                .count();
+        assertThat(response.getSketchesMerged()).isEqualTo(2);
+        assertThat(response.getRecordsScanned()).isEqualTo(edgeRecords);
+        assertMatches(response, bloodSugar, true);
+
+        assertMatches(fetch(RecordType.WEIGHT, start.toString(), end.toString(), 60.0, 70.0), weight, false);
+    }
+
+    @Test
+    void windowInsideOneMonthIsScanned() throws Exception {
+        HealthStatisticsResponse response = fetch(RecordType.WEIGHT, "2026-03-05", "2026-03-25", 62.5, 70.0);
+
+        assertThat(response.getSketchesMerged()).isZero();
+        assertThat(response.getRecordsScanned()).isEqualTo(response.getCount());
+        assertMatches(response, weight, false);
+    }
+
+    @Test
+    void everyMonthWithDataWhenWindowCoversThemAll() throws Exception {
+        HealthStatisticsResponse response = fetch(RecordType.WEIGHT, "2026-01-01", "2026-05-31", 60.0, 70.0);
+
+        assertThat(response.getSketchesMerged()).isEqualTo(5);
+        assertThat(response.getRecordsScanned()).isZero();
+        assertMatches(response, weight, false);
+    }
+
+    private HealthStatisticsResponse fetch(RecordType type, String startDate, String endDate, double low, double high)
+            throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/health/stats")
+                        .param("type", type.name())
+                        .param("startDate", startDate)
+                        .param("endDate", endDate)
+                        .param("percentiles", "1", "10", "50", "90", "99")
+                        .param("low", String.valueOf(low))
+                        .param("high", String.valueOf(high))
+                        .with(user(seeded.owner().getUsername())))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), HealthStatisticsResponse.class);
+    }
+
+    private static void assertMatches(HealthStatisticsResponse response, List<Reading> readings, boolean integral) {
+        double[] sorted = readings.stream()
+                .filter(reading -> !reading.date().isBefore(response.getStartDate())
+                        && !reading.date().isAfter(response.getEndDate()))
+                .mapToDouble(Reading::value)
+                .sorted()
+                .toArray();
+        int n = sorted.length;
+        double mean = 0;
+        for (double value : sorted) {
+            mean += value / n;
+        }
+        double squares = 0;
+        for (double value : sorted) {
+            squares += (value - mean) * (value - mean);
+        }
+
+        assertThat(response.getCount()).isEqualTo(n);
+        assertThat(response.getMin()).isEqualTo(sorted[0]);
+        assertThat(response.getMax()).isEqualTo(sorted[n - 1]);
+        assertThat(response.getMean()).isCloseTo(mean, within(1e-9 * Math.abs(mean)));
+        assertThat(response.getStandardDeviation()).isCloseTo(Math.sqrt(squares / (n - 1)), within(1e-6));
+
+        assertThat(response.getPercentiles()).hasSize(PERCENTILES.length);
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            double q = PERCENTILES[i] / 100;
+            double estimate = response.getPercentiles().get(i).getValue();
+            // 추정값의 실제 순위 구간(같은 값이 여러 개면 구간)이 q에서 벗어난 정도
+            double below = (double) count(sorted, value -> value < estimate) / n;
+            double atMost = (double) count(sorted, value -> value <= estimate) / n;
+            double error = q < below ? below - q : q > atMost ? q - atMost : 0;
+            assertThat(error).as("p%.0f rank error", PERCENTILES[i]).isLessThanOrEqualTo(0.001 + 0.02 * Math.sqrt(q * (1 - q)));
+        }
+
+        // 정수 항목의 경계값은 범위에 포함
+        HealthStatisticsResponse.TimeInRange timeInRange = response.getTimeInRange();
+        long exactInRange = count(sorted, value -> value >= timeInRange.getLow() && value <= timeInRange.getHigh());
+        assertThat(timeInRange.getFraction()).as("time in range (integral %s)", integral)
+                .isCloseTo((double) exactInRange / n, within(0.02));
+    }
+
+    private static long count(double[] values, java.util.function.DoublePredicate predicate) {
+        long count = 0;
+        for (double value : values) {
+            if (predicate.test(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private record Reading(LocalDate date, double value) {
+    }
+}
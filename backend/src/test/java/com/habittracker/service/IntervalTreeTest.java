@@ -0,0 +1,90 @@
+package com.habittracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link IntervalTree} against a linear scan over the same intervals: random occurrences (instants,
+ * hour-long events and multi-week trips) and random windows, before and after removing half of them.
+ */
+class IntervalTreeTest {
+
+    private static final int INTERVALS = 3000;
+    private static final int QUERIES = 2000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final Comparator<IntervalTree.Interval> START_ORDER = Comparator
+            .comparing(IntervalTree.Interval::start)
+            .thenComparing(IntervalTree.Interval::eventId);
+
+    private final Random random = new Random(20261019L);
+
+    @Test
+    void overlappingMatchesLinearScan() {
+        IntervalTree tree = new IntervalTree();
+        List<IntervalTree.Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < INTERVALS; i++) {
+            IntervalTree.Interval interval = randomInterval((long) i);
+            tree.insert(interval);
+            intervals.add(interval);
+        }
+        assertThat(tree.size()).isEqualTo(INTERVALS);
+        assertQueriesMatch(tree, intervals);
+
+        // 절반을 지워도 maxEnd가 맞게 유지되는지 확인
+        for (int i = intervals.size() - 1; i >= 0; i -= 2) {
+            assertThat(tree.remove(intervals.remove(i))).isTrue();
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        assertThat(tree.remove(randomInterval(-1L))).isFalse();
+        assertQueriesMatch(tree, intervals);
+    }
+
+    @Test
+    void boundsAreHalfOpenAndInstantsCount() {
+        IntervalTree tree = new IntervalTree();
+        IntervalTree.Interval meeting = new IntervalTree.Interval(1L, "회의", false, BASE.plusHours(10), BASE.plusHours(11));
+        IntervalTree.Interval instant = new IntervalTree.Interval(2L, "알림", false, BASE.plusHours(12), BASE.plusHours(12));
+        tree.insert(meeting);
+        tree.insert(instant);
+
+        assertThat(tree.overlapping(BASE.plusHours(11), BASE.plusHours(12))).isEmpty();
+        assertThat(tree.overlapping(BASE.plusHours(9), BASE.plusHours(10).plusNanos(1))).containsExactly(meeting);
+        assertThat(tree.overlapping(BASE.plusHours(12), BASE.plusHours(13))).containsExactly(instant);
+        assertThat(tree.overlapping(BASE, BASE.plusDays(1))).containsExactly(meeting, instant);
+    }
+
+    private void assertQueriesMatch(IntervalTree tree, List<IntervalTree.Interval> intervals) {
+        for (int q = 0; q < QUERIES; q++) {
+            LocalDateTime from = BASE.plusMinutes(random.nextInt(400 * 24 * 60));
+            LocalDateTime to = from.plusMinutes(random.nextInt(10) == 0 ? 1 : random.nextInt(14 * 24 * 60));
+
+            List<IntervalTree.Interval> expected = intervals.stream()
+                    .filter(interval -> interval.start().isBefore(to) && interval.effectiveEnd().isAfter(from))
+                    .sorted(START_ORDER)
+                    .toList();
+            assertThat(tree.overlapping(from, to)).as("[%s, %s)", from, to).isEqualTo(expected);
+        }
+    }
+
+    // 1년 남짓한 범위에 시각만 있는 일정, 1시간 안팎의 일정, 몇 주짜리 일정을 섞음
+    private IntervalTree.Interval randomInterval(Long eventId) {
+        LocalDateTime start = BASE.plusMinutes(random.nextInt(365 * 24 * 60));
+        int kind = random.nextInt(10);
+        LocalDateTime end;
+        if (kind == 0) {
+            end = start;
+        } else if (kind == 1) {
+            end = start.plusDays(1 + random.nextInt(30));
+        } else {
+            end = start.plusMinutes(30 + random.nextInt(180));
+        }
+        return new IntervalTree.Interval(eventId, "일정 " + eventId, false, start, end);
+    }
+}
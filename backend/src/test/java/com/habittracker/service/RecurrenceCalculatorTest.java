@@ -0,0 +1,102 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CalendarEvent.RepeatType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link RecurrenceCalculator}'s jump to the first occurrence of a window against a walk over every
+ * occurrence from the series start. Series start on month ends and leap days so the month and year
+ * clamping is exercised, and some series are years old.
+ */
+class RecurrenceCalculatorTest {
+
+    private static final int SERIES = 2000;
+    private static final RepeatType[] REPEATING = {RepeatType.DAILY, RepeatType.WEEKLY, RepeatType.MONTHLY, RepeatType.YEARLY};
+    private static final int[] DAYS_OF_MONTH = {1, 15, 28, 29, 30, 31};
+
+    private final Random random = new Random(20261019L);
+
+    @Test
+    void jumpMatchesWalkFromSeriesStart() {
+        for (int i = 0; i < SERIES; i++) {
+            RepeatType repeatType = REPEATING[random.nextInt(REPEATING.length)];
+            LocalDateTime seriesStart = randomSeriesStart();
+            LocalDate repeatEndDate = random.nextInt(3) == 0
+                    ? seriesStart.toLocalDate().plusDays(random.nextInt(20 * 365))
+                    : null;
+            LocalDateTime from = seriesStart.plusMinutes(random.nextInt(20 * 365 * 24 * 60) - 30L * 24 * 60);
+            LocalDateTime to = from.plusMinutes(random.nextInt(400 * 24 * 60));
+
+            List<LocalDateTime> expected = walk(seriesStart, repeatType, repeatEndDate, from, to);
+            String series = String.format("%s from %s until %s, window [%s, %s]", repeatType, seriesStart, repeatEndDate, from, to);
+
+            assertThat(RecurrenceCalculator.occurrencesBetween(seriesStart, repeatType, repeatEndDate, from, to))
+                    .as(series)
+                    .isEqualTo(expected);
+            List<LocalDateTime> fromOnwards = walk(seriesStart, repeatType, repeatEndDate, from, from.plusYears(2));
+            assertThat(RecurrenceCalculator.firstOccurrenceFrom(seriesStart, repeatType, repeatEndDate, from))
+                    .as(series)
+                    .isEqualTo(fromOnwards.isEmpty() ? null : fromOnwards.get(0));
+        }
+    }
+
+    @Test
+    void monthlySeriesReturnsToMonthEnd() {
+        LocalDateTime seriesStart = LocalDateTime.of(2024, 1, 31, 9, 0);
+
+        assertThat(RecurrenceCalculator.nthOccurrence(seriesStart, RepeatType.MONTHLY, 1)).isEqualTo(LocalDateTime.of(2024, 2, 29, 9, 0));
+        assertThat(RecurrenceCalculator.nthOccurrence(seriesStart, RepeatType.MONTHLY, 2)).isEqualTo(LocalDateTime.of(2024, 3, 31, 9, 0));
+        assertThat(RecurrenceCalculator.occurrencesBetween(seriesStart, RepeatType.MONTHLY, null,
+                LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 4, 30, 23, 59)))
+                .containsExactly(
+                        LocalDateTime.of(2025, 2, 28, 9, 0),
+                        LocalDateTime.of(2025, 3, 31, 9, 0),
+                        LocalDateTime.of(2025, 4, 30, 9, 0));
+    }
+
+    @Test
+    void singleEventIsReturnedOnlyInsideWindow() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+        assertThat(RecurrenceCalculator.occurrencesBetween(start, RepeatType.NONE, null, start.minusDays(1), start))
+                .containsExactly(start);
+        assertThat(RecurrenceCalculator.occurrencesBetween(start, null, null, start.plusMinutes(1), start.plusDays(1)))
+                .isEmpty();
+        assertThat(RecurrenceCalculator.firstOccurrenceFrom(start, RepeatType.NONE, null, start.plusMinutes(1))).isNull();
+    }
+
+    // 시리즈 시작부터 한 칸씩 세어 나감
+    private static List<LocalDateTime> walk(LocalDateTime seriesStart, RepeatType repeatType, LocalDate repeatEndDate,
+                                            LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        for (long n = 0; ; n++) {
+            LocalDateTime occurrence = RecurrenceCalculator.nthOccurrence(seriesStart, repeatType, n);
+            if (occurrence.isAfter(to) || (repeatEndDate != null && occurrence.toLocalDate().isAfter(repeatEndDate))) {
+                return occurrences;
+            }
+            if (!occurrence.isBefore(from)) {
+                occurrences.add(occurrence);
+            }
+        }
+    }
+
+    // 월말과 윤일(2월 29일)에 시작하는 시리즈를 자주 섞음
+    private LocalDateTime randomSeriesStart() {
+        LocalDate date;
+        if (random.nextInt(10) == 0) {
+            date = LocalDate.of(2000 + 4 * random.nextInt(7), 2, 29);
+        } else {
+            LocalDate month = LocalDate.of(2000 + random.nextInt(27), 1 + random.nextInt(12), 1);
+            date = month.withDayOfMonth(Math.min(DAYS_OF_MONTH[random.nextInt(DAYS_OF_MONTH.length)], month.lengthOfMonth()));
+        }
+        return date.atTime(random.nextInt(24), random.nextInt(4) * 15);
+    }
+}
@@ -0,0 +1,53 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.User;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * SQL statement bounds for the reminder jobs. The habit job may spend two statements per user it
+ * reminds (ledger insert, push subscriptions), but nothing per habit or per log.
+ */
+class ReminderSchedulerQueryCountTest extends QueryCountTestSupport {
+
+    @Autowired
+    private HabitReminderScheduler habitReminderScheduler;
+
+    @Autowired
+    private CalendarReminderScheduler calendarReminderScheduler;
+
+    @Test
+    void habitRemindersForDueFamily() throws Exception {
+        // 이번 가족 전원을 지금 시각 알림 대상으로 하고, 각자 오늘 매일 습관은 미완료로 둠
+        String currentHour = String.format("%02d:00", LocalDateTime.now(ZoneId.of("Asia/Seoul")).getHour());
+        for (User member : seeded.members()) {
+            member.setReminderTime(currentHour);
+        }
+        userRepository.saveAll(seeded.members());
+        for (int i = 0; i < seeded.habits().size(); i += HABITS_PER_MEMBER) {
+            HabitLog log = seeded.todayLogOf(seeded.habits().get(i));
+            log.setCompleted(false);
+            log.setCompletedAt(null);
+            habitLogRepository.save(log);
+        }
+
+        // 다른 테스트의 가족도 같은 시각이면 대상이 되므로, 알림받는 사용자마다 원장 기록과 구독 조회만 허용
+        long dueUsers = userRepository.findAll().stream()
+                .filter(user -> Boolean.TRUE.equals(user.getEnableReminders())
+                        && currentHour.equals(user.getReminderTime().split(":")[0] + ":00"))
+                .count();
+        assertStatementsAtMost((int) (3 + 2 * dueUsers), "HabitReminderScheduler.sendDailyReminders",
+                habitReminderScheduler::sendDailyReminders);
+    }
+
+    @Test
+    void calendarReminderQueueLoad() throws Exception {
+        assertStatementsAtMost(3, "CalendarReminderScheduler.loadReminderQueue",
+                calendarReminderScheduler::loadReminderQueue);
+    }
+}
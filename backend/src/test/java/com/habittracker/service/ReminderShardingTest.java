@@ -0,0 +1,152 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.ReminderLedgerEntry;
+import com.habittracker.entity.User;
+import com.habittracker.repository.ReminderLedgerRepository;
+import com.habittracker.support.QueryCountTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sharded habit reminders: users are split by {@code user_id % shards} and a node only handles the
+ * shards whose lease it holds. A shard leased by a live node is left to it; a shard that was not
+ * completed in the slot is retried once its lease expires or its holder stops heartbeating, and a
+ * completed shard is not processed again.
+ */
+@TestPropertySource(properties = {
+        // 다른 테스트 컨텍스트와 DB, 2차 캐시(JVM 안에서 공유됨)를 나누지 않도록 따로 씀
+        "spring.datasource.url=jdbc:h2:mem:reminder-sharding;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "scheduler.cluster.enabled=true",
+        "scheduler.cluster.sharding-enabled=true",
+        "scheduler.cluster.reminder-shards=" + ReminderShardingTest.SHARDS
+})
+class ReminderShardingTest extends QueryCountTestSupport {
+
+    static final int SHARDS = 4;
+
+    @Autowired
+    private HabitReminderScheduler habitReminderScheduler;
+
+    @Autowired
+    private ClusterNodeService clusterNodeService;
+
+    @Autowired
+    private ReminderLedgerRepository reminderLedgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 기동 시 catch-up 실행과 이전 테스트가 남긴 lease, 알림/shard 완료 기록을 지움
+    @BeforeEach
+    void clearShardState() {
+        jdbcTemplate.update("DELETE FROM scheduler_leases WHERE name LIKE 'habit-reminder-shard-%'");
+        jdbcTemplate.update("DELETE FROM reminder_ledger WHERE kind IN ('HABIT', 'HABIT_SHARD')");
+        jdbcTemplate.update("DELETE FROM scheduler_nodes WHERE node_id = 'other-node'");
+    }
+
+    @Test
+    void unfinishedShardsAreRetriedOnceTheLeaseExpires() {
+        makeEveryMemberDue();
+        // 살아 있는 다른 노드가 shard 0, 1을 처리 중
+        holdShardsByOtherNode(LocalDateTime.now());
+
+        habitReminderScheduler.sendDailyReminders();
+
+        assertThat(remindedMembers()).isEqualTo(membersInShards(2, 3));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT owner FROM scheduler_leases WHERE name IN ('habit-reminder-shard-2', 'habit-reminder-shard-3')",
+                String.class))
+                .containsOnly(clusterNodeService.getNodeId());
+
+        // lease가 살아 있는 동안의 재시도는 건너뜀
+        habitReminderScheduler.retryUnfinishedShards();
+        assertThat(remindedMembers()).isEqualTo(membersInShards(2, 3));
+
+        // 다른 노드가 끝내지 못한 채 lease가 만료되면 같은 시각 안의 재시도에서 이어받음
+        jdbcTemplate.update("UPDATE scheduler_leases SET lease_until = ? WHERE owner = 'other-node'",
+                LocalDateTime.now().minusMinutes(1));
+
+        habitReminderScheduler.retryUnfinishedShards();
+
+        assertThat(remindedMembers()).isEqualTo(membersInShards(0, 1, 2, 3));
+    }
+
+    @Test
+    void shardsOfNodeThatStoppedHeartbeatingAreTakenOverBeforeLeaseExpires() {
+        makeEveryMemberDue();
+        holdShardsByOtherNode(LocalDateTime.now().minusSeconds(clusterNodeService.getNodeTimeoutSeconds() + 1));
+
+        habitReminderScheduler.sendDailyReminders();
+
+        assertThat(remindedMembers()).isEqualTo(membersInShards(0, 1, 2, 3));
+    }
+
+    @Test
+    void completedShardsAreNotProcessedAgain() {
+        makeEveryMemberDue();
+        habitReminderScheduler.sendDailyReminders();
+        assertThat(remindedMembers()).isEqualTo(membersInShards(0, 1, 2, 3));
+
+        // 원장에서 습관 알림 기록을 지워도 shard 완료 기록이 있으면 다시 보내지 않음
+        jdbcTemplate.update("DELETE FROM reminder_ledger WHERE kind = 'HABIT'");
+        habitReminderScheduler.retryUnfinishedShards();
+
+        assertThat(remindedMembers()).isEmpty();
+    }
+
+    // other-node가 shard 0, 1의 lease를 10분간 잡고 heartbeatAt에 마지막으로 살아 있음을 알린 상태
+    private void holdShardsByOtherNode(LocalDateTime heartbeatAt) {
+        jdbcTemplate.update("INSERT INTO scheduler_nodes (node_id, started_at, heartbeat_at) VALUES ('other-node', ?, ?)",
+                heartbeatAt.minusHours(1), heartbeatAt);
+        for (int shard : List.of(0, 1)) {
+            jdbcTemplate.update("INSERT INTO scheduler_leases (name, owner, lease_until) VALUES (?, ?, ?)",
+                    "habit-reminder-shard-" + shard, "other-node", LocalDateTime.now().plusMinutes(10));
+        }
+    }
+
+    private Set<Long> membersInShards(Integer... shards) {
+        Set<Integer> wanted = Set.of(shards);
+        return seeded.members().stream()
+                .map(User::getId)
+                .filter(id -> wanted.contains((int) (id % SHARDS)))
+                .collect(Collectors.toSet());
+    }
+
+    // 가족 전원을 지금 시각 알림 대상으로 하고, 각자 오늘 매일 습관은 미완료로 둠
+    private void makeEveryMemberDue() {
+        String currentHour = String.format("%02d:00", LocalDateTime.now(ZoneId.of("Asia/Seoul")).getHour());
+        for (User member : seeded.members()) {
+            member.setReminderTime(currentHour);
+        }
+        userRepository.saveAll(seeded.members());
+        for (int i = 0; i < seeded.habits().size(); i += HABITS_PER_MEMBER) {
+            HabitLog log = seeded.todayLogOf(seeded.habits().get(i));
+            log.setCompleted(false);
+            log.setCompletedAt(null);
+            habitLogRepository.save(log);
+        }
+    }
+
+    private Set<Long> remindedMembers() {
+        Set<Long> memberIds = seeded.members().stream().map(User::getId).collect(Collectors.toSet());
+        return reminderLedgerRepository.findAll().stream()
+                .filter(entry -> entry.getKind() == ReminderLedgerEntry.Kind.HABIT)
+                .map(ReminderLedgerEntry::getSubjectId)
+                .filter(memberIds::contains)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,164 @@
+package com.habittracker.service;
+
+import com.habittracker.entity.CacheInvalidation;
+import com.habittracker.entity.User;
+import com.habittracker.repository.CacheInvalidationRepository;
+import com.habittracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cross-node eviction of the second-level cache (see {@link SecondLevelCacheService}). Both "nodes"
+ * share the database: a local write must leave a cache_invalidations row under this node's id, and
+ * a row left by another node must evict the local copy on the next poll.
+ */
+@SpringBootTest(properties = {
+        "scheduler.cluster.enabled=true",
+        // 테스트에서 직접 poll하므로 백그라운드 poll은 사실상 끔
+        "cache.l2.invalidation-poll-ms=3600000",
+        "query-budget.enabled=false"
+})
+class SecondLevelCacheInvalidationTest {
+
+    private static final String OTHER_NODE = "other-node";
+    private static final long LONG_TRANSACTION_MILLIS = 300;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    @Autowired
+    private ClusterNodeService clusterNodeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheInvalidationRepository cacheInvalidationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Cache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        String name = "l2" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@test.com")
+                .password("unused")
+                .displayName("캐시 " + name)
+                .build());
+    }
+
+    @Test
+    void localWriteRecordsInvalidationForOtherNodes() {
+        long before = System.currentTimeMillis();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setDisplayName("이름 변경");
+        });
+
+        assertThat(cacheInvalidationRepository.findByRecordedAtMsGreaterThanAndNodeIdNot(before - 1, OTHER_NODE))
+                .anySatisfy(row -> {
+                    assertThat(row.getEntityName()).isEqualTo(User.class.getName());
+                    assertThat(row.getEntityId()).isEqualTo(user.getId());
+                    assertThat(row.getNodeId()).isEqualTo(clusterNodeService.getNodeId());
+                });
+    }
+
+    @Test
+    void invalidationIsStampedAtCommitNotAtFlush() {
+        long[] flushedAt = new long[1];
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User loaded = userRepository.findById(user.getId()).orElseThrow();
+            loaded.setDisplayName("늦게 커밋");
+            userRepository.flush();
+            flushedAt[0] = System.currentTimeMillis();
+            // flush 이후에도 오래 걸리는 트랜잭션
+            sleep(LONG_TRANSACTION_MILLIS);
+        });
+
+        assertThat(cacheInvalidationRepository.findByRecordedAtMsGreaterThanAndNodeIdNot(flushedAt[0], OTHER_NODE))
+                .filteredOn(row -> row.getEntityId().equals(user.getId()))
+                .isNotEmpty()
+                .allSatisfy(row -> assertThat(row.getRecordedAtMs())
+                        .isGreaterThanOrEqualTo(flushedAt[0] + LONG_TRANSACTION_MILLIS));
+    }
+
+    @Test
+    void remoteWriteEvictsLocalCopyOnNextPoll() {
+        loadIntoCache();
+        assertThat(cache.containsEntity(User.class, user.getId())).isTrue();
+
+        // 다른 노드가 같은 사용자를 수정하고 커밋한 상태
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityName(User.class.getName())
+                .entityId(user.getId())
+                .nodeId(OTHER_NODE)
+                .recordedAtMs(System.currentTimeMillis())
+                .build());
+
+        secondLevelCacheService.pollInvalidations();
+
+        assertThat(cache.containsEntity(User.class, user.getId())).isFalse();
+    }
+
+    @Test
+    void ownRowsAndAlreadyHandledRowsDoNotEvict() {
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityName(User.class.getName())
+                .entityId(user.getId())
+                .nodeId(OTHER_NODE)
+                .recordedAtMs(System.currentTimeMillis())
+                .build());
+        secondLevelCacheService.pollInvalidations();
+
+        // 이미 처리한 다른 노드의 기록과 이 노드 자신의 기록으로는 다시 비우지 않음
+        loadIntoCache();
+        cacheInvalidationRepository.save(CacheInvalidation.builder()
+                .entityName(User.class.getName())
+                .entityId(user.getId())
+                .nodeId(clusterNodeService.getNodeId())
+                .recordedAtMs(System.currentTimeMillis())
+                .build());
+        secondLevelCacheService.pollInvalidations();
+
+        assertThat(cache.containsEntity(User.class, user.getId())).isTrue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadIntoCache() {
+        cache.evictEntityData(User.class, user.getId());
+        transactionTemplate.executeWithoutResult(status -> userRepository.findById(user.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,156 @@
+package com.habittracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TDigest} against exact order statistics of the same random data: quantile and rank of a
+ * single digest, of digests merged from daily pieces and of digests read back from bytes. Errors are
+ * measured in rank (fraction of values), which is what the k1 scale function bounds: tighter near
+ * the tails than around the median.
+ */
+class TDigestTest {
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999};
+
+    @Test
+    void singleDigestMatchesExactQuantilesAndRanks() {
+        Random random = new Random(37);
+        for (DoubleSupplier source : sources(random)) {
+            double[] values = sample(source, 50_000);
+            TDigest digest = new TDigest();
+            for (double value : values) {
+                digest.add(value);
+            }
+            assertMatches(digest, values);
+        }
+    }
+
+    @Test
+    void mergedAndDeserializedDigestsMatchExactQuantilesAndRanks() {
+        Random random = new Random(38);
+        for (DoubleSupplier source : sources(random)) {
+            double[] values = sample(source, 30 * 400);
+
+            // 하루치씩 만든 다이제스트를 바이트로 저장했다가 읽어 합침 (월별 스케치를 합치는 경로)
+            TDigest merged = new TDigest();
+            for (int day = 0; day < 30; day++) {
+                TDigest daily = new TDigest();
+                for (int i = day * 400; i < (day + 1) * 400; i++) {
+                    daily.add(values[i]);
+                }
+                merged.merge(TDigest.fromBytes(daily.toBytes()));
+            }
+            assertMatches(merged, values);
+            assertMatches(TDigest.fromBytes(merged.toBytes()), values);
+        }
+    }
+
+    @Test
+    void smallInputsAreExact() {
+        Random random = new Random(39);
+        for (int n = 1; n <= 50; n++) {
+            double[] values = sample(() -> 70 + random.nextInt(80), n);
+            TDigest digest = new TDigest();
+            for (double value : values) {
+                digest.add(value);
+            }
+
+            for (double value : values) {
+                assertThat(digest.rank(value, true)).isEqualTo(countAtMost(values, value));
+                assertThat(digest.rank(value, false)).isEqualTo(countBelow(values, value));
+            }
+            for (double q : QUANTILES) {
+                assertThat(values).contains(digest.quantile(q));
+            }
+            assertThat(digest.quantile(0)).isEqualTo(values[0]);
+            assertThat(digest.quantile(1)).isEqualTo(values[n - 1]);
+        }
+    }
+
+    @Test
+    void emptyDigest() {
+        TDigest digest = TDigest.fromBytes(new TDigest().toBytes());
+
+        assertThat(digest.count()).isZero();
+        assertThat(digest.quantile(0.5)).isNaN();
+        assertThat(digest.rank(100, true)).isZero();
+    }
+
+    // 연속값(체중 같은 소수), 정수 측정값(혈당 같은 중복 많은 값), 한쪽으로 치우친 분포
+    private static DoubleSupplier[] sources(Random random) {
+        return new DoubleSupplier[]{
+                () -> 70 + 8 * random.nextGaussian(),
+                () -> Math.round(110 + 25 * random.nextGaussian()),
+                () -> Math.exp(4 + 0.6 * random.nextGaussian())
+        };
+    }
+
+    private static double[] sample(DoubleSupplier source, int n) {
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = source.getAsDouble();
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static void assertMatches(TDigest digest, double[] sorted) {
+        int n = sorted.length;
+        assertThat(digest.count()).isEqualTo(n);
+        assertThat(digest.min()).isEqualTo(sorted[0]);
+        assertThat(digest.max()).isEqualTo(sorted[n - 1]);
+
+        for (double q : QUANTILES) {
+            // 추정값의 실제 순위 구간(같은 값이 여러 개면 구간)이 q에서 벗어난 정도
+            double estimate = digest.quantile(q);
+            double below = (double) countBelow(sorted, estimate) / n;
+            double atMost = (double) countAtMost(sorted, estimate) / n;
+            double error = q < below ? below - q : q > atMost ? q - atMost : 0;
+            assertThat(error).as("quantile %.3f rank error", q).isLessThanOrEqualTo(tolerance(q));
+
+            double value = sorted[(int) Math.min(n - 1, Math.floor(q * n))];
+            double rankError = Math.abs(digest.rank(value, true) - countAtMost(sorted, value)) / n;
+            assertThat(rankError).as("rank of %.3f quantile", q).isLessThanOrEqualTo(tolerance(q));
+        }
+    }
+
+    // k1 스케일에서 중심 하나의 크기는 q(1-q)의 제곱근에 비례
+    private static double tolerance(double q) {
+        return 0.001 + 0.02 * Math.sqrt(q * (1 - q));
+    }
+
+    private static int countBelow(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int countAtMost(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
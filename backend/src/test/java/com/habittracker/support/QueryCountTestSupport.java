@@ -0,0 +1,221 @@
+package com.habittracker.support;
+
+import com.habittracker.config.QueryCountInspector;
+import com.habittracker.entity.CalendarEvent;
+import com.habittracker.entity.Comment;
+import com.habittracker.entity.Family;
+import com.habittracker.entity.Habit;
+import com.habittracker.entity.HabitLog;
+import com.habittracker.entity.User;
+import com.habittracker.repository.CalendarEventRepository;
+import com.habittracker.repository.CommentRepository;
+import com.habittracker.repository.FamilyRepository;
+import com.habittracker.repository.HabitLogRepository;
+import com.habittracker.repository.HabitRepository;
+import com.habittracker.repository.UserRepository;
+import com.habittracker.service.EventOccurrenceService;
+import com.habittracker.service.FamilySnapshotCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base for tests that put an upper bound on the SQL statements one request or job runs.
+ *
+ * Every test gets its own realistic family: four members with three habits each (daily, weekly,
+ * weekly count), two weeks of logs, comments on the latest logs and a few calendar events.
+ * Measurements start cold: the second-level cache and the family snapshot are dropped first, so a
+ * lazy association loaded once per row shows up as a bound that grows with the family.
+ */
+@SpringBootTest(properties = "query-budget.enabled=false")
+@AutoConfigureMockMvc
+public abstract class QueryCountTestSupport {
+
+    protected static final int MEMBERS = 4;
+    protected static final int HABITS_PER_MEMBER = 3;
+    protected static final int LOG_DAYS = 14;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected FamilyRepository familyRepository;
+
+    @Autowired
+    protected HabitRepository habitRepository;
+
+    @Autowired
+    protected HabitLogRepository habitLogRepository;
+
+    @Autowired
+    protected CommentRepository commentRepository;
+
+    @Autowired
+    protected CalendarEventRepository calendarEventRepository;
+
+    @Autowired
+    protected EventOccurrenceService eventOccurrenceService;
+
+    @Autowired
+    protected FamilySnapshotCache familySnapshotCache;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    protected SeededFamily seeded;
+
+    @BeforeEach
+    void seedFamily() {
+        int n = SEQUENCE.incrementAndGet();
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+
+        Family family = familyRepository.save(Family.builder()
+                .name("Query Count Family " + n)
+                .inviteCode(String.format("QC%06d", n))
+                .build());
+
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(User.builder()
+                    .username("qc" + n + "member" + i)
+                    .email("qc" + n + "member" + i + "@test.com")
+                    .password("unused")
+                    .displayName("가족 " + n + "-" + i)
+                    .family(family)
+                    .build());
+        }
+        members = userRepository.saveAll(members);
+
+        List<Habit> habits = new ArrayList<>();
+        for (User member : members) {
+            habits.add(habit(member, family, "DAILY", 0).build());
+            habits.add(habit(member, family, "WEEKLY", 1).selectedDays("1,3,5").build());
+            habits.add(habit(member, family, "WEEKLY_COUNT", 2).weeklyTarget(3).build());
+        }
+        habits = habitRepository.saveAll(habits);
+
+        // 최근 2주 기록 (4일에 하루는 미완료), 오늘 기록에는 다른 구성원 댓글 2개
+        List<HabitLog> logs = new ArrayList<>();
+        for (Habit habit : habits) {
+            for (int day = 0; day < LOG_DAYS; day++) {
+                boolean completed = day % 4 != 3;
+                LocalDate logDate = today.minusDays(day);
+                logs.add(HabitLog.builder()
+                        .user(habit.getUser())
+                        .habit(habit)
+                        .logDate(logDate)
+                        .completed(completed)
+                        .completedAt(completed ? logDate.atTime(8, 0) : null)
+                        .commentCount(day == 0 ? 2 : 0)
+                        .build());
+            }
+        }
+        logs = habitLogRepository.saveAll(logs);
+
+        List<Comment> comments = new ArrayList<>();
+        for (HabitLog log : logs) {
+            if (!log.getLogDate().equals(today)) {
+                continue;
+            }
+            members.stream()
+                    .filter(member -> !member.getId().equals(log.getUser().getId()))
+                    .limit(2)
+                    .forEach(member -> comments.add(Comment.builder()
+                            .habitLog(log)
+                            .user(member)
+                            .content("화이팅!")
+                            .build()));
+        }
+        commentRepository.saveAll(comments);
+
+        List<CalendarEvent> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            LocalDateTime start = today.plusDays(i + 1).atTime(10 + i, 0);
+            events.add(CalendarEvent.builder()
+                    .title("일정 " + i)
+                    .startDatetime(start)
+                    .endDatetime(start.plusHours(1))
+                    .family(family)
+                    .createdBy(members.get(i))
+                    .build());
+        }
+        LocalDateTime weeklyStart = today.minusDays(7).atTime(19, 0);
+        events.add(CalendarEvent.builder()
+                .title("가족 저녁")
+                .startDatetime(weeklyStart)
+                .endDatetime(weeklyStart.plusHours(2))
+                .repeatType(CalendarEvent.RepeatType.WEEKLY)
+                .reminderMinutes(30)
+                .family(family)
+                .createdBy(members.get(0))
+                .build());
+        calendarEventRepository.saveAll(events).forEach(eventOccurrenceService::regenerate);
+
+        seeded = new SeededFamily(family, members, habits, logs, today);
+    }
+
+    /**
+     * Run {@code action} from a cold cache and assert it ran at most {@code maxStatements} statements.
+     */
+    protected int assertStatementsAtMost(int maxStatements, String description, CheckedAction action) throws Exception {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        familySnapshotCache.invalidate(seeded.family().getId());
+
+        QueryCountInspector.reset();
+        action.run();
+        int statements = QueryCountInspector.count();
+
+        assertThat(statements)
+                .as("%s ran %d SQL statements (bound %d)", description, statements, maxStatements)
+                .isLessThanOrEqualTo(maxStatements);
+        return statements;
+    }
+
+    private static Habit.HabitBuilder habit(User owner, Family family, String habitType, int displayOrder) {
+        return Habit.builder()
+                .name(owner.getUsername() + " " + habitType)
+                .color("#007bff")
+                .habitType(habitType)
+                .displayOrder(displayOrder)
+                .user(owner)
+                .family(family);
+    }
+
+    @FunctionalInterface
+    protected interface CheckedAction {
+        void run() throws Exception;
+    }
+
+    protected record SeededFamily(Family family, List<User> members, List<Habit> habits, List<HabitLog> logs,
+                                  LocalDate today) {
+
+        public User owner() {
+            return members.get(0);
+        }
+
+        public HabitLog todayLogOf(Habit habit) {
+            return logs.stream()
+                    .filter(log -> log.getHabit().getId().equals(habit.getId()) && log.getLogDate().equals(today))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
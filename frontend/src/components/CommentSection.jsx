@@ -3,8 +3,11 @@ import { commentAPI } from '../services/api';
 import { MessageSquare, Send, X, Trash2 } from 'lucide-react';
 import toast from 'react-hot-toast';
 
-function CommentSection({ habitLogId, comments = [], familyMembers = [], currentUserId, onCommentAdded }) {
+function CommentSection({ habitLogId, commentCount = 0, latestComment, commentEvent, familyMembers = [], currentUserId, onCommentAdded }) {
   const [isExpanded, setIsExpanded] = useState(true);
+  // Full thread is loaded on demand; until then only the latest comment is shown
+  const [thread, setThread] = useState(null);
+  const [isLoadingThread, setIsLoadingThread] = useState(false);
   const [newComment, setNewComment] = useState('');
   const [isSubmitting, setIsSubmitting] = useState(false);
   const [showMentionList, setShowMentionList] = useState(false);
@@ -12,6 +15,41 @@ function CommentSection({ habitLogId, comments = [], familyMembers = [], current
   const [mentionStartIndex, setMentionStartIndex] = useState(-1);
   const inputRef = useRef(null);
 
+  const comments = thread ?? (latestComment ? [latestComment] : []);
+  const totalCount = thread ? thread.length : commentCount;
+  const hiddenCount = totalCount - comments.length;
+
+  const loadThread = async () => {
+    setIsLoadingThread(true);
+    try {
+      const response = await commentAPI.getByHabitLogId(habitLogId);
+      setThread(response.data);
+    } catch (error) {
+      console.error('Error loading comments:', error);
+      toast.error('댓글을 불러오지 못했습니다');
+    } finally {
+      setIsLoadingThread(false);
+    }
+  };
+
+  const addToThread = (comment) => {
+    setThread(prev => prev && !prev.some(c => c.id === comment.id) ? [...prev, comment] : prev);
+  };
+
+  const removeFromThread = (commentId) => {
+    setThread(prev => prev && prev.filter(c => c.id !== commentId));
+  };
+
+  // Keep an opened thread current from the family comment topic
+  useEffect(() => {
+    if (!commentEvent || commentEvent.habitLogId !== habitLogId) return;
+    if (commentEvent.type === 'CREATED') {
+      addToThread(commentEvent.comment);
+    } else if (commentEvent.type === 'DELETED') {
+      removeFromThread(commentEvent.deletedCommentId);
+    }
+  }, [commentEvent, habitLogId]);
+
   // Filter family members based on mention search
   const filteredMembers = familyMembers.filter(member =>
     member.id !== currentUserId &&
@@ -68,7 +106,8 @@ function CommentSection({ habitLogId, comments = [], familyMembers = [], current
 
     setIsSubmitting(true);
     try {
-      await commentAPI.create(habitLogId, newComment.trim());
+      const response = await commentAPI.create(habitLogId, newComment.trim());
+      addToThread(response.data);
       setNewComment('');
       toast.success('댓글이 등록되었습니다');
       if (onCommentAdded) {
@@ -85,6 +124,7 @@ function CommentSection({ habitLogId, comments = [], familyMembers = [], current
   const handleDelete = async (commentId) => {
     try {
       await commentAPI.delete(commentId);
+      removeFromThread(commentId);
       toast.success('댓글이 삭제되었습니다');
       if (onCommentAdded) {
         onCommentAdded();
@@ -150,12 +190,24 @@ function CommentSection({ habitLogId, comments = [], familyMembers = [], current
         className="flex items-center gap-1 text-xs text-figma-black-40 hover:text-figma-blue-100 transition-colors"
       >
         <MessageSquare className="w-3 h-3" />
-        <span>댓글 {comments.length > 0 && `(${comments.length})`}</span>
+        <span>댓글 {totalCount > 0 && `(${totalCount})`}</span>
       </button>
 
       {/* Expanded comment section */}
       {isExpanded && (
         <div className="mt-2 space-y-2">
+          {/* Earlier comments (loaded on demand) */}
+          {hiddenCount > 0 && (
+            <button
+              type="button"
+              onClick={loadThread}
+              disabled={isLoadingThread}
+              className="text-xs text-figma-black-40 hover:text-figma-blue-100 transition-colors disabled:opacity-50"
+            >
+              {isLoadingThread ? '불러오는 중...' : `이전 댓글 ${hiddenCount}개 보기`}
+            </button>
+          )}
+
           {/* Comments list */}
           {comments.length > 0 && (
             <div className="space-y-2 max-h-40 overflow-y-auto">
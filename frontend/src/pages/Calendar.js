@@ -188,7 +188,7 @@ function Calendar() {
           `/topic/family/${family.id}/calendar-updates`,
           (message) => {
             const update = JSON.parse(message.body);
-            if (update.type === 'CREATED' || update.type === 'UPDATED') {
+            if (update.type === 'CREATED' || update.type === 'UPDATED' || update.type === 'RELOADED') {
               loadEvents();
             } else if (update.type === 'DELETED') {
               setEvents(prev => prev.filter(e => e.id !== update.deletedEventId));
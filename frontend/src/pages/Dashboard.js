@@ -83,7 +83,7 @@ function ProgressCircle({ progress, size = 36, strokeWidth = 3, color = '#3843FF
 }
 
 // SortableHabitItem component for drag and drop - Figma Style
-function SortableHabitItem({ habit, userLog, onToggle, onEdit, onDelete, daysDisplay, weeklyProgress, familyMembers, currentUserId, onCommentAdded }) {
+function SortableHabitItem({ habit, userLog, onToggle, onEdit, onDelete, daysDisplay, weeklyProgress, familyMembers, currentUserId, onCommentAdded, commentEvent }) {
   const {
     attributes,
     listeners,
@@ -177,7 +177,9 @@ function SortableHabitItem({ habit, userLog, onToggle, onEdit, onDelete, daysDis
             {userLog?.completed && userLog?.id && (
               <CommentSection
                 habitLogId={userLog.id}
-                comments={userLog.comments || []}
+                commentCount={userLog.commentCount || 0}
+                latestComment={userLog.latestComment}
+                commentEvent={commentEvent}
                 familyMembers={familyMembers}
                 currentUserId={currentUserId}
                 onCommentAdded={onCommentAdded}
@@ -221,6 +223,7 @@ function Dashboard() {
   const [habits, setHabits] = useState([]);
   const [logs, setLogs] = useState([]);
   const [weeklyLogs, setWeeklyLogs] = useState([]);
+  const [commentEvent, setCommentEvent] = useState(null);
   const [family, setFamily] = useState(null);
   const [showAddHabit, setShowAddHabit] = useState(false);
   const [editingHabit, setEditingHabit] = useState(null);
@@ -386,6 +389,40 @@ function Dashboard() {
     return () => clearInterval(interval);
   }, [user.familyId, logs]);
 
+  // Real-time comments: patch the affected log instead of re-fetching
+  useEffect(() => {
+    if (!user.familyId) return;
+
+    const destination = `/topic/family/${user.familyId}/comments`;
+    const connectAndSubscribe = async () => {
+      try {
+        await websocketService.connect();
+        websocketService.subscribe(destination, (message) => {
+          const update = JSON.parse(message.body);
+          setLogs(prev => prev.map(log => log.id === update.habitLogId
+            ? { ...log, commentCount: update.commentCount, latestComment: update.latestComment }
+            : log));
+          setCommentEvent(update);
+        });
+      } catch (error) {
+        console.error('WebSocket connection error:', error);
+      }
+    };
+
+    connectAndSubscribe();
+
+    return () => {
+      websocketService.unsubscribe(destination);
+    };
+  }, [user.familyId]);
+
+  // The comment topic already patches the view; only re-fetch when the socket is down
+  const handleCommentChanged = () => {
+    if (!websocketService.isConnected()) {
+      loadData();
+    }
+  };
+
   // WebSocket disabled - uncomment to enable real-time updates
   // useEffect(() => {
   //   if (user && user.familyId) {
@@ -428,9 +465,9 @@ function Dashboard() {
         const weekRange = getWeekRange();
         const [habitsRes, logsRes, familyRes, weeklyLogsRes] = await Promise.all([
           habitAPI.getAll(),
-          habitLogAPI.getFamilyLogs(selectedDate),
+          habitLogAPI.getFamilyLogs(selectedDate, 'SUMMARY'),
           familyAPI.getMy(),
-          habitLogAPI.getFamilyLogsRange(weekRange.start, weekRange.end)
+          habitLogAPI.getFamilyLogsRange(weekRange.start, weekRange.end, 'SUMMARY')
         ]);
 
         // Check for new habit completions and show notifications
@@ -1409,7 +1446,8 @@ function Dashboard() {
                           weeklyProgress={weeklyProgress}
                           familyMembers={family?.members || []}
                           currentUserId={user.id}
-                          onCommentAdded={loadData}
+                          onCommentAdded={handleCommentChanged}
+                          commentEvent={commentEvent}
                         />
                       );
                     })}
@@ -1513,10 +1551,12 @@ function Dashboard() {
                         {isCompleted && habitLog?.id && (
                           <CommentSection
                             habitLogId={habitLog.id}
-                            comments={habitLog.comments || []}
+                            commentCount={habitLog.commentCount || 0}
+                            latestComment={habitLog.latestComment}
+                            commentEvent={commentEvent}
                             familyMembers={family?.members || []}
                             currentUserId={user.id}
-                            onCommentAdded={loadData}
+                            onCommentAdded={handleCommentChanged}
                           />
                         )}
                       </div>
@@ -141,7 +141,8 @@ function Health() {
       // 내 기록 모드일 때만 API 호출
       if (viewMode === 'my') {
         const { startDate, endDate } = getDateRange(chartDays);
-        const response = await healthAPI.getChartData(activeTab, startDate, endDate);
+        // 긴 기간도 모양을 유지한 채 200개 이하의 점만 받음
+        const response = await healthAPI.getChartData(activeTab, startDate, endDate, { mode: 'LTTB', points: 200 });
 
         // Transform data for chart
         const transformed = response.data.map(record => ({
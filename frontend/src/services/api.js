@@ -67,9 +67,11 @@ export const habitAPI = {
 export const habitLogAPI = {
   log: (habitId, logDate, completed, note) =>
     api.post('/logs', { habitId, logDate, completed, note }),
-  getFamilyLogs: (date) => api.get(`/logs/family/${date}`),
-  getFamilyLogsRange: (startDate, endDate) =>
-    api.get('/logs/family/range', { params: { startDate, endDate } }),
+  // comments: 'FULL' (every thread) or 'SUMMARY' (commentCount + latestComment only)
+  getFamilyLogs: (date, comments = 'FULL') =>
+    api.get(`/logs/family/${date}`, { params: { comments } }),
+  getFamilyLogsRange: (startDate, endDate, comments = 'FULL') =>
+    api.get('/logs/family/range', { params: { startDate, endDate, comments } }),
   getMyLogs: (date) => api.get(`/logs/my/${date}`),
   getMonthlyStats: (year, month) =>
     api.get('/logs/monthly', { params: { year, month } })
@@ -86,6 +88,7 @@ export const pushAPI = {
 export const commentAPI = {
   create: (habitLogId, content) => api.post('/comments', { habitLogId, content }),
   getByHabitLogId: (habitLogId) => api.get(`/comments/habit-log/${habitLogId}`),
+  suggestMentions: (prefix, limit = 10) => api.get('/comments/mentions', { params: { prefix, limit } }),
   delete: (id) => api.delete(`/comments/${id}`)
 };
 
@@ -95,7 +98,12 @@ export const calendarAPI = {
     api.get('/calendar', { params: { start: startDate, end: endDate } }),
   createEvent: (event) => api.post('/calendar', event),
   updateEvent: (id, event) => api.put(`/calendar/${id}`, event),
-  deleteEvent: (id) => api.delete(`/calendar/${id}`)
+  deleteEvent: (id) => api.delete(`/calendar/${id}`),
+  importEvents: (file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post('/calendar/import', formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+  }
 };
 
 // Health Record API
@@ -109,8 +117,14 @@ export const healthAPI = {
     api.get('/health/family', { params: { startDate, endDate, type } }),
   getRecentRecords: (type) =>
     api.get('/health/recent', { params: { type } }),
-  getChartData: (type, startDate, endDate) =>
-    api.get('/health/chart', { params: { type, startDate, endDate } })
+  getFamilyLatest: () => api.get('/health/family/latest'),
+  getChartData: (type, startDate, endDate, options = {}) =>
+    api.get('/health/chart', { params: { type, startDate, endDate, ...options } }),
+  importRecords: (file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post('/health/import', formData, { headers: { 'Content-Type': 'multipart/form-data' } });
+  }
 };
 
 // Default export with all API functions